@@ -35,6 +35,7 @@ import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.model.Body;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
 import sootup.core.views.View;
 
 public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<Stmt, SootMethod> {
@@ -46,6 +47,9 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
   @DontSynchronize("written by single thread; read afterwards")
   private final Map<Stmt, Body> stmtToOwner = createStmtToOwnerMap();
 
+  @DontSynchronize("written by single thread; read afterwards")
+  private final Map<MethodSignature, Body> methodToBody = new HashMap<>();
+
   @SynchronizedBy("by use of synchronized LoadingCache class")
   protected LoadingCache<Body, StmtGraph<?>> bodyToStmtGraph =
       IDESolver.DEFAULT_CACHE_BUILDER.build(
@@ -62,7 +66,7 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
           new CacheLoader<SootMethod, List<Value>>() {
             @Override
             public List<Value> load(@Nonnull SootMethod m) {
-              return new ArrayList<>(m.getBody().getParameterLocals());
+              return new ArrayList<>(getBodyOf(m).getParameterLocals());
             }
           });
 
@@ -93,6 +97,15 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
     return stmtToOwner.get(stmt);
   }
 
+  /**
+   * Returns the body of the method whose statements are mapped to it. A view that does not retain
+   * all bodies may resolve a new body with other statements, so the mapped body is preferred.
+   */
+  public Body getBodyOf(SootMethod m) {
+    Body body = methodToBody.get(m.getSignature());
+    return body == null ? m.getBody() : body;
+  }
+
   @Override
   public SootMethod getMethodOf(Stmt stmt) {
     Body b = getBodyOf(stmt);
@@ -111,7 +124,7 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
 
   @Override
   public StmtGraph<?> getOrCreateStmtGraph(SootMethod method) {
-    return getOrCreateStmtGraph(method.getBody());
+    return getOrCreateStmtGraph(getBodyOf(method));
   }
 
   public StmtGraph<?> getOrCreateStmtGraph(Body body) {
@@ -124,7 +137,7 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
 
   protected Set<Stmt> getCallsFromWithinMethod(SootMethod method) {
     Set<Stmt> res = null;
-    for (Stmt u : method.getBody().getStmts()) {
+    for (Stmt u : getBodyOf(method).getStmts()) {
       if (isCallStmt(u)) {
         if (res == null) {
           res = new LinkedHashSet<>();
@@ -173,7 +186,7 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
   @Override
   public Collection<Stmt> getStartPointsOf(SootMethod m) {
     if (m.hasBody()) {
-      Body body = m.getBody();
+      Body body = getBodyOf(m);
       StmtGraph<?> unitGraph = getOrCreateStmtGraph(body);
       return unitGraph.getEntrypoints();
     }
@@ -181,6 +194,7 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
   }
 
   public boolean setOwnerStatement(Stmt u, Body b) {
+    methodToBody.putIfAbsent(b.getMethodSignature(), b);
     return stmtToOwner.put(u, b) == null;
   }
 
@@ -215,7 +229,7 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
 
   public void initializeStmtToOwner(SootMethod m) {
     if (m.hasBody()) {
-      Body b = m.getBody();
+      Body b = methodToBody.computeIfAbsent(m.getSignature(), signature -> m.getBody());
       for (Stmt node : b.getStmtGraph().getNodes()) {
         stmtToOwner.put(node, b);
       }
@@ -236,7 +250,7 @@ public abstract class AbstractJimpleBasedICFG implements BiDiInterproceduralCFG<
   @Override
   public Collection<Stmt> getEndPointsOf(SootMethod m) {
     if (m.hasBody()) {
-      Body body = m.getBody();
+      Body body = getBodyOf(m);
       StmtGraph<?> unitGraph = getOrCreateStmtGraph(body);
       return unitGraph.getTails();
     }
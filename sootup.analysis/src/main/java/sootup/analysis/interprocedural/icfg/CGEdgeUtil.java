@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.Set;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import sootup.callgraph.CallEdge;
 import sootup.callgraph.CallGraph;
 import sootup.core.jimple.common.expr.*;
 import sootup.core.jimple.common.stmt.Stmt;
@@ -52,6 +53,25 @@ public class CGEdgeUtil {
     }
   }
 
+  public static CallGraphEdgeType findCallGraphEdgeType(CallEdge.Kind kind) {
+    switch (kind) {
+      case VIRTUAL:
+        return CallGraphEdgeType.VIRTUAL;
+      case SPECIAL:
+        return CallGraphEdgeType.SPECIAL;
+      case INTERFACE:
+        return CallGraphEdgeType.INTERFACE;
+      case STATIC:
+        return CallGraphEdgeType.STATIC;
+      case DYNAMIC:
+        return CallGraphEdgeType.DYNAMIC;
+      case CLINIT:
+        return CallGraphEdgeType.CLINIT;
+      default:
+        throw new RuntimeException("No such kind:" + kind);
+    }
+  }
+
   public static Set<Pair<MethodSignature, CalleeMethodSignature>> getCallEdges(
       View<? extends SootClass> view, CallGraph cg) {
     Set<MethodSignature> methodSigs = cg.getMethodSignatures();
@@ -31,16 +31,18 @@ import heros.ThreadSafe;
 import heros.solver.IDESolver;
 import java.util.*;
 import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.callgraph.CallEdge;
 import sootup.callgraph.CallGraph;
 import sootup.callgraph.CallGraphAlgorithm;
+import sootup.callgraph.CallSite;
 import sootup.callgraph.ClassHierarchyAnalysisAlgorithm;
 import sootup.core.graph.StmtGraph;
 import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.Body;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootMethod;
 import sootup.core.signatures.MethodSignature;
@@ -73,7 +75,28 @@ public class JimpleBasedInterproceduralCFG extends AbstractJimpleBasedICFG {
         @Override
         public Collection<SootMethod> load(Stmt stmt) {
           ArrayList<SootMethod> res = new ArrayList<>();
-          MethodSignature methodSignature = stmt.getInvokeExpr().getMethodSignature();
+          // the call graph identifies the call by its index in the body that owns the statement
+          Body body = getBodyOf(stmt);
+          Set<CallEdge> callEdges = Collections.emptySet();
+          Integer stmtIndex = body == null ? null : bodyToStmtIndices.getUnchecked(body).get(stmt);
+          if (stmtIndex != null) {
+            callEdges = cg.callEdgesAt(new CallSite(body.getMethodSignature(), stmtIndex));
+          }
+          if (callEdges.isEmpty()) {
+            // the call site is unknown to the call graph, use the statically referenced method
+            addCallee(res, stmt.getInvokeExpr().getMethodSignature());
+          } else {
+            callEdges.stream()
+                .map(CallEdge::getTarget)
+                .distinct()
+                .forEach(methodSignature -> addCallee(res, methodSignature));
+          }
+          res.trimToSize();
+          return res;
+        }
+
+        private void addCallee(
+            @Nonnull List<SootMethod> res, @Nonnull MethodSignature methodSignature) {
           Optional<? extends SootMethod> smOpt = view.getMethod(methodSignature);
           if (smOpt.isPresent()) {
             SootMethod sm = smOpt.get();
@@ -84,11 +107,24 @@ public class JimpleBasedInterproceduralCFG extends AbstractJimpleBasedICFG {
                   "Method {} is referenced but has no body!", sm.getSignature(), new Exception());
             }
           }
-          res.trimToSize();
-          return res;
         }
       };
 
+  @SynchronizedBy("by use of synchronized LoadingCache class")
+  protected final LoadingCache<Body, Map<Stmt, Integer>> bodyToStmtIndices =
+      IDESolver.DEFAULT_CACHE_BUILDER.build(
+          new CacheLoader<Body, Map<Stmt, Integer>>() {
+            @Override
+            public Map<Stmt, Integer> load(@Nonnull Body body) {
+              List<Stmt> stmts = body.getStmts();
+              Map<Stmt, Integer> stmtIndices = new IdentityHashMap<>(stmts.size());
+              for (int i = 0; i < stmts.size(); i++) {
+                stmtIndices.put(stmts.get(i), i);
+              }
+              return stmtIndices;
+            }
+          });
+
   @SynchronizedBy("by use of synchronized LoadingCache class")
   protected final LoadingCache<Stmt, Collection<SootMethod>> stmtToCallees =
       IDESolver.DEFAULT_CACHE_BUILDER.build(loaderUnitToCallees);
@@ -98,37 +134,56 @@ public class JimpleBasedInterproceduralCFG extends AbstractJimpleBasedICFG {
         @Nonnull
         @Override
         public Collection<Stmt> load(SootMethod method) {
-          ArrayList<Stmt> res = new ArrayList<>();
-          // only retain callers that are explicit call sites or
-          // Thread.start()
-          Set<MethodSignature> callsToMethod = cg.callsTo(method.getSignature());
-          for (MethodSignature methodSignature : callsToMethod) {
-            Stmt stmt = filterEdgeAndGetCallerStmt(methodSignature);
-            if (stmt != null) {
-              res.add(stmt);
+          Set<Stmt> res = new LinkedHashSet<>();
+          MethodSignature signature = method.getSignature();
+          if (cg.containsMethod(signature)) {
+            // only retain callers that are explicit call sites or
+            // Thread.start()
+            Set<MethodSignature> callersWithCallSites = new HashSet<>();
+            for (CallEdge callEdge : cg.callEdgesTo(signature)) {
+              callersWithCallSites.add(callEdge.getSource());
+              CallSite callSite = callEdge.getCallSite();
+              if (callSite != null && isRetained(callEdge.getKind())) {
+                view.getMethod(callSite.getMethod())
+                    .filter(SootMethod::hasBody)
+                    .ifPresent(caller -> res.add(callSite.getStmt(getBodyOf(caller))));
+              }
+            }
+            // the call graph may contain calls without call sites, e.g. a loaded call graph
+            for (MethodSignature caller : cg.callsTo(signature)) {
+              if (!callersWithCallSites.contains(caller)) {
+                addCallSitesBySignature(res, caller, signature);
+              }
             }
           }
-          res.trimToSize();
-          return res;
+          return new ArrayList<>(res);
         }
 
-        @Nullable
-        private Stmt filterEdgeAndGetCallerStmt(@Nonnull MethodSignature methodSignature) {
-          Set<Pair<MethodSignature, CalleeMethodSignature>> callEdges =
-              CGEdgeUtil.getCallEdges(view, cg);
-          for (Pair<MethodSignature, CalleeMethodSignature> callEdge : callEdges) {
-            CalleeMethodSignature callee = callEdge.getValue();
-            if (callee.getMethodSignature().equals(methodSignature)) {
-              CGEdgeUtil.CallGraphEdgeType edgeType = callee.getEdgeType();
-              if (edgeType.isExplicit()
-                  || edgeType.isFake()
-                  || edgeType.isClinit()
-                  || (includeReflectiveCalls && edgeType.isReflection())) {
-                return callee.getSourceStmt();
-              }
+        private void addCallSitesBySignature(
+            @Nonnull Set<Stmt> res,
+            @Nonnull MethodSignature caller,
+            @Nonnull MethodSignature callee) {
+          Optional<? extends SootMethod> callerOpt = view.getMethod(caller);
+          if (!callerOpt.isPresent() || !callerOpt.get().hasBody()) {
+            return;
+          }
+          for (Stmt stmt : getBodyOf(callerOpt.get()).getStmts()) {
+            if (stmt.containsInvokeExpr()
+                && stmt.getInvokeExpr()
+                    .getMethodSignature()
+                    .getSubSignature()
+                    .equals(callee.getSubSignature())) {
+              res.add(stmt);
             }
           }
-          return null;
+        }
+
+        private boolean isRetained(@Nonnull CallEdge.Kind kind) {
+          CGEdgeUtil.CallGraphEdgeType edgeType = CGEdgeUtil.findCallGraphEdgeType(kind);
+          return edgeType.isExplicit()
+              || edgeType.isFake()
+              || edgeType.isClinit()
+              || (includeReflectiveCalls && edgeType.isReflection());
         }
       };
 
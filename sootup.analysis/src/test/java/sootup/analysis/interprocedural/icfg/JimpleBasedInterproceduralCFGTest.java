@@ -0,0 +1,78 @@
+package sootup.analysis.interprocedural.icfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.inputlocation.DefaultSourceTypeSpecifier;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.BodyRetentionPolicy;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Tests the {@link JimpleBasedInterproceduralCFG} on views that drop bodies, so the call graph and
+ * the methods may resolve bodies with other statements than the ones of the ICFG.
+ */
+@Category(Java8Test.class)
+public class JimpleBasedInterproceduralCFGTest {
+
+  @Test
+  public void callsOnViewsWithoutStrongRetention() {
+    for (BodyRetentionPolicy policy :
+        new BodyRetentionPolicy[] {
+          BodyRetentionPolicy.weak(), BodyRetentionPolicy.leastRecentlyUsed(1)
+        }) {
+      List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations = new ArrayList<>();
+      inputLocations.add(new DefaultRTJarAnalysisInputLocation());
+      inputLocations.add(new JavaClassPathAnalysisInputLocation("src/test/resources/icfg/binary"));
+      JavaView view =
+          new JavaView(
+              inputLocations,
+              new FullCacheProvider<>(),
+              DefaultSourceTypeSpecifier.getInstance(),
+              policy);
+
+      SootClass<?> sc =
+          view.getClass(view.getIdentifierFactory().getClassType("ICFGExample")).get();
+      SootMethod entryMethod = getMethod(sc, "entryPoint");
+      SootMethod secondMethod = getMethod(sc, "secondMethod");
+      SootMethod thirdMethod = getMethod(sc, "thirdMethod");
+
+      JimpleBasedInterproceduralCFG icfg =
+          new JimpleBasedInterproceduralCFG(view, entryMethod.getSignature(), false, false);
+
+      Collection<Stmt> calls = icfg.getCallsFromWithin(entryMethod);
+      assertFalse(calls.isEmpty());
+      for (Stmt call : calls) {
+        assertTrue(icfg.isReachable(call));
+        for (SootMethod callee : icfg.getCalleesOfCallAt(call)) {
+          assertTrue(icfg.getCallersOf(callee).contains(call));
+        }
+      }
+
+      // the call site of the call graph is mapped to the statement of the ICFG
+      Collection<Stmt> callers = icfg.getCallersOf(thirdMethod);
+      assertEquals(1, callers.size());
+      Stmt caller = callers.iterator().next();
+      assertTrue(icfg.isReachable(caller));
+      assertEquals(secondMethod.getSignature(), icfg.getMethodOf(caller).getSignature());
+    }
+  }
+
+  private static SootMethod getMethod(SootClass<?> sc, String name) {
+    return sc.getMethods().stream().filter(m -> m.getName().equals(name)).findFirst().get();
+  }
+}
@@ -23,12 +23,11 @@ package sootup.callgraph;
  */
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import sootup.core.IdentifierFactory;
+import javax.annotation.Nullable;
 import sootup.core.jimple.basic.Value;
 import sootup.core.jimple.common.expr.AbstractInvokeExpr;
 import sootup.core.jimple.common.expr.JStaticInvokeExpr;
@@ -41,11 +40,9 @@ import sootup.core.model.SootClassMember;
 import sootup.core.model.SootMethod;
 import sootup.core.signatures.MethodSignature;
 import sootup.core.signatures.MethodSubSignature;
-import sootup.core.typehierarchy.HierarchyComparator;
 import sootup.core.typehierarchy.TypeHierarchy;
 import sootup.core.types.ClassType;
 import sootup.core.views.View;
-import sootup.java.core.JavaIdentifierFactory;
 import sootup.java.core.types.JavaClassType;
 
 /**
@@ -55,12 +52,63 @@ import sootup.java.core.types.JavaClassType;
  */
 public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
 
-  private static final Logger logger = LoggerFactory.getLogger(AbstractCallGraphAlgorithm.class);
-
   @Nonnull protected final View<? extends SootClass<?>> view;
 
+  /** caches the virtual dispatch results of the view, shared with other algorithms on the view */
+  @Nonnull protected final DispatchCache dispatchCache;
+
   protected AbstractCallGraphAlgorithm(@Nonnull View<? extends SootClass<?>> view) {
     this.view = view;
+    this.dispatchCache = DispatchCache.forView(view);
+  }
+
+  /** the pool that prefetches the methods of the work list, or null to not prefetch them */
+  @Nullable private ForkJoinPool pool;
+
+  /** the summaries of the library methods, or null if the library methods are not followed */
+  @Nullable private LibrarySummary librarySummary;
+
+  // the application subtypes of the classes of the library callbacks, cleared for every work list
+  @Nonnull private final Map<ClassType, List<ClassType>> applicationSubtypes = new HashMap<>();
+
+  /**
+   * Sets the summaries of the library methods, e.g. of the JDK. The bodies of library methods are
+   * not analyzed. Without summaries, the calls from library methods are lost. With summaries, a
+   * library method that is reached calls the application methods that override its callbacks.
+   *
+   * @param librarySummary the summaries of the library methods, or null to ignore the calls from
+   *     library methods again
+   */
+  public void setLibrarySummary(@Nullable LibrarySummary librarySummary) {
+    this.librarySummary = librarySummary;
+  }
+
+  @Nullable
+  public LibrarySummary getLibrarySummary() {
+    return librarySummary;
+  }
+
+  /**
+   * Builds the call graph like {@link #initialize(List)}, but prefetches the methods of the work
+   * list: the classes, bodies and dispatch targets of every method that is added to the work list
+   * are resolved ahead of time on the given pool. The work list itself is still processed in the
+   * same order on the calling thread, which is the only thread that writes to the call graph. So
+   * the resulting call graph is the same as the one of {@link #initialize(List)}, and only the
+   * resolution of the methods is done in parallel.
+   *
+   * @param entryPoints a list of entry points for the call graph algorithm.
+   * @param pool the pool that prefetches the methods that are added to the work list.
+   * @return a generated call graph with every entry point as starting point.
+   */
+  @Nonnull
+  public synchronized CallGraph initializeWithPrefetching(
+      @Nonnull List<MethodSignature> entryPoints, @Nonnull ForkJoinPool pool) {
+    this.pool = pool;
+    try {
+      return initialize(entryPoints);
+    } finally {
+      this.pool = null;
+    }
   }
 
   /**
@@ -77,13 +125,22 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
       View<? extends SootClass<?>> view, List<MethodSignature> entryPoints) {
     MutableCallGraph cg = initializeCallGraph();
 
-    Deque<MethodSignature> workList = new ArrayDeque<>(entryPoints);
+    Deque<MethodSignature> workList =
+        pool == null
+            ? new ArrayDeque<>(entryPoints)
+            : new PrefetchingWorkList(view, dispatchCache, pool, entryPoints);
     Set<MethodSignature> processed = new HashSet<>();
 
-    // implicit edge from entry point to static initializer
-    addImplicitEdgesOfEntryPoints(entryPoints, cg, workList);
+    try {
+      // implicit edge from entry point to static initializer
+      addImplicitEdgesOfEntryPoints(entryPoints, cg, workList);
 
-    processWorkList(view, workList, processed, cg);
+      processWorkList(view, workList, processed, cg);
+    } finally {
+      if (workList instanceof PrefetchingWorkList) {
+        ((PrefetchingWorkList) workList).cancelPrefetching();
+      }
+    }
     return cg;
   }
 
@@ -118,7 +175,7 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
           if (!cg.containsMethod(methodSignature)) cg.addMethod(methodSignature);
           if (!cg.containsMethod(staticInitSig)) cg.addMethod(staticInitSig);
           if (!cg.containsCall(methodSignature, staticInitSig)) {
-            cg.addCall(methodSignature, staticInitSig);
+            cg.addCall(new CallEdge(methodSignature, staticInitSig, null, CallEdge.Kind.CLINIT));
             workList.push(staticInitSig);
           }
         });
@@ -141,15 +198,22 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
       Deque<MethodSignature> workList,
       Set<MethodSignature> processed,
       MutableCallGraph cg) {
+    applicationSubtypes.clear();
     while (!workList.isEmpty()) {
       MethodSignature currentMethodSignature = workList.pop();
       // skip if already processed
       if (processed.contains(currentMethodSignature)) continue;
 
-      // skip if library class
       SootClass<?> currentClass =
           view.getClass(currentMethodSignature.getDeclClassType()).orElse(null);
-      if (currentClass == null || currentClass.isLibraryClass()) continue;
+      if (currentClass == null) continue;
+
+      // skip the body if library class, only the summary is followed
+      if (currentClass.isLibraryClass()) {
+        processLibraryMethod(currentMethodSignature, workList, cg);
+        processed.add(currentMethodSignature);
+        continue;
+      }
 
       // perform pre-processing if needed
       preProcessingMethod(view, currentMethodSignature, workList, cg);
@@ -161,23 +225,10 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
       SootMethod currentMethod =
           currentClass.getMethod(currentMethodSignature.getSubSignature()).orElse(null);
 
-      // get all call targets of invocations in the method body
-      Stream<MethodSignature> invocationTargets = resolveAllCallsFromSourceMethod(currentMethod);
-
-      // get all call targets of implicit edges in the method body
-      Stream<MethodSignature> implicitTargets =
-          resolveAllImplicitCallsFromSourceMethod(view, currentMethod);
-
-      // save calls in the call graphs
-      Stream.concat(invocationTargets, implicitTargets)
-          .forEach(
-              t -> {
-                if (!cg.containsMethod(t)) cg.addMethod(t);
-                if (!cg.containsCall(currentMethodSignature, t)) {
-                  cg.addCall(currentMethodSignature, t);
-                  workList.push(t);
-                }
-              });
+      // save the calls of the method with their call sites
+      for (CallEdge callEdge : resolveCallEdges(currentMethodSignature, currentMethod)) {
+        addCallEdge(callEdge, workList, cg);
+      }
 
       // set method as processed
       processed.add(currentMethodSignature);
@@ -188,21 +239,163 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
   }
 
   /**
-   * This method resolves all calls from a given source method. resolveCall is called for each
-   * invoke statement in the body of the source method that is implemented in the corresponding call
-   * graph algorithm.
+   * Resolves the calls of a single method, i.e. the calls of all invocations in its body with their
+   * call sites and the implicit calls to static initializers. Methods of library classes and
+   * methods that are not contained in the view do not have any calls.
    *
-   * @param sourceMethod this signature is used to access the statements contained method body of
-   *     the specified method
-   * @return a stream containing all resolved callable method signatures by the given source method
+   * @param sourceMethod the method whose calls are resolved.
+   * @return the resolved calls in the order in which they are added to the call graph.
    */
   @Nonnull
-  Stream<MethodSignature> resolveAllCallsFromSourceMethod(SootMethod sourceMethod) {
-    if (sourceMethod == null || !sourceMethod.hasBody()) return Stream.empty();
+  final List<CallEdge> resolveCallEdges(@Nonnull MethodSignature sourceMethod) {
+    SootClass<?> sourceClass = view.getClass(sourceMethod.getDeclClassType()).orElse(null);
+    if (sourceClass == null) {
+      return Collections.emptyList();
+    }
+    if (sourceClass.isLibraryClass()) {
+      LibrarySummary.MethodSummary summary = librarySummaryOf(sourceMethod);
+      return summary == null
+          ? Collections.emptyList()
+          : resolveLibraryCallEdges(sourceMethod, summary);
+    }
+    return resolveCallEdges(
+        sourceMethod, sourceClass.getMethod(sourceMethod.getSubSignature()).orElse(null));
+  }
+
+  @Nonnull
+  final List<CallEdge> resolveCallEdges(
+      @Nonnull MethodSignature sourceSignature, @Nullable SootMethod sourceMethod) {
+    List<CallEdge> callEdges = new ArrayList<>();
+    if (sourceMethod != null && sourceMethod.hasBody()) {
+      List<Stmt> stmts = sourceMethod.getBody().getStmts();
+      for (int i = 0; i < stmts.size(); i++) {
+        Stmt stmt = stmts.get(i);
+        if (!stmt.containsInvokeExpr()) continue;
+        CallSite callSite = new CallSite(sourceSignature, i);
+        CallEdge.Kind kind = CallEdge.Kind.of(stmt.getInvokeExpr());
+        resolveCall(sourceMethod, callSite, stmt)
+            .forEach(t -> callEdges.add(new CallEdge(sourceSignature, t, callSite, kind)));
+      }
+    }
+
+    // the calls of implicit edges in the method body
+    resolveAllImplicitCallsFromSourceMethod(view, sourceMethod)
+        .forEach(t -> callEdges.add(new CallEdge(sourceSignature, t, null, CallEdge.Kind.CLINIT)));
+    return callEdges;
+  }
 
-    return sourceMethod.getBody().getStmts().stream()
-        .filter(Stmt::containsInvokeExpr)
-        .flatMap(s -> resolveCall(sourceMethod, s.getInvokeExpr()));
+  @Nullable
+  private LibrarySummary.MethodSummary librarySummaryOf(@Nonnull MethodSignature libraryMethod) {
+    return librarySummary == null ? null : librarySummary.getSummary(libraryMethod).orElse(null);
+  }
+
+  /**
+   * Adds the calls from the given library method to the application methods that override its
+   * callbacks, if the library summary contains the method.
+   */
+  private void processLibraryMethod(
+      @Nonnull MethodSignature libraryMethod,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
+    LibrarySummary.MethodSummary summary = librarySummaryOf(libraryMethod);
+    if (summary == null) {
+      return;
+    }
+    libraryClassesInstantiated(summary.getInstantiatedTypes(), workList, cg);
+    if (!cg.containsMethod(libraryMethod)) cg.addMethod(libraryMethod);
+    for (CallEdge callEdge : resolveLibraryCallEdges(libraryMethod, summary)) {
+      addCallEdge(callEdge, workList, cg);
+    }
+  }
+
+  @Nonnull
+  private List<CallEdge> resolveLibraryCallEdges(
+      @Nonnull MethodSignature libraryMethod, @Nonnull LibrarySummary.MethodSummary summary) {
+    List<CallEdge> callEdges = new ArrayList<>();
+    for (MethodSignature callback : summary.getCallbacks()) {
+      CallEdge.Kind kind =
+          view.getClass(callback.getDeclClassType()).filter(SootClass::isInterface).isPresent()
+              ? CallEdge.Kind.INTERFACE
+              : CallEdge.Kind.VIRTUAL;
+      resolveLibraryCallback(libraryMethod, callback)
+          .forEach(t -> callEdges.add(new CallEdge(libraryMethod, t, null, kind)));
+    }
+    return callEdges;
+  }
+
+  /**
+   * This method resolves the application methods that a callback of a library method can dispatch
+   * to. By default, these are all methods of application subtypes of the class of the callback
+   * that override the callback, like in CHA.
+   *
+   * @param libraryMethod the library method whose summary contains the callback
+   * @param callback the signature of a virtual or interface call in the library
+   * @return a stream of the signatures of the application methods that are called
+   */
+  @Nonnull
+  protected Stream<MethodSignature> resolveLibraryCallback(
+      @Nonnull MethodSignature libraryMethod, @Nonnull MethodSignature callback) {
+    List<MethodSignature> targets = new ArrayList<>();
+    for (ClassType subtype : applicationSubtypesOf(callback.getDeclClassType())) {
+      view.getClass(subtype)
+          .flatMap(c -> c.getMethod(callback.getSubSignature()))
+          .filter(method -> !method.isAbstract())
+          .ifPresent(method -> targets.add(method.getSignature()));
+    }
+    return targets.stream();
+  }
+
+  /**
+   * This method is called with the classes that are instantiated by a library method that is
+   * reached, according to its library summary. It does nothing by default.
+   *
+   * @param instantiatedClasses the classes that are instantiated in the library
+   * @param workList the current work list that might be extended
+   * @param cg the current cg that might be extended
+   */
+  protected void libraryClassesInstantiated(
+      @Nonnull List<ClassType> instantiatedClasses,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
+    // do nothing
+  }
+
+  /**
+   * Returns the subtypes of the given class that are application classes. Built-in classes, like
+   * the classes of the JDK, are skipped without resolving them.
+   */
+  @Nonnull
+  protected List<ClassType> applicationSubtypesOf(@Nonnull ClassType classType) {
+    List<ClassType> subtypes = applicationSubtypes.get(classType);
+    if (subtypes == null) {
+      subtypes = new ArrayList<>();
+      TypeHierarchy typeHierarchy = view.getTypeHierarchy();
+      if (typeHierarchy.contains(classType)) {
+        for (ClassType subtype : typeHierarchy.subtypesOf(classType)) {
+          if (subtype.isBuiltInClass()) continue;
+          SootClass<?> subclass = view.getClass(subtype).orElse(null);
+          if (subclass != null && !subclass.isLibraryClass()) subtypes.add(subtype);
+        }
+      }
+      applicationSubtypes.put(classType, subtypes);
+    }
+    return subtypes;
+  }
+
+  /**
+   * Adds the call edge to the call graph. Its target is added to the work list if the call graph
+   * did not contain a call from the source to the target method before.
+   */
+  private static void addCallEdge(
+      @Nonnull CallEdge callEdge,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
+    MethodSignature target = callEdge.getTarget();
+    if (!cg.containsMethod(target)) cg.addMethod(target);
+    if (!cg.containsCall(callEdge.getSource(), target)) {
+      workList.push(target);
+    }
+    cg.addCall(callEdge);
   }
 
   /**
@@ -282,6 +475,17 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
         .map(SootClassMember::getSignature);
   }
 
+  /**
+   * Returns true if the targets of a call only depend on the call itself and the class hierarchy,
+   * but not on the rest of the call graph. Then a {@link CallGraphUpdater} can update a call graph
+   * by re-resolving only the calls that are affected by a change. Otherwise, it has to rebuild the
+   * call graph, e.g. for RTA, whose targets depend on the classes that are instantiated anywhere in
+   * the call graph.
+   */
+  protected boolean resolvesCallsByHierarchy() {
+    return false;
+  }
+
   /**
    * This method enables optional pre-processing of a method in the call graph algorithm
    *
@@ -360,6 +564,18 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
                   clazz.getMethod(overriddenMethodSig.getSubSignature()).get().getSignature();
 
               if (updated.containsMethod(overriddenMethodSig)) {
+                // the virtual call sites of the overridden method can dispatch to the new method
+                for (CallEdge callEdge : updated.callEdgesTo(overriddenMethodSig)) {
+                  if (callEdge.getKind() == CallEdge.Kind.VIRTUAL
+                      || callEdge.getKind() == CallEdge.Kind.INTERFACE) {
+                    updated.addCall(
+                        new CallEdge(
+                            callEdge.getSource(),
+                            overridingMethodSig,
+                            callEdge.getCallSite(),
+                            callEdge.getKind()));
+                  }
+                }
                 for (MethodSignature callingMethodSig : updated.callsTo(overriddenMethodSig)) {
                   updated.addCall(callingMethodSig, overridingMethodSig);
                 }
@@ -370,9 +586,22 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
   }
 
   /**
-   * The method iterates over all classes present in view, and finds method with name main and
-   * SourceType - Library. This method is used by initialize() method used for creating call graph
-   * and the call graph is created by considering the main method as an entry point.
+   * Builds the call graph like {@link #initialize(List)} with the entry points that the given
+   * provider finds in the view.
+   *
+   * @param entryPointProvider finds the entry points in the view, e.g. all public methods of a
+   *     library.
+   * @return a generated call graph with every found entry point as starting point.
+   */
+  @Nonnull
+  public CallGraph initialize(@Nonnull EntryPointProvider entryPointProvider) {
+    return initialize(entryPointProvider.getEntryPoints(view));
+  }
+
+  /**
+   * The method finds the static main methods of all application classes in the view with a {@link
+   * MainMethodEntryPointProvider}. This method is used by initialize() method used for creating
+   * call graph and the call graph is created by considering the main method as an entry point.
    *
    * <p>The method throws an exception if there is no main method in any of the classes or if there
    * are more than one main method.
@@ -380,30 +609,7 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
    * @return - MethodSignature of main method.
    */
   public MethodSignature findMainMethod() {
-    Set<SootClass<?>> classes = new HashSet<>(); /* Set to track the classes to check */
-    for (SootClass<?> aClass : view.getClasses()) {
-      if (!aClass.isLibraryClass()) {
-        classes.add(aClass);
-      }
-    }
-
-    Collection<SootMethod> mainMethods = new HashSet<>(); /* Set to store the methods */
-    for (SootClass<?> aClass : classes) {
-      for (SootMethod method : aClass.getMethods()) {
-        if (method.isStatic()
-            && method
-                .getSignature()
-                .equals(
-                    JavaIdentifierFactory.getInstance()
-                        .getMethodSignature(
-                            aClass.getType(),
-                            "main",
-                            "void",
-                            Collections.singletonList("java.lang.String[]")))) {
-          mainMethods.add(method);
-        }
-      }
-    }
+    List<MethodSignature> mainMethods = new MainMethodEntryPointProvider().getEntryPoints(view);
 
     if (mainMethods.size() > 1) {
       throw new RuntimeException(
@@ -415,7 +621,7 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
           "No main method is present in the input programs. initialize() method can be used if only one main method exists in the input program and that should be used as entry point for call graph. \n Please specify entry point as a parameter to initialize method.");
     }
 
-    return mainMethods.stream().findFirst().get().getSignature();
+    return mainMethods.get(0);
   }
 
   /**
@@ -431,27 +637,38 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
   protected abstract Stream<MethodSignature> resolveCall(
       SootMethod method, AbstractInvokeExpr invokeExpr);
 
+  /**
+   * This method resolves the possible targets of the call at the given statement. By default, it
+   * resolves the invoke expression of the statement. Overwrite it if the applied call graph
+   * algorithm needs to know the call site.
+   *
+   * @param method the method object that contains the given statement in the body.
+   * @param callSite the call site of the statement, which stays valid if the body is resolved
+   *     again.
+   * @param invokingStmt the statement that contains the call which is resolved.
+   * @return a stream of all reachable method signatures defined by the applied call graph
+   *     algorithm.
+   */
+  @Nonnull
+  protected Stream<MethodSignature> resolveCall(
+      SootMethod method, CallSite callSite, Stmt invokingStmt) {
+    return resolveCall(method, invokingStmt.getInvokeExpr());
+  }
+
   /**
    * Searches for the signature of the method that is the concrete implementation of <code>m</code>.
    * This is done by checking each superclass and the class itself for whether it contains the
-   * concrete implementation.
+   * concrete implementation. The result is cached in the {@link DispatchCache} of the view.
    */
   @Nonnull
   public static Optional<MethodSignature> resolveConcreteDispatch(
       View<? extends SootClass<?>> view, MethodSignature m) {
-    Optional<? extends SootMethod> methodOp = findConcreteMethod(view, m);
-    if (methodOp.isPresent()) {
-      SootMethod method = methodOp.get();
-      if (method.isAbstract()) {
-        return Optional.empty();
-      }
-      return Optional.of(method.getSignature());
-    }
-    return Optional.empty();
+    return DispatchCache.forView(view).resolveConcreteDispatch(view, m);
   }
 
   /**
-   * searches the method object in the given hierarchy
+   * searches the method object in the given hierarchy. The result is cached in the {@link
+   * DispatchCache} of the view.
    *
    * @param view it contains all classes
    * @param sig the signature of the searched method
@@ -459,58 +676,6 @@ public abstract class AbstractCallGraphAlgorithm implements CallGraphAlgorithm {
    */
   public static Optional<? extends SootMethod> findConcreteMethod(
       @Nonnull View<? extends SootClass<?>> view, @Nonnull MethodSignature sig) {
-    IdentifierFactory identifierFactory = view.getIdentifierFactory();
-    SootClass<?> startclass = view.getClass(sig.getDeclClassType()).orElse(null);
-    if (startclass == null) {
-      logger.warn(
-          "Could not find \""
-              + sig.getDeclClassType()
-              + "\" of method"
-              + sig
-              + " to resolve the concrete method");
-      return Optional.empty();
-    }
-    Optional<? extends SootMethod> startMethod = startclass.getMethod(sig.getSubSignature());
-    if (startMethod.isPresent()) {
-      return startMethod;
-    }
-    TypeHierarchy typeHierarchy = view.getTypeHierarchy();
-
-    List<ClassType> superClasses = typeHierarchy.superClassesOf(sig.getDeclClassType());
-    for (ClassType superClassType : superClasses) {
-      Optional<? extends SootMethod> method =
-          view.getMethod(
-              identifierFactory.getMethodSignature(superClassType, sig.getSubSignature()));
-      if (method.isPresent()) {
-        return method;
-      }
-    }
-    Set<ClassType> interfaces = typeHierarchy.implementedInterfacesOf(sig.getDeclClassType());
-    // interface1 is a sub-interface of interface2
-    // interface1 is a super-interface of interface2
-    // due to multiple inheritance in interfaces
-    final HierarchyComparator hierarchyComparator = new HierarchyComparator(view);
-    Optional<? extends SootMethod> defaultMethod =
-        interfaces.stream()
-            .map(
-                classType ->
-                    view.getMethod(
-                        identifierFactory.getMethodSignature(classType, sig.getSubSignature())))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .min(
-                (m1, m2) ->
-                    hierarchyComparator.compare(
-                        m1.getDeclaringClassType(), m2.getDeclaringClassType()));
-    if (defaultMethod.isPresent()) {
-      return defaultMethod;
-    }
-    logger.warn(
-        "Could not find \""
-            + sig.getSubSignature()
-            + "\" in "
-            + sig.getDeclClassType().getClassName()
-            + " and in its superclasses and interfaces");
-    return Optional.empty();
+    return DispatchCache.forView(view).findConcreteMethod(view, sig);
   }
 }
@@ -0,0 +1,136 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+
+/**
+ * The super class of the entry point providers that select the entry points class by class. The
+ * candidate classes are selected by their {@link ClassHeader} first, so only the candidates are
+ * resolved, and the built-in classes of the JDK are not resolved at all. The bodies of the methods
+ * are never resolved.
+ */
+public abstract class AbstractEntryPointProvider implements EntryPointProvider {
+
+  @Nonnull
+  @Override
+  public List<MethodSignature> getEntryPoints(@Nonnull View<? extends SootClass<?>> view) {
+    Collection<ClassHeader> headers = view.getClassHeaders();
+    Map<ClassType, ClassHeader> typeToHeader = new HashMap<>();
+    for (ClassHeader header : headers) {
+      typeToHeader.put(header.getType(), header);
+    }
+
+    List<MethodSignature> entryPoints = new ArrayList<>();
+    for (ClassHeader header : headers) {
+      // built-in classes are library classes, so they are skipped without resolving them
+      if (header.getType().isBuiltInClass() || !isCandidate(header, typeToHeader)) {
+        continue;
+      }
+      Optional<? extends SootClass<?>> sootClass = view.getClass(header.getType());
+      if (!sootClass.isPresent() || sootClass.get().isLibraryClass()) {
+        continue;
+      }
+      for (SootMethod method : sootClass.get().getMethods()) {
+        if (isEntryPoint(view, sootClass.get(), method)) {
+          entryPoints.add(method.getSignature());
+        }
+      }
+    }
+    return entryPoints;
+  }
+
+  /**
+   * Decides by the header of a class whether the class can contain entry points. Only candidates
+   * are resolved.
+   *
+   * @param header the header of the inspected class
+   * @param typeToHeader the headers of all classes in the view, e.g. to inspect the supertypes of
+   *     the class
+   * @return true if the methods of the class have to be inspected
+   */
+  protected abstract boolean isCandidate(
+      @Nonnull ClassHeader header, @Nonnull Map<ClassType, ClassHeader> typeToHeader);
+
+  /**
+   * Decides whether a method of a candidate class is an entry point.
+   *
+   * @param view the view that contains the class
+   * @param sootClass the application class that declares the method
+   * @param method the inspected method
+   * @return true if the method is an entry point
+   */
+  protected abstract boolean isEntryPoint(
+      @Nonnull View<? extends SootClass<?>> view,
+      @Nonnull SootClass<?> sootClass,
+      @Nonnull SootMethod method);
+
+  /**
+   * Checks whether the class of the given header is a subtype of the given type. The supertypes
+   * are looked up in the headers, so the check stops at supertypes that are not part of the view.
+   * The given type itself does not need to be part of the view.
+   */
+  protected static boolean isSubtypeOf(
+      @Nonnull ClassHeader header,
+      @Nonnull ClassType supertype,
+      @Nonnull Map<ClassType, ClassHeader> typeToHeader) {
+    if (header.getType().equals(supertype)) {
+      return true;
+    }
+    Deque<ClassHeader> workList = new ArrayDeque<>();
+    Set<ClassType> visited = new HashSet<>();
+    workList.add(header);
+    visited.add(header.getType());
+    while (!workList.isEmpty()) {
+      ClassHeader current = workList.poll();
+      List<ClassType> directSupertypes = new ArrayList<>(current.getInterfaces());
+      current.getSuperclass().ifPresent(directSupertypes::add);
+      for (ClassType directSupertype : directSupertypes) {
+        if (directSupertype.equals(supertype)) {
+          return true;
+        }
+        ClassHeader directSupertypeHeader = typeToHeader.get(directSupertype);
+        if (directSupertypeHeader != null && visited.add(directSupertype)) {
+          workList.add(directSupertypeHeader);
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,85 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+import sootup.java.core.AnnotationUsage;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Provides all non-abstract methods of the application that are annotated with one of the given
+ * annotations as entry points, e.g. the request handlers of a web framework or the test methods of
+ * a test framework.
+ */
+public class AnnotatedMethodEntryPointProvider extends AbstractEntryPointProvider {
+
+  @Nonnull private final Set<String> annotationNames = new HashSet<>();
+
+  /**
+   * The constructor of the annotation based entry point provider.
+   *
+   * @param annotationTypes the types of the annotations that mark an entry point.
+   */
+  public AnnotatedMethodEntryPointProvider(
+      @Nonnull Collection<? extends ClassType> annotationTypes) {
+    for (ClassType annotationType : annotationTypes) {
+      annotationNames.add(annotationType.getFullyQualifiedName());
+    }
+  }
+
+  @Override
+  protected boolean isCandidate(
+      @Nonnull ClassHeader header, @Nonnull Map<ClassType, ClassHeader> typeToHeader) {
+    return true;
+  }
+
+  @Override
+  protected boolean isEntryPoint(
+      @Nonnull View<? extends SootClass<?>> view,
+      @Nonnull SootClass<?> sootClass,
+      @Nonnull SootMethod method) {
+    if (!(method instanceof JavaSootMethod) || !method.isConcrete()) {
+      return false;
+    }
+    Optional<JavaView> javaView =
+        view instanceof JavaView ? Optional.of((JavaView) view) : Optional.empty();
+    for (AnnotationUsage annotationUsage : ((JavaSootMethod) method).getAnnotations(javaView)) {
+      // compared by name, since an AnnotationType never equals a JavaClassType
+      if (annotationNames.contains(annotationUsage.getAnnotation().getFullyQualifiedName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
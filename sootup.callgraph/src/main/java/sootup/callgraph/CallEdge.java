@@ -0,0 +1,155 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.jimple.common.expr.AbstractInvokeExpr;
+import sootup.core.jimple.common.expr.JDynamicInvokeExpr;
+import sootup.core.jimple.common.expr.JInterfaceInvokeExpr;
+import sootup.core.jimple.common.expr.JSpecialInvokeExpr;
+import sootup.core.jimple.common.expr.JStaticInvokeExpr;
+import sootup.core.jimple.common.expr.JVirtualInvokeExpr;
+import sootup.core.signatures.MethodSignature;
+
+/**
+ * A call from a source method to a target method at a call site, i.e. the statement that causes the
+ * call, and the kind of the call. A call graph contains one edge from the source to the target
+ * method, but it can contain several call edges of this edge, one for every call site.
+ *
+ * <p>The call site is a {@link CallSite}, which identifies the statement by its index in the body
+ * of the source method. So the call edges stay valid if the body is dropped and resolved again.
+ */
+public final class CallEdge {
+
+  /** The kind of a call, which is defined by the invoke expression or the cause of the call. */
+  public enum Kind {
+    /** Due to an invokevirtual instruction. */
+    VIRTUAL,
+    /** Due to an invokestatic instruction. */
+    STATIC,
+    /** Due to an invokespecial instruction. */
+    SPECIAL,
+    /** Due to an invokeinterface instruction. */
+    INTERFACE,
+    /** Due to an invokedynamic instruction. */
+    DYNAMIC,
+    /** Implicit call to a static initializer. */
+    CLINIT;
+
+    /** Returns the kind of the call of the given invoke expression. */
+    @Nonnull
+    public static Kind of(@Nonnull AbstractInvokeExpr invokeExpr) {
+      if (invokeExpr instanceof JVirtualInvokeExpr) {
+        return VIRTUAL;
+      } else if (invokeExpr instanceof JSpecialInvokeExpr) {
+        return SPECIAL;
+      } else if (invokeExpr instanceof JInterfaceInvokeExpr) {
+        return INTERFACE;
+      } else if (invokeExpr instanceof JStaticInvokeExpr) {
+        return STATIC;
+      } else if (invokeExpr instanceof JDynamicInvokeExpr) {
+        return DYNAMIC;
+      }
+      throw new IllegalArgumentException("No such invokeExpr:" + invokeExpr);
+    }
+  }
+
+  @Nonnull private final MethodSignature source;
+  @Nonnull private final MethodSignature target;
+  @Nullable private final CallSite callSite;
+  @Nonnull private final Kind kind;
+
+  /**
+   * @throws IllegalArgumentException if the call site is not located in the source method
+   */
+  public CallEdge(
+      @Nonnull MethodSignature source,
+      @Nonnull MethodSignature target,
+      @Nullable CallSite callSite,
+      @Nonnull Kind kind) {
+    if (callSite != null && !callSite.getMethod().equals(source)) {
+      throw new IllegalArgumentException(
+          "The call site " + callSite + " is not located in the source method " + source);
+    }
+    this.source = source;
+    this.target = target;
+    this.callSite = callSite;
+    this.kind = kind;
+  }
+
+  @Nonnull
+  public MethodSignature getSource() {
+    return source;
+  }
+
+  @Nonnull
+  public MethodSignature getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the call site at which the call occurs. It is null for calls that do not occur at a
+   * specific statement, e.g. the implicit call of the static initializer of an entry point.
+   */
+  @Nullable
+  public CallSite getCallSite() {
+    return callSite;
+  }
+
+  @Nonnull
+  public Kind getKind() {
+    return kind;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    CallEdge that = (CallEdge) o;
+    return source.equals(that.source)
+        && target.equals(that.target)
+        && Objects.equal(callSite, that.callSite)
+        && kind == that.kind;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(source, target, callSite, kind);
+  }
+
+  @Override
+  public String toString() {
+    return source
+        + " -"
+        + kind
+        + "-> "
+        + target
+        + (callSite == null ? "" : " at " + callSite.getStmtIndex());
+  }
+}
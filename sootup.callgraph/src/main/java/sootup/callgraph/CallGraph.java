@@ -59,6 +59,37 @@ public interface CallGraph {
   @Nonnull
   Set<MethodSignature> callsTo(@Nonnull MethodSignature targetMethod);
 
+  /**
+   * This method returns the call edges, i.e. the call sites, of all calls of the given method.
+   * Calls that were added without a call site are not contained.
+   *
+   * @param sourceMethod the method signature of the requested node in the call graph
+   * @return a set of the call edges whose source is the given method
+   */
+  @Nonnull
+  Set<CallEdge> callEdgesFrom(@Nonnull MethodSignature sourceMethod);
+
+  /**
+   * This method returns the call edges, i.e. the call sites, of all calls to the given method.
+   * Calls that were added without a call site are not contained.
+   *
+   * @param targetMethod the method signature of the requested node in the call graph
+   * @return a set of the call edges whose target is the given method
+   */
+  @Nonnull
+  Set<CallEdge> callEdgesTo(@Nonnull MethodSignature targetMethod);
+
+  /**
+   * This method returns the call edges of the calls at the given call site.
+   *
+   * @param callSite the call site of a statement that contains an invoke expression, see {@link
+   *     CallSite#of(sootup.core.model.Body, sootup.core.jimple.common.stmt.Stmt)}
+   * @return a set of the call edges that are caused by the given call site, or an empty set if the
+   *     call site is not part of the call graph
+   */
+  @Nonnull
+  Set<CallEdge> callEdgesAt(@Nonnull CallSite callSite);
+
   /**
    * This method checks if a given method signature is a node in the call graph.
    *
@@ -0,0 +1,268 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.model.SootClass;
+import sootup.core.views.View;
+
+/**
+ * A directory of call graph files in the format of the {@link MappedCallGraph}. Every file is
+ * stored under a key, which is usually the {@link #contentHash(Collection, String...)} of the input
+ * of the call graph algorithm. So a later run on the same input can load the call graph instead of
+ * constructing it again.
+ *
+ * <pre><code>
+ * CallGraphStore store = new CallGraphStore(cacheDirectory);
+ * String key = CallGraphStore.contentHash(inputPaths, "cha", entryPoint.toString());
+ * CallGraph cg = store.getOrCreate(key, () -&gt; algorithm.initialize(entryPoints));
+ * </code></pre>
+ */
+public class CallGraphStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(CallGraphStore.class);
+  private static final String FILE_EXTENSION = ".cg";
+  private static final String LIBRARY_SUMMARY_FILE_EXTENSION = ".summary";
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+  @Nonnull private final Path directory;
+
+  /**
+   * Creates a store that keeps its files in the given directory. The directory is created when the
+   * first call graph is stored.
+   */
+  public CallGraphStore(@Nonnull Path directory) {
+    this.directory = directory;
+  }
+
+  /** Returns the file of the call graph that is stored under the given key. */
+  @Nonnull
+  public Path getFile(@Nonnull String key) {
+    return directory.resolve(key + FILE_EXTENSION);
+  }
+
+  /**
+   * Loads the call graph that is stored under the given key.
+   *
+   * @return the call graph, or an empty optional if no call graph is stored under the key or if the
+   *     file can not be loaded
+   */
+  @Nonnull
+  public Optional<CallGraph> load(@Nonnull String key) {
+    Path file = getFile(key);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(MappedCallGraph.load(file));
+    } catch (IOException e) {
+      logger.warn("Could not load the call graph " + file, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the call graph under the given key. The file is replaced atomically, so a concurrent
+   * {@link #load(String)} never sees a partially written file.
+   */
+  public void store(@Nonnull String key, @Nonnull CallGraph callGraph) throws IOException {
+    writeAtomically(getFile(key), tempFile -> MappedCallGraph.write(callGraph, tempFile));
+  }
+
+  private void writeAtomically(@Nonnull Path file, @Nonnull FileWriter writer) throws IOException {
+    Files.createDirectories(directory);
+    Path tempFile =
+        Files.createTempFile(directory, file.getFileName().toString(), TEMP_FILE_EXTENSION);
+    try {
+      writer.write(tempFile);
+      try {
+        Files.move(
+            tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /**
+   * Loads the call graph that is stored under the given key. If there is none, the call graph is
+   * created by the given supplier and stored for later runs. A failure to store the call graph is
+   * only logged, since the created call graph can be used anyway.
+   *
+   * @param key the key of the call graph, e.g. the content hash of the input
+   * @param callGraphSupplier constructs the call graph if it is not stored yet
+   * @return the stored or the created call graph
+   */
+  @Nonnull
+  public CallGraph getOrCreate(
+      @Nonnull String key, @Nonnull Supplier<? extends CallGraph> callGraphSupplier) {
+    Optional<CallGraph> storedCallGraph = load(key);
+    if (storedCallGraph.isPresent()) {
+      return storedCallGraph.get();
+    }
+    CallGraph callGraph = callGraphSupplier.get();
+    try {
+      store(key, callGraph);
+    } catch (IOException e) {
+      logger.warn("Could not store the call graph " + getFile(key), e);
+    }
+    return callGraph;
+  }
+
+  /** Returns the file of the library summary that is stored under the given key. */
+  @Nonnull
+  public Path getLibrarySummaryFile(@Nonnull String key) {
+    return directory.resolve(key + LIBRARY_SUMMARY_FILE_EXTENSION);
+  }
+
+  /**
+   * Loads the library summary that is stored under the given key. If there is none, the library
+   * classes of the given view are summarized and the summary is stored for later runs, so the
+   * library is only analyzed once.
+   *
+   * <pre><code>
+   * String key = CallGraphStore.contentHash(Collections.singletonList(rtJar), "library-summary");
+   * algorithm.setLibrarySummary(store.getOrCreateLibrarySummary(key, libraryView));
+   * </code></pre>
+   *
+   * @param key the key of the library summary, e.g. the content hash of the library
+   * @param libraryView the view that contains the library classes
+   * @return the stored or the created library summary
+   * @throws IOException if the library summary can neither be loaded nor stored
+   */
+  @Nonnull
+  public LibrarySummary getOrCreateLibrarySummary(
+      @Nonnull String key, @Nonnull View<? extends SootClass<?>> libraryView) throws IOException {
+    Path file = getLibrarySummaryFile(key);
+    if (Files.isRegularFile(file)) {
+      try {
+        return LibrarySummary.load(file);
+      } catch (IOException e) {
+        logger.warn("Could not load the library summary " + file, e);
+      }
+    }
+    writeAtomically(file, tempFile -> LibrarySummary.write(libraryView, tempFile));
+    return LibrarySummary.load(file);
+  }
+
+  /** Writes a file, which is moved to its final location afterwards. */
+  private interface FileWriter {
+    void write(@Nonnull Path file) throws IOException;
+  }
+
+  /**
+   * Computes a SHA-256 hash of the contents of the given input paths and of the given parameters,
+   * e.g. the name of the call graph algorithm and the entry points. Directories are hashed with the
+   * relative paths and contents of all files in them.
+   *
+   * @param inputPaths the files and directories of the input locations of the view
+   * @param parameters further values that influence the call graph
+   * @return the hash as a hex string, which can be used as key of a store
+   * @throws IOException if an input path can not be read
+   */
+  @Nonnull
+  public static String contentHash(
+      @Nonnull Collection<Path> inputPaths, @Nonnull String... parameters) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform has to support SHA-256
+      throw new IllegalStateException(e);
+    }
+    for (Path inputPath : inputPaths) {
+      if (Files.isDirectory(inputPath)) {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(inputPath)) {
+          // sorted by the relative paths, since the order of paths depends on the platform
+          files =
+              paths
+                  .filter(Files::isRegularFile)
+                  .sorted(Comparator.comparing(file -> relativePath(inputPath, file)))
+                  .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+          update(digest, relativePath(inputPath, file));
+          updateWithContent(digest, file);
+        }
+      } else {
+        updateWithContent(digest, inputPath);
+      }
+      update(digest, "");
+    }
+    for (String parameter : parameters) {
+      update(digest, parameter);
+    }
+
+    StringBuilder hash = new StringBuilder();
+    for (byte b : digest.digest()) {
+      hash.append(String.format("%02x", b));
+    }
+    return hash.toString();
+  }
+
+  /** Returns the relative path of the file with '/' as separator on every platform. */
+  @Nonnull
+  private static String relativePath(@Nonnull Path directory, @Nonnull Path file) {
+    return directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+  }
+
+
+  private static void update(@Nonnull MessageDigest digest, @Nonnull String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    // separates the values, so that "ab", "c" and "a", "bc" have different hashes
+    digest.update((byte) 0);
+  }
+
+  private static void updateWithContent(@Nonnull MessageDigest digest, @Nonnull Path file)
+      throws IOException {
+    byte[] buffer = new byte[64 * 1024];
+    try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+      while (in.read(buffer) != -1) {
+        // the stream updates the digest
+      }
+    }
+    update(digest, "");
+  }
+}
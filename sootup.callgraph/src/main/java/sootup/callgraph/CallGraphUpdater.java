@@ -0,0 +1,282 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.ViewChangeListener;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.core.views.MutableView;
+import sootup.core.views.View;
+
+/**
+ * Keeps a call graph up to date while the classes of a {@link MutableView} change. The updater
+ * collects the classes that are added, removed or modified in the view. {@link #update()} applies
+ * these changes to the call graph in place:
+ *
+ * <ol>
+ *   <li>The methods of the changed classes are removed from the call graph, with all their calls.
+ *   <li>The callers of these methods, and the callers of the methods in supertypes that the changed
+ *       classes override or used to override, are re-resolved.
+ *   <li>The methods that are not reachable from the entry points anymore are removed.
+ * </ol>
+ *
+ * <p>So only the bodies of the changed methods and of their callers are inspected again. This is
+ * only possible for algorithms whose call targets depend on the class hierarchy alone, see {@link
+ * AbstractCallGraphAlgorithm#resolvesCallsByHierarchy()}. For all other algorithms the call graph
+ * is rebuilt from the entry points and its content is replaced.
+ */
+public class CallGraphUpdater implements ViewChangeListener {
+
+  @Nonnull private final AbstractCallGraphAlgorithm algorithm;
+  @Nonnull private final MutableCallGraph callGraph;
+  @Nonnull private final List<MethodSignature> entryPoints;
+
+  // the classes that have changed since the last update
+  @Nonnull private final Set<ClassType> changedClasses = new HashSet<>();
+  // the direct supertypes of the changed classes before they were changed
+  @Nonnull private final Set<ClassType> formerSupertypes = new HashSet<>();
+
+  private CallGraphUpdater(
+      @Nonnull AbstractCallGraphAlgorithm algorithm,
+      @Nonnull MutableCallGraph callGraph,
+      @Nonnull List<MethodSignature> entryPoints) {
+    this.algorithm = algorithm;
+    this.callGraph = callGraph;
+    this.entryPoints = Collections.unmodifiableList(new ArrayList<>(entryPoints));
+  }
+
+  /**
+   * Builds the call graph of the given entry points and registers an updater for it at the view of
+   * the algorithm, if the view is a {@link MutableView}.
+   *
+   * @param algorithm the algorithm that builds the call graph and re-resolves the changed calls.
+   * @param entryPoints the entry points of the call graph.
+   * @return the updater, which holds the call graph.
+   */
+  @Nonnull
+  public static CallGraphUpdater create(
+      @Nonnull AbstractCallGraphAlgorithm algorithm, @Nonnull List<MethodSignature> entryPoints) {
+    CallGraph callGraph = algorithm.initialize(entryPoints);
+    CallGraphUpdater updater =
+        new CallGraphUpdater(
+            algorithm,
+            callGraph instanceof MutableCallGraph
+                ? (MutableCallGraph) callGraph
+                : callGraph.copy(),
+            entryPoints);
+    if (algorithm.view instanceof MutableView) {
+      ((MutableView) algorithm.view).addChangeListener(updater);
+    }
+    return updater;
+  }
+
+  /**
+   * Returns the call graph, which is modified by every {@link #update()}. It must not be modified
+   * by anyone else.
+   */
+  @Nonnull
+  public CallGraph getCallGraph() {
+    return callGraph;
+  }
+
+  @Nonnull
+  public List<MethodSignature> getEntryPoints() {
+    return entryPoints;
+  }
+
+  /** Returns true if classes have changed since the last update. */
+  public synchronized boolean hasPendingChanges() {
+    return !changedClasses.isEmpty();
+  }
+
+  /** Unregisters the updater from the view, so the call graph will not be updated anymore. */
+  public void close() {
+    if (algorithm.view instanceof MutableView) {
+      ((MutableView) algorithm.view).removeChangeListener(this);
+    }
+  }
+
+  @Override
+  public synchronized void classAdded(SootClass sc) {
+    changedClasses.add(sc.getType());
+  }
+
+  @Override
+  public synchronized void classRemoved(SootClass sc) {
+    SootClass<?> removedClass = sc;
+    changedClasses.add(removedClass.getType());
+    removedClass.getSuperclass().ifPresent(formerSupertypes::add);
+    formerSupertypes.addAll(removedClass.getInterfaces());
+  }
+
+  @Override
+  public synchronized void methodAdded(SootMethod m) {
+    changedClasses.add(m.getDeclaringClassType());
+  }
+
+  @Override
+  public synchronized void methodRemoved(SootMethod m) {
+    changedClasses.add(m.getDeclaringClassType());
+  }
+
+  /**
+   * Applies all changes of the view since the last update to the call graph.
+   *
+   * @return the call graph, which has been updated in place.
+   */
+  @Nonnull
+  public synchronized CallGraph update() {
+    if (changedClasses.isEmpty()) {
+      return callGraph;
+    }
+    Set<ClassType> changed = new HashSet<>(changedClasses);
+    Set<ClassType> supertypes = new HashSet<>(formerSupertypes);
+    changedClasses.clear();
+    formerSupertypes.clear();
+
+    if (algorithm.resolvesCallsByHierarchy()) {
+      updateChangedClasses(changed, supertypes);
+    } else {
+      rebuild();
+    }
+    return callGraph;
+  }
+
+  private void updateChangedClasses(
+      @Nonnull Set<ClassType> changed, @Nonnull Set<ClassType> supertypes) {
+    View<? extends SootClass<?>> view = algorithm.view;
+    TypeHierarchy typeHierarchy = view.getTypeHierarchy();
+
+    // the sub-signatures of the old and the new methods of the changed classes
+    Set<MethodSubSignature> changedSubSignatures = new HashSet<>();
+    for (ClassType classType : changed) {
+      view.getClass(classType)
+          .ifPresent(
+              sootClass -> {
+                sootClass.getSuperclass().ifPresent(supertypes::add);
+                supertypes.addAll(sootClass.getInterfaces());
+                for (SootMethod method : sootClass.getMethods()) {
+                  changedSubSignatures.add(method.getSignature().getSubSignature());
+                }
+              });
+    }
+    for (ClassType supertype : new ArrayList<>(supertypes)) {
+      if (typeHierarchy.contains(supertype)) {
+        supertypes.addAll(typeHierarchy.superClassesOf(supertype));
+        supertypes.addAll(typeHierarchy.implementedInterfacesOf(supertype));
+      }
+    }
+    supertypes.removeAll(changed);
+
+    Set<MethodSignature> changedMethods = new HashSet<>();
+    for (MethodSignature method : callGraph.getMethodSignatures()) {
+      if (changed.contains(method.getDeclClassType())) {
+        changedMethods.add(method);
+        changedSubSignatures.add(method.getSubSignature());
+      }
+    }
+    // the methods whose call sites might dispatch to a changed method now or did so before
+    Set<MethodSignature> affectedTargets = new HashSet<>(changedMethods);
+    for (MethodSignature method : callGraph.getMethodSignatures()) {
+      if (supertypes.contains(method.getDeclClassType())
+          && changedSubSignatures.contains(method.getSubSignature())) {
+        affectedTargets.add(method);
+      }
+    }
+
+    Set<MethodSignature> callers = new HashSet<>();
+    for (MethodSignature target : affectedTargets) {
+      callers.addAll(callGraph.callsTo(target));
+    }
+    callers.removeAll(changedMethods);
+
+    // delete the changed methods and the calls that are resolved again
+    for (MethodSignature method : changedMethods) {
+      callGraph.removeMethod(method);
+    }
+    for (MethodSignature caller : callers) {
+      for (MethodSignature target : new ArrayList<>(callGraph.callsFrom(caller))) {
+        callGraph.removeCall(caller, target);
+      }
+    }
+
+    // re-resolve the callers, which adds the changed methods again if they are still called
+    Deque<MethodSignature> workList = new ArrayDeque<>(callers);
+    for (MethodSignature entryPoint : entryPoints) {
+      if (changedMethods.contains(entryPoint)) {
+        workList.push(entryPoint);
+      }
+    }
+    Set<MethodSignature> processed = new HashSet<>(callGraph.getMethodSignatures());
+    processed.removeAll(callers);
+    algorithm.addImplicitEdgesOfEntryPoints(entryPoints, callGraph, workList);
+    algorithm.processWorkList(view, workList, processed, callGraph);
+
+    removeUnreachableMethods();
+  }
+
+  /** Removes all methods that can not be reached from any entry point. */
+  private void removeUnreachableMethods() {
+    Set<MethodSignature> reachable = new HashSet<>();
+    Deque<MethodSignature> workList = new ArrayDeque<>();
+    for (MethodSignature entryPoint : entryPoints) {
+      if (callGraph.containsMethod(entryPoint) && reachable.add(entryPoint)) {
+        workList.push(entryPoint);
+      }
+    }
+    while (!workList.isEmpty()) {
+      for (MethodSignature target : callGraph.callsFrom(workList.pop())) {
+        if (reachable.add(target)) {
+          workList.push(target);
+        }
+      }
+    }
+
+    List<MethodSignature> unreachable = new ArrayList<>();
+    for (MethodSignature method : callGraph.getMethodSignatures()) {
+      if (!reachable.contains(method)) {
+        unreachable.add(method);
+      }
+    }
+    unreachable.forEach(callGraph::removeMethod);
+  }
+
+  /** Replaces the content of the call graph with a newly built call graph. */
+  private void rebuild() {
+    CallGraph rebuilt = algorithm.initialize(entryPoints);
+    callGraph.clear();
+    EntryPointCallGraphs.addAll(callGraph, rebuilt);
+  }
+}
@@ -0,0 +1,124 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Objects;
+import java.util.List;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.Body;
+import sootup.core.signatures.MethodSignature;
+
+/**
+ * The statement at which a call occurs, identified by the method that contains the statement and
+ * its index in the statements of the body, see {@link Body#getStmts()}. A body that is dropped and
+ * resolved again, e.g. with a {@link sootup.core.model.BodyRetentionPolicy#weak()} view, consists
+ * of new statements, but the call site still denotes the same call.
+ */
+public final class CallSite {
+
+  @Nonnull private final MethodSignature method;
+  private final int stmtIndex;
+
+  public CallSite(@Nonnull MethodSignature method, int stmtIndex) {
+    if (stmtIndex < 0) {
+      throw new IllegalArgumentException("Negative statement index " + stmtIndex);
+    }
+    this.method = method;
+    this.stmtIndex = stmtIndex;
+  }
+
+  /**
+   * Returns the call site of the given statement of the body.
+   *
+   * @throws IllegalArgumentException if the body does not contain the statement
+   */
+  @Nonnull
+  public static CallSite of(@Nonnull Body body, @Nonnull Stmt stmt) {
+    List<Stmt> stmts = body.getStmts();
+    for (int i = 0; i < stmts.size(); i++) {
+      if (stmts.get(i) == stmt) {
+        return new CallSite(body.getMethodSignature(), i);
+      }
+    }
+    throw new IllegalArgumentException(
+        "The body of " + body.getMethodSignature() + " does not contain " + stmt);
+  }
+
+  /** Returns the method that contains the call. */
+  @Nonnull
+  public MethodSignature getMethod() {
+    return method;
+  }
+
+  /** Returns the index of the statement in the statements of the body of the method. */
+  public int getStmtIndex() {
+    return stmtIndex;
+  }
+
+  /**
+   * Returns the statement of the call site in the given body of the method.
+   *
+   * @throws IllegalArgumentException if the body does not belong to the method or is too short
+   */
+  @Nonnull
+  public Stmt getStmt(@Nonnull Body body) {
+    return getStmt(body.getMethodSignature(), body.getStmts());
+  }
+
+  /**
+   * Returns the statement of the call site in the given statements of the method, see {@link
+   * Body#getStmts()}. Use it to look up several call sites without listing the statements again.
+   *
+   * @throws IllegalArgumentException if the statements do not belong to the method or are too short
+   */
+  @Nonnull
+  public Stmt getStmt(@Nonnull MethodSignature method, @Nonnull List<Stmt> stmts) {
+    if (!this.method.equals(method) || stmtIndex >= stmts.size()) {
+      throw new IllegalArgumentException("The statements of " + method + " do not contain " + this);
+    }
+    return stmts.get(stmtIndex);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    CallSite that = (CallSite) o;
+    return stmtIndex == that.stmtIndex && method.equals(that.method);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(method, stmtIndex);
+  }
+
+  @Override
+  public String toString() {
+    return method + "#" + stmtIndex;
+  }
+}
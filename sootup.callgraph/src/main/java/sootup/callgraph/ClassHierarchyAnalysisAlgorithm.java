@@ -83,7 +83,8 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
       return Stream.empty();
     }
 
-    SootMethod targetMethod = findConcreteMethod(view, targetMethodSignature).orElse(null);
+    SootMethod targetMethod =
+        dispatchCache.findConcreteMethod(view, targetMethodSignature).orElse(null);
 
     if (targetMethod == null
         || MethodModifier.isStatic(targetMethod.getModifiers())
@@ -101,7 +102,7 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
         noImplementedMethod.stream()
             .map(
                 classType ->
-                    resolveConcreteDispatch(
+                    dispatchCache.resolveConcreteDispatch(
                         view,
                         factory.getMethodSignature(
                             classType, targetMethodSignature.getSubSignature())))
@@ -147,6 +148,11 @@ public class ClassHierarchyAnalysisAlgorithm extends AbstractCallGraphAlgorithm
     return targets;
   }
 
+  @Override
+  protected boolean resolvesCallsByHierarchy() {
+    return true;
+  }
+
   @Override
   protected void postProcessingMethod(
       View<? extends SootClass<?>> view,
@@ -0,0 +1,989 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.SootClassMemberSignature;
+
+/**
+ * A mutable call graph that maps every method signature to a dense int id and stores the calls in
+ * int arrays instead of vertex and edge objects. The calls of every method are kept in a growable
+ * array while the call graph is built. {@link #freeze()} converts these arrays into a compressed
+ * sparse row representation and makes the call graph immutable.
+ *
+ * <p>The sets returned by {@link #callsFrom(MethodSignature)} and {@link #callsTo(MethodSignature)}
+ * are unmodifiable. They are views of the arrays of a frozen call graph, i.e. they do not copy the
+ * calls, and snapshots of the calls of a mutable call graph. {@link #forEachCallFrom(int,
+ * IntConsumer)} and {@link #forEachCallTo(int, IntConsumer)} iterate over the calls without
+ * allocating anything.
+ *
+ * <p>The call sites of the calls are stored in the same way, i.e. in parallel arrays that are
+ * indexed by the id of a call site. A call site is stored as the index of its statement in the body
+ * of the source method, so the call graph does not keep any statements. The call edges of a frozen
+ * call graph are created when the unmodifiable sets that are returned by {@link
+ * #callEdgesFrom(MethodSignature)} and {@link #callEdgesTo(MethodSignature)} are iterated.
+ *
+ * <p>This class is not thread-safe while it is built, but a frozen call graph can be shared.
+ */
+public class CompactCallGraph implements MutableCallGraph {
+
+  private static final int[] NO_CALLS = new int[0];
+  private static final int INITIAL_CAPACITY = 16;
+  private static final CallEdge.Kind[] KINDS = CallEdge.Kind.values();
+
+  @Nonnull private MethodSignature[] methods = new MethodSignature[INITIAL_CAPACITY];
+  private int methodCount = 0;
+  // open addressing table of the method ids: 0 marks an empty slot, otherwise it contains id + 1
+  @Nonnull private int[] idTable = new int[INITIAL_CAPACITY * 2];
+  private int callCount = 0;
+
+  // the growable form, which is used until the call graph is frozen
+  @Nullable private int[][] callees = new int[INITIAL_CAPACITY][];
+  @Nullable private int[] calleeCounts = new int[INITIAL_CAPACITY];
+  @Nullable private int[][] callers = new int[INITIAL_CAPACITY][];
+  @Nullable private int[] callerCounts = new int[INITIAL_CAPACITY];
+  @Nullable private CallSet calls = new CallSet();
+
+  // the compressed sparse row form of a frozen call graph: the callees of the method with the id i
+  // are stored in frozenCallees[calleeOffsets[i]] until frozenCallees[calleeOffsets[i + 1] - 1]
+  @Nullable private int[] calleeOffsets;
+  @Nullable private int[] frozenCallees;
+  @Nullable private int[] callerOffsets;
+  @Nullable private int[] frozenCallers;
+
+  // the call sites, which are only stored for calls that are added with a call edge: the call site
+  // with the id i is a call from siteSources[i] to siteTargets[i] at the statement with the index
+  // siteStmtIndices[i] in the source method, or -1 if the call has no statement. The ids of removed
+  // call sites are linked by siteSources in a free list and have a target of -1.
+  @Nonnull private int[] siteSources = NO_CALLS;
+  @Nonnull private int[] siteTargets = NO_CALLS;
+  @Nonnull private int[] siteStmtIndices = NO_CALLS;
+  @Nonnull private byte[] siteKinds = new byte[0];
+  private int siteCount = 0;
+  private int freeSite = -1;
+  // the ids at the same call site are linked by nextSiteAtCallSite, -1 ends the list
+  @Nonnull private int[] nextSiteAtCallSite = NO_CALLS;
+  @Nonnull private final Map<CallSite, Integer> firstSiteAtCallSite = new HashMap<>();
+
+  // the ids of the call sites from and to every method, in the same forms as the calls
+  @Nullable private int[][] sitesFrom = new int[INITIAL_CAPACITY][];
+  @Nullable private int[] sitesFromCounts = new int[INITIAL_CAPACITY];
+  @Nullable private int[][] sitesTo = new int[INITIAL_CAPACITY][];
+  @Nullable private int[] sitesToCounts = new int[INITIAL_CAPACITY];
+  @Nullable private int[] siteFromOffsets;
+  @Nullable private int[] frozenSitesFrom;
+  @Nullable private int[] siteToOffsets;
+  @Nullable private int[] frozenSitesTo;
+
+  /** Returns true if the call graph was frozen, i.e. if it can not be modified anymore. */
+  public boolean isFrozen() {
+    return calleeOffsets != null;
+  }
+
+  /**
+   * Converts the call graph into its compact immutable form. The callees and callers of every
+   * method are sorted by their id afterwards. Any later attempt to add a method or a call throws an
+   * {@link IllegalStateException}.
+   *
+   * @return this call graph
+   */
+  @Nonnull
+  public CompactCallGraph freeze() {
+    if (isFrozen()) {
+      return this;
+    }
+    methods = Arrays.copyOf(methods, methodCount);
+    int[] frozenCalleeOffsets = new int[methodCount + 1];
+    int[] frozenCallerOffsets = new int[methodCount + 1];
+    frozenCallees = toCompressedSparseRows(callees, calleeCounts, frozenCalleeOffsets);
+    frozenCallers = toCompressedSparseRows(callers, callerCounts, frozenCallerOffsets);
+    siteFromOffsets = new int[methodCount + 1];
+    frozenSitesFrom = toCompressedSparseRows(sitesFrom, sitesFromCounts, siteFromOffsets);
+    siteToOffsets = new int[methodCount + 1];
+    frozenSitesTo = toCompressedSparseRows(sitesTo, sitesToCounts, siteToOffsets);
+    callerOffsets = frozenCallerOffsets;
+    calleeOffsets = frozenCalleeOffsets;
+    callees = null;
+    calleeCounts = null;
+    callers = null;
+    callerCounts = null;
+    calls = null;
+    sitesFrom = null;
+    sitesFromCounts = null;
+    sitesTo = null;
+    sitesToCounts = null;
+    return this;
+  }
+
+  @Nonnull
+  private int[] toCompressedSparseRows(
+      @Nonnull int[][] rows, @Nonnull int[] rowLengths, @Nonnull int[] offsets) {
+    int size = 0;
+    for (int id = 0; id < methodCount; id++) {
+      size += rowLengths[id];
+    }
+    int[] values = new int[size];
+    int offset = 0;
+    for (int id = 0; id < methodCount; id++) {
+      offsets[id] = offset;
+      System.arraycopy(rows[id], 0, values, offset, rowLengths[id]);
+      Arrays.sort(values, offset, offset + rowLengths[id]);
+      offset += rowLengths[id];
+    }
+    offsets[methodCount] = offset;
+    return values;
+  }
+
+  @Override
+  public void addMethod(@Nonnull MethodSignature calledMethod) {
+    checkNotFrozen();
+    if (getMethodId(calledMethod) >= 0) {
+      return;
+    }
+    if (methodCount == methods.length) {
+      int capacity = methods.length * 2;
+      methods = Arrays.copyOf(methods, capacity);
+      callees = Arrays.copyOf(callees, capacity);
+      calleeCounts = Arrays.copyOf(calleeCounts, capacity);
+      callers = Arrays.copyOf(callers, capacity);
+      callerCounts = Arrays.copyOf(callerCounts, capacity);
+      sitesFrom = Arrays.copyOf(sitesFrom, capacity);
+      sitesFromCounts = Arrays.copyOf(sitesFromCounts, capacity);
+      sitesTo = Arrays.copyOf(sitesTo, capacity);
+      sitesToCounts = Arrays.copyOf(sitesToCounts, capacity);
+    }
+    int id = methodCount++;
+    methods[id] = calledMethod;
+    callees[id] = NO_CALLS;
+    callers[id] = NO_CALLS;
+    sitesFrom[id] = NO_CALLS;
+    sitesTo[id] = NO_CALLS;
+    if (methodCount * 2 > idTable.length) {
+      rehash(idTable.length * 2);
+    } else {
+      insertId(idTable, id);
+    }
+  }
+
+  @Override
+  public void addCall(
+      @Nonnull MethodSignature sourceMethod, @Nonnull MethodSignature targetMethod) {
+    checkNotFrozen();
+    int source = idOf(sourceMethod);
+    int target = idOf(targetMethod);
+    if (calls.add(source, target)) {
+      append(callees, calleeCounts, source, target);
+      append(callers, callerCounts, target, source);
+      callCount++;
+    }
+  }
+
+  @Override
+  public void addCall(@Nonnull CallEdge callEdge) {
+    addCall(callEdge.getSource(), callEdge.getTarget());
+    int source = idOf(callEdge.getSource());
+    int target = idOf(callEdge.getTarget());
+    CallSite callSite = callEdge.getCallSite();
+    byte kind = (byte) callEdge.getKind().ordinal();
+    if (containsSite(source, target, callSite, kind)) {
+      return;
+    }
+    int site = allocateSite();
+    siteSources[site] = source;
+    siteTargets[site] = target;
+    siteStmtIndices[site] = callSite == null ? -1 : callSite.getStmtIndex();
+    siteKinds[site] = kind;
+    append(sitesFrom, sitesFromCounts, source, site);
+    append(sitesTo, sitesToCounts, target, site);
+    if (callSite != null) {
+      Integer next = firstSiteAtCallSite.put(callSite, site);
+      nextSiteAtCallSite[site] = next == null ? -1 : next;
+    }
+  }
+
+  private boolean containsSite(int source, int target, @Nullable CallSite callSite, byte kind) {
+    if (callSite != null) {
+      Integer first = firstSiteAtCallSite.get(callSite);
+      for (int site = first == null ? -1 : first; site >= 0; site = nextSiteAtCallSite[site]) {
+        if (siteTargets[site] == target && siteKinds[site] == kind) {
+          return true;
+        }
+      }
+      return false;
+    }
+    int[] sites = sitesFrom[source];
+    for (int i = 0; i < sitesFromCounts[source]; i++) {
+      int site = sites[i];
+      if (siteStmtIndices[site] < 0 && siteTargets[site] == target && siteKinds[site] == kind) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int allocateSite() {
+    if (freeSite >= 0) {
+      int site = freeSite;
+      freeSite = siteSources[site];
+      return site;
+    }
+    if (siteCount == siteSources.length) {
+      int capacity = Math.max(INITIAL_CAPACITY, siteCount * 2);
+      siteSources = Arrays.copyOf(siteSources, capacity);
+      siteTargets = Arrays.copyOf(siteTargets, capacity);
+      siteStmtIndices = Arrays.copyOf(siteStmtIndices, capacity);
+      siteKinds = Arrays.copyOf(siteKinds, capacity);
+      nextSiteAtCallSite = Arrays.copyOf(nextSiteAtCallSite, capacity);
+    }
+    return siteCount++;
+  }
+
+  /** Unlinks the id from its call site and adds it to the free list. */
+  private void releaseSite(int site) {
+    CallSite callSite = toCallSite(site);
+    if (callSite != null) {
+      int first = firstSiteAtCallSite.get(callSite);
+      if (first == site) {
+        if (nextSiteAtCallSite[site] < 0) {
+          firstSiteAtCallSite.remove(callSite);
+        } else {
+          firstSiteAtCallSite.put(callSite, nextSiteAtCallSite[site]);
+        }
+      } else {
+        int previous = first;
+        while (nextSiteAtCallSite[previous] != site) {
+          previous = nextSiteAtCallSite[previous];
+        }
+        nextSiteAtCallSite[previous] = nextSiteAtCallSite[site];
+      }
+    }
+    siteStmtIndices[site] = -1;
+    siteTargets[site] = -1;
+    siteSources[site] = freeSite;
+    freeSite = site;
+  }
+
+  @Override
+  public void removeCall(
+      @Nonnull MethodSignature sourceMethod, @Nonnull MethodSignature targetMethod) {
+    checkNotFrozen();
+    int source = getMethodId(sourceMethod);
+    int target = getMethodId(targetMethod);
+    if (source < 0 || target < 0 || !calls.remove(source, target)) {
+      return;
+    }
+    removeValue(callees, calleeCounts, source, target);
+    removeValue(callers, callerCounts, target, source);
+    callCount--;
+
+    int[] sites = sitesFrom[source];
+    for (int i = sitesFromCounts[source] - 1; i >= 0; i--) {
+      int site = sites[i];
+      if (siteTargets[site] == target) {
+        // the call sites after i have been checked already, so the last one can be moved to i
+        sites[i] = sites[--sitesFromCounts[source]];
+        removeValue(sitesTo, sitesToCounts, target, site);
+        releaseSite(site);
+      }
+    }
+  }
+
+  /**
+   * Removes the method and its calls. The method with the highest id takes over the id of the
+   * removed method, so that the ids stay dense. All other methods keep their ids.
+   */
+  @Override
+  public void removeMethod(@Nonnull MethodSignature method) {
+    checkNotFrozen();
+    int id = getMethodId(method);
+    if (id < 0) {
+      return;
+    }
+    for (MethodSignature target : new ArrayList<>(callsFrom(method))) {
+      removeCall(method, target);
+    }
+    for (MethodSignature source : new ArrayList<>(callsTo(method))) {
+      removeCall(source, method);
+    }
+
+    removeId(id);
+    int last = methodCount - 1;
+    if (id != last) {
+      // move the last method to the freed id
+      idTable[findSlot(last)] = id + 1;
+      methods[id] = methods[last];
+      callees[id] = callees[last];
+      calleeCounts[id] = calleeCounts[last];
+      callers[id] = callers[last];
+      callerCounts[id] = callerCounts[last];
+      int[] targets = callees[id];
+      for (int i = 0; i < calleeCounts[id]; i++) {
+        calls.remove(last, targets[i]);
+      }
+      int[] sources = callers[id];
+      for (int i = 0; i < callerCounts[id]; i++) {
+        calls.remove(sources[i], last);
+      }
+      for (int i = 0; i < calleeCounts[id]; i++) {
+        targets[i] = targets[i] == last ? id : targets[i];
+        replaceValue(callers, callerCounts, targets[i], last, id);
+      }
+      for (int i = 0; i < callerCounts[id]; i++) {
+        sources[i] = sources[i] == last ? id : sources[i];
+        replaceValue(callees, calleeCounts, sources[i], last, id);
+      }
+      for (int i = 0; i < calleeCounts[id]; i++) {
+        calls.add(id, targets[i]);
+      }
+      for (int i = 0; i < callerCounts[id]; i++) {
+        calls.add(sources[i], id);
+      }
+
+      sitesFrom[id] = sitesFrom[last];
+      sitesFromCounts[id] = sitesFromCounts[last];
+      sitesTo[id] = sitesTo[last];
+      sitesToCounts[id] = sitesToCounts[last];
+      for (int i = 0; i < sitesFromCounts[id]; i++) {
+        siteSources[sitesFrom[id][i]] = id;
+      }
+      for (int i = 0; i < sitesToCounts[id]; i++) {
+        siteTargets[sitesTo[id][i]] = id;
+      }
+    }
+    methods[last] = null;
+    callees[last] = null;
+    calleeCounts[last] = 0;
+    callers[last] = null;
+    callerCounts[last] = 0;
+    sitesFrom[last] = null;
+    sitesFromCounts[last] = 0;
+    sitesTo[last] = null;
+    sitesToCounts[last] = 0;
+    methodCount--;
+  }
+
+  @Override
+  public void clear() {
+    checkNotFrozen();
+    methods = new MethodSignature[INITIAL_CAPACITY];
+    methodCount = 0;
+    idTable = new int[INITIAL_CAPACITY * 2];
+    callCount = 0;
+    callees = new int[INITIAL_CAPACITY][];
+    calleeCounts = new int[INITIAL_CAPACITY];
+    callers = new int[INITIAL_CAPACITY][];
+    callerCounts = new int[INITIAL_CAPACITY];
+    calls = new CallSet();
+    siteSources = NO_CALLS;
+    siteTargets = NO_CALLS;
+    siteStmtIndices = NO_CALLS;
+    siteKinds = new byte[0];
+    siteCount = 0;
+    freeSite = -1;
+    nextSiteAtCallSite = NO_CALLS;
+    firstSiteAtCallSite.clear();
+    sitesFrom = new int[INITIAL_CAPACITY][];
+    sitesFromCounts = new int[INITIAL_CAPACITY];
+    sitesTo = new int[INITIAL_CAPACITY][];
+    sitesToCounts = new int[INITIAL_CAPACITY];
+  }
+
+  private static void removeValue(
+      @Nonnull int[][] rows, @Nonnull int[] rowLengths, int row, int value) {
+    int[] values = rows[row];
+    int length = rowLengths[row];
+    for (int i = 0; i < length; i++) {
+      if (values[i] == value) {
+        // the order of a row does not matter until the call graph is frozen
+        values[i] = values[length - 1];
+        rowLengths[row] = length - 1;
+        return;
+      }
+    }
+  }
+
+  private static void replaceValue(
+      @Nonnull int[][] rows, @Nonnull int[] rowLengths, int row, int oldValue, int newValue) {
+    int[] values = rows[row];
+    for (int i = 0; i < rowLengths[row]; i++) {
+      if (values[i] == oldValue) {
+        values[i] = newValue;
+        return;
+      }
+    }
+  }
+
+  private static void append(@Nonnull int[][] rows, @Nonnull int[] rowLengths, int row, int value) {
+    int[] values = rows[row];
+    int length = rowLengths[row];
+    if (length == values.length) {
+      values = Arrays.copyOf(values, Math.max(4, length * 2));
+      rows[row] = values;
+    }
+    values[length] = value;
+    rowLengths[row] = length + 1;
+  }
+
+  private void checkNotFrozen() {
+    if (isFrozen()) {
+      throw new IllegalStateException("The call graph is frozen and can not be modified.");
+    }
+  }
+
+  /** Returns the number of methods in the call graph, i.e. the upper bound of the method ids. */
+  public int getMethodCount() {
+    return methodCount;
+  }
+
+  /** Returns the id of the given method or -1 if the method is not part of the call graph. */
+  public int getMethodId(@Nonnull MethodSignature method) {
+    int mask = idTable.length - 1;
+    for (int slot = hash(method) & mask; ; slot = (slot + 1) & mask) {
+      int entry = idTable[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (methods[entry - 1].equals(method)) {
+        return entry - 1;
+      }
+    }
+  }
+
+  /** Returns the method with the given id. */
+  @Nonnull
+  public MethodSignature getMethod(int id) {
+    Preconditions.checkElementIndex(id, methodCount);
+    return methods[id];
+  }
+
+  /** Passes the ids of all methods that are called by the method with the given id. */
+  public void forEachCallFrom(int id, @Nonnull IntConsumer consumer) {
+    Preconditions.checkElementIndex(id, methodCount);
+    int[] values = isFrozen() ? frozenCallees : callees[id];
+    int end = isFrozen() ? calleeOffsets[id + 1] : calleeCounts[id];
+    for (int i = isFrozen() ? calleeOffsets[id] : 0; i < end; i++) {
+      consumer.accept(values[i]);
+    }
+  }
+
+  /** Passes the ids of all methods that call the method with the given id. */
+  public void forEachCallTo(int id, @Nonnull IntConsumer consumer) {
+    Preconditions.checkElementIndex(id, methodCount);
+    int[] values = isFrozen() ? frozenCallers : callers[id];
+    int end = isFrozen() ? callerOffsets[id + 1] : callerCounts[id];
+    for (int i = isFrozen() ? callerOffsets[id] : 0; i < end; i++) {
+      consumer.accept(values[i]);
+    }
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> getMethodSignatures() {
+    return new AbstractSet<MethodSignature>() {
+      @Override
+      public boolean contains(Object o) {
+        return o instanceof MethodSignature && getMethodId((MethodSignature) o) >= 0;
+      }
+
+      @Nonnull
+      @Override
+      public Iterator<MethodSignature> iterator() {
+        return new Iterator<MethodSignature>() {
+          private int next = 0;
+
+          @Override
+          public boolean hasNext() {
+            return next < methodCount;
+          }
+
+          @Override
+          public MethodSignature next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            return methods[next++];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return methodCount;
+      }
+    };
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> callsFrom(@Nonnull MethodSignature sourceMethod) {
+    int id = idOf(sourceMethod);
+    if (isFrozen()) {
+      return new MethodSet(frozenCallees, calleeOffsets[id], calleeOffsets[id + 1]);
+    }
+    return toMethods(callees[id], calleeCounts[id]);
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> callsTo(@Nonnull MethodSignature targetMethod) {
+    int id = idOf(targetMethod);
+    if (isFrozen()) {
+      return new MethodSet(frozenCallers, callerOffsets[id], callerOffsets[id + 1]);
+    }
+    return toMethods(callers[id], callerCounts[id]);
+  }
+
+  /** Returns the methods with the given ids, which stay the same if the call graph changes. */
+  @Nonnull
+  private Set<MethodSignature> toMethods(@Nonnull int[] ids, int count) {
+    MethodSignature[] result = new MethodSignature[count];
+    for (int i = 0; i < count; i++) {
+      result[i] = methods[ids[i]];
+    }
+    return new ArraySet<>(result);
+  }
+
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesFrom(@Nonnull MethodSignature sourceMethod) {
+    int id = idOf(sourceMethod);
+    if (isFrozen()) {
+      return new CallEdgeSet(frozenSitesFrom, siteFromOffsets[id], siteFromOffsets[id + 1]);
+    }
+    return toCallEdges(sitesFrom[id], sitesFromCounts[id]);
+  }
+
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesTo(@Nonnull MethodSignature targetMethod) {
+    int id = idOf(targetMethod);
+    if (isFrozen()) {
+      return new CallEdgeSet(frozenSitesTo, siteToOffsets[id], siteToOffsets[id + 1]);
+    }
+    return toCallEdges(sitesTo[id], sitesToCounts[id]);
+  }
+
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesAt(@Nonnull CallSite callSite) {
+    Integer first = firstSiteAtCallSite.get(callSite);
+    if (first == null) {
+      return Collections.emptySet();
+    }
+    int count = 0;
+    for (int site = first; site >= 0; site = nextSiteAtCallSite[site]) {
+      count++;
+    }
+    CallEdge[] callEdges = new CallEdge[count];
+    for (int site = first, i = 0; site >= 0; site = nextSiteAtCallSite[site]) {
+      callEdges[i++] = toCallEdge(site);
+    }
+    return new ArraySet<>(callEdges);
+  }
+
+  /** Returns the call edges of the given sites, which stay the same if the call graph changes. */
+  @Nonnull
+  private Set<CallEdge> toCallEdges(@Nonnull int[] sites, int count) {
+    CallEdge[] callEdges = new CallEdge[count];
+    for (int i = 0; i < count; i++) {
+      callEdges[i] = toCallEdge(sites[i]);
+    }
+    return new ArraySet<>(callEdges);
+  }
+
+  @Override
+  public boolean containsMethod(@Nonnull MethodSignature method) {
+    return getMethodId(method) >= 0;
+  }
+
+  @Override
+  public boolean containsCall(
+      @Nonnull MethodSignature sourceMethod, @Nonnull MethodSignature targetMethod) {
+    int source = getMethodId(sourceMethod);
+    int target = getMethodId(targetMethod);
+    if (source < 0 || target < 0) {
+      return false;
+    }
+    if (isFrozen()) {
+      return Arrays.binarySearch(
+              frozenCallees, calleeOffsets[source], calleeOffsets[source + 1], target)
+          >= 0;
+    }
+    return calls.contains(source, target);
+  }
+
+  @Override
+  public int callCount() {
+    return callCount;
+  }
+
+  @Override
+  public String exportAsDot() {
+    // the same order as in the GraphBasedCallGraph
+    Comparator<MethodSignature> sourceOrder =
+        Comparator.comparing((MethodSignature m) -> m.getDeclClassType().getFullyQualifiedName())
+            .thenComparing(SootClassMemberSignature::getName)
+            .thenComparing(m -> m.getParameterTypes().toString());
+    Comparator<MethodSignature> targetOrder =
+        Comparator.comparing((MethodSignature m) -> m.getDeclClassType().getClassName())
+            .thenComparing(SootClassMemberSignature::getName)
+            .thenComparing(m -> m.getParameterTypes().toString());
+    List<MethodSignature[]> edges = new ArrayList<>(callCount);
+    for (int source = 0; source < methodCount; source++) {
+      MethodSignature sourceMethod = methods[source];
+      forEachCallFrom(
+          source, target -> edges.add(new MethodSignature[] {sourceMethod, methods[target]}));
+    }
+    edges.sort(
+        Comparator.comparing((MethodSignature[] edge) -> edge[0], sourceOrder)
+            .thenComparing(edge -> edge[1], targetOrder));
+
+    StringBuilder dotFormatBuilder = new StringBuilder();
+    for (MethodSignature[] edge : edges) {
+      dotFormatBuilder
+          .append("\t")
+          .append("\"" + edge[0] + "\"")
+          .append(" -> ")
+          .append("\"" + edge[1] + "\"")
+          .append(";\n");
+    }
+    return "strict digraph ObjectGraph {\n" + dotFormatBuilder + "}";
+  }
+
+  /** Returns a mutable copy of this call graph, in which the methods have the same ids. */
+  @Nonnull
+  @Override
+  public CompactCallGraph copy() {
+    CompactCallGraph copy = new CompactCallGraph();
+    for (int id = 0; id < methodCount; id++) {
+      copy.addMethod(methods[id]);
+    }
+    for (int source = 0; source < methodCount; source++) {
+      MethodSignature sourceMethod = methods[source];
+      forEachCallFrom(source, target -> copy.addCall(sourceMethod, methods[target]));
+    }
+    for (int site = 0; site < siteCount; site++) {
+      if (siteTargets[site] >= 0) {
+        copy.addCall(toCallEdge(site));
+      }
+    }
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder stringBuilder = new StringBuilder("CompactCallGraph(" + callCount() + ")");
+    if (methodCount == 0) {
+      stringBuilder.append(" is empty");
+    } else {
+      Comparator<MethodSignature> order =
+          Comparator.comparing((MethodSignature o) -> o.getDeclClassType().toString())
+              .thenComparing(SootClassMemberSignature::getName)
+              .thenComparing(o -> o.getParameterTypes().toString());
+      stringBuilder.append(":\n");
+      getMethodSignatures().stream()
+          .sorted(order)
+          .forEach(
+              method -> {
+                stringBuilder.append(method).append(":\n");
+                callsFrom(method).stream()
+                    .sorted(order)
+                    .forEach(m -> stringBuilder.append("\tto ").append(m).append("\n"));
+                callsTo(method).stream()
+                    .sorted(order)
+                    .forEach(m -> stringBuilder.append("\tfrom ").append(m).append("\n"));
+                stringBuilder.append("\n");
+              });
+    }
+    return stringBuilder.toString();
+  }
+
+  private int idOf(@Nonnull MethodSignature method) {
+    int id = getMethodId(method);
+    Preconditions.checkArgument(id >= 0, "Node for " + method + " has not been added yet");
+    return id;
+  }
+
+  private static int hash(@Nonnull MethodSignature method) {
+    // spreads the bits of the hash code, since the table size is a power of two
+    int h = method.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private void rehash(int capacity) {
+    int[] table = new int[capacity];
+    for (int id = 0; id < methodCount; id++) {
+      insertId(table, id);
+    }
+    idTable = table;
+  }
+
+  /** Returns the slot of the id table that contains the given id. */
+  private int findSlot(int id) {
+    int mask = idTable.length - 1;
+    int slot = hash(methods[id]) & mask;
+    while (idTable[slot] != id + 1) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /** Removes the given id from the id table, like {@link CallSet#remove(int, int)}. */
+  private void removeId(int id) {
+    int mask = idTable.length - 1;
+    int hole = findSlot(id);
+    for (int next = (hole + 1) & mask; idTable[next] != 0; next = (next + 1) & mask) {
+      int home = hash(methods[idTable[next] - 1]) & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        idTable[hole] = idTable[next];
+        hole = next;
+      }
+    }
+    idTable[hole] = 0;
+  }
+
+  private void insertId(@Nonnull int[] table, int id) {
+    int mask = table.length - 1;
+    int slot = hash(methods[id]) & mask;
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = id + 1;
+  }
+
+  @Nonnull
+  private CallEdge toCallEdge(int site) {
+    return new CallEdge(
+        methods[siteSources[site]],
+        methods[siteTargets[site]],
+        toCallSite(site),
+        KINDS[siteKinds[site]]);
+  }
+
+  @Nullable
+  private CallSite toCallSite(int site) {
+    int stmtIndex = siteStmtIndices[site];
+    return stmtIndex < 0 ? null : new CallSite(methods[siteSources[site]], stmtIndex);
+  }
+
+  /**
+   * A set view of a range of the call sites of a frozen call graph, which creates the call edges on
+   * demand.
+   */
+  private class CallEdgeSet extends AbstractSet<CallEdge> {
+    @Nonnull private final int[] sites;
+    private final int start;
+    private final int end;
+
+    private CallEdgeSet(@Nonnull int[] sites, int start, int end) {
+      this.sites = sites;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<CallEdge> iterator() {
+      return new Iterator<CallEdge>() {
+        private int next = start;
+
+        @Override
+        public boolean hasNext() {
+          return next < end;
+        }
+
+        @Override
+        public CallEdge next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return toCallEdge(sites[next++]);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return end - start;
+    }
+  }
+
+  /** A set view of a range of the method ids of a frozen call graph. */
+  private class MethodSet extends AbstractSet<MethodSignature> {
+    @Nonnull private final int[] ids;
+    private final int start;
+    private final int end;
+
+    private MethodSet(@Nonnull int[] ids, int start, int end) {
+      this.ids = ids;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<MethodSignature> iterator() {
+      return new Iterator<MethodSignature>() {
+        private int next = start;
+
+        @Override
+        public boolean hasNext() {
+          return next < end;
+        }
+
+        @Override
+        public MethodSignature next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return methods[ids[next++]];
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return end - start;
+    }
+  }
+
+  /** An unmodifiable set of distinct elements, which are stored in an array. */
+  private static class ArraySet<E> extends AbstractSet<E> {
+    @Nonnull private final E[] elements;
+
+    private ArraySet(@Nonnull E[] elements) {
+      this.elements = elements;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<E> iterator() {
+      return Arrays.asList(elements).iterator();
+    }
+
+    @Override
+    public int size() {
+      return elements.length;
+    }
+  }
+
+  /** An open addressing hash set of the calls, which are encoded as a long each. */
+  private static class CallSet {
+    // 0 marks an empty slot, which is no valid call since the target is stored as id + 1
+    @Nonnull private long[] table = new long[INITIAL_CAPACITY * 2];
+    private int size = 0;
+
+    private static long encode(int source, int target) {
+      return ((long) source << 32) | (target + 1L);
+    }
+
+    private static int slot(long call, int mask) {
+      long h = call * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    boolean contains(int source, int target) {
+      long call = encode(source, target);
+      int mask = table.length - 1;
+      for (int slot = slot(call, mask); table[slot] != 0; slot = (slot + 1) & mask) {
+        if (table[slot] == call) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /** Adds the call and returns true if it was not contained before. */
+    boolean add(int source, int target) {
+      long call = encode(source, target);
+      int mask = table.length - 1;
+      int slot = slot(call, mask);
+      while (table[slot] != 0) {
+        if (table[slot] == call) {
+          return false;
+        }
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = call;
+      if (++size * 2 > table.length) {
+        grow();
+      }
+      return true;
+    }
+
+    /** Removes the call and returns true if it was contained before. */
+    boolean remove(int source, int target) {
+      long call = encode(source, target);
+      int mask = table.length - 1;
+      int slot = slot(call, mask);
+      while (table[slot] != call) {
+        if (table[slot] == 0) {
+          return false;
+        }
+        slot = (slot + 1) & mask;
+      }
+      // shifts the following calls of the probe sequence back, so that no lookup stops at the hole
+      int hole = slot;
+      for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+        int home = slot(table[next], mask);
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          table[hole] = table[next];
+          hole = next;
+        }
+      }
+      table[hole] = 0;
+      size--;
+      return true;
+    }
+
+    private void grow() {
+      long[] oldTable = table;
+      table = new long[oldTable.length * 2];
+      int mask = table.length - 1;
+      for (long call : oldTable) {
+        if (call != 0) {
+          int slot = slot(call, mask);
+          while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+          }
+          table[slot] = call;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,255 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.IdentifierFactory;
+import sootup.core.ViewChangeListener;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.typehierarchy.HierarchyComparator;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.core.views.MutableView;
+import sootup.core.views.View;
+
+/**
+ * Caches the results of the virtual dispatch resolution of a view. A method signature is used as
+ * key, i.e. the pair of the receiver type and the sub-signature of the called method. Misses are
+ * cached as well, so that the hierarchy of a receiver type is only searched once for every
+ * sub-signature.
+ *
+ * <p>There is one cache per view, which is shared by all call graph algorithms on this view. The
+ * cache of a {@link MutableView} is cleared whenever a class or method is added to or removed from
+ * the view.
+ */
+public class DispatchCache implements ViewChangeListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(DispatchCache.class);
+
+  private static final Map<View<?>, DispatchCache> caches = new WeakHashMap<>();
+
+  // the cache that was returned last, so that the repeated requests for the same view do not have
+  // to acquire the lock of the shared map
+  @Nullable private static volatile DispatchCache lastCache;
+
+  @Nonnull private final WeakReference<View<?>> view;
+
+  // replaced as a whole on invalidation so that a lookup that runs concurrently to an
+  // invalidation can not store its possibly outdated result in the new map
+  @Nonnull private volatile Map<MethodSignature, Target> targets = new ConcurrentHashMap<>();
+
+  private DispatchCache(@Nonnull View<?> view) {
+    this.view = new WeakReference<>(view);
+  }
+
+  /** Returns the dispatch cache of the given view, which is created on the first call. */
+  @Nonnull
+  public static DispatchCache forView(@Nonnull View<? extends SootClass<?>> view) {
+    DispatchCache cache = lastCache;
+    if (cache != null && cache.view.get() == view) {
+      return cache;
+    }
+    synchronized (caches) {
+      cache = caches.get(view);
+      if (cache == null) {
+        cache = new DispatchCache(view);
+        caches.put(view, cache);
+        if (view instanceof MutableView) {
+          ((MutableView) view).addChangeListener(cache);
+        }
+      }
+      lastCache = cache;
+      return cache;
+    }
+  }
+
+  /**
+   * Searches for the signature of the method that is the concrete implementation of <code>m</code>.
+   * This is done by checking each superclass and the class itself for whether it contains the
+   * concrete implementation.
+   *
+   * @see AbstractCallGraphAlgorithm#resolveConcreteDispatch(View, MethodSignature)
+   */
+  @Nonnull
+  public Optional<MethodSignature> resolveConcreteDispatch(
+      @Nonnull View<? extends SootClass<?>> view, @Nonnull MethodSignature m) {
+    Target target = getTarget(view, m);
+    if (target.signature == null || target.isAbstract) {
+      return Optional.empty();
+    }
+    return Optional.of(target.signature);
+  }
+
+  /**
+   * Searches the method with the sub-signature of the given signature in the declaring class of the
+   * signature, its superclasses and its interfaces.
+   *
+   * @see AbstractCallGraphAlgorithm#findConcreteMethod(View, MethodSignature)
+   */
+  @Nonnull
+  public Optional<? extends SootMethod> findConcreteMethod(
+      @Nonnull View<? extends SootClass<?>> view, @Nonnull MethodSignature sig) {
+    Target target = getTarget(view, sig);
+    if (target.signature == null) {
+      return Optional.empty();
+    }
+    return view.getMethod(target.signature);
+  }
+
+  @Nonnull
+  private Target getTarget(
+      @Nonnull View<? extends SootClass<?>> view, @Nonnull MethodSignature sig) {
+    Map<MethodSignature, Target> cache = targets;
+    Target target = cache.get(sig);
+    if (target == null) {
+      // the lookup can resolve classes, so it is not done inside of computeIfAbsent
+      target = lookupConcreteMethod(view, sig).map(Target::new).orElse(Target.NONE);
+      Target previous = cache.putIfAbsent(sig, target);
+      if (previous != null) {
+        target = previous;
+      }
+    }
+    return target;
+  }
+
+  /** Removes all cached dispatch results. */
+  public void invalidate() {
+    targets = new ConcurrentHashMap<>();
+  }
+
+  /** Returns the number of cached dispatch results, including misses. */
+  public int size() {
+    return targets.size();
+  }
+
+  @Override
+  public void classAdded(SootClass sc) {
+    invalidate();
+  }
+
+  @Override
+  public void classRemoved(SootClass sc) {
+    invalidate();
+  }
+
+  @Override
+  public void methodAdded(SootMethod m) {
+    invalidate();
+  }
+
+  @Override
+  public void methodRemoved(SootMethod m) {
+    invalidate();
+  }
+
+  @Nonnull
+  private static Optional<? extends SootMethod> lookupConcreteMethod(
+      @Nonnull View<? extends SootClass<?>> view, @Nonnull MethodSignature sig) {
+    IdentifierFactory identifierFactory = view.getIdentifierFactory();
+    SootClass<?> startclass = view.getClass(sig.getDeclClassType()).orElse(null);
+    if (startclass == null) {
+      logger.warn(
+          "Could not find \""
+              + sig.getDeclClassType()
+              + "\" of method"
+              + sig
+              + " to resolve the concrete method");
+      return Optional.empty();
+    }
+    Optional<? extends SootMethod> startMethod = startclass.getMethod(sig.getSubSignature());
+    if (startMethod.isPresent()) {
+      return startMethod;
+    }
+    TypeHierarchy typeHierarchy = view.getTypeHierarchy();
+
+    List<ClassType> superClasses = typeHierarchy.superClassesOf(sig.getDeclClassType());
+    for (ClassType superClassType : superClasses) {
+      Optional<? extends SootMethod> method =
+          view.getMethod(
+              identifierFactory.getMethodSignature(superClassType, sig.getSubSignature()));
+      if (method.isPresent()) {
+        return method;
+      }
+    }
+    Set<ClassType> interfaces = typeHierarchy.implementedInterfacesOf(sig.getDeclClassType());
+    // interface1 is a sub-interface of interface2
+    // interface1 is a super-interface of interface2
+    // due to multiple inheritance in interfaces
+    final HierarchyComparator hierarchyComparator = new HierarchyComparator(typeHierarchy);
+    Optional<? extends SootMethod> defaultMethod =
+        interfaces.stream()
+            .map(
+                classType ->
+                    view.getMethod(
+                        identifierFactory.getMethodSignature(classType, sig.getSubSignature())))
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .min(
+                (m1, m2) ->
+                    hierarchyComparator.compare(
+                        m1.getDeclaringClassType(), m2.getDeclaringClassType()));
+    if (defaultMethod.isPresent()) {
+      return defaultMethod;
+    }
+    logger.warn(
+        "Could not find \""
+            + sig.getSubSignature()
+            + "\" in "
+            + sig.getDeclClassType().getClassName()
+            + " and in its superclasses and interfaces");
+    return Optional.empty();
+  }
+
+  /**
+   * The result of a dispatch resolution. Only the signature of the found method is kept, since
+   * methods reference their view, which would keep the view reachable from the cache.
+   */
+  private static final class Target {
+    private static final Target NONE = new Target();
+
+    @Nullable private final MethodSignature signature;
+    private final boolean isAbstract;
+
+    private Target() {
+      this.signature = null;
+      this.isAbstract = false;
+    }
+
+    private Target(@Nonnull SootMethod method) {
+      this.signature = method.getSignature();
+      this.isAbstract = method.isAbstract();
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.signatures.MethodSignature;
+
+/**
+ * The call graphs of several entry points, i.e. the parts of the program that are reachable from
+ * each of them. The call graphs are built concurrently, each by its own instance of a call graph
+ * algorithm, and are combined on demand.
+ *
+ * <p>For algorithms that resolve calls independently of the rest of the program, like CHA, the
+ * union of the call graphs is the call graph of all entry points. Algorithms that collect
+ * information while the graph grows, like RTA, only see the information of the reachable part of
+ * a single entry point, so the union can contain fewer calls than a call graph that was built for
+ * all entry points at once.
+ */
+public class EntryPointCallGraphs {
+
+  @Nonnull private final Map<MethodSignature, CallGraph> entryPointToCallGraph;
+  @Nullable private CallGraph union;
+
+  private EntryPointCallGraphs(@Nonnull Map<MethodSignature, CallGraph> entryPointToCallGraph) {
+    this.entryPointToCallGraph = Collections.unmodifiableMap(entryPointToCallGraph);
+  }
+
+  /**
+   * Builds the call graph of every entry point in its own task on the given pool.
+   *
+   * @param algorithmFactory creates a new call graph algorithm for every entry point, since the
+   *     algorithms keep state while they build a call graph. The algorithms can share a view.
+   * @param entryPoints the entry points, e.g. found by an {@link EntryPointProvider}.
+   * @param pool the pool that builds the call graphs.
+   * @return the call graphs of all entry points.
+   */
+  @Nonnull
+  public static EntryPointCallGraphs build(
+      @Nonnull Supplier<? extends CallGraphAlgorithm> algorithmFactory,
+      @Nonnull Collection<MethodSignature> entryPoints,
+      @Nonnull ForkJoinPool pool) {
+    Map<MethodSignature, ForkJoinTask<CallGraph>> tasks = new LinkedHashMap<>();
+    for (MethodSignature entryPoint : entryPoints) {
+      if (!tasks.containsKey(entryPoint)) {
+        tasks.put(
+            entryPoint,
+            pool.submit(
+                () -> algorithmFactory.get().initialize(Collections.singletonList(entryPoint))));
+      }
+    }
+
+    Map<MethodSignature, CallGraph> entryPointToCallGraph = new LinkedHashMap<>();
+    try {
+      for (Map.Entry<MethodSignature, ForkJoinTask<CallGraph>> task : tasks.entrySet()) {
+        entryPointToCallGraph.put(task.getKey(), task.getValue().get());
+      }
+    } catch (InterruptedException e) {
+      tasks.values().forEach(task -> task.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while building the call graphs.", e);
+    } catch (ExecutionException e) {
+      tasks.values().forEach(task -> task.cancel(true));
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Could not build the call graphs.", e.getCause());
+    }
+    return new EntryPointCallGraphs(entryPointToCallGraph);
+  }
+
+  /** Returns the entry points in the order in which they were passed to the build. */
+  @Nonnull
+  public Set<MethodSignature> getEntryPoints() {
+    return entryPointToCallGraph.keySet();
+  }
+
+  /**
+   * Returns the call graph of the part of the program that is reachable from the given entry
+   * point.
+   *
+   * @throws IllegalArgumentException if the call graph of the entry point was not built.
+   */
+  @Nonnull
+  public CallGraph getCallGraph(@Nonnull MethodSignature entryPoint) {
+    CallGraph callGraph = entryPointToCallGraph.get(entryPoint);
+    if (callGraph == null) {
+      throw new IllegalArgumentException("No call graph was built for " + entryPoint);
+    }
+    return callGraph;
+  }
+
+  /**
+   * Returns the entry points from which the given method is reachable.
+   *
+   * @param method the signature of the requested method
+   * @return the entry points whose call graph contains the method
+   */
+  @Nonnull
+  public Set<MethodSignature> entryPointsReaching(@Nonnull MethodSignature method) {
+    Set<MethodSignature> entryPoints = new LinkedHashSet<>();
+    entryPointToCallGraph.forEach(
+        (entryPoint, callGraph) -> {
+          if (callGraph.containsMethod(method)) {
+            entryPoints.add(entryPoint);
+          }
+        });
+    return entryPoints;
+  }
+
+  /**
+   * Returns the union of the call graphs of all entry points. It is computed on the first call.
+   */
+  @Nonnull
+  public synchronized CallGraph union() {
+    if (union == null) {
+      union = union(getEntryPoints());
+    }
+    return union;
+  }
+
+  /**
+   * Combines the call graphs of the given entry points to a new call graph, that contains all of
+   * their methods, calls and call sites.
+   *
+   * @param entryPoints a subset of the entry points
+   * @return a new call graph that can be modified without changing the call graphs of the entry
+   *     points.
+   * @throws IllegalArgumentException if the call graph of an entry point was not built.
+   */
+  @Nonnull
+  public MutableCallGraph union(@Nonnull Collection<MethodSignature> entryPoints) {
+    List<CallGraph> callGraphs = new ArrayList<>(entryPoints.size());
+    for (MethodSignature entryPoint : entryPoints) {
+      callGraphs.add(getCallGraph(entryPoint));
+    }
+    if (callGraphs.isEmpty()) {
+      return new GraphBasedCallGraph();
+    }
+
+    MutableCallGraph union = callGraphs.get(0).copy();
+    for (CallGraph callGraph : callGraphs.subList(1, callGraphs.size())) {
+      addAll(union, callGraph);
+    }
+    return union;
+  }
+
+  /** Adds all methods, calls and call sites of the source to the target call graph. */
+  static void addAll(@Nonnull MutableCallGraph target, @Nonnull CallGraph source) {
+    for (MethodSignature method : source.getMethodSignatures()) {
+      if (!target.containsMethod(method)) {
+        target.addMethod(method);
+      }
+    }
+    for (MethodSignature method : source.getMethodSignatures()) {
+      for (CallEdge callEdge : source.callEdgesFrom(method)) {
+        target.addCall(callEdge);
+      }
+      // calls that were added without a call site
+      for (MethodSignature targetMethod : source.callsFrom(method)) {
+        if (!target.containsCall(method, targetMethod)) {
+          target.addCall(method, targetMethod);
+        }
+      }
+    }
+  }
+}
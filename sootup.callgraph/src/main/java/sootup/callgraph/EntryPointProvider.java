@@ -0,0 +1,69 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.views.View;
+
+/**
+ * Finds the entry points of a call graph algorithm in a view, e.g. the main methods of an
+ * application, the public methods of a library or the lifecycle methods of servlets. The found
+ * entry points can be passed to {@link CallGraphAlgorithm#initialize(List)}.
+ */
+public interface EntryPointProvider {
+
+  /**
+   * Finds the entry points in the application classes of the given view.
+   *
+   * @param view the view that contains the classes.
+   * @return the signatures of all found entry points without duplicates.
+   */
+  @Nonnull
+  List<MethodSignature> getEntryPoints(@Nonnull View<? extends SootClass<?>> view);
+
+  /**
+   * Combines the given providers to a provider that finds the entry points of all of them.
+   *
+   * @param providers the providers to combine
+   * @return a provider that returns the entry points of the given providers in their order without
+   *     duplicates.
+   */
+  @Nonnull
+  static EntryPointProvider union(@Nonnull EntryPointProvider... providers) {
+    List<EntryPointProvider> providerList = Arrays.asList(providers.clone());
+    return view -> {
+      Set<MethodSignature> entryPoints = new LinkedHashSet<>();
+      for (EntryPointProvider provider : providerList) {
+        entryPoints.addAll(provider.getEntryPoints(view));
+      }
+      return new ArrayList<>(entryPoints);
+    };
+  }
+}
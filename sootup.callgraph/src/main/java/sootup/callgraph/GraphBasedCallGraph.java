@@ -23,8 +23,12 @@ package sootup.callgraph;
  */
 
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -53,11 +57,33 @@ public class GraphBasedCallGraph implements MutableCallGraph {
     }
   }
 
-  /** This internal class is used to describe the edge in the graph. */
-  protected static class Edge {}
+  /**
+   * This internal class is used to describe the edge in the graph. It holds the call sites of the
+   * calls from the source to the target method.
+   */
+  protected static class Edge {
+    @Nonnull private List<CallEdge> callEdges = Collections.emptyList();
+
+    /** Adds the call edge and returns true if it was not contained before. */
+    protected boolean addCallEdge(@Nonnull CallEdge callEdge) {
+      if (callEdges.isEmpty()) {
+        callEdges = new ArrayList<>(1);
+      } else if (callEdges.contains(callEdge)) {
+        return false;
+      }
+      callEdges.add(callEdge);
+      return true;
+    }
+
+    @Nonnull
+    protected List<CallEdge> getCallEdges() {
+      return Collections.unmodifiableList(callEdges);
+    }
+  }
 
   @Nonnull private final DefaultDirectedGraph<Vertex, Edge> graph;
   @Nonnull private final Map<MethodSignature, Vertex> signatureToVertex;
+  @Nonnull private final Map<CallSite, List<CallEdge>> callSiteToCallEdges = new HashMap<>();
 
   /** The constructor of the graph based call graph. it initializes the call graph object. */
   public GraphBasedCallGraph() {
@@ -70,6 +96,9 @@ public class GraphBasedCallGraph implements MutableCallGraph {
       @Nonnull Map<MethodSignature, Vertex> signatureToVertex) {
     this.graph = graph;
     this.signatureToVertex = signatureToVertex;
+    for (Edge edge : graph.edgeSet()) {
+      edge.callEdges.forEach(this::indexCallEdge);
+    }
   }
 
   @Override
@@ -94,6 +123,69 @@ public class GraphBasedCallGraph implements MutableCallGraph {
     graph.addEdge(vertexOf(sourceMethod), vertexOf(targetMethod), edge);
   }
 
+  @Override
+  public void addCall(@Nonnull CallEdge callEdge) {
+    Vertex source = vertexOf(callEdge.getSource());
+    Vertex target = vertexOf(callEdge.getTarget());
+    Edge edge = graph.getEdge(source, target);
+    if (edge == null) {
+      edge = new Edge();
+      graph.addEdge(source, target, edge);
+    }
+    if (edge.addCallEdge(callEdge)) {
+      indexCallEdge(callEdge);
+    }
+  }
+
+  @Override
+  public void removeCall(
+      @Nonnull MethodSignature sourceMethod, @Nonnull MethodSignature targetMethod) {
+    if (!containsCall(sourceMethod, targetMethod)) {
+      return;
+    }
+    Edge edge = graph.removeEdge(vertexOf(sourceMethod), vertexOf(targetMethod));
+    edge.callEdges.forEach(this::unindexCallEdge);
+  }
+
+  @Override
+  public void removeMethod(@Nonnull MethodSignature method) {
+    Vertex vertex = signatureToVertex.remove(method);
+    if (vertex == null) {
+      return;
+    }
+    graph.outgoingEdgesOf(vertex).forEach(edge -> edge.callEdges.forEach(this::unindexCallEdge));
+    graph.incomingEdgesOf(vertex).forEach(edge -> edge.callEdges.forEach(this::unindexCallEdge));
+    graph.removeVertex(vertex);
+  }
+
+  @Override
+  public void clear() {
+    graph.removeAllVertices(new ArrayList<>(graph.vertexSet()));
+    signatureToVertex.clear();
+    callSiteToCallEdges.clear();
+  }
+
+  private void indexCallEdge(@Nonnull CallEdge callEdge) {
+    CallSite callSite = callEdge.getCallSite();
+    if (callSite != null) {
+      callSiteToCallEdges.computeIfAbsent(callSite, site -> new ArrayList<>(1)).add(callEdge);
+    }
+  }
+
+  private void unindexCallEdge(@Nonnull CallEdge callEdge) {
+    CallSite callSite = callEdge.getCallSite();
+    if (callSite == null) {
+      return;
+    }
+    List<CallEdge> callEdges = callSiteToCallEdges.get(callSite);
+    if (callEdges != null) {
+      callEdges.remove(callEdge);
+      if (callEdges.isEmpty()) {
+        callSiteToCallEdges.remove(callSite);
+      }
+    }
+  }
+
   @Nonnull
   @Override
   public Set<MethodSignature> getMethodSignatures() {
@@ -118,6 +210,29 @@ public class GraphBasedCallGraph implements MutableCallGraph {
         .collect(Collectors.toSet());
   }
 
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesFrom(@Nonnull MethodSignature sourceMethod) {
+    return graph.outgoingEdgesOf(vertexOf(sourceMethod)).stream()
+        .flatMap(edge -> edge.callEdges.stream())
+        .collect(Collectors.toSet());
+  }
+
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesTo(@Nonnull MethodSignature targetMethod) {
+    return graph.incomingEdgesOf(vertexOf(targetMethod)).stream()
+        .flatMap(edge -> edge.callEdges.stream())
+        .collect(Collectors.toSet());
+  }
+
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesAt(@Nonnull CallSite callSite) {
+    List<CallEdge> callEdges = callSiteToCallEdges.get(callSite);
+    return callEdges == null ? Collections.emptySet() : new HashSet<>(callEdges);
+  }
+
   @Override
   public boolean containsMethod(@Nonnull MethodSignature method) {
     return signatureToVertex.containsKey(method);
@@ -190,12 +305,18 @@ public class GraphBasedCallGraph implements MutableCallGraph {
     return "strict digraph ObjectGraph {\n" + dotFormatBuilder + "}";
   }
 
-  @SuppressWarnings("unchecked") // (graph.clone() preserves generic properties)
   @Nonnull
   @Override
   public MutableCallGraph copy() {
-    return new GraphBasedCallGraph(
-        (DefaultDirectedGraph<Vertex, Edge>) graph.clone(), new HashMap<>(signatureToVertex));
+    // the edges are copied as well, since they hold the call sites
+    DefaultDirectedGraph<Vertex, Edge> graphCopy = new DefaultDirectedGraph<>(null, null, false);
+    graph.vertexSet().forEach(graphCopy::addVertex);
+    for (Edge edge : graph.edgeSet()) {
+      Edge edgeCopy = new Edge();
+      edge.callEdges.forEach(edgeCopy::addCallEdge);
+      graphCopy.addEdge(graph.getEdgeSource(edge), graph.getEdgeTarget(edge), edgeCopy);
+    }
+    return new GraphBasedCallGraph(graphCopy, new HashMap<>(signatureToVertex));
   }
 
   /**
@@ -0,0 +1,682 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.IdentifierFactory;
+import sootup.core.jimple.common.expr.AbstractInvokeExpr;
+import sootup.core.jimple.common.expr.JInterfaceInvokeExpr;
+import sootup.core.jimple.common.expr.JNewExpr;
+import sootup.core.jimple.common.expr.JVirtualInvokeExpr;
+import sootup.core.jimple.common.stmt.JAssignStmt;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+import sootup.java.core.JavaIdentifierFactory;
+
+/**
+ * Precomputed summaries of the methods of library classes, e.g. of the JDK, which are backed by a
+ * memory-mapped file. Call graph algorithms do not analyze the bodies of library methods. With a
+ * summary, see {@link AbstractCallGraphAlgorithm#setLibrarySummary(LibrarySummary)}, a library
+ * method that is reached keeps the calls back into the application, e.g. to an overridden <code>
+ * toString()</code> or to a <code>Runnable</code> that is passed to the library.
+ *
+ * <p>The summary of a library method contains everything that can happen in the library when the
+ * method is called, i.e. in the method and in all library methods that it calls transitively:
+ *
+ * <ul>
+ *   <li>the callbacks, i.e. the signatures of the virtual and interface calls that can dispatch to
+ *       a method of an application class that overrides it.
+ *   <li>the classes that are instantiated.
+ * </ul>
+ *
+ * <p>The calls inside of the library are resolved with CHA when the summary is written by {@link
+ * #write(View, Path)}. Since the summary does not depend on the application, it has to be written
+ * only once for every library, usually into a {@link CallGraphStore}. Loading the summary only maps
+ * the file, the summary of a method is parsed when it is requested.
+ *
+ * <p>The file has the following layout. All numbers are big-endian ints.
+ *
+ * <pre>
+ * magic, version, methodCount, stringCount, tableSize,
+ *     callbackSetCount, callbackCount, typeSetCount, typeCount, stringDataLength
+ * stringOffsets[stringCount + 1]         (the first methodCount strings are the summarized methods)
+ * idTable[tableSize]                     (id + 1 of the method in the slot, 0 if empty)
+ * callbackSets[methodCount], typeSets[methodCount]
+ * callbackSetOffsets[callbackSetCount + 1], callbacks[callbackCount]   (string ids of signatures)
+ * typeSetOffsets[typeSetCount + 1], types[typeCount]                   (string ids of class names)
+ * stringData[stringDataLength]           (UTF-8 encoded signatures and class names)
+ * </pre>
+ */
+public class LibrarySummary {
+
+  private static final Logger logger = LoggerFactory.getLogger(LibrarySummary.class);
+
+  private static final int MAGIC = 0x53554c53; // "SULS"
+  private static final int VERSION = 1;
+  private static final int HEADER_INTS = 10;
+
+  @Nonnull private final IdentifierFactory identifierFactory;
+  private final int methodCount;
+  @Nonnull private final IntBuffer stringOffsets;
+  @Nonnull private final IntBuffer idTable;
+  @Nonnull private final IntBuffer callbackSets;
+  @Nonnull private final IntBuffer typeSets;
+  @Nonnull private final IntBuffer callbackSetOffsets;
+  @Nonnull private final IntBuffer callbacks;
+  @Nonnull private final IntBuffer typeSetOffsets;
+  @Nonnull private final IntBuffer types;
+  @Nonnull private final ByteBuffer stringData;
+  // the parsed strings, they are immutable, so a racy initialization is harmless
+  @Nonnull private final MethodSignature[] signatures;
+  @Nonnull private final ClassType[] classTypes;
+
+  private LibrarySummary(@Nonnull ByteBuffer buffer, @Nonnull IdentifierFactory identifierFactory)
+      throws IOException {
+    this.identifierFactory = identifierFactory;
+    if (buffer.remaining() < HEADER_INTS * Integer.BYTES || buffer.getInt() != MAGIC) {
+      throw new IOException("The file does not contain a library summary.");
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported library summary file version " + version + ".");
+    }
+    methodCount = buffer.getInt();
+    int stringCount = buffer.getInt();
+    int tableSize = buffer.getInt();
+    int callbackSetCount = buffer.getInt();
+    int callbackCount = buffer.getInt();
+    int typeSetCount = buffer.getInt();
+    int typeCount = buffer.getInt();
+    int stringDataLength = buffer.getInt();
+    long expectedSize =
+        Integer.BYTES
+                * (HEADER_INTS
+                    + (stringCount + 1L)
+                    + tableSize
+                    + 2L * methodCount
+                    + (callbackSetCount + 1L)
+                    + callbackCount
+                    + (typeSetCount + 1L)
+                    + typeCount)
+            + stringDataLength;
+    if (buffer.capacity() != expectedSize) {
+      throw new IOException("The library summary file is truncated or corrupt.");
+    }
+    stringOffsets = MappedCallGraph.intSection(buffer, stringCount + 1);
+    idTable = MappedCallGraph.intSection(buffer, tableSize);
+    callbackSets = MappedCallGraph.intSection(buffer, methodCount);
+    typeSets = MappedCallGraph.intSection(buffer, methodCount);
+    callbackSetOffsets = MappedCallGraph.intSection(buffer, callbackSetCount + 1);
+    callbacks = MappedCallGraph.intSection(buffer, callbackCount);
+    typeSetOffsets = MappedCallGraph.intSection(buffer, typeSetCount + 1);
+    types = MappedCallGraph.intSection(buffer, typeCount);
+    stringData = buffer.slice();
+    signatures = new MethodSignature[stringCount];
+    classTypes = new ClassType[stringCount];
+  }
+
+  /**
+   * Loads the library summary of the given file, which is parsed with the {@link
+   * JavaIdentifierFactory}.
+   */
+  @Nonnull
+  public static LibrarySummary load(@Nonnull Path file) throws IOException {
+    return load(file, JavaIdentifierFactory.getInstance());
+  }
+
+  /**
+   * Maps the given file, which was written by {@link #write(View, Path)}, into memory.
+   *
+   * @param file the library summary file
+   * @param identifierFactory the factory that parses the signatures and class names of the file
+   * @return the library summary of the file
+   * @throws IOException if the file can not be read or does not contain a library summary
+   */
+  @Nonnull
+  public static LibrarySummary load(
+      @Nonnull Path file, @Nonnull IdentifierFactory identifierFactory) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // the mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new LibrarySummary(buffer, identifierFactory);
+    }
+  }
+
+  /**
+   * Summarizes the methods of all library classes in the given view and writes the summaries into
+   * the given file, which can be loaded by {@link #load(Path)}. Only the methods that have a
+   * callback or instantiate a class are written. The view should not contain the application,
+   * since the calls from the library to application classes are resolved when the summary is
+   * used. Methods whose body can not be built are logged and treated as if they had an empty
+   * body.
+   *
+   * @param view the view that contains the library classes
+   * @param file the file, it is replaced if it exists
+   * @throws IOException if the file can not be written
+   */
+  public static void write(@Nonnull View<? extends SootClass<?>> view, @Nonnull Path file)
+      throws IOException {
+    // the library methods with a body are the nodes of the call graph of the library
+    List<SootMethod> methods = new ArrayList<>();
+    Map<MethodSignature, Integer> methodIds = new HashMap<>();
+    for (SootClass<?> sootClass : view.getClasses()) {
+      if (!sootClass.isLibraryClass()) {
+        continue;
+      }
+      for (SootMethod method : sootClass.getMethods()) {
+        if (method.hasBody()) {
+          methodIds.put(method.getSignature(), methods.size());
+          methods.add(method);
+        }
+      }
+    }
+
+    // the calls, callbacks and instantiated classes of every method itself
+    ClassHierarchyAnalysisAlgorithm cha = new ClassHierarchyAnalysisAlgorithm(view);
+    DispatchCache dispatchCache = DispatchCache.forView(view);
+    Map<MethodSignature, Integer> callbackIds = new HashMap<>();
+    Map<ClassType, Integer> typeIds = new HashMap<>();
+    int methodCount = methods.size();
+    int[][] callees = new int[methodCount][];
+    int[][] directCallbacks = new int[methodCount][];
+    int[][] directTypes = new int[methodCount][];
+    for (int id = 0; id < methodCount; id++) {
+      SootMethod method = methods.get(id);
+      BitSet methodCallbacks = new BitSet();
+      BitSet methodTypes = new BitSet();
+      try {
+        callees[id] =
+            cha.resolveCallEdges(method.getSignature(), method).stream()
+                .map(callEdge -> methodIds.get(callEdge.getTarget()))
+                .filter(Objects::nonNull)
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .toArray();
+        for (Stmt stmt : method.getBody().getStmts()) {
+          if (stmt.containsInvokeExpr()) {
+            AbstractInvokeExpr invokeExpr = stmt.getInvokeExpr();
+            MethodSignature calledMethod = invokeExpr.getMethodSignature();
+            if ((invokeExpr instanceof JVirtualInvokeExpr
+                    || invokeExpr instanceof JInterfaceInvokeExpr)
+                && isOverridable(view, dispatchCache, calledMethod)) {
+              methodCallbacks.set(idOf(callbackIds, calledMethod));
+            }
+          }
+          if (stmt instanceof JAssignStmt
+              && ((JAssignStmt) stmt).getRightOp() instanceof JNewExpr) {
+            methodTypes.set(
+                idOf(typeIds, ((JNewExpr) ((JAssignStmt) stmt).getRightOp()).getType()));
+          }
+        }
+      } catch (RuntimeException e) {
+        // a single body that can not be built must not prevent the summary of the library
+        logger.warn("Could not summarize " + method.getSignature(), e);
+        callees[id] = new int[0];
+        methodCallbacks.clear();
+        methodTypes.clear();
+      }
+      directCallbacks[id] = methodCallbacks.stream().toArray();
+      directTypes[id] = methodTypes.stream().toArray();
+    }
+
+    // the transitive summaries, which are shared by all methods of a strongly connected component
+    SetTable callbackSetTable = new SetTable();
+    SetTable typeSetTable = new SetTable();
+    int[][] summarySets =
+        summarize(callees, directCallbacks, directTypes, callbackSetTable, typeSetTable);
+
+    // only the methods that can be called from the application and have a summary are written
+    List<Integer> summarized = new ArrayList<>();
+    for (int id = 0; id < methodCount; id++) {
+      if (!methods.get(id).isPrivate()
+          && (summarySets[0][id] != callbackSetTable.emptySet
+              || summarySets[1][id] != typeSetTable.emptySet)) {
+        summarized.add(id);
+      }
+    }
+
+    // the strings, i.e. the summarized methods followed by the callbacks and the classes
+    List<String> strings = new ArrayList<>();
+    Map<String, Integer> stringIds = new HashMap<>();
+    for (int id : summarized) {
+      idOf(stringIds, methods.get(id).getSignature().toString());
+      strings.add(methods.get(id).getSignature().toString());
+    }
+    int[] callbackStringIds = stringIdsOf(callbackIds, Object::toString, stringIds, strings);
+    int[] typeStringIds =
+        stringIdsOf(typeIds, ClassType::getFullyQualifiedName, stringIds, strings);
+    int stringCount = strings.size();
+    byte[][] stringBytes = new byte[stringCount][];
+    int stringDataLength = 0;
+    for (int id = 0; id < stringCount; id++) {
+      stringBytes[id] = strings.get(id).getBytes(StandardCharsets.UTF_8);
+      stringDataLength += stringBytes[id].length;
+    }
+
+    int summarizedCount = summarized.size();
+    int tableSize = Integer.highestOneBit(Math.max(1, summarizedCount * 2 - 1)) << 1;
+    int[] idTable = new int[tableSize];
+    for (int id = 0; id < summarizedCount; id++) {
+      int slot = MappedCallGraph.hash(strings.get(id)) & (tableSize - 1);
+      while (idTable[slot] != 0) {
+        slot = (slot + 1) & (tableSize - 1);
+      }
+      idTable[slot] = id + 1;
+    }
+
+    int[][] callbackRows = callbackSetTable.rows(callbackStringIds);
+    int[][] typeRows = typeSetTable.rows(typeStringIds);
+    long size =
+        Integer.BYTES
+                * (HEADER_INTS
+                    + (stringCount + 1L)
+                    + tableSize
+                    + 2L * summarizedCount
+                    + (callbackRows.length + 1L)
+                    + callbackSetTable.valueCount
+                    + (typeRows.length + 1L)
+                    + typeSetTable.valueCount)
+            + stringDataLength;
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("The library summary is too large to be written into a single file.");
+    }
+    ByteBuffer buffer = ByteBuffer.allocate((int) size);
+    buffer
+        .putInt(MAGIC)
+        .putInt(VERSION)
+        .putInt(summarizedCount)
+        .putInt(stringCount)
+        .putInt(tableSize)
+        .putInt(callbackRows.length)
+        .putInt(callbackSetTable.valueCount)
+        .putInt(typeRows.length)
+        .putInt(typeSetTable.valueCount)
+        .putInt(stringDataLength);
+    int offset = 0;
+    for (byte[] string : stringBytes) {
+      buffer.putInt(offset);
+      offset += string.length;
+    }
+    buffer.putInt(offset);
+    for (int entry : idTable) {
+      buffer.putInt(entry);
+    }
+    for (int id : summarized) {
+      buffer.putInt(summarySets[0][id]);
+    }
+    for (int id : summarized) {
+      buffer.putInt(summarySets[1][id]);
+    }
+    MappedCallGraph.putRows(buffer, callbackRows);
+    MappedCallGraph.putRows(buffer, typeRows);
+    for (byte[] string : stringBytes) {
+      buffer.put(string);
+    }
+    buffer.flip();
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Returns true if a call of the given method can dispatch to a method of an application class,
+   * i.e. if neither the class nor the called method is final.
+   */
+  private static boolean isOverridable(
+      @Nonnull View<? extends SootClass<?>> view,
+      @Nonnull DispatchCache dispatchCache,
+      @Nonnull MethodSignature calledMethod) {
+    SootClass<?> declaringClass = view.getClass(calledMethod.getDeclClassType()).orElse(null);
+    if (declaringClass == null || declaringClass.isFinal()) {
+      return false;
+    }
+    SootMethod method = dispatchCache.findConcreteMethod(view, calledMethod).orElse(null);
+    return method == null || !(method.isFinal() || method.isPrivate() || method.isStatic());
+  }
+
+  /**
+   * Computes the transitive callbacks and instantiated classes of every method with Tarjan's
+   * algorithm. A strongly connected component is completed after all components that it calls, so
+   * its summary is the union of the summaries of its methods and of the called components.
+   *
+   * @return the ids of the callback sets and of the type sets of the methods
+   */
+  @Nonnull
+  private static int[][] summarize(
+      @Nonnull int[][] callees,
+      @Nonnull int[][] directCallbacks,
+      @Nonnull int[][] directTypes,
+      @Nonnull SetTable callbackSetTable,
+      @Nonnull SetTable typeSetTable) {
+    int methodCount = callees.length;
+    int[] callbackSetOf = new int[methodCount];
+    int[] typeSetOf = new int[methodCount];
+    int[] index = new int[methodCount];
+    int[] lowLink = new int[methodCount];
+    Arrays.fill(index, -1);
+    boolean[] onStack = new boolean[methodCount];
+    boolean[] completed = new boolean[methodCount];
+    int[] stack = new int[methodCount];
+    int stackSize = 0;
+    // the explicit call stack of the depth-first search, with the position in the callees
+    int[] path = new int[methodCount];
+    int[] calleePosition = new int[methodCount];
+    int pathLength = 0;
+    int nextIndex = 0;
+
+    for (int root = 0; root < methodCount; root++) {
+      if (index[root] != -1) {
+        continue;
+      }
+      index[root] = lowLink[root] = nextIndex++;
+      stack[stackSize++] = root;
+      onStack[root] = true;
+      path[pathLength] = root;
+      calleePosition[pathLength++] = 0;
+
+      while (pathLength > 0) {
+        int v = path[pathLength - 1];
+        if (calleePosition[pathLength - 1] < callees[v].length) {
+          int w = callees[v][calleePosition[pathLength - 1]++];
+          if (index[w] == -1) {
+            index[w] = lowLink[w] = nextIndex++;
+            stack[stackSize++] = w;
+            onStack[w] = true;
+            path[pathLength] = w;
+            calleePosition[pathLength++] = 0;
+          } else if (onStack[w]) {
+            lowLink[v] = Math.min(lowLink[v], index[w]);
+          }
+          continue;
+        }
+
+        pathLength--;
+        if (pathLength > 0) {
+          int u = path[pathLength - 1];
+          lowLink[u] = Math.min(lowLink[u], lowLink[v]);
+        }
+        if (lowLink[v] != index[v]) {
+          continue;
+        }
+        // v is the root of a component, whose methods are on the stack above it
+        int componentStart = stackSize;
+        do {
+          onStack[stack[--componentStart]] = false;
+        } while (stack[componentStart] != v);
+        BitSet componentCallbacks = new BitSet();
+        BitSet componentTypes = new BitSet();
+        for (int i = componentStart; i < stackSize; i++) {
+          int member = stack[i];
+          setAll(componentCallbacks, directCallbacks[member]);
+          setAll(componentTypes, directTypes[member]);
+          for (int callee : callees[member]) {
+            if (completed[callee]) {
+              setAll(componentCallbacks, callbackSetTable.sets.get(callbackSetOf[callee]));
+              setAll(componentTypes, typeSetTable.sets.get(typeSetOf[callee]));
+            }
+          }
+        }
+        int callbackSet = callbackSetTable.intern(componentCallbacks.stream().toArray());
+        int typeSet = typeSetTable.intern(componentTypes.stream().toArray());
+        for (int i = componentStart; i < stackSize; i++) {
+          int member = stack[i];
+          callbackSetOf[member] = callbackSet;
+          typeSetOf[member] = typeSet;
+          completed[member] = true;
+        }
+        stackSize = componentStart;
+      }
+    }
+    return new int[][] {callbackSetOf, typeSetOf};
+  }
+
+  private static void setAll(@Nonnull BitSet bitSet, @Nonnull int[] values) {
+    for (int value : values) {
+      bitSet.set(value);
+    }
+  }
+
+  private static <T> int idOf(@Nonnull Map<T, Integer> ids, @Nonnull T value) {
+    Integer id = ids.get(value);
+    if (id == null) {
+      id = ids.size();
+      ids.put(value, id);
+    }
+    return id;
+  }
+
+  /** Adds the strings of the given values and returns the string ids of the value ids. */
+  @Nonnull
+  private static <T> int[] stringIdsOf(
+      @Nonnull Map<T, Integer> valueIds,
+      @Nonnull Function<T, String> toString,
+      @Nonnull Map<String, Integer> stringIds,
+      @Nonnull List<String> strings) {
+    int[] result = new int[valueIds.size()];
+    for (Map.Entry<T, Integer> entry : valueIds.entrySet()) {
+      String string = toString.apply(entry.getKey());
+      int stringId = idOf(stringIds, string);
+      if (stringId == strings.size()) {
+        strings.add(string);
+      }
+      result[entry.getValue()] = stringId;
+    }
+    return result;
+  }
+
+  /** Returns the number of summarized methods. */
+  public int getMethodCount() {
+    return methodCount;
+  }
+
+  /**
+   * Returns the summary of the given library method.
+   *
+   * @return the summary, or an empty optional if the method does not have any callbacks and does
+   *     not instantiate any class, or if it is not part of the library
+   */
+  @Nonnull
+  public Optional<MethodSummary> getSummary(@Nonnull MethodSignature method) {
+    String signature = method.toString();
+    int mask = idTable.limit() - 1;
+    for (int slot = MappedCallGraph.hash(signature) & mask; ; slot = (slot + 1) & mask) {
+      int entry = idTable.get(slot);
+      if (entry == 0) {
+        return Optional.empty();
+      }
+      if (stringOf(entry - 1).equals(signature)) {
+        return Optional.of(summaryOf(entry - 1));
+      }
+    }
+  }
+
+  @Nonnull
+  private MethodSummary summaryOf(int id) {
+    int callbackSet = callbackSets.get(id);
+    int callbackStart = callbackSetOffsets.get(callbackSet);
+    List<MethodSignature> methodCallbacks =
+        new ArrayList<>(callbackSetOffsets.get(callbackSet + 1) - callbackStart);
+    for (int i = callbackStart; i < callbackSetOffsets.get(callbackSet + 1); i++) {
+      methodCallbacks.add(signatureOf(callbacks.get(i)));
+    }
+    int typeSet = typeSets.get(id);
+    int typeStart = typeSetOffsets.get(typeSet);
+    List<ClassType> methodTypes = new ArrayList<>(typeSetOffsets.get(typeSet + 1) - typeStart);
+    for (int i = typeStart; i < typeSetOffsets.get(typeSet + 1); i++) {
+      methodTypes.add(classTypeOf(types.get(i)));
+    }
+    return new MethodSummary(methodCallbacks, methodTypes);
+  }
+
+  @Nonnull
+  private MethodSignature signatureOf(int stringId) {
+    MethodSignature signature = signatures[stringId];
+    if (signature == null) {
+      signature = identifierFactory.parseMethodSignature(stringOf(stringId));
+      signatures[stringId] = signature;
+    }
+    return signature;
+  }
+
+  @Nonnull
+  private ClassType classTypeOf(int stringId) {
+    ClassType classType = classTypes[stringId];
+    if (classType == null) {
+      classType = identifierFactory.getClassType(stringOf(stringId));
+      classTypes[stringId] = classType;
+    }
+    return classType;
+  }
+
+  @Nonnull
+  private String stringOf(int stringId) {
+    Preconditions.checkElementIndex(stringId, signatures.length);
+    int start = stringOffsets.get(stringId);
+    byte[] bytes = new byte[stringOffsets.get(stringId + 1) - start];
+    // an absolute bulk get is not available before Java 13
+    ByteBuffer string = stringData.duplicate();
+    string.position(start);
+    string.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString() {
+    return "LibrarySummary of " + methodCount + " methods";
+  }
+
+  /** The summary of a library method. */
+  public static final class MethodSummary {
+    @Nonnull private final List<MethodSignature> callbacks;
+    @Nonnull private final List<ClassType> instantiatedTypes;
+
+    private MethodSummary(
+        @Nonnull List<MethodSignature> callbacks, @Nonnull List<ClassType> instantiatedTypes) {
+      this.callbacks = Collections.unmodifiableList(callbacks);
+      this.instantiatedTypes = Collections.unmodifiableList(instantiatedTypes);
+    }
+
+    /**
+     * Returns the signatures of the virtual and interface calls in the library that can dispatch
+     * to a method of an application class that overrides the called method.
+     */
+    @Nonnull
+    public List<MethodSignature> getCallbacks() {
+      return callbacks;
+    }
+
+    /** Returns the classes that are instantiated in the library. */
+    @Nonnull
+    public List<ClassType> getInstantiatedTypes() {
+      return instantiatedTypes;
+    }
+  }
+
+  /** Interns sets of ints, so that every distinct set is only written once. */
+  private static final class SetTable {
+    @Nonnull private final Map<IntArray, Integer> ids = new HashMap<>();
+    @Nonnull private final List<int[]> sets = new ArrayList<>();
+    private int valueCount = 0;
+    private final int emptySet = intern(new int[0]);
+
+    private int intern(@Nonnull int[] set) {
+      IntArray key = new IntArray(set);
+      Integer id = ids.get(key);
+      if (id == null) {
+        id = sets.size();
+        ids.put(key, id);
+        sets.add(set);
+        valueCount += set.length;
+      }
+      return id;
+    }
+
+    /** Returns the sets with the values mapped by the given array. */
+    @Nonnull
+    private int[][] rows(@Nonnull int[] valueMapping) {
+      int[][] rows = new int[sets.size()][];
+      for (int id = 0; id < rows.length; id++) {
+        int[] set = sets.get(id);
+        rows[id] = new int[set.length];
+        for (int i = 0; i < set.length; i++) {
+          rows[id][i] = valueMapping[set[i]];
+        }
+      }
+      return rows;
+    }
+  }
+
+  /** An int array with value semantics. */
+  private static final class IntArray {
+    @Nonnull private final int[] values;
+    private final int hashCode;
+
+    private IntArray(@Nonnull int[] values) {
+      this.values = values;
+      this.hashCode = Arrays.hashCode(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof IntArray && Arrays.equals(values, ((IntArray) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Map;
+import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+
+/**
+ * Provides the static main methods of all application classes as entry points. This is the usual
+ * choice for an application that is started from the command line.
+ */
+public class MainMethodEntryPointProvider extends AbstractEntryPointProvider {
+
+  @Override
+  protected boolean isCandidate(
+      @Nonnull ClassHeader header, @Nonnull Map<ClassType, ClassHeader> typeToHeader) {
+    return true;
+  }
+
+  @Override
+  protected boolean isEntryPoint(
+      @Nonnull View<? extends SootClass<?>> view,
+      @Nonnull SootClass<?> sootClass,
+      @Nonnull SootMethod method) {
+    return method.isStatic()
+        && view.getIdentifierFactory().isMainSubSignature(method.getSignature().getSubSignature());
+  }
+}
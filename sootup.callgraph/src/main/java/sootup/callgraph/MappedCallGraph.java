@@ -0,0 +1,515 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.IdentifierFactory;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.core.JavaIdentifierFactory;
+
+/**
+ * An immutable call graph that is backed by a memory-mapped file. The file is created by {@link
+ * #write(CallGraph, Path)} and contains a table of the method signatures, a hash table to look up
+ * the id of a signature and the callees and callers of every method as int arrays in the compressed
+ * sparse row form of the {@link CompactCallGraph}. Loading the call graph only maps the file, the
+ * method signatures are parsed when they are requested for the first time.
+ *
+ * <p>The call sites of the calls are not stored to keep the file small. So {@link
+ * #callEdgesFrom(MethodSignature)}, {@link #callEdgesTo(MethodSignature)} and {@link
+ * #callEdgesAt(CallSite)} return empty sets.
+ *
+ * <p>The file has the following layout. All numbers are big-endian ints.
+ *
+ * <pre>
+ * magic, version, methodCount, callCount, tableSize, stringDataLength
+ * stringOffsets[methodCount + 1]
+ * idTable[tableSize]                     (id + 1 of the method in the slot, 0 if empty)
+ * calleeOffsets[methodCount + 1], callees[callCount]
+ * callerOffsets[methodCount + 1], callers[callCount]
+ * stringData[stringDataLength]           (UTF-8 encoded signatures)
+ * </pre>
+ */
+public class MappedCallGraph implements CallGraph {
+
+  private static final int MAGIC = 0x53554347; // "SUCG"
+  private static final int VERSION = 1;
+  private static final int HEADER_INTS = 6;
+
+  @Nonnull private final IdentifierFactory identifierFactory;
+  private final int methodCount;
+  private final int callCount;
+  @Nonnull private final IntBuffer stringOffsets;
+  @Nonnull private final IntBuffer idTable;
+  @Nonnull private final IntBuffer calleeOffsets;
+  @Nonnull private final IntBuffer callees;
+  @Nonnull private final IntBuffer callerOffsets;
+  @Nonnull private final IntBuffer callers;
+  @Nonnull private final ByteBuffer stringData;
+  // the parsed signatures, signatures are immutable, so a racy initialization is harmless
+  @Nonnull private final MethodSignature[] methods;
+
+  private MappedCallGraph(@Nonnull ByteBuffer buffer, @Nonnull IdentifierFactory identifierFactory)
+      throws IOException {
+    this.identifierFactory = identifierFactory;
+    if (buffer.remaining() < HEADER_INTS * Integer.BYTES || buffer.getInt() != MAGIC) {
+      throw new IOException("The file does not contain a call graph.");
+    }
+    int version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported call graph file version " + version + ".");
+    }
+    methodCount = buffer.getInt();
+    callCount = buffer.getInt();
+    int tableSize = buffer.getInt();
+    int stringDataLength = buffer.getInt();
+    // the lookup needs a power of two as table size and an empty slot to end every probe sequence
+    if (methodCount < 0
+        || callCount < 0
+        || stringDataLength < 0
+        || Integer.bitCount(tableSize) != 1
+        || tableSize <= methodCount) {
+      throw new IOException("The call graph file is corrupt.");
+    }
+    long expectedSize =
+        Integer.BYTES * (HEADER_INTS + 3L * (methodCount + 1) + tableSize + 2L * callCount)
+            + stringDataLength;
+    if (buffer.capacity() != expectedSize) {
+      throw new IOException("The call graph file is truncated or corrupt.");
+    }
+    stringOffsets = intSection(buffer, methodCount + 1);
+    idTable = intSection(buffer, tableSize);
+    calleeOffsets = intSection(buffer, methodCount + 1);
+    callees = intSection(buffer, callCount);
+    callerOffsets = intSection(buffer, methodCount + 1);
+    callers = intSection(buffer, callCount);
+    stringData = buffer.slice();
+    methods = new MethodSignature[methodCount];
+  }
+
+  @Nonnull
+  static IntBuffer intSection(@Nonnull ByteBuffer buffer, int length) {
+    IntBuffer section = buffer.slice().asIntBuffer();
+    section.limit(length);
+    buffer.position(buffer.position() + length * Integer.BYTES);
+    return section;
+  }
+
+  /**
+   * Loads the call graph of the given file, which is parsed with the {@link JavaIdentifierFactory}.
+   */
+  @Nonnull
+  public static MappedCallGraph load(@Nonnull Path file) throws IOException {
+    return load(file, JavaIdentifierFactory.getInstance());
+  }
+
+  /**
+   * Maps the given file, which was written by {@link #write(CallGraph, Path)}, into memory.
+   *
+   * @param file the call graph file
+   * @param identifierFactory the factory that parses the method signatures of the file
+   * @return the call graph of the file
+   * @throws IOException if the file can not be read or does not contain a call graph
+   */
+  @Nonnull
+  public static MappedCallGraph load(
+      @Nonnull Path file, @Nonnull IdentifierFactory identifierFactory) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // the mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new MappedCallGraph(buffer, identifierFactory);
+    }
+  }
+
+  /**
+   * Writes the given call graph into the given file, which can be loaded by {@link #load(Path)}.
+   * The call sites of the call graph are not written.
+   *
+   * @param callGraph the call graph that is written
+   * @param file the file, it is replaced if it exists
+   * @throws IOException if the file can not be written
+   */
+  public static void write(@Nonnull CallGraph callGraph, @Nonnull Path file) throws IOException {
+    List<MethodSignature> methods = new ArrayList<>(callGraph.getMethodSignatures());
+    Map<MethodSignature, Integer> ids = new HashMap<>();
+    for (int id = 0; id < methods.size(); id++) {
+      ids.put(methods.get(id), id);
+    }
+    int methodCount = methods.size();
+
+    // the signatures
+    byte[][] signatures = new byte[methodCount][];
+    int stringDataLength = 0;
+    for (int id = 0; id < methodCount; id++) {
+      signatures[id] = methods.get(id).toString().getBytes(StandardCharsets.UTF_8);
+      stringDataLength += signatures[id].length;
+    }
+    int tableSize = Integer.highestOneBit(Math.max(1, methodCount * 2 - 1)) << 1;
+    int[] idTable = new int[tableSize];
+    for (int id = 0; id < methodCount; id++) {
+      int slot = hash(methods.get(id).toString()) & (tableSize - 1);
+      while (idTable[slot] != 0) {
+        slot = (slot + 1) & (tableSize - 1);
+      }
+      idTable[slot] = id + 1;
+    }
+
+    // the calls in the compressed sparse row form, sorted by id for binary searches
+    int[][] calleeRows = new int[methodCount][];
+    int[] callerCounts = new int[methodCount];
+    int callCount = 0;
+    for (int id = 0; id < methodCount; id++) {
+      int[] row =
+          callGraph.callsFrom(methods.get(id)).stream().mapToInt(ids::get).sorted().toArray();
+      for (int target : row) {
+        callerCounts[target]++;
+      }
+      calleeRows[id] = row;
+      callCount += row.length;
+    }
+    int[][] callerRows = new int[methodCount][];
+    for (int id = 0; id < methodCount; id++) {
+      callerRows[id] = new int[callerCounts[id]];
+      callerCounts[id] = 0;
+    }
+    // iterating over the sources in id order keeps the callers sorted
+    for (int source = 0; source < methodCount; source++) {
+      for (int target : calleeRows[source]) {
+        callerRows[target][callerCounts[target]++] = source;
+      }
+    }
+
+    long size =
+        Integer.BYTES * (HEADER_INTS + 3L * (methodCount + 1) + tableSize + 2L * callCount)
+            + stringDataLength;
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("The call graph is too large to be written into a single file.");
+    }
+    ByteBuffer buffer = ByteBuffer.allocate((int) size);
+    buffer
+        .putInt(MAGIC)
+        .putInt(VERSION)
+        .putInt(methodCount)
+        .putInt(callCount)
+        .putInt(tableSize)
+        .putInt(stringDataLength);
+    int offset = 0;
+    for (byte[] signature : signatures) {
+      buffer.putInt(offset);
+      offset += signature.length;
+    }
+    buffer.putInt(offset);
+    for (int entry : idTable) {
+      buffer.putInt(entry);
+    }
+    putRows(buffer, calleeRows);
+    putRows(buffer, callerRows);
+    for (byte[] signature : signatures) {
+      buffer.put(signature);
+    }
+    buffer.flip();
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  static void putRows(@Nonnull ByteBuffer buffer, @Nonnull int[][] rows) {
+    int offset = 0;
+    for (int[] row : rows) {
+      buffer.putInt(offset);
+      offset += row.length;
+    }
+    buffer.putInt(offset);
+    for (int[] row : rows) {
+      for (int value : row) {
+        buffer.putInt(value);
+      }
+    }
+  }
+
+  static int hash(@Nonnull String signature) {
+    // String.hashCode is specified, so the hash is the same for every JVM that reads the file
+    int h = signature.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /** Returns the number of methods in the call graph, i.e. the upper bound of the method ids. */
+  public int getMethodCount() {
+    return methodCount;
+  }
+
+  /** Returns the id of the given method or -1 if the method is not part of the call graph. */
+  public int getMethodId(@Nonnull MethodSignature method) {
+    String signature = method.toString();
+    int mask = idTable.limit() - 1;
+    int slot = hash(signature) & mask;
+    // a corrupt table might not contain an empty slot, so the probes are bounded by its size
+    for (int probes = 0; probes <= mask; probes++, slot = (slot + 1) & mask) {
+      int entry = idTable.get(slot);
+      if (entry == 0) {
+        return -1;
+      }
+      if (entry < 0 || entry > methodCount) {
+        throw new IllegalStateException("The id table of the call graph file is corrupt.");
+      }
+      if (signatureOf(entry - 1).equals(signature)) {
+        return entry - 1;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns the method with the given id. */
+  @Nonnull
+  public MethodSignature getMethod(int id) {
+    Preconditions.checkElementIndex(id, methodCount);
+    MethodSignature method = methods[id];
+    if (method == null) {
+      method = identifierFactory.parseMethodSignature(signatureOf(id));
+      methods[id] = method;
+    }
+    return method;
+  }
+
+  @Nonnull
+  private String signatureOf(int id) {
+    int start = stringOffsets.get(id);
+    byte[] bytes = new byte[stringOffsets.get(id + 1) - start];
+    // an absolute bulk get is not available before Java 13
+    ByteBuffer signature = stringData.duplicate();
+    signature.position(start);
+    signature.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int idOf(@Nonnull MethodSignature method) {
+    int id = getMethodId(method);
+    Preconditions.checkArgument(id >= 0, "Node for " + method + " has not been added yet");
+    return id;
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> getMethodSignatures() {
+    return new AbstractSet<MethodSignature>() {
+      @Override
+      public boolean contains(Object o) {
+        return o instanceof MethodSignature && getMethodId((MethodSignature) o) >= 0;
+      }
+
+      @Nonnull
+      @Override
+      public Iterator<MethodSignature> iterator() {
+        return new MethodIterator(0, methodCount, null);
+      }
+
+      @Override
+      public int size() {
+        return methodCount;
+      }
+    };
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> callsFrom(@Nonnull MethodSignature sourceMethod) {
+    int id = idOf(sourceMethod);
+    return new MethodSet(callees, calleeOffsets.get(id), calleeOffsets.get(id + 1));
+  }
+
+  @Nonnull
+  @Override
+  public Set<MethodSignature> callsTo(@Nonnull MethodSignature targetMethod) {
+    int id = idOf(targetMethod);
+    return new MethodSet(callers, callerOffsets.get(id), callerOffsets.get(id + 1));
+  }
+
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesFrom(@Nonnull MethodSignature sourceMethod) {
+    idOf(sourceMethod);
+    return Collections.emptySet();
+  }
+
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesTo(@Nonnull MethodSignature targetMethod) {
+    idOf(targetMethod);
+    return Collections.emptySet();
+  }
+
+  @Nonnull
+  @Override
+  public Set<CallEdge> callEdgesAt(@Nonnull CallSite callSite) {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public boolean containsMethod(@Nonnull MethodSignature method) {
+    return getMethodId(method) >= 0;
+  }
+
+  @Override
+  public boolean containsCall(
+      @Nonnull MethodSignature sourceMethod, @Nonnull MethodSignature targetMethod) {
+    int source = getMethodId(sourceMethod);
+    int target = getMethodId(targetMethod);
+    return source >= 0
+        && target >= 0
+        && binarySearch(callees, calleeOffsets.get(source), calleeOffsets.get(source + 1), target);
+  }
+
+  private static boolean binarySearch(@Nonnull IntBuffer values, int start, int end, int value) {
+    int low = start;
+    int high = end - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midValue = values.get(mid);
+      if (midValue < value) {
+        low = mid + 1;
+      } else if (midValue > value) {
+        high = mid - 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int callCount() {
+    return callCount;
+  }
+
+  @Override
+  public String exportAsDot() {
+    return copy().exportAsDot();
+  }
+
+  /** Returns a mutable copy of this call graph, in which the methods have the same ids. */
+  @Nonnull
+  @Override
+  public CompactCallGraph copy() {
+    CompactCallGraph copy = new CompactCallGraph();
+    for (int id = 0; id < methodCount; id++) {
+      copy.addMethod(getMethod(id));
+    }
+    for (int source = 0; source < methodCount; source++) {
+      for (int i = calleeOffsets.get(source); i < calleeOffsets.get(source + 1); i++) {
+        copy.addCall(getMethod(source), getMethod(callees.get(i)));
+      }
+    }
+    return copy;
+  }
+
+  @Override
+  public String toString() {
+    return "MappedCallGraph(" + callCount + ") of " + methodCount + " methods";
+  }
+
+  /** Iterates over a range of ids or, if ids is given, over a range of the ids in the buffer. */
+  private class MethodIterator implements Iterator<MethodSignature> {
+    private int next;
+    private final int end;
+    @Nullable private final IntBuffer ids;
+
+    private MethodIterator(int start, int end, @Nullable IntBuffer ids) {
+      this.next = start;
+      this.end = end;
+      this.ids = ids;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < end;
+    }
+
+    @Override
+    public MethodSignature next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      int index = next++;
+      return getMethod(ids == null ? index : ids.get(index));
+    }
+  }
+
+  /** A set view of a sorted range of method ids. */
+  private class MethodSet extends AbstractSet<MethodSignature> {
+    @Nonnull private final IntBuffer ids;
+    private final int start;
+    private final int end;
+
+    private MethodSet(@Nonnull IntBuffer ids, int start, int end) {
+      this.ids = ids;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (!(o instanceof MethodSignature)) {
+        return false;
+      }
+      int id = getMethodId((MethodSignature) o);
+      return id >= 0 && binarySearch(ids, start, end, id);
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<MethodSignature> iterator() {
+      return new MethodIterator(start, end, ids);
+    }
+
+    @Override
+    public int size() {
+      return end - start;
+    }
+  }
+}
@@ -22,6 +22,7 @@ package sootup.callgraph;
  * #L%
  */
 
+import java.util.ArrayList;
 import javax.annotation.Nonnull;
 import sootup.core.signatures.MethodSignature;
 
@@ -45,4 +46,47 @@ public interface MutableCallGraph extends CallGraph {
    * @param targetMethod this paramter defines the target node of the edge in the call graph.
    */
   void addCall(@Nonnull MethodSignature sourceMethod, @Nonnull MethodSignature targetMethod);
+
+  /**
+   * This method adds a call at a call site. The edge from the source to the target method is added
+   * if it is not contained yet, and the call edge is recorded as one of its call sites.
+   *
+   * <p>The default implementation only adds the edge from the source to the target method, for
+   * call graphs that do not record call sites.
+   *
+   * @param callEdge the call, whose source and target have to be nodes in the call graph.
+   */
+  default void addCall(@Nonnull CallEdge callEdge) {
+    if (!containsCall(callEdge.getSource(), callEdge.getTarget())) {
+      addCall(callEdge.getSource(), callEdge.getTarget());
+    }
+  }
+
+  /**
+   * This method removes the edge from the source to the target method, including all of its call
+   * sites. Nothing happens if the call graph does not contain the edge.
+   *
+   * @param sourceMethod the source node of the removed edge.
+   * @param targetMethod the target node of the removed edge.
+   */
+  void removeCall(@Nonnull MethodSignature sourceMethod, @Nonnull MethodSignature targetMethod);
+
+  /**
+   * This method removes a node and all of its incoming and outgoing edges from the call graph.
+   * Nothing happens if the call graph does not contain the method.
+   *
+   * @param method the method that will be removed from the call graph.
+   */
+  void removeMethod(@Nonnull MethodSignature method);
+
+  /**
+   * This method removes all methods and calls from the call graph. The default implementation
+   * removes the methods one by one, implementations should override it if they can discard their
+   * content at once.
+   */
+  default void clear() {
+    for (MethodSignature method : new ArrayList<>(getMethodSignatures())) {
+      removeMethod(method);
+    }
+  }
 }
@@ -0,0 +1,348 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+
+/**
+ * A call graph that is built on demand while it is queried. It contains the same methods and calls
+ * as the call graph that the algorithm builds from the entry points with {@link
+ * CallGraphAlgorithm#initialize(List)}, but it only resolves the calls that are needed to answer a
+ * query and memoizes them:
+ *
+ * <ul>
+ *   <li>{@link #callsFrom(MethodSignature)} and {@link #callEdgesFrom(MethodSignature)} only
+ *       resolve the calls in the body of the given method. Unlike in the other call graphs, they
+ *       can be queried for methods that are not reachable from the entry points as well.
+ *   <li>{@link #containsMethod(MethodSignature)} and {@link #callEdgesAt(CallSite)} follow the
+ *       calls from the entry points until the method or the call site is found.
+ *   <li>The callers of a method are only known once all methods that are reachable from the entry
+ *       points are resolved. So {@link #callsTo(MethodSignature)}, {@link
+ *       #callEdgesTo(MethodSignature)} and the queries of the whole call graph resolve all of them.
+ * </ul>
+ *
+ * <p>So the memory that is used stays proportional to the part of the call graph that has been
+ * explored. This is only possible for algorithms whose call targets depend on the class hierarchy
+ * alone, see {@link AbstractCallGraphAlgorithm#resolvesCallsByHierarchy()}, e.g. CHA. The targets
+ * of other algorithms depend on the whole call graph, e.g. on the classes that are instantiated in
+ * any reachable method for RTA. For them, the call graph is built with the algorithm on the first
+ * query and all queries are answered by it.
+ *
+ * <p>The memoized calls are not updated when the view changes, use a {@link CallGraphUpdater} for
+ * this.
+ */
+public class OnDemandCallGraph implements CallGraph {
+
+  @Nonnull private final AbstractCallGraphAlgorithm algorithm;
+  @Nonnull private final List<MethodSignature> entryPoints;
+
+  // the resolved calls of every method whose calls have been queried or explored
+  @Nonnull private final Map<MethodSignature, Set<CallEdge>> resolvedCalls = new HashMap<>();
+
+  // the methods that are reachable from the entry points, in the order in which they are found
+  @Nonnull private final Set<MethodSignature> reachedMethods = new LinkedHashSet<>();
+  // the reached methods whose calls have not been followed yet
+  @Nonnull private final Deque<MethodSignature> frontier = new ArrayDeque<>();
+  // the calls of the explored methods by their target and by their call site
+  @Nonnull private final Map<MethodSignature, Set<CallEdge>> callsByTarget = new HashMap<>();
+  @Nonnull private final Map<CallSite, Set<CallEdge>> callsByCallSite = new HashMap<>();
+  private boolean explorationStarted = false;
+  // the implicit calls from the entry points to the static initializers of their classes
+  @Nullable private Map<MethodSignature, CallEdge> entryPointCalls;
+
+  // the call graph that answers all queries of algorithms that can not resolve calls on demand
+  @Nullable private CallGraph builtCallGraph;
+
+  /**
+   * Creates the call graph of the given entry points. Nothing is resolved until the call graph is
+   * queried.
+   *
+   * @param algorithm the algorithm that resolves the calls.
+   * @param entryPoints the entry points of the call graph.
+   */
+  public OnDemandCallGraph(
+      @Nonnull AbstractCallGraphAlgorithm algorithm, @Nonnull List<MethodSignature> entryPoints) {
+    this.algorithm = algorithm;
+    this.entryPoints = Collections.unmodifiableList(new ArrayList<>(entryPoints));
+  }
+
+  @Nonnull
+  public List<MethodSignature> getEntryPoints() {
+    return entryPoints;
+  }
+
+  /**
+   * Returns true if all methods that are reachable from the entry points have been resolved, so
+   * that no query resolves further calls.
+   */
+  public synchronized boolean isComplete() {
+    return builtCallGraph != null || (explorationStarted && frontier.isEmpty());
+  }
+
+  /** Returns the number of methods whose calls have been resolved so far. */
+  public synchronized int resolvedMethodCount() {
+    if (builtCallGraph != null) {
+      return builtCallGraph.getMethodSignatures().size();
+    }
+    return resolvedCalls.size();
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Set<MethodSignature> getMethodSignatures() {
+    if (!isDemandDriven()) {
+      return builtCallGraph().getMethodSignatures();
+    }
+    exploreAll();
+    return Collections.unmodifiableSet(reachedMethods);
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Set<MethodSignature> callsFrom(@Nonnull MethodSignature sourceMethod) {
+    if (!isDemandDriven()) {
+      return builtCallGraph().callsFrom(sourceMethod);
+    }
+    return resolve(sourceMethod).stream().map(CallEdge::getTarget).collect(Collectors.toSet());
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Set<MethodSignature> callsTo(@Nonnull MethodSignature targetMethod) {
+    if (!isDemandDriven()) {
+      return builtCallGraph().callsTo(targetMethod);
+    }
+    return callEdgesTo(targetMethod).stream().map(CallEdge::getSource).collect(Collectors.toSet());
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Set<CallEdge> callEdgesFrom(@Nonnull MethodSignature sourceMethod) {
+    if (!isDemandDriven()) {
+      return builtCallGraph().callEdgesFrom(sourceMethod);
+    }
+    return new HashSet<>(resolve(sourceMethod));
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Set<CallEdge> callEdgesTo(@Nonnull MethodSignature targetMethod) {
+    if (!isDemandDriven()) {
+      return builtCallGraph().callEdgesTo(targetMethod);
+    }
+    exploreAll();
+    return new HashSet<>(callsByTarget.getOrDefault(targetMethod, Collections.emptySet()));
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Set<CallEdge> callEdgesAt(@Nonnull CallSite callSite) {
+    if (!isDemandDriven()) {
+      return builtCallGraph().callEdgesAt(callSite);
+    }
+    startExploration();
+    while (!callsByCallSite.containsKey(callSite) && !frontier.isEmpty()) {
+      exploreNext();
+    }
+    return new HashSet<>(callsByCallSite.getOrDefault(callSite, Collections.emptySet()));
+  }
+
+  @Override
+  public synchronized boolean containsMethod(@Nonnull MethodSignature method) {
+    if (!isDemandDriven()) {
+      return builtCallGraph().containsMethod(method);
+    }
+    startExploration();
+    while (!reachedMethods.contains(method) && !frontier.isEmpty()) {
+      exploreNext();
+    }
+    return reachedMethods.contains(method);
+  }
+
+  @Override
+  public synchronized boolean containsCall(
+      @Nonnull MethodSignature sourceMethod, @Nonnull MethodSignature targetMethod) {
+    if (!isDemandDriven()) {
+      return builtCallGraph().containsCall(sourceMethod, targetMethod);
+    }
+    if (!containsMethod(sourceMethod)) {
+      return false;
+    }
+    for (CallEdge callEdge : resolve(sourceMethod)) {
+      if (callEdge.getTarget().equals(targetMethod)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public synchronized int callCount() {
+    if (!isDemandDriven()) {
+      return builtCallGraph().callCount();
+    }
+    exploreAll();
+    int callCount = 0;
+    for (MethodSignature method : reachedMethods) {
+      callCount += (int) resolve(method).stream().map(CallEdge::getTarget).distinct().count();
+    }
+    return callCount;
+  }
+
+  @Override
+  public synchronized String exportAsDot() {
+    return copy().exportAsDot();
+  }
+
+  /** Resolves all methods that are reachable from the entry points and copies the call graph. */
+  @Nonnull
+  @Override
+  public synchronized MutableCallGraph copy() {
+    if (!isDemandDriven()) {
+      return builtCallGraph().copy();
+    }
+    exploreAll();
+    MutableCallGraph copy = new GraphBasedCallGraph();
+    reachedMethods.forEach(copy::addMethod);
+    for (MethodSignature method : reachedMethods) {
+      resolve(method).forEach(copy::addCall);
+    }
+    return copy;
+  }
+
+  private boolean isDemandDriven() {
+    return algorithm.resolvesCallsByHierarchy();
+  }
+
+  @Nonnull
+  private CallGraph builtCallGraph() {
+    if (builtCallGraph == null) {
+      builtCallGraph = algorithm.initialize(entryPoints);
+    }
+    return builtCallGraph;
+  }
+
+  /**
+   * Returns the memoized calls of the given method. The entry points have the additional implicit
+   * call to the static initializer of their class.
+   */
+  @Nonnull
+  private Set<CallEdge> resolve(@Nonnull MethodSignature method) {
+    Set<CallEdge> calls = resolvedCalls.get(method);
+    if (calls == null) {
+      calls = new LinkedHashSet<>();
+      CallEdge entryPointCall = entryPointCalls().get(method);
+      if (entryPointCall != null) {
+        calls.add(entryPointCall);
+      }
+      calls.addAll(algorithm.resolveCallEdges(method));
+      resolvedCalls.put(method, calls);
+    }
+    return calls;
+  }
+
+  /**
+   * Returns the implicit calls of the entry points, like {@link
+   * AbstractCallGraphAlgorithm#addImplicitEdgesOfEntryPoints}.
+   */
+  @Nonnull
+  private Map<MethodSignature, CallEdge> entryPointCalls() {
+    if (entryPointCalls == null) {
+      Map<MethodSignature, CallEdge> calls = new HashMap<>();
+      for (MethodSignature entryPoint : entryPoints) {
+        SootMethod staticInitializer =
+            algorithm
+                .view
+                .getMethod(entryPoint.getDeclClassType().getStaticInitializer())
+                .orElse(null);
+        if (staticInitializer != null) {
+          calls.putIfAbsent(
+              entryPoint,
+              new CallEdge(
+                  entryPoint, staticInitializer.getSignature(), null, CallEdge.Kind.CLINIT));
+        }
+      }
+      entryPointCalls = calls;
+    }
+    return entryPointCalls;
+  }
+
+  /** Adds the entry points that are nodes of the call graph to the reached methods. */
+  private void startExploration() {
+    if (explorationStarted) {
+      return;
+    }
+    explorationStarted = true;
+    Map<MethodSignature, CallEdge> calls = entryPointCalls();
+    for (MethodSignature entryPoint : entryPoints) {
+      // like in the work list of the algorithm, methods of missing and library classes are only
+      // nodes if they are called
+      SootClass<?> entryPointClass =
+          algorithm.view.getClass(entryPoint.getDeclClassType()).orElse(null);
+      if (calls.containsKey(entryPoint)
+          || (entryPointClass != null && !entryPointClass.isLibraryClass())) {
+        reach(entryPoint);
+      }
+    }
+  }
+
+  private void reach(@Nonnull MethodSignature method) {
+    if (reachedMethods.add(method)) {
+      frontier.add(method);
+    }
+  }
+
+  /** Follows the calls of the next reached method, which adds their targets to the frontier. */
+  private void exploreNext() {
+    for (CallEdge callEdge : resolve(frontier.poll())) {
+      callsByTarget.computeIfAbsent(callEdge.getTarget(), t -> new HashSet<>()).add(callEdge);
+      CallSite callSite = callEdge.getCallSite();
+      if (callSite != null) {
+        callsByCallSite.computeIfAbsent(callSite, s -> new HashSet<>()).add(callEdge);
+      }
+      reach(callEdge.getTarget());
+    }
+  }
+
+  private void exploreAll() {
+    startExploration();
+    while (!frontier.isEmpty()) {
+      exploreNext();
+    }
+  }
+}
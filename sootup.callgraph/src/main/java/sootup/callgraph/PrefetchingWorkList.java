@@ -0,0 +1,154 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.views.View;
+
+/**
+ * A work list of a call graph algorithm that prefetches every method as soon as it is added. The
+ * class, the body and the dispatch targets of the calls in the body of an added method are resolved
+ * by a task on a {@link ForkJoinPool}, while the call graph algorithm still processes the work list
+ * in its usual order on a single thread and is the only one that writes to the call graph. So the
+ * call graph is the same as the one of a sequential run, but the expensive resolution of bodies and
+ * classes is done in parallel.
+ *
+ * <p>The prefetching of a method that is taken from the work list is cancelled if it has not
+ * started yet, since the call graph algorithm resolves the method itself then. All outstanding
+ * prefetching is cancelled when the work list is drained or {@link #cancelPrefetching()} is called.
+ */
+class PrefetchingWorkList extends ArrayDeque<MethodSignature> {
+
+  private static final Logger logger = LoggerFactory.getLogger(PrefetchingWorkList.class);
+
+  @Nonnull private final View<? extends SootClass<?>> view;
+  @Nonnull private final DispatchCache dispatchCache;
+  @Nonnull private final ForkJoinPool pool;
+  @Nonnull private final Set<MethodSignature> scheduled = new HashSet<>();
+  // the prefetching that has been scheduled but is not done yet
+  @Nonnull private final Map<MethodSignature, Future<?>> pending = new ConcurrentHashMap<>();
+
+  PrefetchingWorkList(
+      @Nonnull View<? extends SootClass<?>> view,
+      @Nonnull DispatchCache dispatchCache,
+      @Nonnull ForkJoinPool pool,
+      @Nonnull Collection<MethodSignature> entryPoints) {
+    this.view = view;
+    this.dispatchCache = dispatchCache;
+    this.pool = pool;
+    addAll(entryPoints);
+  }
+
+  @Override
+  public void addFirst(MethodSignature methodSignature) {
+    super.addFirst(methodSignature);
+    schedule(methodSignature);
+  }
+
+  @Override
+  public void addLast(MethodSignature methodSignature) {
+    super.addLast(methodSignature);
+    schedule(methodSignature);
+  }
+
+  @Override
+  public MethodSignature pollFirst() {
+    return taken(super.pollFirst());
+  }
+
+  @Override
+  public MethodSignature pollLast() {
+    return taken(super.pollLast());
+  }
+
+  /** Cancels the prefetching of all methods that has not started yet. */
+  void cancelPrefetching() {
+    for (Future<?> future : pending.values()) {
+      future.cancel(false);
+    }
+    pending.clear();
+  }
+
+  private MethodSignature taken(MethodSignature methodSignature) {
+    if (isEmpty()) {
+      cancelPrefetching();
+    } else if (methodSignature != null) {
+      Future<?> future = pending.remove(methodSignature);
+      if (future != null) {
+        future.cancel(false);
+      }
+    }
+    return methodSignature;
+  }
+
+  private void schedule(@Nonnull MethodSignature methodSignature) {
+    if (scheduled.add(methodSignature)) {
+      // the task is pending before it is executed, so it can not complete before it is pending
+      FutureTask<Void> future =
+          new FutureTask<Void>(() -> prefetch(methodSignature), null) {
+            @Override
+            protected void done() {
+              pending.remove(methodSignature, this);
+            }
+          };
+      pending.put(methodSignature, future);
+      pool.execute(future);
+    }
+  }
+
+  private void prefetch(@Nonnull MethodSignature methodSignature) {
+    try {
+      SootClass<?> clazz = view.getClass(methodSignature.getDeclClassType()).orElse(null);
+      if (clazz == null || clazz.isLibraryClass()) {
+        return;
+      }
+      SootMethod method = clazz.getMethod(methodSignature.getSubSignature()).orElse(null);
+      if (method == null || !method.hasBody()) {
+        return;
+      }
+      for (Stmt stmt : method.getBody().getStmts()) {
+        if (stmt.containsInvokeExpr()) {
+          dispatchCache.findConcreteMethod(view, stmt.getInvokeExpr().getMethodSignature());
+        }
+      }
+    } catch (RuntimeException e) {
+      // the call graph algorithm resolves the method again and reports the failure
+      logger.debug("Could not prefetch " + methodSignature, e);
+    }
+  }
+}
@@ -26,10 +26,12 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import sootup.core.jimple.common.expr.AbstractInvokeExpr;
 import sootup.core.jimple.common.expr.JNewExpr;
 import sootup.core.jimple.common.expr.JSpecialInvokeExpr;
 import sootup.core.jimple.common.stmt.JAssignStmt;
+import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.model.MethodModifier;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootMethod;
@@ -55,10 +57,18 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
   private static class Call {
     @Nonnull final MethodSignature source;
     @Nonnull final MethodSignature target;
+    @Nullable final CallSite callSite;
+    @Nonnull final CallEdge.Kind kind;
 
-    private Call(@Nonnull MethodSignature source, @Nonnull MethodSignature target) {
+    private Call(
+        @Nonnull MethodSignature source,
+        @Nonnull MethodSignature target,
+        @Nullable CallSite callSite,
+        @Nonnull CallEdge.Kind kind) {
       this.source = source;
       this.target = target;
+      this.callSite = callSite;
+      this.kind = kind;
     }
   }
 
@@ -133,11 +143,29 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
   @Nonnull
   protected Stream<MethodSignature> resolveCall(
       SootMethod sourceMethod, AbstractInvokeExpr invokeExpr) {
+    return resolveCall(sourceMethod, invokeExpr, null);
+  }
+
+  /**
+   * Resolves the call like {@link #resolveCall(SootMethod, AbstractInvokeExpr)}, but keeps the call
+   * site for calls that are ignored until their class is instantiated.
+   */
+  @Override
+  @Nonnull
+  protected Stream<MethodSignature> resolveCall(
+      SootMethod sourceMethod, CallSite callSite, Stmt invokingStmt) {
+    return resolveCall(sourceMethod, invokingStmt.getInvokeExpr(), callSite);
+  }
+
+  @Nonnull
+  private Stream<MethodSignature> resolveCall(
+      SootMethod sourceMethod, AbstractInvokeExpr invokeExpr, @Nullable CallSite callSite) {
+    CallEdge.Kind kind = CallEdge.Kind.of(invokeExpr);
     MethodSignature resolveBaseMethodSignature = invokeExpr.getMethodSignature();
     Stream<MethodSignature> result = Stream.of(resolveBaseMethodSignature);
 
     SootMethod concreteBaseMethod =
-        findConcreteMethod(view, resolveBaseMethodSignature).orElse(null);
+        dispatchCache.findConcreteMethod(view, resolveBaseMethodSignature).orElse(null);
 
     if (concreteBaseMethod == null
         || MethodModifier.isStatic(concreteBaseMethod.getModifiers())
@@ -148,10 +176,12 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
       if (instantiatedClasses.contains(resolveBaseMethodSignature.getDeclClassType())) {
         return Stream.concat(
             Stream.of(concreteBaseMethod.getSignature()),
-            resolveAllCallTargets(sourceMethod.getSignature(), resolveBaseMethodSignature));
+            resolveAllCallTargets(
+                sourceMethod.getSignature(), resolveBaseMethodSignature, callSite, kind));
       } else {
-        saveIgnoredCall(sourceMethod.getSignature(), resolveBaseMethodSignature);
-        return resolveAllCallTargets(sourceMethod.getSignature(), resolveBaseMethodSignature);
+        saveIgnoredCall(sourceMethod.getSignature(), resolveBaseMethodSignature, callSite, kind);
+        return resolveAllCallTargets(
+            sourceMethod.getSignature(), resolveBaseMethodSignature, callSite, kind);
       }
     }
   }
@@ -164,11 +194,16 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
    * @param source the method which contains call
    * @param resolveBaseMethodSignature the base of the resolving. All subtypes of the declaring
    *     class are analyzed as potential targets
+   * @param callSite the call site of the call, if it is known
+   * @param kind the kind of the call
    * @return a stream of all method signatures of instantiated classes that can be resolved as
    *     target from the given base method signature.
    */
   private Stream<MethodSignature> resolveAllCallTargets(
-      MethodSignature source, MethodSignature resolveBaseMethodSignature) {
+      MethodSignature source,
+      MethodSignature resolveBaseMethodSignature,
+      @Nullable CallSite callSite,
+      @Nonnull CallEdge.Kind kind) {
     return view.getTypeHierarchy().subtypesOf(resolveBaseMethodSignature.getDeclClassType())
         .stream()
         .map(
@@ -177,9 +212,9 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
                   view.getIdentifierFactory()
                       .getMethodSignature(classType, resolveBaseMethodSignature.getSubSignature());
               if (instantiatedClasses.contains(classType)) {
-                return resolveConcreteDispatch(view, method);
+                return dispatchCache.resolveConcreteDispatch(view, method);
               } else {
-                saveIgnoredCall(source, method);
+                saveIgnoredCall(source, method, callSite, kind);
                 return Optional.<MethodSignature>empty();
               }
             })
@@ -193,11 +228,17 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
    *
    * @param source the source method of the call
    * @param target the target method of the call
+   * @param callSite the call site of the call, if it is known
+   * @param kind the kind of the call
    */
-  private void saveIgnoredCall(MethodSignature source, MethodSignature target) {
+  private void saveIgnoredCall(
+      MethodSignature source,
+      MethodSignature target,
+      @Nullable CallSite callSite,
+      @Nonnull CallEdge.Kind kind) {
     ClassType notInstantiatedClass = target.getDeclClassType();
     List<Call> calls = ignoredCalls.get(notInstantiatedClass);
-    Call ignoredCall = new Call(source, target);
+    Call ignoredCall = new Call(source, target, callSite, kind);
     if (calls == null) {
       calls = new ArrayList<>();
       ignoredCalls.put(notInstantiatedClass, calls);
@@ -230,6 +271,17 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
     if (method == null) return;
 
     List<ClassType> newInstantiatedClasses = collectInstantiatedClassesInMethod(method);
+    addIgnoredCalls(newInstantiatedClasses, workList, cg);
+  }
+
+  /**
+   * Adds the previously ignored calls to the given classes, which are instantiated now, to the call
+   * graph.
+   */
+  private void addIgnoredCalls(
+      @Nonnull List<ClassType> newInstantiatedClasses,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
     newInstantiatedClasses.forEach(
         instantiatedClassType -> {
           List<Call> newEdges = ignoredCalls.get(instantiatedClassType);
@@ -237,17 +289,17 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
             newEdges.forEach(
                 call -> {
                   MethodSignature concreteTarget =
-                      resolveConcreteDispatch(view, call.target).orElse(null);
+                      dispatchCache.resolveConcreteDispatch(view, call.target).orElse(null);
                   if (concreteTarget == null) {
                     return;
                   }
                   if (cg.containsMethod(concreteTarget)) {
                     // method is already analyzed or is in the work list, simply add the call
-                    cg.addCall(call.source, concreteTarget);
+                    addIgnoredCall(cg, call, concreteTarget);
                   } else {
                     // new target method found that has to be analyzed
                     cg.addMethod(concreteTarget);
-                    cg.addCall(call.source, concreteTarget);
+                    addIgnoredCall(cg, call, concreteTarget);
                     workList.push(concreteTarget);
                   }
                 });
@@ -257,6 +309,62 @@ public class RapidTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
         });
   }
 
+  /**
+   * The classes that are instantiated in the library are considered like the classes that are
+   * instantiated in the reached methods.
+   */
+  @Override
+  protected void libraryClassesInstantiated(
+      @Nonnull List<ClassType> instantiatedClasses,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
+    List<ClassType> newInstantiatedClasses =
+        instantiatedClasses.stream()
+            .filter(classType -> !this.instantiatedClasses.contains(classType))
+            .collect(Collectors.toList());
+    this.instantiatedClasses.addAll(newInstantiatedClasses);
+    addIgnoredCalls(newInstantiatedClasses, workList, cg);
+  }
+
+  /**
+   * A callback of a library method is only resolved to the application methods of instantiated
+   * classes. The calls to classes that are not instantiated yet are saved like ignored calls.
+   */
+  @Override
+  @Nonnull
+  protected Stream<MethodSignature> resolveLibraryCallback(
+      @Nonnull MethodSignature libraryMethod, @Nonnull MethodSignature callback) {
+    List<MethodSignature> targets = new ArrayList<>();
+    for (ClassType subtype : applicationSubtypesOf(callback.getDeclClassType())) {
+      MethodSignature method =
+          view.getIdentifierFactory().getMethodSignature(subtype, callback.getSubSignature());
+      if (!instantiatedClasses.contains(subtype)) {
+        saveIgnoredCall(libraryMethod, method, null, CallEdge.Kind.VIRTUAL);
+        continue;
+      }
+      // the target is only a callback if it is overridden in the application
+      dispatchCache
+          .resolveConcreteDispatch(view, method)
+          .filter(
+              target ->
+                  view.getClass(target.getDeclClassType())
+                      .filter(c -> !c.isLibraryClass())
+                      .isPresent())
+          .ifPresent(targets::add);
+    }
+    return targets.stream();
+  }
+
+  /** Adds the previously ignored call to the given target, with its call site if it is known. */
+  private static void addIgnoredCall(
+      @Nonnull MutableCallGraph cg, @Nonnull Call call, @Nonnull MethodSignature target) {
+    if (call.callSite == null) {
+      cg.addCall(call.source, target);
+    } else {
+      cg.addCall(new CallEdge(call.source, target, call.callSite, call.kind));
+    }
+  }
+
   /**
    * Postprocessing is not needed in RTA
    *
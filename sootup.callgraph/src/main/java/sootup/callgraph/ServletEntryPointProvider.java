@@ -0,0 +1,96 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+import sootup.java.core.JavaIdentifierFactory;
+
+/**
+ * Provides the lifecycle methods of all concrete servlets of the application as entry points, i.e.
+ * the methods that are called by the servlet container. A servlet is a subtype of <code>
+ * javax.servlet.Servlet</code> or <code>jakarta.servlet.Servlet</code>. The servlet API does not
+ * need to be part of the view, since the supertypes are inspected by their class headers.
+ */
+public class ServletEntryPointProvider extends AbstractEntryPointProvider {
+
+  private static final List<ClassType> SERVLET_TYPES =
+      Arrays.asList(
+          JavaIdentifierFactory.getInstance().getClassType("javax.servlet.Servlet"),
+          JavaIdentifierFactory.getInstance().getClassType("jakarta.servlet.Servlet"));
+
+  private static final Set<String> LIFECYCLE_METHODS =
+      Collections.unmodifiableSet(
+          new HashSet<>(
+              Arrays.asList(
+                  "init",
+                  "service",
+                  "destroy",
+                  "doGet",
+                  "doPost",
+                  "doPut",
+                  "doDelete",
+                  "doHead",
+                  "doOptions",
+                  "doTrace")));
+
+  @Override
+  protected boolean isCandidate(
+      @Nonnull ClassHeader header, @Nonnull Map<ClassType, ClassHeader> typeToHeader) {
+    if (header.isInterface() || ClassModifier.isAbstract(header.getModifiers())) {
+      return false;
+    }
+    for (ClassType servletType : SERVLET_TYPES) {
+      if (isSubtypeOf(header, servletType, typeToHeader)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  protected boolean isEntryPoint(
+      @Nonnull View<? extends SootClass<?>> view,
+      @Nonnull SootClass<?> sootClass,
+      @Nonnull SootMethod method) {
+    if (method.isStatic() || !method.isConcrete()) {
+      return false;
+    }
+    // the container instantiates the servlet with its no-arg constructor
+    if (method.getName().equals("<init>")) {
+      return method.getParameterCount() == 0;
+    }
+    return LIFECYCLE_METHODS.contains(method.getName());
+  }
+}
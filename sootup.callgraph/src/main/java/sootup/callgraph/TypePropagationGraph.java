@@ -0,0 +1,335 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.jimple.basic.Immediate;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.ClassConstant;
+import sootup.core.jimple.common.constant.StringConstant;
+import sootup.core.jimple.common.expr.AbstractInstanceInvokeExpr;
+import sootup.core.jimple.common.expr.AbstractInvokeExpr;
+import sootup.core.jimple.common.expr.JCastExpr;
+import sootup.core.jimple.common.expr.JNewExpr;
+import sootup.core.jimple.common.ref.JFieldRef;
+import sootup.core.jimple.common.ref.JParameterRef;
+import sootup.core.jimple.common.ref.JThisRef;
+import sootup.core.jimple.common.stmt.JAssignStmt;
+import sootup.core.jimple.common.stmt.JIdentityStmt;
+import sootup.core.jimple.common.stmt.JReturnStmt;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ClassType;
+import sootup.core.types.ReferenceType;
+import sootup.core.types.Type;
+
+/**
+ * The type propagation graph of the {@link VariableTypeAnalysisAlgorithm}. Its nodes are the
+ * locals, the parameters, the receivers and the return values of the analyzed methods and the
+ * fields. An edge from one node to another means that a value of the first node can be assigned to
+ * the second node. The allocated types are propagated along the edges, so every node ends up with
+ * the types of all objects it can hold.
+ *
+ * <p>Values that come from code which is not analyzed, e.g. the results of library calls, caught
+ * exceptions and array elements, can have any type. Such nodes, and all nodes that they reach, are
+ * marked as unknown.
+ */
+class TypePropagationGraph {
+
+  private static final Object THIS = "this";
+  private static final Object RETURN = "return";
+
+  private static class Node {
+    @Nonnull final Set<ClassType> types = new HashSet<>();
+    @Nonnull final List<Node> successors = new ArrayList<>(2);
+    boolean unknown = false;
+  }
+
+  /** The key of a node of a method, i.e. of a local, a parameter, the receiver or the return. */
+  private static final class MethodNodeKey {
+    @Nonnull final MethodSignature method;
+    @Nonnull final Object value;
+
+    MethodNodeKey(@Nonnull MethodSignature method, @Nonnull Object value) {
+      this.method = method;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof MethodNodeKey)) {
+        return false;
+      }
+      MethodNodeKey that = (MethodNodeKey) o;
+      return method.equals(that.method) && value.equals(that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(method, value);
+    }
+  }
+
+  @Nonnull private final Map<Object, Node> nodes = new HashMap<>();
+  @Nonnull private final Deque<Node> workList = new ArrayDeque<>();
+  @Nonnull private final Predicate<MethodSignature> isAnalyzed;
+  @Nonnull private final Predicate<ClassType> isAnalyzedClass;
+
+  /**
+   * @param isAnalyzed checks if the body of a method is added to the graph, so that its parameters
+   *     and its return value are tracked
+   * @param isAnalyzedClass checks if the fields of a class are only written by analyzed methods
+   */
+  TypePropagationGraph(
+      @Nonnull Predicate<MethodSignature> isAnalyzed,
+      @Nonnull Predicate<ClassType> isAnalyzedClass) {
+    this.isAnalyzed = isAnalyzed;
+    this.isAnalyzedClass = isAnalyzedClass;
+  }
+
+  @Nonnull
+  private Node nodeOf(@Nonnull Object key) {
+    return nodes.computeIfAbsent(key, k -> new Node());
+  }
+
+  @Nonnull
+  private Node localNode(@Nonnull MethodSignature method, @Nonnull Local local) {
+    return nodeOf(new MethodNodeKey(method, local));
+  }
+
+  @Nonnull
+  private Node parameterNode(@Nonnull MethodSignature method, int index) {
+    return nodeOf(new MethodNodeKey(method, index));
+  }
+
+  @Nonnull
+  private Node thisNode(@Nonnull MethodSignature method) {
+    return nodeOf(new MethodNodeKey(method, THIS));
+  }
+
+  @Nonnull
+  private Node returnNode(@Nonnull MethodSignature method) {
+    return nodeOf(new MethodNodeKey(method, RETURN));
+  }
+
+  private static void addEdge(@Nonnull Node from, @Nonnull Node to) {
+    if (from != to) {
+      from.successors.add(to);
+    }
+  }
+
+  private void addType(@Nonnull Node node, @Nonnull Type type) {
+    if (type instanceof ClassType && node.types.add((ClassType) type)) {
+      workList.add(node);
+    }
+  }
+
+  private void markUnknown(@Nonnull Node node) {
+    if (!node.unknown) {
+      node.unknown = true;
+      workList.add(node);
+    }
+  }
+
+  /** Marks the parameters and the receiver of the entry point as unknown. */
+  void addEntryPoint(@Nonnull MethodSignature entryPoint) {
+    markUnknown(thisNode(entryPoint));
+    for (int i = 0; i < entryPoint.getParameterTypes().size(); i++) {
+      markUnknown(parameterNode(entryPoint, i));
+    }
+  }
+
+  /**
+   * Adds the nodes and edges of the statements of the given method.
+   *
+   * @param method the analyzed method, it has to have a body
+   * @param callGraph the call graph that provides the targets of the calls in the method
+   */
+  void addMethod(@Nonnull SootMethod method, @Nonnull CallGraph callGraph) {
+    MethodSignature signature = method.getSignature();
+    // the targets of the calls by the index of their statement
+    Map<Integer, List<MethodSignature>> targetsByStmtIndex = new HashMap<>();
+    for (CallEdge callEdge : callGraph.callEdgesFrom(signature)) {
+      if (callEdge.getCallSite() != null) {
+        targetsByStmtIndex
+            .computeIfAbsent(callEdge.getCallSite().getStmtIndex(), index -> new ArrayList<>())
+            .add(callEdge.getTarget());
+      }
+    }
+
+    List<Stmt> stmts = method.getBody().getStmts();
+    for (int i = 0; i < stmts.size(); i++) {
+      Stmt stmt = stmts.get(i);
+      List<MethodSignature> targets = targetsByStmtIndex.get(i);
+      if (stmt instanceof JIdentityStmt) {
+        JIdentityStmt identityStmt = (JIdentityStmt) stmt;
+        Node left = localNode(signature, identityStmt.getLeftOp());
+        Value rightOp = identityStmt.getRightOp();
+        if (rightOp instanceof JParameterRef) {
+          addEdge(parameterNode(signature, ((JParameterRef) rightOp).getIndex()), left);
+        } else if (rightOp instanceof JThisRef) {
+          addEdge(thisNode(signature), left);
+        } else {
+          // caught exceptions
+          markUnknown(left);
+        }
+      } else if (stmt instanceof JAssignStmt) {
+        addAssignment(signature, (JAssignStmt) stmt, targets);
+      } else if (stmt instanceof JReturnStmt) {
+        Immediate op = ((JReturnStmt) stmt).getOp();
+        if (op instanceof Local) {
+          addEdge(localNode(signature, (Local) op), returnNode(signature));
+        }
+      }
+
+      if (stmt.containsInvokeExpr()) {
+        addCall(signature, stmt, targets);
+      }
+    }
+  }
+
+  private void addAssignment(
+      @Nonnull MethodSignature method,
+      @Nonnull JAssignStmt stmt,
+      @Nullable List<MethodSignature> targets) {
+    Value leftOp = stmt.getLeftOp();
+    Value rightOp = stmt.getRightOp();
+    if (rightOp instanceof JCastExpr) {
+      rightOp = ((JCastExpr) rightOp).getOp();
+    }
+
+    Node left;
+    if (leftOp instanceof Local) {
+      left = localNode(method, (Local) leftOp);
+    } else if (leftOp instanceof JFieldRef) {
+      left = nodeOf(((JFieldRef) leftOp).getFieldSignature());
+    } else {
+      // the array elements are not tracked
+      return;
+    }
+
+    if (rightOp instanceof Local) {
+      addEdge(localNode(method, (Local) rightOp), left);
+    } else if (rightOp instanceof JNewExpr) {
+      addType(left, ((JNewExpr) rightOp).getType());
+    } else if (rightOp instanceof StringConstant || rightOp instanceof ClassConstant) {
+      addType(left, rightOp.getType());
+    } else if (rightOp instanceof JFieldRef) {
+      FieldSignature field = ((JFieldRef) rightOp).getFieldSignature();
+      if (isAnalyzedClass.test(field.getDeclClassType())) {
+        addEdge(nodeOf(field), left);
+      } else {
+        // the field can be written by code that is not analyzed
+        markUnknown(left);
+      }
+    } else if (rightOp instanceof AbstractInvokeExpr) {
+      if (targets == null || !targets.stream().allMatch(isAnalyzed)) {
+        markUnknown(left);
+      } else {
+        targets.forEach(target -> addEdge(returnNode(target), left));
+      }
+    } else if (rightOp.getType() instanceof ReferenceType) {
+      // e.g. array elements
+      markUnknown(left);
+    }
+  }
+
+  private void addCall(
+      @Nonnull MethodSignature method,
+      @Nonnull Stmt stmt,
+      @Nullable List<MethodSignature> targets) {
+    if (targets == null) {
+      return;
+    }
+    AbstractInvokeExpr invokeExpr = stmt.getInvokeExpr();
+    for (MethodSignature target : targets) {
+      if (!isAnalyzed.test(target)) {
+        continue;
+      }
+      List<Immediate> args = invokeExpr.getArgs();
+      for (int i = 0; i < args.size(); i++) {
+        if (args.get(i) instanceof Local) {
+          addEdge(localNode(method, (Local) args.get(i)), parameterNode(target, i));
+        } else if (args.get(i) instanceof StringConstant || args.get(i) instanceof ClassConstant) {
+          addType(parameterNode(target, i), args.get(i).getType());
+        }
+      }
+      if (invokeExpr instanceof AbstractInstanceInvokeExpr) {
+        Local base = ((AbstractInstanceInvokeExpr) invokeExpr).getBase();
+        addEdge(localNode(method, base), thisNode(target));
+      }
+    }
+  }
+
+  /** Propagates the types along the edges until every node contains all types that reach it. */
+  void propagate() {
+    while (!workList.isEmpty()) {
+      Node node = workList.poll();
+      for (Node successor : node.successors) {
+        boolean changed = successor.types.addAll(node.types);
+        if (node.unknown && !successor.unknown) {
+          successor.unknown = true;
+          changed = true;
+        }
+        if (changed) {
+          workList.add(successor);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the types of the objects that the local of the method can hold.
+   *
+   * @return the types, or null if the local can hold objects of any type or if it is unknown to the
+   *     graph
+   */
+  @Nullable
+  Set<ClassType> reachingTypes(@Nonnull MethodSignature method, @Nonnull Local local) {
+    Node node = nodes.get(new MethodNodeKey(method, local));
+    if (node == null || node.unknown) {
+      return null;
+    }
+    return Collections.unmodifiableSet(node.types);
+  }
+
+  /** Returns the number of nodes of the graph. */
+  int size() {
+    return nodes.size();
+  }
+}
@@ -0,0 +1,219 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.*;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.IdentifierFactory;
+import sootup.core.jimple.common.expr.AbstractInstanceInvokeExpr;
+import sootup.core.jimple.common.expr.AbstractInvokeExpr;
+import sootup.core.jimple.common.expr.JInterfaceInvokeExpr;
+import sootup.core.jimple.common.expr.JVirtualInvokeExpr;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+
+/**
+ * This class implements the Variable Type Analysis call graph algorithm. It starts with the call
+ * graph of the {@link RapidTypeAnalysisAlgorithm} and builds a type propagation graph over the
+ * locals, parameters, return values and fields of all methods in this call graph. The allocated
+ * types are propagated through this graph, and every virtual call is resolved only for the types
+ * that reach its receiver.
+ *
+ * <p>Compared to the RTA algorithm, this algorithm is more precise because it considers the types
+ * that can be assigned to the receiver of a call instead of all instantiated classes. Receivers
+ * that can hold objects that are created by code which is not analyzed, e.g. the results of library
+ * calls, are resolved like in the RTA algorithm.
+ *
+ * <p>The call sites of both call graphs are matched by their {@link CallSite}s, so the bodies of
+ * the methods may be dropped and resolved again in between, e.g. with a {@link
+ * sootup.core.model.BodyRetentionPolicy#weak()} view.
+ */
+public class VariableTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
+
+  @Nonnull private final RapidTypeAnalysisAlgorithm rtaAlgorithm;
+  @Nonnull private final ClassHierarchyAnalysisAlgorithm chaAlgorithm;
+
+  /** the call graph and the type propagation graph of the current construction */
+  @Nullable private CallGraph rtaCallGraph;
+
+  @Nullable private TypePropagationGraph typePropagationGraph;
+
+  /**
+   * The constructor of the VTA algorithm.
+   *
+   * @param view it contains the data of the classes and methods
+   */
+  public VariableTypeAnalysisAlgorithm(@Nonnull View<? extends SootClass<?>> view) {
+    super(view);
+    this.rtaAlgorithm = new RapidTypeAnalysisAlgorithm(view);
+    this.chaAlgorithm = new ClassHierarchyAnalysisAlgorithm(view);
+  }
+
+  @Nonnull
+  @Override
+  public CallGraph initialize() {
+    return initialize(Collections.singletonList(findMainMethod()));
+  }
+
+  @Nonnull
+  @Override
+  public CallGraph initialize(@Nonnull List<MethodSignature> entryPoints) {
+    rtaCallGraph = rtaAlgorithm.initialize(entryPoints);
+    try {
+      typePropagationGraph = createTypePropagationGraph(rtaCallGraph, entryPoints);
+      return constructCompleteCallGraph(view, entryPoints);
+    } finally {
+      rtaCallGraph = null;
+      typePropagationGraph = null;
+    }
+  }
+
+  /**
+   * Builds the type propagation graph of all methods in the given call graph that have a body and
+   * propagates the allocated types through it.
+   */
+  @Nonnull
+  private TypePropagationGraph createTypePropagationGraph(
+      @Nonnull CallGraph callGraph, @Nonnull List<MethodSignature> entryPoints) {
+    Map<MethodSignature, SootMethod> analyzedMethods = new HashMap<>();
+    for (MethodSignature methodSignature : callGraph.getMethodSignatures()) {
+      view.getClass(methodSignature.getDeclClassType())
+          .filter(clazz -> !clazz.isLibraryClass())
+          .flatMap(clazz -> clazz.getMethod(methodSignature.getSubSignature()))
+          .filter(SootMethod::hasBody)
+          .ifPresent(method -> analyzedMethods.put(methodSignature, method));
+    }
+
+    Map<ClassType, Boolean> analyzedClasses = new HashMap<>();
+    TypePropagationGraph graph =
+        new TypePropagationGraph(
+            analyzedMethods::containsKey,
+            classType ->
+                analyzedClasses.computeIfAbsent(
+                    classType,
+                    type ->
+                        view.getClass(type).map(clazz -> !clazz.isLibraryClass()).orElse(false)));
+    entryPoints.forEach(graph::addEntryPoint);
+    analyzedMethods.values().forEach(method -> graph.addMethod(method, callGraph));
+    graph.propagate();
+    return graph;
+  }
+
+  /**
+   * Calls without a call site can not be resolved by the types of the receiver or looked up in the
+   * call graph of the RTA algorithm, so they are resolved like in the CHA algorithm.
+   */
+  @Nonnull
+  @Override
+  protected Stream<MethodSignature> resolveCall(SootMethod method, AbstractInvokeExpr invokeExpr) {
+    return chaAlgorithm.resolveCall(method, invokeExpr);
+  }
+
+  /**
+   * In the VTA algorithm, a virtual call is resolved to the implementations of the called method in
+   * all types that reach the receiver of the call in the type propagation graph. All other calls,
+   * and calls on receivers whose types are unknown, have the same targets as in the call graph of
+   * the RTA algorithm.
+   *
+   * @param method the method object that contains the given statement in the body.
+   * @param callSite the call site of the statement.
+   * @param invokingStmt the statement that contains the call which is resolved.
+   * @return a stream containing all reachable method signatures after applying the VTA call graph
+   *     algorithm
+   */
+  @Nonnull
+  @Override
+  protected Stream<MethodSignature> resolveCall(
+      SootMethod method, CallSite callSite, Stmt invokingStmt) {
+    AbstractInvokeExpr invokeExpr = invokingStmt.getInvokeExpr();
+    if (typePropagationGraph == null
+        || !(invokeExpr instanceof JVirtualInvokeExpr
+            || invokeExpr instanceof JInterfaceInvokeExpr)) {
+      return resolveCallWithoutTypes(method, callSite, invokingStmt);
+    }
+    MethodSignature targetMethodSignature = invokeExpr.getMethodSignature();
+    SootMethod targetMethod =
+        dispatchCache.findConcreteMethod(view, targetMethodSignature).orElse(null);
+    Set<ClassType> receiverTypes =
+        typePropagationGraph.reachingTypes(
+            method.getSignature(), ((AbstractInstanceInvokeExpr) invokeExpr).getBase());
+    if (targetMethod == null || targetMethod.isStatic() || receiverTypes == null) {
+      return resolveCallWithoutTypes(method, callSite, invokingStmt);
+    }
+
+    ClassType declaringType = targetMethodSignature.getDeclClassType();
+    TypeHierarchy typeHierarchy = view.getTypeHierarchy();
+    IdentifierFactory factory = view.getIdentifierFactory();
+    return receiverTypes.stream()
+        .filter(type -> type.equals(declaringType) || typeHierarchy.isSubtype(declaringType, type))
+        .map(
+            type ->
+                dispatchCache.resolveConcreteDispatch(
+                    view,
+                    factory.getMethodSignature(type, targetMethodSignature.getSubSignature())))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .distinct();
+  }
+
+  /**
+   * Resolves the call to its targets in the call graph of the RTA algorithm. Calls without targets
+   * in this call graph, e.g. the calls of classes that are added later, are resolved like in the
+   * CHA algorithm.
+   */
+  @Nonnull
+  private Stream<MethodSignature> resolveCallWithoutTypes(
+      @Nonnull SootMethod method, @Nonnull CallSite callSite, @Nonnull Stmt invokingStmt) {
+    Set<CallEdge> callEdges =
+        rtaCallGraph == null ? Collections.emptySet() : rtaCallGraph.callEdgesAt(callSite);
+    if (!callEdges.isEmpty()) {
+      return callEdges.stream().map(CallEdge::getTarget).distinct();
+    }
+    return chaAlgorithm.resolveCall(method, callSite, invokingStmt);
+  }
+
+  @Override
+  protected void preProcessingMethod(
+      View<? extends SootClass<?>> view,
+      MethodSignature sourceMethod,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
+    // do nothing
+  }
+
+  @Override
+  protected void postProcessingMethod(
+      View<? extends SootClass<?>> view,
+      MethodSignature sourceMethod,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
+    // do nothing
+  }
+}
@@ -0,0 +1,528 @@
+package sootup.callgraph;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.expr.AbstractInvokeExpr;
+import sootup.core.jimple.common.expr.JNewExpr;
+import sootup.core.jimple.common.expr.JSpecialInvokeExpr;
+import sootup.core.jimple.common.expr.JStaticInvokeExpr;
+import sootup.core.jimple.common.ref.JArrayRef;
+import sootup.core.jimple.common.ref.JCaughtExceptionRef;
+import sootup.core.jimple.common.ref.JFieldRef;
+import sootup.core.jimple.common.stmt.JAssignStmt;
+import sootup.core.jimple.common.stmt.JIdentityStmt;
+import sootup.core.jimple.common.stmt.JThrowStmt;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootField;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.core.types.Type;
+import sootup.core.views.View;
+import sootup.java.core.types.JavaClassType;
+
+/**
+ * This class implements the XTA call graph algorithm. Like the RTA algorithm, it resolves virtual
+ * calls only to instantiated classes, but instead of one global set of instantiated classes it
+ * keeps a set of types for every method and every field.
+ *
+ * <p>The set of a method starts with the classes that are instantiated in its body. The types flow
+ * from a caller to its callees if they fit the parameter types or the declaring class of the
+ * callee, from a callee back to its callers if they fit the return type, and from a method to the
+ * fields it writes and from the fields to the methods that read them. A virtual call is resolved to
+ * the implementations of the called method in the types of the set of the calling method. Whenever
+ * a set grows, the virtual calls of the method are resolved again for the new types.
+ *
+ * <p>The values that are passed to or returned from code which is not analyzed, e.g. library
+ * methods, share one set. The same holds for the elements of all arrays and for all thrown
+ * exceptions.
+ */
+public class XTypeAnalysisAlgorithm extends AbstractCallGraphAlgorithm {
+
+  /** the node of the values that are exchanged with code which is not analyzed */
+  private static final Object LIBRARY = "library";
+
+  /** the node of the elements of all arrays */
+  private static final Object ARRAYS = "arrays";
+
+  /** the node of all thrown exceptions */
+  private static final Object EXCEPTIONS = "exceptions";
+
+  /**
+   * A method, a field or one of the shared nodes. Every edge to a successor has a filter, only the
+   * subtypes of the types in the filter flow along the edge.
+   */
+  private static class Node {
+    @Nonnull final Set<ClassType> types = new HashSet<>();
+    @Nonnull final Map<Node, Set<ClassType>> successors = new LinkedHashMap<>();
+    @Nonnull final List<VirtualCall> virtualCalls = new ArrayList<>();
+
+    /** the types that have not been propagated yet */
+    @Nonnull List<ClassType> newTypes = new ArrayList<>();
+  }
+
+  /** A virtual call of a method, it is resolved again whenever the types of the method grow. */
+  private static class VirtualCall {
+    @Nonnull final MethodSignature source;
+    @Nonnull final CallSite callSite;
+    @Nonnull final MethodSignature calledMethod;
+    @Nonnull final CallEdge.Kind kind;
+    @Nonnull final Set<MethodSignature> targets = new HashSet<>();
+
+    private VirtualCall(
+        @Nonnull MethodSignature source,
+        @Nonnull CallSite callSite,
+        @Nonnull MethodSignature calledMethod,
+        @Nonnull CallEdge.Kind kind) {
+      this.source = source;
+      this.callSite = callSite;
+      this.calledMethod = calledMethod;
+      this.kind = kind;
+    }
+  }
+
+  @Nonnull private Map<Object, Node> nodes = Collections.emptyMap();
+  @Nonnull private Map<ClassType, Set<ClassType>> supertypes = Collections.emptyMap();
+  @Nonnull private Map<MethodSignature, Boolean> analyzedMethods = Collections.emptyMap();
+  @Nonnull private Map<FieldSignature, Object> fieldKeys = Collections.emptyMap();
+  @Nonnull private Deque<Node> propagationWorkList = new ArrayDeque<>();
+
+  /** the calls that are found by the propagation and are not added to the call graph yet */
+  @Nonnull private List<CallEdge> newCalls = Collections.emptyList();
+
+  /**
+   * The constructor of the XTA algorithm.
+   *
+   * @param view it contains the data of the classes and methods
+   */
+  public XTypeAnalysisAlgorithm(@Nonnull View<? extends SootClass<?>> view) {
+    super(view);
+  }
+
+  @Nonnull
+  @Override
+  public CallGraph initialize() {
+    return initialize(Collections.singletonList(findMainMethod()));
+  }
+
+  @Nonnull
+  @Override
+  public CallGraph initialize(@Nonnull List<MethodSignature> entryPoints) {
+    return withNewTypeSets(() -> constructCompleteCallGraph(view, entryPoints));
+  }
+
+  /**
+   * The types of the old call graph are not known, so the calls of the methods of the new class are
+   * resolved with the types that are instantiated in these methods and their callees.
+   */
+  @Nonnull
+  @Override
+  public CallGraph addClass(@Nonnull CallGraph oldCallGraph, @Nonnull JavaClassType classType) {
+    return withNewTypeSets(() -> super.addClass(oldCallGraph, classType));
+  }
+
+  @Nonnull
+  private CallGraph withNewTypeSets(@Nonnull Supplier<CallGraph> construction) {
+    nodes = new HashMap<>();
+    supertypes = new HashMap<>();
+    analyzedMethods = new HashMap<>();
+    fieldKeys = new HashMap<>();
+    newCalls = new ArrayList<>();
+    try {
+      return construction.get();
+    } finally {
+      nodes = Collections.emptyMap();
+      supertypes = Collections.emptyMap();
+      analyzedMethods = Collections.emptyMap();
+      fieldKeys = Collections.emptyMap();
+      propagationWorkList.clear();
+      newCalls = Collections.emptyList();
+    }
+  }
+
+  @Nonnull
+  private Node nodeOf(@Nonnull Object key) {
+    return nodes.computeIfAbsent(key, k -> new Node());
+  }
+
+  /** Returns the node of the method, or the library node if the method is not analyzed. */
+  @Nonnull
+  private Node methodNode(@Nonnull MethodSignature method) {
+    Boolean analyzed =
+        analyzedMethods.computeIfAbsent(
+            method,
+            m ->
+                view.getClass(m.getDeclClassType())
+                    .filter(clazz -> !clazz.isLibraryClass())
+                    .flatMap(clazz -> clazz.getMethod(m.getSubSignature()))
+                    .map(SootMethod::hasBody)
+                    .orElse(false));
+    return nodeOf(analyzed ? method : LIBRARY);
+  }
+
+  /**
+   * Returns the node of the field. A field that is accessed through a subclass of its declaring
+   * class has the same node as the declared field. Fields of classes that are not analyzed have the
+   * library node.
+   */
+  @Nonnull
+  private Node fieldNode(@Nonnull FieldSignature field) {
+    Object key =
+        fieldKeys.computeIfAbsent(
+            field,
+            f -> {
+              SootClass<?> clazz = view.getClass(f.getDeclClassType()).orElse(null);
+              while (clazz != null && !clazz.isLibraryClass()) {
+                Optional<? extends SootField> declaredField = clazz.getField(f.getSubSignature());
+                if (declaredField.isPresent()) {
+                  return declaredField.get().getSignature();
+                }
+                clazz = clazz.getSuperclass().flatMap(view::getClass).orElse(null);
+              }
+              return LIBRARY;
+            });
+    return nodeOf(key);
+  }
+
+  /** Returns the type itself, its superclasses and its implemented interfaces. */
+  @Nonnull
+  private Set<ClassType> supertypesOf(@Nonnull ClassType type) {
+    return supertypes.computeIfAbsent(
+        type,
+        t -> {
+          Set<ClassType> result = new HashSet<>();
+          result.add(t);
+          result.add(objectType());
+          TypeHierarchy typeHierarchy = view.getTypeHierarchy();
+          if (typeHierarchy.contains(t)) {
+            result.addAll(typeHierarchy.superClassesOf(t));
+            result.addAll(typeHierarchy.implementedInterfacesOf(t));
+          }
+          return result;
+        });
+  }
+
+  @Nonnull
+  private ClassType objectType() {
+    return view.getIdentifierFactory().getClassType("java.lang.Object");
+  }
+
+  /**
+   * Adds the given declared type to the filter. Arrays are not tracked as types, their elements
+   * flow through the shared array node, so array types do not let any type pass.
+   */
+  private static void addToFilter(@Nonnull Set<ClassType> filter, @Nonnull Type type) {
+    if (type instanceof ClassType) {
+      filter.add((ClassType) type);
+    }
+  }
+
+  @Nonnull
+  private static Set<ClassType> filterOf(@Nonnull Type type) {
+    Set<ClassType> filter = new HashSet<>();
+    addToFilter(filter, type);
+    return filter;
+  }
+
+  /**
+   * Returns the filter of the elements of the accessed array. If the type of the array is not
+   * known, all types pass the filter.
+   */
+  @Nonnull
+  private Set<ClassType> elementFilterOf(@Nonnull JArrayRef arrayRef) {
+    Type arrayType = arrayRef.getBase().getType();
+    if (arrayType instanceof ArrayType) {
+      return filterOf(((ArrayType) arrayType).getElementType());
+    }
+    return Collections.singleton(objectType());
+  }
+
+  private boolean passes(@Nonnull ClassType type, @Nonnull Set<ClassType> filter) {
+    return !Collections.disjoint(filter, supertypesOf(type));
+  }
+
+  private void addType(@Nonnull Node node, @Nonnull ClassType type) {
+    if (node.types.add(type)) {
+      if (node.newTypes.isEmpty()) {
+        propagationWorkList.add(node);
+      }
+      node.newTypes.add(type);
+    }
+  }
+
+  /**
+   * Adds an edge with the given filter, or extends the filter of an existing edge. The types of the
+   * source node that pass the filter flow to the target node.
+   */
+  private void addEdge(@Nonnull Node from, @Nonnull Node to, @Nonnull Set<ClassType> filter) {
+    if (from == to || filter.isEmpty()) {
+      return;
+    }
+    Set<ClassType> edgeFilter = from.successors.get(to);
+    if (edgeFilter == null) {
+      edgeFilter = new HashSet<>(filter);
+      from.successors.put(to, edgeFilter);
+    } else if (!edgeFilter.addAll(filter)) {
+      return;
+    }
+    for (ClassType type : from.types) {
+      if (passes(type, edgeFilter)) {
+        addType(to, type);
+      }
+    }
+  }
+
+  /**
+   * Adds the edges of a call: the arguments and the receiver flow from the caller to the callee and
+   * the return value flows back.
+   */
+  private void addCallEdges(
+      @Nonnull MethodSignature source, @Nonnull MethodSignature target, boolean isStatic) {
+    Node sourceNode = methodNode(source);
+    Node targetNode = methodNode(target);
+    Set<ClassType> parameterFilter = new HashSet<>();
+    if (!isStatic) {
+      parameterFilter.add(target.getDeclClassType());
+    }
+    target.getParameterTypes().forEach(type -> addToFilter(parameterFilter, type));
+    addEdge(sourceNode, targetNode, parameterFilter);
+    addEdge(targetNode, sourceNode, filterOf(target.getType()));
+  }
+
+  /**
+   * Resolves the virtual call for the given type of the receiver.
+   *
+   * @return the target, or an empty optional if the type is not a subtype of the declaring class of
+   *     the called method or if the call was already resolved to the target
+   */
+  @Nonnull
+  private Optional<MethodSignature> resolveNewTarget(
+      @Nonnull VirtualCall call, @Nonnull ClassType type) {
+    if (!supertypesOf(type).contains(call.calledMethod.getDeclClassType())) {
+      return Optional.empty();
+    }
+    return dispatchCache
+        .resolveConcreteDispatch(
+            view,
+            view.getIdentifierFactory()
+                .getMethodSignature(type, call.calledMethod.getSubSignature()))
+        .filter(call.targets::add);
+  }
+
+  /**
+   * Propagates the new types along the edges until no set grows anymore. The new targets of virtual
+   * calls are collected and added to the call graph in the post-processing of the current method.
+   */
+  private void propagate() {
+    while (!propagationWorkList.isEmpty()) {
+      Node node = propagationWorkList.poll();
+      List<ClassType> types = node.newTypes;
+      node.newTypes = new ArrayList<>();
+      for (Map.Entry<Node, Set<ClassType>> successor : node.successors.entrySet()) {
+        for (ClassType type : types) {
+          if (passes(type, successor.getValue())) {
+            addType(successor.getKey(), type);
+          }
+        }
+      }
+      // the call edges can add successors to the node, so the calls are resolved afterwards
+      for (int i = 0; i < node.virtualCalls.size(); i++) {
+        VirtualCall call = node.virtualCalls.get(i);
+        for (ClassType type : types) {
+          resolveNewTarget(call, type)
+              .ifPresent(
+                  target -> {
+                    newCalls.add(new CallEdge(call.source, target, call.callSite, call.kind));
+                    addCallEdges(call.source, target, false);
+                  });
+        }
+      }
+    }
+  }
+
+  /**
+   * In the XTA algorithm, every virtual call is resolved to the implementations of the called
+   * method in the types of the calling method. The call is kept, so that it is resolved again if
+   * new types reach the calling method.
+   *
+   * @param method the method object that contains the given statement in the body.
+   * @param callSite the call site of the statement.
+   * @param invokingStmt the statement that contains the call which is resolved.
+   * @return a stream containing all reachable method signatures after applying the XTA call graph
+   *     algorithm
+   */
+  @Nonnull
+  @Override
+  protected Stream<MethodSignature> resolveCall(
+      SootMethod method, CallSite callSite, Stmt invokingStmt) {
+    AbstractInvokeExpr invokeExpr = invokingStmt.getInvokeExpr();
+    MethodSignature calledMethod = invokeExpr.getMethodSignature();
+    SootMethod concreteMethod = dispatchCache.findConcreteMethod(view, calledMethod).orElse(null);
+
+    List<MethodSignature> targets;
+    if (concreteMethod == null
+        || concreteMethod.isStatic()
+        || invokeExpr instanceof JSpecialInvokeExpr) {
+      targets = Collections.singletonList(calledMethod);
+    } else {
+      VirtualCall call =
+          new VirtualCall(
+              method.getSignature(), callSite, calledMethod, CallEdge.Kind.of(invokeExpr));
+      Node node = methodNode(method.getSignature());
+      node.virtualCalls.add(call);
+      targets = new ArrayList<>();
+      for (ClassType type : node.types) {
+        resolveNewTarget(call, type).ifPresent(targets::add);
+      }
+    }
+
+    boolean isStatic = invokeExpr instanceof JStaticInvokeExpr;
+    targets.forEach(target -> addCallEdges(method.getSignature(), target, isStatic));
+    propagate();
+    return targets.stream();
+  }
+
+  /**
+   * Calls without a call site are resolved like in the RTA algorithm with the types of the calling
+   * method, but they are not resolved again if the types grow.
+   */
+  @Nonnull
+  @Override
+  protected Stream<MethodSignature> resolveCall(SootMethod method, AbstractInvokeExpr invokeExpr) {
+    MethodSignature calledMethod = invokeExpr.getMethodSignature();
+    SootMethod concreteMethod = dispatchCache.findConcreteMethod(view, calledMethod).orElse(null);
+    if (concreteMethod == null
+        || concreteMethod.isStatic()
+        || invokeExpr instanceof JSpecialInvokeExpr) {
+      return Stream.of(calledMethod);
+    }
+    Set<ClassType> types =
+        nodes.isEmpty() ? Collections.emptySet() : methodNode(method.getSignature()).types;
+    return types.stream()
+        .filter(type -> supertypesOf(type).contains(calledMethod.getDeclClassType()))
+        .map(
+            type ->
+                dispatchCache.resolveConcreteDispatch(
+                    view,
+                    view.getIdentifierFactory()
+                        .getMethodSignature(type, calledMethod.getSubSignature())))
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .distinct();
+  }
+
+  /**
+   * Preprocessing of a method in the XTA call graph algorithm
+   *
+   * <p>Before processing the method, the classes that are instantiated in its body are added to its
+   * types, and the edges of its field, array and exception accesses are added.
+   *
+   * @param view view
+   * @param sourceMethod the processed method
+   * @param workList the current work list
+   * @param cg the current cg
+   */
+  @Override
+  protected void preProcessingMethod(
+      View<? extends SootClass<?>> view,
+      MethodSignature sourceMethod,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
+    SootMethod method =
+        view.getClass(sourceMethod.getDeclClassType())
+            .flatMap(c -> c.getMethod(sourceMethod.getSubSignature()))
+            .orElse(null);
+    if (method == null || !method.hasBody()) return;
+
+    Node node = methodNode(sourceMethod);
+    for (Stmt stmt : method.getBody().getStmts()) {
+      if (stmt instanceof JAssignStmt) {
+        Value leftOp = ((JAssignStmt) stmt).getLeftOp();
+        Value rightOp = ((JAssignStmt) stmt).getRightOp();
+        if (rightOp instanceof JNewExpr) {
+          addType(node, ((JNewExpr) rightOp).getType());
+        } else if (rightOp instanceof JFieldRef) {
+          addEdge(
+              fieldNode(((JFieldRef) rightOp).getFieldSignature()),
+              node,
+              filterOf(rightOp.getType()));
+        } else if (rightOp instanceof JArrayRef) {
+          addEdge(nodeOf(ARRAYS), node, elementFilterOf((JArrayRef) rightOp));
+        }
+        if (rightOp instanceof Local) {
+          if (leftOp instanceof JFieldRef) {
+            FieldSignature field = ((JFieldRef) leftOp).getFieldSignature();
+            addEdge(node, fieldNode(field), filterOf(field.getType()));
+          } else if (leftOp instanceof JArrayRef) {
+            addEdge(node, nodeOf(ARRAYS), elementFilterOf((JArrayRef) leftOp));
+          }
+        }
+      } else if (stmt instanceof JThrowStmt) {
+        addEdge(node, nodeOf(EXCEPTIONS), filterOf(((JThrowStmt) stmt).getOp().getType()));
+      } else if (stmt instanceof JIdentityStmt
+          && ((JIdentityStmt) stmt).getRightOp() instanceof JCaughtExceptionRef) {
+        addEdge(nodeOf(EXCEPTIONS), node, filterOf(((JIdentityStmt) stmt).getLeftOp().getType()));
+      }
+    }
+    propagate();
+  }
+
+  /**
+   * Postprocessing of a method in the XTA call graph algorithm
+   *
+   * <p>The calls that were found by the propagation of new types are added to the call graph, and
+   * their new targets are added to the work list.
+   *
+   * @param view view
+   * @param sourceMethod the processed method
+   * @param workList the current worklist that is extended by methods that have to be analyzed.
+   * @param cg the current cg is extended by new call targets and calls
+   */
+  @Override
+  protected void postProcessingMethod(
+      View<? extends SootClass<?>> view,
+      MethodSignature sourceMethod,
+      @Nonnull Deque<MethodSignature> workList,
+      @Nonnull MutableCallGraph cg) {
+    for (CallEdge callEdge : newCalls) {
+      MethodSignature target = callEdge.getTarget();
+      if (!cg.containsMethod(target)) {
+        // new target method found that has to be analyzed
+        cg.addMethod(target);
+        workList.push(target);
+      }
+      cg.addCall(callEdge);
+    }
+    newCalls.clear();
+  }
+}
@@ -5,9 +5,12 @@ import static junit.framework.TestCase.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import junit.framework.TestCase;
 import org.junit.Test;
 import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.jimple.common.stmt.Stmt;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootMethod;
 import sootup.core.model.SourceType;
@@ -427,6 +430,60 @@ public abstract class CallGraphTestBase<T extends AbstractCallGraphAlgorithm> {
     assertTrue(cg.containsCall(callMethod, targetMethod));
   }
 
+  @Test
+  public void testCallSites() {
+    CallGraph cg = loadCallGraph("VirtualCall", "vc2.Class");
+
+    MethodSignature callMethod =
+        identifierFactory.getMethodSignature(
+            mainClassSignature, "callMethod", "void", Collections.singletonList("vc2.Class"));
+    MethodSignature targetMethod =
+        identifierFactory.getMethodSignature(
+            identifierFactory.getClassType("vc2.SubClass"),
+            "method",
+            "void",
+            Collections.emptyList());
+
+    // every call has a call edge
+    for (MethodSignature method : cg.getMethodSignatures()) {
+      Set<MethodSignature> targets =
+          cg.callEdgesFrom(method).stream().map(CallEdge::getTarget).collect(Collectors.toSet());
+      assertEquals(cg.callsFrom(method), targets);
+    }
+
+    CallEdge virtualCall =
+        cg.callEdgesTo(targetMethod).stream()
+            .filter(callEdge -> callEdge.getSource().equals(callMethod))
+            .findFirst()
+            .orElse(null);
+    assertNotNull(virtualCall);
+    assertEquals(CallEdge.Kind.VIRTUAL, virtualCall.getKind());
+    CallSite callSite = virtualCall.getCallSite();
+    assertNotNull(callSite);
+    assertEquals(callMethod, callSite.getMethod());
+    SootMethod caller = algorithm.view.getMethod(callMethod).orElse(null);
+    assertNotNull(caller);
+    Stmt invokingStmt = callSite.getStmt(caller.getBody());
+    assertEquals("method", invokingStmt.getInvokeExpr().getMethodSignature().getName());
+    assertTrue(cg.callEdgesAt(callSite).contains(virtualCall));
+    assertTrue(cg.callEdgesFrom(callMethod).contains(virtualCall));
+
+    CallEdge staticCall =
+        cg.callEdgesFrom(mainMethodSignature).stream()
+            .filter(callEdge -> callEdge.getTarget().equals(callMethod))
+            .findFirst()
+            .orElse(null);
+    assertNotNull(staticCall);
+    assertEquals(CallEdge.Kind.STATIC, staticCall.getKind());
+    assertEquals(Collections.singleton(staticCall), cg.callEdgesAt(staticCall.getCallSite()));
+
+    // the implicit calls of static initializers have no call site
+    assertTrue(
+        cg.callEdgesFrom(mainMethodSignature).stream()
+            .filter(callEdge -> callEdge.getKind() == CallEdge.Kind.CLINIT)
+            .allMatch(callEdge -> callEdge.getCallSite() == null));
+  }
+
   @Test
   public void testVirtualCall3() {
     CallGraph cg = loadCallGraph("VirtualCall", "vc3.Class");
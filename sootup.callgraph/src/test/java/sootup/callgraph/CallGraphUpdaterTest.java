@@ -0,0 +1,102 @@
+package sootup.callgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.types.JavaClassType;
+import sootup.java.core.views.MutableJavaView;
+import sootup.java.sourcecode.inputlocation.JavaSourcePathAnalysisInputLocation;
+
+/** Checks that an updated call graph is the same as a call graph that is built from scratch. */
+@Category(Java8Test.class)
+public class CallGraphUpdaterTest {
+
+  private final JavaIdentifierFactory identifierFactory = JavaIdentifierFactory.getInstance();
+
+  private final JavaClassType mainClass = identifierFactory.getClassType("vc3.Class");
+  private final JavaClassType implClass = identifierFactory.getClassType("vc3.ClassImpl");
+  private final MethodSignature mainMethod =
+      identifierFactory.getMethodSignature(
+          mainClass, "main", "void", Collections.singletonList("java.lang.String[]"));
+  private final MethodSignature callOnInterface =
+      identifierFactory.getMethodSignature(
+          mainClass, "callOnInterface", "void", Collections.singletonList("vc3.Interface"));
+  private final MethodSignature implMethod =
+      identifierFactory.getMethodSignature(implClass, "method", "void", Collections.emptyList());
+
+  private static MutableJavaView createView() {
+    List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations = new ArrayList<>();
+    inputLocations.add(new DefaultRTJarAnalysisInputLocation());
+    inputLocations.add(
+        new JavaSourcePathAnalysisInputLocation("src/test/resources/callgraph/VirtualCall/source"));
+    return new MutableJavaView(inputLocations);
+  }
+
+  private static void assertSameCallGraph(CallGraph expected, CallGraph actual) {
+    assertEquals(expected.getMethodSignatures(), actual.getMethodSignatures());
+    assertEquals(expected.callCount(), actual.callCount());
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertEquals(method.toString(), expected.callsFrom(method), actual.callsFrom(method));
+    }
+  }
+
+  private void assertUpdates(
+      Function<MutableJavaView, AbstractCallGraphAlgorithm> algorithmFactory) {
+    MutableJavaView view = createView();
+    List<MethodSignature> entryPoints = Collections.singletonList(mainMethod);
+    CallGraphUpdater updater = CallGraphUpdater.create(algorithmFactory.apply(view), entryPoints);
+    CallGraph cg = updater.getCallGraph();
+    assertTrue(cg.containsCall(callOnInterface, implMethod));
+
+    // remove the implementation of the interface method
+    JavaSootMethod method = (JavaSootMethod) view.getMethod(implMethod).get();
+    view.removeMethod(method);
+    assertTrue(updater.hasPendingChanges());
+    assertSame(cg, updater.update());
+    assertFalse(updater.hasPendingChanges());
+    assertFalse(cg.containsMethod(implMethod));
+    assertSameCallGraph(algorithmFactory.apply(view).initialize(entryPoints), cg);
+
+    // add it again
+    view.addMethod(method);
+    updater.update();
+    assertTrue(cg.containsCall(callOnInterface, implMethod));
+    assertSameCallGraph(algorithmFactory.apply(view).initialize(entryPoints), cg);
+
+    // remove the whole class
+    view.removeClass(implClass);
+    updater.update();
+    assertFalse(cg.containsMethod(implMethod));
+    assertSameCallGraph(algorithmFactory.apply(view).initialize(entryPoints), cg);
+
+    // changes after closing the updater are ignored
+    updater.close();
+    view.removeClass(mainClass);
+    assertFalse(updater.hasPendingChanges());
+  }
+
+  @Test
+  public void testIncrementalUpdate() {
+    assertUpdates(ClassHierarchyAnalysisAlgorithm::new);
+  }
+
+  @Test
+  public void testRebuild() {
+    assertUpdates(RapidTypeAnalysisAlgorithm::new);
+  }
+}
@@ -0,0 +1,213 @@
+package sootup.callgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import categories.Java8Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.core.JavaIdentifierFactory;
+
+/** Compares the {@link CompactCallGraph} with the {@link GraphBasedCallGraph}. */
+@Category(Java8Test.class)
+public class CompactCallGraphTest {
+
+  private static final int NUMBER_OF_METHODS = 2000;
+  private static final int NUMBER_OF_CALLS = 20000;
+
+  private static List<MethodSignature> createMethods(int numberOfMethods) {
+    JavaIdentifierFactory factory = JavaIdentifierFactory.getInstance();
+    List<MethodSignature> methods = new ArrayList<>(numberOfMethods);
+    for (int i = 0; i < numberOfMethods; i++) {
+      methods.add(
+          factory.getMethodSignature(
+              factory.getClassType("pkg.Class" + (i % 50)),
+              "method" + i,
+              "void",
+              Collections.emptyList()));
+    }
+    return methods;
+  }
+
+  private static void fill(
+      List<MethodSignature> methods, Random random, MutableCallGraph... callGraphs) {
+    for (MutableCallGraph cg : callGraphs) {
+      methods.forEach(cg::addMethod);
+    }
+    for (int i = 0; i < NUMBER_OF_CALLS; i++) {
+      MethodSignature source = methods.get(random.nextInt(methods.size()));
+      // a skewed distribution to get some methods with many callers
+      MethodSignature target = methods.get(random.nextInt(1 + random.nextInt(methods.size())));
+      if (i % 4 == 0) {
+        // some calls with a call site
+        CallEdge callEdge =
+            new CallEdge(source, target, new CallSite(source, i), CallEdge.Kind.VIRTUAL);
+        for (MutableCallGraph cg : callGraphs) {
+          cg.addCall(callEdge);
+          cg.addCall(callEdge);
+        }
+      } else {
+        for (MutableCallGraph cg : callGraphs) {
+          cg.addCall(source, target);
+        }
+      }
+    }
+  }
+
+  private static void assertSameCallGraph(CallGraph expected, CallGraph actual) {
+    assertEquals(expected.getMethodSignatures(), actual.getMethodSignatures());
+    assertEquals(expected.callCount(), actual.callCount());
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertTrue(actual.containsMethod(method));
+      assertEquals(expected.callsFrom(method), new HashSet<>(actual.callsFrom(method)));
+      assertEquals(expected.callsTo(method), new HashSet<>(actual.callsTo(method)));
+      for (MethodSignature target : expected.callsFrom(method)) {
+        assertTrue(actual.containsCall(method, target));
+      }
+      assertEquals(expected.callEdgesFrom(method), actual.callEdgesFrom(method));
+      assertEquals(expected.callEdgesTo(method), actual.callEdgesTo(method));
+      for (CallEdge callEdge : expected.callEdgesFrom(method)) {
+        assertEquals(
+            expected.callEdgesAt(callEdge.getCallSite()),
+            actual.callEdgesAt(callEdge.getCallSite()));
+      }
+    }
+    assertEquals(expected.exportAsDot(), actual.exportAsDot());
+  }
+
+  @Test
+  public void sameCallGraph() {
+    List<MethodSignature> methods = createMethods(NUMBER_OF_METHODS);
+    GraphBasedCallGraph graphBased = new GraphBasedCallGraph();
+    CompactCallGraph compact = new CompactCallGraph();
+    fill(methods, new Random(42), graphBased, compact);
+
+    assertSameCallGraph(graphBased, compact);
+    assertFalse(compact.isFrozen());
+    assertSame(compact, compact.freeze());
+    assertTrue(compact.isFrozen());
+    assertSameCallGraph(graphBased, compact);
+
+    // ids are dense and stable
+    for (int id = 0; id < compact.getMethodCount(); id++) {
+      assertEquals(id, compact.getMethodId(compact.getMethod(id)));
+    }
+    MethodSignature unknown = createMethods(NUMBER_OF_METHODS + 1).get(NUMBER_OF_METHODS);
+    assertEquals(-1, compact.getMethodId(unknown));
+    assertFalse(compact.containsMethod(unknown));
+    assertFalse(compact.containsCall(methods.get(0), unknown));
+
+    // iterating over the ids gives the same calls
+    int source = compact.getMethodId(methods.get(7));
+    Set<MethodSignature> targets = new HashSet<>();
+    compact.forEachCallFrom(source, target -> targets.add(compact.getMethod(target)));
+    assertEquals(graphBased.callsFrom(methods.get(7)), targets);
+  }
+
+  @Test
+  public void removeCallsAndMethods() {
+    List<MethodSignature> methods = createMethods(NUMBER_OF_METHODS);
+    GraphBasedCallGraph graphBased = new GraphBasedCallGraph();
+    CompactCallGraph compact = new CompactCallGraph();
+    Random random = new Random(7);
+    fill(methods, random, graphBased, compact);
+
+    for (int i = 0; i < NUMBER_OF_CALLS / 4; i++) {
+      MethodSignature source = methods.get(random.nextInt(methods.size()));
+      MethodSignature target = methods.get(random.nextInt(methods.size()));
+      graphBased.removeCall(source, target);
+      compact.removeCall(source, target);
+    }
+    for (int i = 0; i < NUMBER_OF_METHODS / 4; i++) {
+      MethodSignature method = methods.get(random.nextInt(methods.size()));
+      graphBased.removeMethod(method);
+      compact.removeMethod(method);
+    }
+    assertSameCallGraph(graphBased, compact);
+
+    // the ids stay dense
+    for (int id = 0; id < compact.getMethodCount(); id++) {
+      assertEquals(id, compact.getMethodId(compact.getMethod(id)));
+    }
+    compact.freeze();
+    assertSameCallGraph(graphBased, compact);
+  }
+
+  @Test
+  public void clearCallGraph() {
+    List<MethodSignature> methods = createMethods(NUMBER_OF_METHODS);
+    GraphBasedCallGraph graphBased = new GraphBasedCallGraph();
+    CompactCallGraph compact = new CompactCallGraph();
+    fill(methods, new Random(11), graphBased, compact);
+
+    graphBased.clear();
+    compact.clear();
+    assertTrue(compact.getMethodSignatures().isEmpty());
+    assertEquals(0, compact.callCount());
+    assertFalse(compact.containsMethod(methods.get(0)));
+    assertSameCallGraph(graphBased, compact);
+
+    fill(methods, new Random(12), graphBased, compact);
+    assertSameCallGraph(graphBased, compact);
+  }
+
+  @Test
+  public void frozenCallGraphIsImmutable() {
+    List<MethodSignature> methods = createMethods(10);
+    CompactCallGraph compact = new CompactCallGraph();
+    methods.forEach(compact::addMethod);
+    compact.addCall(methods.get(0), methods.get(1));
+    compact.addCall(methods.get(0), methods.get(1));
+    assertEquals(1, compact.callCount());
+    compact.freeze();
+
+    try {
+      compact.addCall(methods.get(1), methods.get(2));
+      fail();
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+
+    // a copy can be modified again
+    CompactCallGraph copy = compact.copy();
+    assertFalse(copy.isFrozen());
+    copy.addCall(methods.get(1), methods.get(2));
+    assertEquals(2, copy.callCount());
+    assertEquals(1, compact.callCount());
+    assertTrue(copy.containsCall(methods.get(0), methods.get(1)));
+
+    // the calls of a mutable call graph are snapshots
+    Set<MethodSignature> callees = copy.callsFrom(methods.get(1));
+    copy.addCall(methods.get(1), methods.get(3));
+    copy.removeCall(methods.get(1), methods.get(2));
+    assertEquals(Collections.singleton(methods.get(2)), callees);
+
+    // the call sites are copied as well
+    CallSite callSite = new CallSite(methods.get(2), 0);
+    CallEdge callEdge =
+        new CallEdge(methods.get(2), methods.get(3), callSite, CallEdge.Kind.STATIC);
+    copy.addCall(callEdge);
+    CompactCallGraph copyOfCopy = copy.freeze().copy();
+    assertEquals(Collections.singleton(callEdge), copyOfCopy.callEdgesAt(callSite));
+    assertEquals(Collections.singleton(callEdge), copyOfCopy.callEdgesTo(methods.get(3)));
+    assertTrue(copyOfCopy.callEdgesFrom(methods.get(0)).isEmpty());
+
+    // the call edges can only be read
+    try {
+      copyOfCopy.callEdgesTo(methods.get(3)).clear();
+      fail();
+    } catch (UnsupportedOperationException expected) {
+      // expected
+    }
+  }
+}
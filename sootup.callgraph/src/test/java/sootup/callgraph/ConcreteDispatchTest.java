@@ -3,6 +3,8 @@ package sootup.callgraph;
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import categories.Java8Test;
 import java.util.ArrayList;
@@ -21,6 +23,7 @@ import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
 import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
 import sootup.java.core.JavaSootClass;
 import sootup.java.core.views.JavaView;
+import sootup.java.core.views.MutableJavaView;
 
 /** @author : Hasitha Rajapakse, Jonas Klauke * */
 @Category(Java8Test.class)
@@ -183,4 +186,42 @@ public class ConcreteDispatchTest {
     assertNotNull(candidateSubInterface2);
     assertEquals(candidateSubInterface, candidateSubInterface2);
   }
+
+  @Test
+  public void dispatchCache() {
+    List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations = new ArrayList<>();
+    inputLocations.add(
+        new JavaClassPathAnalysisInputLocation(
+            "src/test/resources/callgraph/ConcreteDispatch/binary"));
+    inputLocations.add(new DefaultRTJarAnalysisInputLocation());
+    MutableJavaView mutableView = new MutableJavaView(inputLocations);
+    DispatchCache cache = DispatchCache.forView(mutableView);
+    assertSame(cache, DispatchCache.forView(mutableView));
+    assertNotSame(cache, DispatchCache.forView(view));
+
+    IdentifierFactory factory = mutableView.getIdentifierFactory();
+    MethodSignature incompleteMethod =
+        factory.parseMethodSignature("cvcscincomplete.Class#target(): void");
+    MethodSignature toString = factory.parseMethodSignature("A#toString(): java.lang.String");
+
+    // misses are cached as well
+    assertFalse(cache.resolveConcreteDispatch(mutableView, incompleteMethod).isPresent());
+    assertEquals(1, cache.size());
+    assertFalse(cache.resolveConcreteDispatch(mutableView, incompleteMethod).isPresent());
+    assertEquals(1, cache.size());
+
+    MethodSignature objectToString =
+        factory.parseMethodSignature("java.lang.Object#toString(): java.lang.String");
+    assertEquals(objectToString, cache.resolveConcreteDispatch(mutableView, toString).orElse(null));
+    assertEquals(
+        objectToString,
+        AbstractCallGraphAlgorithm.resolveConcreteDispatch(mutableView, toString).orElse(null));
+    assertEquals(2, cache.size());
+
+    // changes of the view invalidate the cache
+    mutableView.removeClass(getClassType("A"));
+    assertEquals(0, cache.size());
+    cache.resolveConcreteDispatch(mutableView, toString);
+    assertEquals(1, cache.size());
+  }
 }
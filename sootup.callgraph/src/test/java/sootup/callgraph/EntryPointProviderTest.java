@@ -0,0 +1,161 @@
+package sootup.callgraph;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+
+import categories.Java8Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+@Category(Java8Test.class)
+public class EntryPointProviderTest {
+
+  private static final JavaIdentifierFactory identifierFactory =
+      JavaIdentifierFactory.getInstance();
+
+  private static JavaView view;
+
+  @BeforeClass
+  public static void setUp() {
+    List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations = new ArrayList<>();
+    inputLocations.add(
+        new JavaClassPathAnalysisInputLocation("src/test/resources/callgraph/EntryPoints/binary"));
+    inputLocations.add(new DefaultRTJarAnalysisInputLocation());
+    view = new JavaView(inputLocations);
+  }
+
+  private static MethodSignature methodOf(String className, String methodName, String... params) {
+    return identifierFactory.getMethodSignature(
+        identifierFactory.getClassType(className), methodName, "void", Arrays.asList(params));
+  }
+
+  private static MethodSignature mainOf(String className) {
+    return methodOf(className, "main", "java.lang.String[]");
+  }
+
+  @Test
+  public void testMainMethods() {
+    List<MethodSignature> entryPoints = new MainMethodEntryPointProvider().getEntryPoints(view);
+    assertEquals(
+        new HashSet<>(Arrays.asList(mainOf("ep.EntryPoints"), mainOf("ep.Tool"))),
+        new HashSet<>(entryPoints));
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testFindMainMethodWithSeveralMainMethods() {
+    new ClassHierarchyAnalysisAlgorithm(view).findMainMethod();
+  }
+
+  @Test
+  public void testPublicMethods() {
+    List<MethodSignature> entryPoints = new PublicMethodEntryPointProvider().getEntryPoints(view);
+    assertTrue(entryPoints.contains(methodOf("ep.Api", "query")));
+    assertTrue(entryPoints.contains(methodOf("ep.Api", "helper")));
+    assertTrue(entryPoints.contains(methodOf("ep.Api", "<init>")));
+    assertTrue(entryPoints.contains(mainOf("ep.EntryPoints")));
+    assertFalse(entryPoints.contains(methodOf("ep.Api", "internal")));
+    assertFalse(entryPoints.contains(methodOf("ep.Api", "secret")));
+    // the class is not public
+    assertFalse(entryPoints.contains(mainOf("ep.Tool")));
+    assertFalse(entryPoints.contains(methodOf("ep.Handlers", "onStop")));
+  }
+
+  @Test
+  public void testServletMethods() {
+    List<MethodSignature> entryPoints = new ServletEntryPointProvider().getEntryPoints(view);
+    assertEquals(
+        new HashSet<>(
+            Arrays.asList(
+                methodOf("ep.MyServlet", "<init>"),
+                methodOf("ep.MyServlet", "init"),
+                methodOf(
+                    "ep.MyServlet",
+                    "doGet",
+                    "javax.servlet.http.HttpServletRequest",
+                    "javax.servlet.http.HttpServletResponse"))),
+        new HashSet<>(entryPoints));
+  }
+
+  @Test
+  public void testAnnotatedMethods() {
+    List<MethodSignature> entryPoints =
+        new AnnotatedMethodEntryPointProvider(
+                Collections.singletonList(identifierFactory.getClassType("ep.Handler")))
+            .getEntryPoints(view);
+    assertEquals(
+        new HashSet<>(
+            Arrays.asList(methodOf("ep.Handlers", "onStart"), methodOf("ep.Handlers", "onStop"))),
+        new HashSet<>(entryPoints));
+  }
+
+  @Test
+  public void testUnion() {
+    List<MethodSignature> entryPoints =
+        EntryPointProvider.union(
+                new MainMethodEntryPointProvider(), new PublicMethodEntryPointProvider())
+            .getEntryPoints(view);
+    assertTrue(entryPoints.contains(mainOf("ep.Tool")));
+    assertTrue(entryPoints.contains(methodOf("ep.Api", "query")));
+    assertEquals(new HashSet<>(entryPoints).size(), entryPoints.size());
+  }
+
+  @Test
+  public void testCallGraphsPerEntryPoint() {
+    List<MethodSignature> entryPoints =
+        EntryPointProvider.union(
+                new MainMethodEntryPointProvider(), new ServletEntryPointProvider())
+            .getEntryPoints(view);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    EntryPointCallGraphs callGraphs;
+    try {
+      callGraphs =
+          EntryPointCallGraphs.build(
+              () -> new ClassHierarchyAnalysisAlgorithm(view), entryPoints, pool);
+    } finally {
+      pool.shutdownNow();
+    }
+
+    MethodSignature query = methodOf("ep.Api", "query");
+    MethodSignature helper = methodOf("ep.Api", "helper");
+    MethodSignature doGet =
+        methodOf(
+            "ep.MyServlet",
+            "doGet",
+            "javax.servlet.http.HttpServletRequest",
+            "javax.servlet.http.HttpServletResponse");
+
+    assertTrue(callGraphs.getCallGraph(mainOf("ep.EntryPoints")).containsMethod(query));
+    assertFalse(callGraphs.getCallGraph(mainOf("ep.Tool")).containsMethod(query));
+    assertEquals(
+        new HashSet<>(Arrays.asList(mainOf("ep.EntryPoints"), doGet)),
+        callGraphs.entryPointsReaching(query));
+
+    // the union is the call graph of all entry points at once
+    CallGraph union = callGraphs.union();
+    CallGraph expected = new ClassHierarchyAnalysisAlgorithm(view).initialize(entryPoints);
+    assertEquals(expected.getMethodSignatures(), union.getMethodSignatures());
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertEquals(method.toString(), expected.callsFrom(method), union.callsFrom(method));
+    }
+    assertTrue(union.containsCall(query, helper));
+    assertEquals(
+        callGraphs.getCallGraph(doGet).getMethodSignatures(),
+        callGraphs.union(Collections.singletonList(doGet)).getMethodSignatures());
+  }
+}
@@ -0,0 +1,144 @@
+package sootup.callgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+@Category(Java8Test.class)
+public class LibrarySummaryTest {
+
+  private static final String CLASS_PATH = "src/test/resources/callgraph/LibrarySummary/binary/";
+
+  private final JavaIdentifierFactory identifierFactory = JavaIdentifierFactory.getInstance();
+
+  private final MethodSignature mainMethod =
+      identifierFactory.getMethodSignature(
+          "app.Application", "main", "void", Collections.singletonList("java.lang.String[]"));
+  private final MethodSignature createMethod =
+      identifierFactory.getMethodSignature(
+          "lib.Executor", "create", "lib.Executor", Collections.emptyList());
+  private final MethodSignature executeMethod =
+      identifierFactory.getMethodSignature(
+          "lib.Executor", "execute", "void", Collections.singletonList("lib.Task"));
+  private final MethodSignature scheduleMethod =
+      identifierFactory.getMethodSignature(
+          "lib.Executor", "schedule", "void", Collections.singletonList("lib.Task"));
+  private final MethodSignature taskMethod =
+      identifierFactory.getMethodSignature("lib.Task", "run", "void", Collections.emptyList());
+  private final MethodSignature printTaskMethod =
+      identifierFactory.getMethodSignature("app.PrintTask", "run", "void", Collections.emptyList());
+  private final MethodSignature unusedTaskMethod =
+      identifierFactory.getMethodSignature(
+          "app.UnusedTask", "run", "void", Collections.emptyList());
+
+  private Path directory;
+
+  @Before
+  public void createDirectory() throws IOException {
+    directory = Files.createTempDirectory("summaries");
+  }
+
+  @After
+  public void deleteDirectory() throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  private LibrarySummary createSummary() throws IOException {
+    JavaView libraryView =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(CLASS_PATH + "library/", SourceType.Library));
+    return new CallGraphStore(directory).getOrCreateLibrarySummary("library", libraryView);
+  }
+
+  private static JavaView createView() {
+    List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations = new ArrayList<>();
+    inputLocations.add(new DefaultRTJarAnalysisInputLocation());
+    inputLocations.add(
+        new JavaClassPathAnalysisInputLocation(
+            CLASS_PATH + "application/", SourceType.Application));
+    inputLocations.add(
+        new JavaClassPathAnalysisInputLocation(CLASS_PATH + "library/", SourceType.Library));
+    return new JavaView(inputLocations);
+  }
+
+  @Test
+  public void testSummary() throws IOException {
+    LibrarySummary summary = createSummary();
+    // the private method is summarized in its caller
+    assertEquals(2, summary.getMethodCount());
+    assertFalse(summary.getSummary(scheduleMethod).isPresent());
+
+    LibrarySummary.MethodSummary executeSummary = summary.getSummary(executeMethod).get();
+    assertEquals(Collections.singletonList(taskMethod), executeSummary.getCallbacks());
+    assertTrue(executeSummary.getInstantiatedTypes().isEmpty());
+
+    LibrarySummary.MethodSummary createSummary = summary.getSummary(createMethod).get();
+    assertTrue(createSummary.getCallbacks().isEmpty());
+    assertEquals(
+        Collections.singletonList(identifierFactory.getClassType("lib.Executor")),
+        createSummary.getInstantiatedTypes());
+
+    // the stored summary is loaded instead of summarizing the library again
+    JavaView emptyView = new JavaView(Collections.emptyList());
+    assertEquals(
+        2,
+        new CallGraphStore(directory)
+            .getOrCreateLibrarySummary("library", emptyView)
+            .getMethodCount());
+  }
+
+  @Test
+  public void testCHA() throws IOException {
+    ClassHierarchyAnalysisAlgorithm algorithm = new ClassHierarchyAnalysisAlgorithm(createView());
+    CallGraph cg = algorithm.initialize(Collections.singletonList(mainMethod));
+    assertTrue(cg.containsMethod(executeMethod));
+    assertTrue(cg.callsFrom(executeMethod).isEmpty());
+
+    algorithm.setLibrarySummary(createSummary());
+    cg = algorithm.initialize(Collections.singletonList(mainMethod));
+    assertEquals(
+        new HashSet<>(Arrays.asList(printTaskMethod, unusedTaskMethod)),
+        cg.callsFrom(executeMethod));
+  }
+
+  @Test
+  public void testRTA() throws IOException {
+    RapidTypeAnalysisAlgorithm algorithm = new RapidTypeAnalysisAlgorithm(createView());
+    CallGraph cg = algorithm.initialize(Collections.singletonList(mainMethod));
+    // the executor is only instantiated in the library
+    assertFalse(cg.containsMethod(executeMethod));
+
+    algorithm.setLibrarySummary(createSummary());
+    cg = algorithm.initialize(Collections.singletonList(mainMethod));
+    assertEquals(Collections.singleton(printTaskMethod), cg.callsFrom(executeMethod));
+    assertFalse(cg.containsMethod(unusedTaskMethod));
+  }
+}
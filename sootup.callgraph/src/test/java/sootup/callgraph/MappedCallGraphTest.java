@@ -0,0 +1,160 @@
+package sootup.callgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import categories.Java8Test;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.core.JavaIdentifierFactory;
+
+@Category(Java8Test.class)
+public class MappedCallGraphTest {
+
+  private Path directory;
+
+  @Before
+  public void createDirectory() throws IOException {
+    directory = Files.createTempDirectory("callgraphs");
+  }
+
+  @After
+  public void deleteDirectory() throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  private static GraphBasedCallGraph createCallGraph(int numberOfMethods, int numberOfCalls) {
+    JavaIdentifierFactory factory = JavaIdentifierFactory.getInstance();
+    List<MethodSignature> methods = new ArrayList<>();
+    for (int i = 0; i < numberOfMethods; i++) {
+      methods.add(
+          factory.getMethodSignature(
+              factory.getClassType("pkg.Outer$Inner" + (i % 30)),
+              i % 10 == 0 ? "<init>" : "method" + i,
+              i % 3 == 0 ? "int[]" : "void",
+              i % 2 == 0
+                  ? Collections.emptyList()
+                  : Arrays.asList("int", "java.lang.String[][]", "pkg.Outer")));
+    }
+    GraphBasedCallGraph cg = new GraphBasedCallGraph();
+    methods.forEach(cg::addMethod);
+    Random random = new Random(7);
+    for (int i = 0; i < numberOfCalls; i++) {
+      cg.addCall(
+          methods.get(random.nextInt(numberOfMethods)),
+          methods.get(random.nextInt(numberOfMethods)));
+    }
+    return cg;
+  }
+
+  @Test
+  public void writeAndLoad() throws IOException {
+    GraphBasedCallGraph cg = createCallGraph(1000, 8000);
+    Path file = directory.resolve("test.cg");
+    MappedCallGraph.write(cg, file);
+
+    MappedCallGraph loaded = MappedCallGraph.load(file);
+
+    assertEquals(cg.getMethodSignatures(), loaded.getMethodSignatures());
+    assertEquals(cg.callCount(), loaded.callCount());
+    for (MethodSignature method : cg.getMethodSignatures()) {
+      assertTrue(loaded.containsMethod(method));
+      assertEquals(cg.callsFrom(method), new HashSet<>(loaded.callsFrom(method)));
+      assertEquals(cg.callsTo(method), new HashSet<>(loaded.callsTo(method)));
+      for (MethodSignature target : cg.callsFrom(method)) {
+        assertTrue(loaded.containsCall(method, target));
+        assertTrue(loaded.callsFrom(method).contains(target));
+      }
+      assertTrue(loaded.callEdgesFrom(method).isEmpty());
+    }
+    assertEquals(cg.exportAsDot(), loaded.exportAsDot());
+
+    MethodSignature unknown =
+        JavaIdentifierFactory.getInstance()
+            .getMethodSignature("pkg.Unknown", "method", "void", Collections.emptyList());
+    assertFalse(loaded.containsMethod(unknown));
+    assertEquals(-1, loaded.getMethodId(unknown));
+
+    // the copy is mutable
+    MutableCallGraph copy = loaded.copy();
+    copy.addMethod(unknown);
+    assertTrue(copy.containsMethod(unknown));
+  }
+
+  @Test
+  public void loadInvalidFile() throws IOException {
+    Path file = directory.resolve("invalid.cg");
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertInvalid(file);
+
+    // table sizes that are no power of two or leave no slot empty
+    MappedCallGraph.write(createCallGraph(8, 10), file);
+    byte[] content = Files.readAllBytes(file);
+    for (int tableSize : new int[] {12, 8, 0, -16}) {
+      ByteBuffer.wrap(content).putInt(4 * Integer.BYTES, tableSize);
+      Files.write(file, content);
+      assertInvalid(file);
+    }
+  }
+
+  private static void assertInvalid(Path file) {
+    try {
+      MappedCallGraph.load(file);
+      fail();
+    } catch (IOException expected) {
+      // expected
+    }
+  }
+
+  @Test
+  public void store() throws IOException {
+    Path input = Files.createDirectory(directory.resolve("input"));
+    Files.write(input.resolve("A.class"), new byte[] {1, 2, 3});
+    String key = CallGraphStore.contentHash(Collections.singletonList(input), "cha");
+    assertEquals(key, CallGraphStore.contentHash(Collections.singletonList(input), "cha"));
+    assertNotEquals(key, CallGraphStore.contentHash(Collections.singletonList(input), "rta"));
+
+    CallGraphStore store = new CallGraphStore(directory.resolve("store"));
+    assertFalse(store.load(key).isPresent());
+    GraphBasedCallGraph cg = createCallGraph(10, 20);
+    assertSame(cg, store.getOrCreate(key, () -> cg));
+
+    CallGraph loaded =
+        store.getOrCreate(
+            key,
+            () -> {
+              throw new AssertionError("the call graph should be loaded");
+            });
+    assertTrue(loaded instanceof MappedCallGraph);
+    assertEquals(cg.getMethodSignatures(), loaded.getMethodSignatures());
+
+    // a changed input has a different key
+    Files.write(input.resolve("A.class"), new byte[] {1, 2, 4});
+    String changedKey = CallGraphStore.contentHash(Collections.singletonList(input), "cha");
+    assertNotEquals(key, changedKey);
+    assertFalse(store.load(changedKey).isPresent());
+  }
+}
@@ -0,0 +1,98 @@
+package sootup.callgraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.types.JavaClassType;
+import sootup.java.core.views.JavaView;
+import sootup.java.sourcecode.inputlocation.JavaSourcePathAnalysisInputLocation;
+
+/** Checks that a call graph built on demand is the same as the call graph built eagerly. */
+@Category(Java8Test.class)
+public class OnDemandCallGraphTest {
+
+  private final JavaIdentifierFactory identifierFactory = JavaIdentifierFactory.getInstance();
+
+  private final JavaClassType mainClass = identifierFactory.getClassType("vc3.Class");
+  private final JavaClassType implClass = identifierFactory.getClassType("vc3.ClassImpl");
+  private final MethodSignature mainMethod =
+      identifierFactory.getMethodSignature(
+          mainClass, "main", "void", Collections.singletonList("java.lang.String[]"));
+  private final MethodSignature callOnInterface =
+      identifierFactory.getMethodSignature(
+          mainClass, "callOnInterface", "void", Collections.singletonList("vc3.Interface"));
+  private final MethodSignature classMethod =
+      identifierFactory.getMethodSignature(mainClass, "method", "void", Collections.emptyList());
+  private final MethodSignature implMethod =
+      identifierFactory.getMethodSignature(implClass, "method", "void", Collections.emptyList());
+
+  private static JavaView createView() {
+    List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations = new ArrayList<>();
+    inputLocations.add(new DefaultRTJarAnalysisInputLocation());
+    inputLocations.add(
+        new JavaSourcePathAnalysisInputLocation("src/test/resources/callgraph/VirtualCall/source"));
+    return new JavaView(inputLocations);
+  }
+
+  private void assertSameAsEager(Function<JavaView, AbstractCallGraphAlgorithm> algorithmFactory) {
+    JavaView view = createView();
+    List<MethodSignature> entryPoints = Collections.singletonList(mainMethod);
+    CallGraph expected = algorithmFactory.apply(view).initialize(entryPoints);
+    OnDemandCallGraph cg = new OnDemandCallGraph(algorithmFactory.apply(view), entryPoints);
+
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertTrue(method.toString(), cg.containsMethod(method));
+      assertEquals(method.toString(), expected.callsFrom(method), cg.callsFrom(method));
+      assertEquals(method.toString(), expected.callsTo(method), cg.callsTo(method));
+    }
+    assertFalse(cg.containsMethod(classMethod));
+    assertEquals(expected.getMethodSignatures(), cg.getMethodSignatures());
+    assertEquals(expected.callCount(), cg.callCount());
+    assertEquals(expected.exportAsDot(), cg.exportAsDot());
+    assertTrue(cg.isComplete());
+  }
+
+  @Test
+  public void testResolveOnlyQueriedMethods() {
+    OnDemandCallGraph cg =
+        new OnDemandCallGraph(
+            new ClassHierarchyAnalysisAlgorithm(createView()),
+            Collections.singletonList(mainMethod));
+    assertFalse(cg.isComplete());
+
+    assertEquals(Collections.singleton(implMethod), cg.callsFrom(callOnInterface));
+    assertEquals(1, cg.resolvedMethodCount());
+
+    // the method is found in the call graph after resolving the entry point
+    assertTrue(cg.containsCall(callOnInterface, implMethod));
+    assertEquals(2, cg.resolvedMethodCount());
+    assertFalse(cg.isComplete());
+
+    // the callers are only known when all reachable methods are resolved
+    assertEquals(Collections.singleton(callOnInterface), cg.callsTo(implMethod));
+    assertTrue(cg.isComplete());
+  }
+
+  @Test
+  public void testCHA() {
+    assertSameAsEager(ClassHierarchyAnalysisAlgorithm::new);
+  }
+
+  @Test
+  public void testRTA() {
+    assertSameAsEager(RapidTypeAnalysisAlgorithm::new);
+  }
+}
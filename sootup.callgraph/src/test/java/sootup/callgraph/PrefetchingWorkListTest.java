@@ -0,0 +1,93 @@
+package sootup.callgraph;
+
+import static org.junit.Assert.assertEquals;
+
+import categories.Java8Test;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Tests that the prefetching of a {@link PrefetchingWorkList} is cancelled. The only thread of the
+ * pool is blocked until the work list has been used, so no prefetching has started before.
+ */
+@Category(Java8Test.class)
+public class PrefetchingWorkListTest {
+
+  private static final JavaIdentifierFactory identifierFactory =
+      JavaIdentifierFactory.getInstance();
+
+  private static MethodSignature mainOf(String className) {
+    return identifierFactory.getMethodSignature(
+        identifierFactory.getClassType(className),
+        "main",
+        "void",
+        Collections.singletonList("java.lang.String[]"));
+  }
+
+  private static JavaView createView() {
+    return new JavaView(
+        new JavaClassPathAnalysisInputLocation("src/test/resources/callgraph/EntryPoints/binary"));
+  }
+
+  @Test
+  public void drainedWorkListCancelsPrefetching() throws InterruptedException {
+    JavaView view = createView();
+    List<MethodSignature> entryPoints = Arrays.asList(mainOf("ep.EntryPoints"), mainOf("ep.Tool"));
+    ForkJoinPool pool = new ForkJoinPool(1);
+    CountDownLatch latch = new CountDownLatch(1);
+    try {
+      pool.execute(() -> awaitQuietly(latch));
+      PrefetchingWorkList workList =
+          new PrefetchingWorkList(view, DispatchCache.forView(view), pool, entryPoints);
+      workList.pop();
+      workList.pop();
+
+      latch.countDown();
+      pool.awaitQuiescence(10, TimeUnit.SECONDS);
+      assertEquals(0, view.getNumberOfStoredClasses());
+    } finally {
+      latch.countDown();
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void cancelledWorkListDoesNotPrefetch() throws InterruptedException {
+    JavaView view = createView();
+    List<MethodSignature> entryPoints = Arrays.asList(mainOf("ep.EntryPoints"), mainOf("ep.Tool"));
+    ForkJoinPool pool = new ForkJoinPool(1);
+    CountDownLatch latch = new CountDownLatch(1);
+    try {
+      pool.execute(() -> awaitQuietly(latch));
+      PrefetchingWorkList workList =
+          new PrefetchingWorkList(view, DispatchCache.forView(view), pool, entryPoints);
+      workList.cancelPrefetching();
+
+      latch.countDown();
+      pool.awaitQuiescence(10, TimeUnit.SECONDS);
+      assertEquals(0, view.getNumberOfStoredClasses());
+      assertEquals(2, workList.size());
+    } finally {
+      latch.countDown();
+      pool.shutdownNow();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
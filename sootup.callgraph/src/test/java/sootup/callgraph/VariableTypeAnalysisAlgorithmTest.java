@@ -0,0 +1,78 @@
+package sootup.callgraph;
+
+import static junit.framework.TestCase.*;
+
+import categories.Java8Test;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.core.types.JavaClassType;
+import sootup.java.core.views.JavaView;
+
+@Category(Java8Test.class)
+public class VariableTypeAnalysisAlgorithmTest
+    extends CallGraphTestBase<VariableTypeAnalysisAlgorithm> {
+
+  @Override
+  protected VariableTypeAnalysisAlgorithm createAlgorithm(JavaView view) {
+    return new VariableTypeAnalysisAlgorithm(view);
+  }
+
+  private MethodSignature methodOf(String className, String methodName) {
+    JavaClassType classType = identifierFactory.getClassType(className);
+    return identifierFactory.getMethodSignature(
+        classType, methodName, "void", Collections.emptyList());
+  }
+
+  /**
+   * Both A and B are instantiated, so RTA resolves every call on Base to the methods of A and B.
+   * VTA only resolves the calls to the methods of the types that reach the receivers, i.e. through
+   * a local, a field and a parameter.
+   */
+  @Test
+  public void testReachingTypes() {
+    CallGraph cg = loadCallGraph("VTA", "vta.Class");
+
+    MethodSignature call =
+        identifierFactory.getMethodSignature(
+            mainClassSignature, "call", "void", Collections.singletonList("vta.Base"));
+
+    // the local a and the field only hold objects of A and of B
+    assertTrue(cg.containsCall(mainMethodSignature, methodOf("vta.A", "method")));
+    assertTrue(cg.containsCall(mainMethodSignature, methodOf("vta.B", "method")));
+    assertFalse(cg.containsMethod(methodOf("vta.Base", "method")));
+    // every call site has exactly one target
+    assertEquals(1, cg.callEdgesTo(methodOf("vta.A", "method")).size());
+    assertEquals(1, cg.callEdgesTo(methodOf("vta.B", "method")).size());
+
+    // the parameter only holds objects of A
+    assertTrue(cg.containsCall(call, methodOf("vta.A", "target")));
+    assertFalse(cg.containsMethod(methodOf("vta.B", "target")));
+    assertFalse(cg.containsMethod(methodOf("vta.Base", "target")));
+  }
+
+  /**
+   * The receiver only holds objects of Class, so unlike CHA and RTA, VTA does not resolve the call
+   * to the default method of SubInterface, which is implemented by the instantiated SubClass.
+   */
+  @Override
+  @Test
+  public void testConcreteCallDifferentDefaultMethodInSubClass() {
+    CallGraph cg = loadCallGraph("ConcreteCall", false, "cvcscddi.Class");
+    MethodSignature interfaceMethod =
+        identifierFactory.getMethodSignature(
+            identifierFactory.getClassType("cvcscddi.Interface"),
+            "target",
+            "void",
+            Collections.emptyList());
+    MethodSignature subInterfaceMethod =
+        identifierFactory.getMethodSignature(
+            identifierFactory.getClassType("cvcscddi.SubInterface"),
+            "target",
+            "void",
+            Collections.emptyList());
+    assertTrue(cg.containsCall(mainMethodSignature, interfaceMethod));
+    assertFalse(cg.containsCall(mainMethodSignature, subInterfaceMethod));
+  }
+}
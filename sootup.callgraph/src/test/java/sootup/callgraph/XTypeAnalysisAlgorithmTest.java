@@ -0,0 +1,52 @@
+package sootup.callgraph;
+
+import static junit.framework.TestCase.*;
+
+import categories.Java8Test;
+import java.util.Collections;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.core.types.JavaClassType;
+import sootup.java.core.views.JavaView;
+
+@Category(Java8Test.class)
+public class XTypeAnalysisAlgorithmTest extends CallGraphTestBase<XTypeAnalysisAlgorithm> {
+
+  @Override
+  protected XTypeAnalysisAlgorithm createAlgorithm(JavaView view) {
+    return new XTypeAnalysisAlgorithm(view);
+  }
+
+  private MethodSignature methodOf(String className, String methodName) {
+    JavaClassType classType = identifierFactory.getClassType(className);
+    return identifierFactory.getMethodSignature(
+        classType, methodName, "void", Collections.emptyList());
+  }
+
+  /**
+   * All subclasses of Base are instantiated, so RTA resolves every call on Base to all of them. XTA
+   * only resolves a call to the types that reach the calling method, i.e. that are instantiated in
+   * it, returned by its callees or read from the fields.
+   */
+  @Test
+  public void testTypesPerMethod() {
+    CallGraph cg = loadCallGraph("XTA", "xta.Class");
+
+    MethodSignature load = methodOf("xta.Class", "load");
+
+    // B is only instantiated in createB, which does not return it
+    assertTrue(cg.containsCall(mainMethodSignature, methodOf("xta.A", "method")));
+    assertFalse(cg.containsMethod(methodOf("xta.B", "method")));
+    assertFalse(cg.containsMethod(methodOf("xta.B", "target")));
+
+    // D is returned by create after the call on it was processed in main
+    assertTrue(cg.containsCall(mainMethodSignature, methodOf("xta.D", "target")));
+
+    // C flows from store to load through the field, but does not reach main
+    assertTrue(cg.containsCall(load, methodOf("xta.C", "method")));
+    assertFalse(cg.containsCall(load, methodOf("xta.A", "method")));
+    assertFalse(cg.containsCall(mainMethodSignature, methodOf("xta.C", "method")));
+    assertFalse(cg.containsMethod(methodOf("xta.C", "target")));
+  }
+}
@@ -0,0 +1,14 @@
+package ep;
+
+public class Api {
+
+  public void query() {
+    helper();
+  }
+
+  public static void helper() {}
+
+  void internal() {}
+
+  private void secret() {}
+}
@@ -0,0 +1,37 @@
+package ep;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@interface Handler {}
+
+public class EntryPoints {
+
+  public static void main(String[] args) {
+    new Api().query();
+  }
+}
+
+class Tool {
+
+  public static void main(String[] args) {
+    Api.helper();
+  }
+}
+
+class Handlers {
+
+  @Handler
+  void onStart() {
+    Api.helper();
+  }
+
+  @Handler
+  public void onStop() {}
+
+  void notAHandler() {}
+}
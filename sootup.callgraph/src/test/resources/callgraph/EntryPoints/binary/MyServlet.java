@@ -0,0 +1,19 @@
+package ep;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+public class MyServlet extends HttpServlet {
+
+  @Override
+  protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+    new Api().query();
+  }
+
+  @Override
+  public void init() throws ServletException {}
+
+  void notLifecycle() {}
+}
@@ -0,0 +1,22 @@
+package app;
+
+import lib.Executor;
+import lib.Task;
+
+public class Application {
+
+  public static void main(String[] args) {
+    Executor executor = Executor.create();
+    executor.execute(new PrintTask());
+  }
+}
+
+class PrintTask implements Task {
+  public void run() {
+  }
+}
+
+class UnusedTask implements Task {
+  public void run() {
+  }
+}
@@ -0,0 +1,16 @@
+package lib;
+
+public class Executor {
+
+  public static Executor create() {
+    return new Executor();
+  }
+
+  public void execute(Task task) {
+    schedule(task);
+  }
+
+  private void schedule(Task task) {
+    task.run();
+  }
+}
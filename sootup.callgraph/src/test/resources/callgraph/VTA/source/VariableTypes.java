@@ -0,0 +1,40 @@
+package vta;
+
+class Class {
+
+  private Base field;
+
+  public static void main(String[] args) {
+    Base a = new A();
+    Base b = new B();
+    a.method();
+
+    Class holder = new Class();
+    holder.field = b;
+    holder.field.method();
+
+    call(a);
+  }
+
+  static void call(Base base) {
+    base.target();
+  }
+}
+
+class Base {
+  public void method() {}
+
+  public void target() {}
+}
+
+class A extends Base {
+  public void method() {}
+
+  public void target() {}
+}
+
+class B extends Base {
+  public void method() {}
+
+  public void target() {}
+}
@@ -0,0 +1,65 @@
+package xta;
+
+class Class {
+
+  private Base field;
+
+  public static void main(String[] args) {
+    Base a = new A();
+    a.method();
+    createB();
+
+    Class holder = new Class();
+    holder.store();
+    holder.load();
+
+    Base d = create();
+    d.target();
+  }
+
+  static void createB() {
+    Base b = new B();
+  }
+
+  static Base create() {
+    return new D();
+  }
+
+  void store() {
+    field = new C();
+  }
+
+  void load() {
+    field.method();
+  }
+}
+
+class Base {
+  public void method() {}
+
+  public void target() {}
+}
+
+class A extends Base {
+  public void method() {}
+
+  public void target() {}
+}
+
+class B extends Base {
+  public void method() {}
+
+  public void target() {}
+}
+
+class C extends Base {
+  public void method() {}
+
+  public void target() {}
+}
+
+class D extends Base {
+  public void method() {}
+
+  public void target() {}
+}
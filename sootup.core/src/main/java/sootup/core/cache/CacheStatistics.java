@@ -0,0 +1,60 @@
+package sootup.core.cache;
+
+import javax.annotation.Nonnull;
+
+/** Immutable snapshot of the hit, miss and eviction counters of a {@link ClassCache}. */
+public final class CacheStatistics {
+
+  private final long hitCount;
+  private final long missCount;
+  private final long evictionCount;
+  private final int size;
+
+  public CacheStatistics(long hitCount, long missCount, long evictionCount, int size) {
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.size = size;
+  }
+
+  /** Returns the number of lookups that found the requested class in the cache. */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /** Returns the number of lookups that did not find the requested class in the cache. */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  /** Returns the number of classes that were removed from the cache to make room for others. */
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /** Returns the number of classes that were stored in the cache when the snapshot was taken. */
+  public int getSize() {
+    return size;
+  }
+
+  /** Returns the ratio of lookups that were hits, or 1.0 if there was no lookup yet. */
+  public double getHitRate() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  @Nonnull
+  @Override
+  public String toString() {
+    return "CacheStatistics{"
+        + "hits="
+        + hitCount
+        + ", misses="
+        + missCount
+        + ", evictions="
+        + evictionCount
+        + ", size="
+        + size
+        + '}';
+  }
+}
@@ -1,6 +1,7 @@
 package sootup.core.cache;
 
 import java.util.Collection;
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import sootup.core.model.SootClass;
 import sootup.core.types.ClassType;
@@ -18,4 +19,13 @@ public interface ClassCache<S extends SootClass<?>> {
   boolean hasClass(ClassType classType);
 
   int size();
+
+  /**
+   * Returns the hit, miss and eviction counters of this cache or an empty Optional if the cache
+   * does not record them.
+   */
+  @Nonnull
+  default Optional<CacheStatistics> getStatistics() {
+    return Optional.empty();
+  }
 }
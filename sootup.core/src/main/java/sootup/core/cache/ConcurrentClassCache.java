@@ -0,0 +1,10 @@
+package sootup.core.cache;
+
+import sootup.core.model.SootClass;
+
+/**
+ * Marker interface for caches that can safely be accessed by multiple threads at the same time
+ * without external synchronization. Views that are backed by such a cache resolve classes
+ * concurrently instead of serializing every access on the view.
+ */
+public interface ConcurrentClassCache<S extends SootClass<?>> extends ClassCache<S> {}
@@ -0,0 +1,30 @@
+package sootup.core.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * Thread-safe version of the {@link FullCache} that stores any class that has been resolved. Reads
+ * do not block, so it can be queried by many threads in parallel.
+ */
+public class ConcurrentFullCache<S extends SootClass<?>> extends FullCache<S>
+    implements ConcurrentClassCache<S> {
+
+  public ConcurrentFullCache() {
+    super(new ConcurrentHashMap<>());
+  }
+
+  @Override
+  public S getClass(ClassType classType) {
+    return cache.get(classType);
+  }
+
+  @Nonnull
+  @Override
+  public Collection<S> getClasses() {
+    return cache.values();
+  }
+}
@@ -7,52 +7,69 @@ import sootup.core.types.ClassType;
 
 /**
  * Cache that implements a least recently used strategy. If the amount of stored classes exceeds a
- * specified amount, the lest recently used class will be overwritten.
+ * specified amount, the lest recently used class will be overwritten. All operations take constant
+ * time and are thread-safe.
  */
-public class LRUCache<S extends SootClass<?>> implements ClassCache<S> {
+public class LRUCache<S extends SootClass<?>> implements ConcurrentClassCache<S> {
   private final int cacheSize;
-  private final Map<ClassType, S> cache = new HashMap<>();
-  private final LinkedList<ClassType> accessOrder = new LinkedList<>();
+  private final LinkedHashMap<ClassType, S> cache;
+
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long evictionCount = 0;
 
   public LRUCache(int cacheSize) {
     this.cacheSize = cacheSize;
+    // access ordered: every lookup moves the class to the end, so the eldest entry is the least
+    // recently used one
+    this.cache =
+        new LinkedHashMap<ClassType, S>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<ClassType, S> eldest) {
+            if (size() > LRUCache.this.cacheSize) {
+              evictionCount++;
+              return true;
+            }
+            return false;
+          }
+        };
   }
 
   @Override
   public synchronized S getClass(ClassType classType) {
     S sootClass = cache.get(classType);
     if (sootClass != null) {
-      accessOrder.remove(classType);
-      accessOrder.addFirst(classType);
+      hitCount++;
+    } else {
+      missCount++;
     }
-
     return sootClass;
   }
 
   @Nonnull
   @Override
   public synchronized Collection<S> getClasses() {
-    return cache.values();
+    return new ArrayList<>(cache.values());
   }
 
   @Override
-  public void putClass(ClassType classType, S sootClass) {
-    if (accessOrder.size() >= cacheSize) {
-      ClassType leastAccessed = accessOrder.removeLast();
-      cache.remove(leastAccessed);
-    }
-
-    accessOrder.addFirst(classType);
+  public synchronized void putClass(ClassType classType, S sootClass) {
     cache.putIfAbsent(classType, sootClass);
   }
 
   @Override
-  public boolean hasClass(ClassType classType) {
+  public synchronized boolean hasClass(ClassType classType) {
     return cache.containsKey(classType);
   }
 
   @Override
-  public int size() {
+  public synchronized int size() {
     return cache.size();
   }
+
+  @Nonnull
+  @Override
+  public synchronized Optional<CacheStatistics> getStatistics() {
+    return Optional.of(new CacheStatistics(hitCount, missCount, evictionCount, cache.size()));
+  }
 }
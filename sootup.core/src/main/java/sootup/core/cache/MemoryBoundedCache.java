@@ -0,0 +1,212 @@
+package sootup.core.cache;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.model.Body;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.types.ClassType;
+
+/**
+ * Cache that is bounded by the estimated heap size of the stored classes instead of their number.
+ * If the estimated size of all stored classes exceeds the given budget, the least recently used
+ * classes are evicted until the budget is met again. Evicted classes are resolved again from their
+ * class source by the view when they are requested the next time.
+ *
+ * <p>A class is weighed when it is put into the cache. Its size grows when the bodies of its
+ * methods are resolved, therefore all stored classes are weighed again by {@link
+ * #updateWeights()}, which runs periodically after a number of accesses that is proportional to the
+ * number of stored classes. All operations are thread-safe.
+ */
+public class MemoryBoundedCache<S extends SootClass<?>> implements ConcurrentClassCache<S> {
+
+  // rough estimations of the retained heap size in bytes of the respective parts of a class
+  private static final long CLASS_SIZE = 1024;
+  private static final long FIELD_SIZE = 128;
+  private static final long METHOD_SIZE = 512;
+  private static final long BODY_SIZE = 1024;
+  private static final long STMT_SIZE = 256;
+  private static final long LOCAL_SIZE = 96;
+  private static final long TRAP_SIZE = 64;
+
+  // the stored classes are weighed again after this many accesses per stored class
+  private static final int ACCESSES_PER_CLASS_BETWEEN_UPDATES = 16;
+
+  private final long maxBytes;
+  @Nonnull private final ToLongFunction<? super S> weigher;
+  // access ordered: the eldest entry is the least recently used one
+  private final LinkedHashMap<ClassType, S> cache = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<ClassType, Long> weights = new HashMap<>();
+  private long totalBytes = 0;
+
+  private long hitCount = 0;
+  private long missCount = 0;
+  private long evictionCount = 0;
+
+  private long accessesSinceUpdate = 0;
+  private boolean updatingWeights = false;
+
+  /** Creates a cache that holds at most (an estimated) maxBytes of classes. */
+  public MemoryBoundedCache(long maxBytes) {
+    this(maxBytes, MemoryBoundedCache::estimateSize);
+  }
+
+  /**
+   * Creates a cache that holds at most maxBytes of classes, where the size of a class is computed
+   * by the given weigher.
+   */
+  public MemoryBoundedCache(long maxBytes, @Nonnull ToLongFunction<? super S> weigher) {
+    this.maxBytes = maxBytes;
+    this.weigher = weigher;
+  }
+
+  /**
+   * Estimates the retained heap size of the given class in bytes, based on the number of its fields
+   * and methods and the size of the method bodies that are already resolved. Bodies are never
+   * resolved for this.
+   */
+  public static long estimateSize(@Nonnull SootClass<?> sootClass) {
+    long size = CLASS_SIZE + FIELD_SIZE * sootClass.getFields().size();
+    for (SootMethod method : sootClass.getMethods()) {
+      size += METHOD_SIZE;
+      Optional<Body> resolvedBody = method.getResolvedBody();
+      if (resolvedBody.isPresent()) {
+        Body body = resolvedBody.get();
+        size +=
+            BODY_SIZE
+                + STMT_SIZE * body.getStmtGraph().getNodes().size()
+                + LOCAL_SIZE * body.getLocalCount()
+                + TRAP_SIZE * body.getTraps().size();
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public S getClass(ClassType classType) {
+    S sootClass;
+    boolean updateWeights;
+    synchronized (this) {
+      sootClass = cache.get(classType);
+      if (sootClass == null) {
+        missCount++;
+        return null;
+      }
+      hitCount++;
+      updateWeights = isWeightUpdateDue();
+    }
+    if (updateWeights) {
+      updateWeights();
+    }
+    return sootClass;
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Collection<S> getClasses() {
+    return new ArrayList<>(cache.values());
+  }
+
+  @Override
+  public void putClass(ClassType classType, S sootClass) {
+    // weighing may resolve the members of the class, so it is done without holding the lock
+    long weight = weigher.applyAsLong(sootClass);
+    boolean updateWeights;
+    synchronized (this) {
+      if (cache.putIfAbsent(classType, sootClass) != null) {
+        return;
+      }
+      Long oldWeight = weights.put(classType, weight);
+      totalBytes += weight - (oldWeight == null ? 0 : oldWeight);
+      evict(classType);
+      updateWeights = isWeightUpdateDue();
+    }
+    if (updateWeights) {
+      updateWeights();
+    }
+  }
+
+  /**
+   * Weighs all stored classes again, e.g. after bodies of their methods have been resolved or
+   * dropped, and evicts the least recently used classes if the budget is exceeded. This is done
+   * periodically by the cache itself, but can be triggered explicitly as well.
+   */
+  public void updateWeights() {
+    List<Map.Entry<ClassType, S>> entries;
+    synchronized (this) {
+      if (updatingWeights) {
+        return;
+      }
+      updatingWeights = true;
+      accessesSinceUpdate = 0;
+      entries = new ArrayList<>(cache.size());
+      for (Map.Entry<ClassType, S> entry : cache.entrySet()) {
+        entries.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+      }
+    }
+    try {
+      for (Map.Entry<ClassType, S> entry : entries) {
+        long weight = weigher.applyAsLong(entry.getValue());
+        synchronized (this) {
+          // the class might have been evicted in the meantime; containsKey keeps the access order
+          if (cache.containsKey(entry.getKey())) {
+            Long oldWeight = weights.put(entry.getKey(), weight);
+            totalBytes += weight - (oldWeight == null ? 0 : oldWeight);
+          }
+        }
+      }
+    } finally {
+      synchronized (this) {
+        updatingWeights = false;
+        evict(null);
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean hasClass(ClassType classType) {
+    return cache.containsKey(classType);
+  }
+
+  @Override
+  public synchronized int size() {
+    return cache.size();
+  }
+
+  /** Returns the estimated size in bytes of all classes that are currently stored. */
+  public synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  @Nonnull
+  @Override
+  public synchronized Optional<CacheStatistics> getStatistics() {
+    return Optional.of(new CacheStatistics(hitCount, missCount, evictionCount, cache.size()));
+  }
+
+  /** Counts an access and returns whether the stored classes are to be weighed again. */
+  private boolean isWeightUpdateDue() {
+    accessesSinceUpdate++;
+    return !updatingWeights
+        && accessesSinceUpdate >= (long) ACCESSES_PER_CLASS_BETWEEN_UPDATES * cache.size();
+  }
+
+  /**
+   * Evicts the least recently used classes until the budget is met, but always keeps the class that
+   * is currently in use, if there is one.
+   */
+  private void evict(@Nullable ClassType inUse) {
+    Iterator<ClassType> it = cache.keySet().iterator();
+    while (totalBytes > maxBytes && it.hasNext()) {
+      ClassType eldest = it.next();
+      if (eldest.equals(inUse)) {
+        continue;
+      }
+      it.remove();
+      totalBytes -= weights.remove(eldest);
+      evictionCount++;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package sootup.core.cache.provider;
+
+import sootup.core.cache.ClassCache;
+import sootup.core.cache.MemoryBoundedCache;
+import sootup.core.model.SootClass;
+
+/** Provides a new {@link MemoryBoundedCache} object. */
+public class MemoryBoundedCacheProvider<S extends SootClass<?>> implements ClassCacheProvider<S> {
+  private final long maxBytes;
+
+  /**
+   * Create a new MemoryBoundedCacheProvider that returns a {@link MemoryBoundedCache} which holds
+   * at most (an estimated) maxBytes of classes.
+   */
+  public MemoryBoundedCacheProvider(long maxBytes) {
+    if (maxBytes < 1) throw new IllegalArgumentException("Cache size has to be at least 1 byte");
+    this.maxBytes = maxBytes;
+  }
+
+  @Override
+  public ClassCache<S> createCache() {
+    return new MemoryBoundedCache<>(maxBytes);
+  }
+}
@@ -0,0 +1,55 @@
+package sootup.core.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import sootup.core.model.Body;
+
+/**
+ * Keeps resolved bodies beyond the lifetime of a view, e.g. on disk. A {@link BodySource} that
+ * finds a body under its key does not need to convert and intercept the method again. The key is
+ * chosen by the {@link BodySource}; it has to change whenever the resulting body may change, i.e.
+ * when the code of the method or the body interceptors change.
+ *
+ * <p>A store is shared by all methods of a view, so it has to be safe for concurrent use.
+ *
+ * @see sootup.core.views.View#getBodyStore()
+ */
+public interface BodyStore {
+
+  /**
+   * Loads the body that is stored under the given key.
+   *
+   * @return the body, or an empty optional if no body is stored under the key or if it can not be
+   *     loaded
+   */
+  @Nonnull
+  Optional<Body> load(@Nonnull String key);
+
+  /**
+   * Stores the body under the given key. A body that can not be stored is skipped, since it can be
+   * resolved again.
+   */
+  void store(@Nonnull String key, @Nonnull Body body);
+}
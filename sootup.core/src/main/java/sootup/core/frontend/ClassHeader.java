@@ -0,0 +1,133 @@
+package sootup.core.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Objects;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+
+/**
+ * The header of a class, i.e. its modifiers, its superclass and its directly implemented or
+ * extended interfaces. A header contains everything that is needed to build a type hierarchy and
+ * can usually be read without parsing the members of the class, which makes it much cheaper than a
+ * {@link SootClass}.
+ */
+public final class ClassHeader {
+
+  @Nonnull private final ClassType classType;
+  @Nonnull private final Set<ClassModifier> modifiers;
+  @Nullable private final ClassType superclass;
+  @Nonnull private final Set<ClassType> interfaces;
+
+  public ClassHeader(
+      @Nonnull ClassType classType,
+      @Nonnull Set<ClassModifier> modifiers,
+      @Nullable ClassType superclass,
+      @Nonnull Collection<? extends ClassType> interfaces) {
+    this.classType = classType;
+    this.modifiers =
+        modifiers.isEmpty()
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(EnumSet.copyOf(modifiers));
+    this.superclass = superclass;
+    this.interfaces = Collections.unmodifiableSet(new LinkedHashSet<>(interfaces));
+  }
+
+  /** Creates the header of an already resolved class. */
+  @Nonnull
+  public static ClassHeader of(@Nonnull SootClass<?> sootClass) {
+    return new ClassHeader(
+        sootClass.getType(),
+        sootClass.getModifiers(),
+        sootClass.getSuperclass().orElse(null),
+        sootClass.getInterfaces());
+  }
+
+  /** Creates the header of a class from its class source without resolving its members. */
+  @Nonnull
+  public static ClassHeader of(@Nonnull SootClassSource<?> classSource) {
+    return new ClassHeader(
+        classSource.getClassType(),
+        classSource.resolveModifiers(),
+        classSource.resolveSuperclass().orElse(null),
+        classSource.resolveInterfaces());
+  }
+
+  @Nonnull
+  public ClassType getType() {
+    return classType;
+  }
+
+  @Nonnull
+  public Set<ClassModifier> getModifiers() {
+    return modifiers;
+  }
+
+  @Nonnull
+  public Optional<ClassType> getSuperclass() {
+    return Optional.ofNullable(superclass);
+  }
+
+  @Nonnull
+  public Set<ClassType> getInterfaces() {
+    return interfaces;
+  }
+
+  public boolean isInterface() {
+    return ClassModifier.isInterface(modifiers);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ClassHeader that = (ClassHeader) o;
+    return classType.equals(that.classType)
+        && modifiers.equals(that.modifiers)
+        && Objects.equal(superclass, that.superclass)
+        && interfaces.equals(that.interfaces);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(classType, modifiers, superclass, interfaces);
+  }
+
+  @Override
+  public String toString() {
+    return "ClassHeader{" + classType + '}';
+  }
+}
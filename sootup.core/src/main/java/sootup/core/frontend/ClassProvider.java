@@ -41,6 +41,17 @@ public interface ClassProvider<T extends SootClass<? extends SootClassSource<T>>
       Path sourcePath,
       ClassType classSignature);
 
+  /**
+   * Creates the {@link ClassHeader} of the class that is stored at the given path. Providers that
+   * can read the header without parsing the whole class should override this method.
+   */
+  default Optional<ClassHeader> createClassHeader(
+      AnalysisInputLocation<? extends SootClass<?>> inputLocation,
+      Path sourcePath,
+      ClassType classSignature) {
+    return createClassSource(inputLocation, sourcePath, classSignature).map(ClassHeader::of);
+  }
+
   /** Returns the file type that is handled by this provider, e.g. class, jimple, java */
   FileType getHandledFileType();
 }
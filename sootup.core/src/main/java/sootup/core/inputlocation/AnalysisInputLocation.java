@@ -24,9 +24,13 @@ package sootup.core.inputlocation;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import sootup.core.frontend.AbstractClassSource;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.frontend.SootClassSource;
 import sootup.core.model.AbstractClass;
 import sootup.core.model.SootClass;
 import sootup.core.model.SourceType;
@@ -66,6 +70,36 @@ public interface AnalysisInputLocation<T extends AbstractClass<?>> {
   @Nonnull
   Collection<? extends AbstractClassSource<T>> getClassSources(@Nonnull View<?> view);
 
+  /**
+   * Like {@link #getClassSources(View)}, but may scan the input location in parallel on the given
+   * pool. The default scans it sequentially on the calling thread.
+   *
+   * @return The source entries.
+   */
+  @Nonnull
+  default Collection<? extends AbstractClassSource<T>> getClassSources(
+      @Nonnull View<?> view, @Nonnull ForkJoinPool pool) {
+    return getClassSources(view);
+  }
+
+  /**
+   * Scan the input location and create the {@link ClassHeader}s of all contained classes. Unlike
+   * {@link #getClassSources(View)} this only needs the supertypes and modifiers of each class, so
+   * implementations should avoid parsing the members of the classes if possible.
+   *
+   * @return The headers of all classes.
+   */
+  @Nonnull
+  default Collection<ClassHeader> getClassHeaders(@Nonnull View<?> view) {
+    return getClassSources(view).stream()
+        .map(
+            classSource ->
+                classSource instanceof SootClassSource
+                    ? ClassHeader.of((SootClassSource<?>) classSource)
+                    : ClassHeader.of((SootClass<?>) classSource.buildClass(getSourceType())))
+        .collect(Collectors.toList());
+  }
+
   /**
    * If the AnalysisInputLocation is initialized with the SourceType then this method should return
    * that specific SourceType. This is the default implementation and it returns null when no source
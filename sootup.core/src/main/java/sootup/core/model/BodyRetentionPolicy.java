@@ -0,0 +1,263 @@
+package sootup.core.model;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Decides how long the resolved {@link Body} of a {@link SootMethod} is kept in memory. A body that
+ * is not retained anymore is resolved again from the {@link sootup.core.frontend.BodySource} of its
+ * method the next time it is requested.
+ *
+ * <ul>
+ *   <li>{@link #strong()} keeps every resolved body as long as its method is alive (default)
+ *   <li>{@link #soft()} lets the garbage collector drop bodies when memory runs low
+ *   <li>{@link #weak()} lets the garbage collector drop bodies as soon as they are not used anymore
+ *   <li>{@link #leastRecentlyUsed(int)} keeps the given number of most recently used bodies across
+ *       all methods that share the policy
+ * </ul>
+ */
+public interface BodyRetentionPolicy {
+
+  /**
+   * Creates the holder for the body of a single method. The holder resolves the body with the given
+   * resolver whenever it is requested but not retained.
+   */
+  @Nonnull
+  BodyHolder createHolder(@Nonnull Supplier<Body> resolver);
+
+  /** Holds the body of a single method according to a {@link BodyRetentionPolicy}. */
+  interface BodyHolder {
+
+    /** Returns the body, resolving it if it is not retained. */
+    @Nonnull
+    Body get();
+
+    /** Returns true if the body is currently retained, i.e. {@link #get()} does not resolve it. */
+    default boolean isRetained() {
+      return getIfRetained() != null;
+    }
+
+    /** Returns the body if it is currently retained, without resolving it. */
+    @Nullable
+    Body getIfRetained();
+  }
+
+  /** Keeps every resolved body as long as its method is alive. */
+  @Nonnull
+  static BodyRetentionPolicy strong() {
+    return StrongBodyRetentionPolicy.INSTANCE;
+  }
+
+  /** Keeps resolved bodies until the garbage collector needs the memory. */
+  @Nonnull
+  static BodyRetentionPolicy soft() {
+    return ReferenceBodyRetentionPolicy.SOFT;
+  }
+
+  /** Keeps resolved bodies only as long as they are strongly referenced elsewhere. */
+  @Nonnull
+  static BodyRetentionPolicy weak() {
+    return ReferenceBodyRetentionPolicy.WEAK;
+  }
+
+  /**
+   * Keeps at most maxBodies resolved bodies of all methods that share the returned policy. If the
+   * limit is exceeded the least recently used body is dropped.
+   */
+  @Nonnull
+  static BodyRetentionPolicy leastRecentlyUsed(int maxBodies) {
+    return new LeastRecentlyUsedBodyRetentionPolicy(maxBodies);
+  }
+
+  /** Keeps every resolved body. */
+  class StrongBodyRetentionPolicy implements BodyRetentionPolicy {
+    private static final StrongBodyRetentionPolicy INSTANCE = new StrongBodyRetentionPolicy();
+
+    private StrongBodyRetentionPolicy() {}
+
+    @Nonnull
+    @Override
+    public BodyHolder createHolder(@Nonnull Supplier<Body> resolver) {
+      return new BodyHolder() {
+        @Nullable private volatile Body body;
+
+        @Nonnull
+        @Override
+        public Body get() {
+          Body result = body;
+          if (result == null) {
+            synchronized (this) {
+              result = body;
+              if (result == null) {
+                result = resolver.get();
+                body = result;
+              }
+            }
+          }
+          return result;
+        }
+
+        @Nullable
+        @Override
+        public Body getIfRetained() {
+          return body;
+        }
+      };
+    }
+  }
+
+  /** Keeps resolved bodies in a {@link SoftReference} or a {@link WeakReference}. */
+  class ReferenceBodyRetentionPolicy implements BodyRetentionPolicy {
+    private static final ReferenceBodyRetentionPolicy SOFT =
+        new ReferenceBodyRetentionPolicy(SoftReference::new);
+    private static final ReferenceBodyRetentionPolicy WEAK =
+        new ReferenceBodyRetentionPolicy(WeakReference::new);
+
+    @Nonnull private final Function<Body, Reference<Body>> referenceFactory;
+
+    private ReferenceBodyRetentionPolicy(
+        @Nonnull Function<Body, Reference<Body>> referenceFactory) {
+      this.referenceFactory = referenceFactory;
+    }
+
+    @Nonnull
+    @Override
+    public BodyHolder createHolder(@Nonnull Supplier<Body> resolver) {
+      return new BodyHolder() {
+        @Nullable private volatile Reference<Body> reference;
+
+        @Nonnull
+        @Override
+        public Body get() {
+          Body result = getIfRetained();
+          if (result == null) {
+            synchronized (this) {
+              result = getIfRetained();
+              if (result == null) {
+                result = resolver.get();
+                reference = referenceFactory.apply(result);
+              }
+            }
+          }
+          return result;
+        }
+
+        @Nullable
+        @Override
+        public Body getIfRetained() {
+          Reference<Body> ref = reference;
+          return ref == null ? null : ref.get();
+        }
+      };
+    }
+  }
+
+  /** Keeps a bounded number of the most recently used bodies. */
+  class LeastRecentlyUsedBodyRetentionPolicy implements BodyRetentionPolicy {
+    private final int maxBodies;
+    // access ordered: the eldest entry is the least recently used one
+    private final LinkedHashMap<Holder, Body> retainedBodies;
+
+    private LeastRecentlyUsedBodyRetentionPolicy(int maxBodies) {
+      if (maxBodies < 1) {
+        throw new IllegalArgumentException("At least one body has to be retained.");
+      }
+      this.maxBodies = maxBodies;
+      this.retainedBodies =
+          new LinkedHashMap<Holder, Body>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Holder, Body> eldest) {
+              if (size() > LeastRecentlyUsedBodyRetentionPolicy.this.maxBodies) {
+                eldest.getKey().retained = null;
+                return true;
+              }
+              return false;
+            }
+          };
+    }
+
+    /** Returns the number of bodies that are currently retained. */
+    public synchronized int size() {
+      return retainedBodies.size();
+    }
+
+    @Nonnull
+    @Override
+    public BodyHolder createHolder(@Nonnull Supplier<Body> resolver) {
+      return new Holder(resolver);
+    }
+
+    private class Holder implements BodyHolder {
+      @Nonnull private final Supplier<Body> resolver;
+      // the body while it is contained in retainedBodies, guarded by the lock of the policy
+      @Nullable private Body retained;
+
+      private Holder(@Nonnull Supplier<Body> resolver) {
+        this.resolver = resolver;
+      }
+
+      @Nonnull
+      @Override
+      public Body get() {
+        Body result;
+        synchronized (LeastRecentlyUsedBodyRetentionPolicy.this) {
+          result = retainedBodies.get(this);
+        }
+        if (result == null) {
+          // resolve without holding the lock of the policy, which is shared by all methods
+          synchronized (this) {
+            synchronized (LeastRecentlyUsedBodyRetentionPolicy.this) {
+              result = retainedBodies.get(this);
+            }
+            if (result == null) {
+              result = resolver.get();
+              synchronized (LeastRecentlyUsedBodyRetentionPolicy.this) {
+                retained = result;
+                retainedBodies.put(this, result);
+              }
+            }
+          }
+        }
+        return result;
+      }
+
+      /** Does not count as a use of the body, so the order of the retained bodies is kept. */
+      @Nullable
+      @Override
+      public Body getIfRetained() {
+        synchronized (LeastRecentlyUsedBodyRetentionPolicy.this) {
+          return retained;
+        }
+      }
+    }
+  }
+}
@@ -23,15 +23,27 @@ package sootup.core.model;
  */
 
 import com.google.common.base.Suppliers;
+import com.google.common.collect.Iterables;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import sootup.core.frontend.ResolveException;
 import sootup.core.frontend.SootClassSource;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.FieldSubSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.signatures.MethodSubSignature;
 import sootup.core.types.ClassType;
+import sootup.core.types.Type;
 import sootup.core.util.ImmutableUtils;
 import sootup.core.util.printer.JimplePrinter;
 
@@ -106,6 +118,92 @@ public class SootClass<S extends SootClassSource<? extends SootClass<S>>> extend
     return this._lazyFields.get();
   }
 
+  @Nonnull
+  private final Supplier<MemberIndex> lazyMemberIndex =
+      Suppliers.memoize(() -> new MemberIndex(getMethods(), getFields()));
+
+  @Override
+  @Nonnull
+  public Optional<? extends SootMethod> getMethod(@Nonnull MethodSubSignature subSignature) {
+    return Optional.ofNullable(lazyMemberIndex.get().methodsBySubSignature.get(subSignature));
+  }
+
+  @Override
+  @Nonnull
+  public Optional<? extends SootField> getField(@Nonnull FieldSubSignature subSignature) {
+    return Optional.ofNullable(lazyMemberIndex.get().fieldsBySubSignature.get(subSignature));
+  }
+
+  @Override
+  @Nonnull
+  public Optional<? extends SootField> getField(@Nonnull String name) {
+    List<SootField> fields =
+        lazyMemberIndex.get().fieldsByName.getOrDefault(name, Collections.emptyList());
+    if (fields.size() > 1) {
+      throw new ResolveException(
+          "ambiguous field: " + name + " in " + getClassSource().getClassType(),
+          getClassSource().getSourcePath());
+    }
+    return fields.isEmpty() ? Optional.empty() : Optional.of(fields.get(0));
+  }
+
+  @Override
+  @Nonnull
+  public Optional<? extends SootMethod> getMethod(
+      @Nonnull String name, @Nonnull Iterable<? extends Type> parameterTypes) {
+    SootMethod result = null;
+    for (SootMethod method : getMethodsByName(name)) {
+      if (Iterables.elementsEqual(parameterTypes, method.getParameterTypes())) {
+        if (result != null) {
+          throw new ResolveException(
+              "ambiguous method: " + name + " in " + getClassSource().getClassType(),
+              getClassSource().getSourcePath());
+        }
+        result = method;
+      }
+    }
+    return Optional.ofNullable(result);
+  }
+
+  /** Returns the methods with the given name in an immutable set. */
+  @Override
+  @Nonnull
+  public Set<? extends SootMethod> getMethodsByName(@Nonnull String name) {
+    return lazyMemberIndex.get().methodsByName.getOrDefault(name, Collections.emptySet());
+  }
+
+  /**
+   * Maps the sub-signatures and names of the members of a class to the members, so that lookups do
+   * not have to scan all members. The index is built on the first lookup.
+   */
+  private static class MemberIndex {
+    @Nonnull private final Map<MethodSubSignature, SootMethod> methodsBySubSignature;
+    @Nonnull private final Map<String, Set<SootMethod>> methodsByName;
+    @Nonnull private final Map<FieldSubSignature, SootField> fieldsBySubSignature;
+    @Nonnull private final Map<String, List<SootField>> fieldsByName;
+
+    private MemberIndex(
+        @Nonnull Set<? extends SootMethod> methods, @Nonnull Set<? extends SootField> fields) {
+      methodsBySubSignature = new HashMap<>(methods.size() * 2);
+      Map<String, Set<SootMethod>> methodsByName = new HashMap<>();
+      for (SootMethod method : methods) {
+        MethodSignature signature = method.getSignature();
+        methodsBySubSignature.putIfAbsent(signature.getSubSignature(), method);
+        methodsByName.computeIfAbsent(signature.getName(), n -> new HashSet<>()).add(method);
+      }
+      methodsByName.replaceAll((name, set) -> Collections.unmodifiableSet(set));
+      this.methodsByName = methodsByName;
+
+      fieldsBySubSignature = new HashMap<>(fields.size() * 2);
+      fieldsByName = new HashMap<>();
+      for (SootField field : fields) {
+        FieldSignature signature = field.getSignature();
+        fieldsBySubSignature.putIfAbsent(signature.getSubSignature(), field);
+        fieldsByName.computeIfAbsent(signature.getName(), n -> new ArrayList<>(1)).add(field);
+      }
+    }
+  }
+
   private final Supplier<Set<ClassModifier>> lazyModifiers =
       Suppliers.memoize(classSource::resolveModifiers);
 
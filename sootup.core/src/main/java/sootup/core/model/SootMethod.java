@@ -22,7 +22,6 @@ package sootup.core.model;
  * #L%
  */
 
-import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.io.IOException;
@@ -32,7 +31,6 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import sootup.core.IdentifierFactory;
@@ -70,6 +68,11 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
   /** Tells this method how to find out where its body lives. */
   @Nonnull protected final BodySource bodySource;
 
+  /** Tells this method how long its body is kept in memory once it has been resolved. */
+  @Nonnull protected final BodyRetentionPolicy bodyRetentionPolicy;
+
+  @Nonnull private final BodyRetentionPolicy.BodyHolder bodyHolder;
+
   /** Constructs a SootMethod object with the given attributes. */
   public SootMethod(
       @Nonnull BodySource source,
@@ -77,12 +80,34 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
       @Nonnull Iterable<MethodModifier> modifiers,
       @Nonnull Iterable<ClassType> thrownExceptions,
       @Nonnull Position position) {
+    this(
+        source,
+        methodSignature,
+        modifiers,
+        thrownExceptions,
+        position,
+        BodyRetentionPolicy.strong());
+  }
+
+  /**
+   * Constructs a SootMethod object with the given attributes whose body is retained according to
+   * the given {@link BodyRetentionPolicy}.
+   */
+  public SootMethod(
+      @Nonnull BodySource source,
+      @Nonnull MethodSignature methodSignature,
+      @Nonnull Iterable<MethodModifier> modifiers,
+      @Nonnull Iterable<ClassType> thrownExceptions,
+      @Nonnull Position position,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
     super(methodSignature, position);
 
     this.bodySource = source;
     this.parameterTypes = ImmutableUtils.immutableListOf(methodSignature.getParameterTypes());
     this.modifiers = ImmutableUtils.immutableEnumSetOf(modifiers);
     this.exceptions = ImmutableUtils.immutableListOf(thrownExceptions);
+    this.bodyRetentionPolicy = bodyRetentionPolicy;
+    this.bodyHolder = bodyRetentionPolicy.createHolder(this::lazyBodyInitializer);
   }
 
   @Nonnull
@@ -170,12 +195,13 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
     return parameterTypes;
   }
 
-  @Nonnull private final Supplier<Body> _lazyBody = Suppliers.memoize(this::lazyBodyInitializer);
-
-  /** Retrieves the active body for this method. */
+  /**
+   * Retrieves the active body for this method. Depending on the {@link BodyRetentionPolicy} of this
+   * method, the body is resolved again if it has been dropped in the meantime.
+   */
   @Nonnull
   public Body getBody() {
-    return this._lazyBody.get();
+    return bodyHolder.get();
   }
 
   /** Returns true if this method has a body. */
@@ -183,6 +209,29 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
     return isConcrete();
   }
 
+  /**
+   * Returns true if the body of this method has already been resolved, i.e. if it is held in memory
+   * and {@link #getBody()} returns it without resolving it from its {@link BodySource}.
+   */
+  public boolean isBodyResolved() {
+    return bodyHolder.isRetained();
+  }
+
+  /**
+   * Returns the body of this method if it has already been resolved, without resolving it. In
+   * contrast to checking {@link #isBodyResolved()} before {@link #getBody()}, a body that is
+   * dropped by the {@link BodyRetentionPolicy} in between is not resolved again.
+   */
+  @Nonnull
+  public Optional<Body> getResolvedBody() {
+    return Optional.ofNullable(bodyHolder.getIfRetained());
+  }
+
+  @Nonnull
+  public BodyRetentionPolicy getBodyRetentionPolicy() {
+    return bodyRetentionPolicy;
+  }
+
   @Nonnull
   public BodySource getBodySource() {
     return bodySource;
@@ -261,24 +310,36 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
         getSignature(),
         getModifiers(),
         exceptions,
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
   public SootMethod withSource(BodySource source) {
-    return new SootMethod(source, getSignature(), getModifiers(), exceptions, getPosition());
+    return new SootMethod(
+        source, getSignature(), getModifiers(), exceptions, getPosition(), bodyRetentionPolicy);
   }
 
   @Nonnull
   public SootMethod withModifiers(Iterable<MethodModifier> modifiers) {
     return new SootMethod(
-        bodySource, getSignature(), modifiers, getExceptionSignatures(), getPosition());
+        bodySource,
+        getSignature(),
+        modifiers,
+        getExceptionSignatures(),
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
   public SootMethod withThrownExceptions(Iterable<ClassType> thrownExceptions) {
     return new SootMethod(
-        bodySource, getSignature(), getModifiers(), thrownExceptions, getPosition());
+        bodySource,
+        getSignature(),
+        getModifiers(),
+        thrownExceptions,
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   @Nonnull
@@ -288,7 +349,8 @@ public class SootMethod extends SootClassMember<MethodSignature> implements Meth
         getSignature(),
         getModifiers(),
         exceptions,
-        getPosition());
+        getPosition(),
+        bodyRetentionPolicy);
   }
 
   /**
@@ -22,11 +22,18 @@ package sootup.core.transform;
  * #L%
  */
 
+import java.util.Optional;
 import javax.annotation.Nonnull;
 import sootup.core.model.Body;
 import sootup.core.views.View;
 
-/** @see #interceptBody(Body.BodyBuilder, View) */
+/**
+ * Transforms bodies while they are resolved. The same interceptor is applied to the bodies of all
+ * methods of an input location, possibly by several threads at the same time (see {@code
+ * JavaView#resolveBodies}), so implementations must not keep state of a single body in fields.
+ *
+ * @see #interceptBody(Body.BodyBuilder, View)
+ */
 public interface BodyInterceptor {
 
   /**
@@ -37,4 +44,23 @@ public interface BodyInterceptor {
    * @param view
    */
   void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View<?> view);
+
+  /**
+   * Returns a fingerprint of this interceptor and its configuration, which is part of the key of
+   * the bodies in a {@link sootup.core.frontend.BodyStore}. Interceptors with equal fingerprints
+   * must transform bodies in the same way, so interceptors that are configurable have to add their
+   * parameters, and decorators the fingerprint of their delegates.
+   *
+   * <p>The default is the name of the class, or nothing for lambdas, whose class names are not
+   * stable. Bodies that are intercepted by an interceptor without a fingerprint are neither loaded
+   * from nor written to a body store.
+   */
+  @Nonnull
+  default Optional<String> getFingerprint() {
+    Class<?> interceptorClass = getClass();
+    if (interceptorClass.isSynthetic()) {
+      return Optional.empty();
+    }
+    return Optional.of(interceptorClass.getName());
+  }
 }
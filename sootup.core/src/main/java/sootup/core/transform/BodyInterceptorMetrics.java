@@ -0,0 +1,394 @@
+package sootup.core.transform;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.model.Body;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.views.View;
+
+/**
+ * Records the wall time, the number of invocations and optionally the allocated bytes of {@link
+ * BodyInterceptor}s. The interceptors of an input location are instrumented by passing the list
+ * returned by {@link #instrument(List)} to the input location instead of the original list, e.g.
+ *
+ * <pre>{@code
+ * BodyInterceptorMetrics metrics = new BodyInterceptorMetrics(true, false);
+ * List<BodyInterceptor> interceptors =
+ *     metrics.instrument(BytecodeBodyInterceptors.Default.bodyInterceptors());
+ * AnalysisInputLocation location =
+ *     PathBasedAnalysisInputLocation.create(path, SourceType.Application, interceptors);
+ * }</pre>
+ *
+ * <p>Interceptors that are not instrumented run without any overhead. The metrics are thread-safe,
+ * so the bodies can be resolved in parallel.
+ */
+public class BodyInterceptorMetrics {
+
+  /** The default number of methods whose metrics are recorded separately. */
+  public static final int DEFAULT_MAX_RECORDED_METHODS = 10_000;
+
+  private final boolean recordMethods;
+  private final int maxRecordedMethods;
+  @Nullable private final AllocationCounter allocationCounter;
+
+  /** the counters of all instrumented interceptors in the order in which they were instrumented */
+  @Nonnull private final Map<BodyInterceptor, Counter> counters = new LinkedHashMap<>();
+
+  @Nonnull
+  private final Map<MethodSignature, Map<BodyInterceptor, Counter>> methodCounters =
+      new ConcurrentHashMap<>();
+
+  /** Creates metrics that record the wall time and the number of invocations per interceptor. */
+  public BodyInterceptorMetrics() {
+    this(false, false);
+  }
+
+  /**
+   * @param recordAllocatedBytes whether the bytes allocated by the thread that applies an
+   *     interceptor are recorded as well. They are only recorded if the JVM supports measuring the
+   *     allocations of a thread.
+   * @param recordMethods whether the metrics are recorded for each method in addition to the
+   *     totals of each interceptor, see {@link #getStatistics(MethodSignature)}. At most {@link
+   *     #DEFAULT_MAX_RECORDED_METHODS} methods are recorded.
+   */
+  public BodyInterceptorMetrics(boolean recordAllocatedBytes, boolean recordMethods) {
+    this(recordAllocatedBytes, recordMethods, DEFAULT_MAX_RECORDED_METHODS);
+  }
+
+  /**
+   * @param recordAllocatedBytes whether the bytes allocated by the thread that applies an
+   *     interceptor are recorded as well
+   * @param recordMethods whether the metrics are recorded for each method in addition to the
+   *     totals of each interceptor
+   * @param maxRecordedMethods the number of methods whose metrics are recorded separately. The
+   *     counters of a method are kept until {@link #reset()}, so the limit bounds their memory.
+   *     Methods beyond the limit are only counted in the totals.
+   */
+  public BodyInterceptorMetrics(
+      boolean recordAllocatedBytes, boolean recordMethods, int maxRecordedMethods) {
+    if (maxRecordedMethods < 0) {
+      throw new IllegalArgumentException("The number of recorded methods must not be negative.");
+    }
+    this.recordMethods = recordMethods;
+    this.maxRecordedMethods = maxRecordedMethods;
+    this.allocationCounter = recordAllocatedBytes ? AllocationCounter.find() : null;
+  }
+
+  /** Returns true if the allocated bytes are recorded. */
+  public boolean isRecordingAllocatedBytes() {
+    return allocationCounter != null;
+  }
+
+  /**
+   * Wraps the given interceptors so that their invocations are recorded by these metrics. The
+   * wrapped interceptors are applied in the same order. Instrumenting the same interceptor for
+   * several input locations records all of its invocations together. The wrapped interceptors have
+   * no {@link BodyInterceptor#getFingerprint() fingerprint}, so a body store of the view is not
+   * used for their bodies.
+   */
+  @Nonnull
+  public List<BodyInterceptor> instrument(@Nonnull List<BodyInterceptor> bodyInterceptors) {
+    List<BodyInterceptor> instrumented = new ArrayList<>(bodyInterceptors.size());
+    for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
+      Counter counter;
+      synchronized (counters) {
+        counter = counters.computeIfAbsent(bodyInterceptor, interceptor -> new Counter());
+      }
+      instrumented.add(new InstrumentedBodyInterceptor(bodyInterceptor, counter));
+    }
+    return Collections.unmodifiableList(instrumented);
+  }
+
+  /**
+   * Returns the statistics of all instrumented interceptors in the order in which they were
+   * instrumented.
+   */
+  @Nonnull
+  public Map<BodyInterceptor, InterceptorStatistics> getStatistics() {
+    Map<BodyInterceptor, InterceptorStatistics> statistics = new LinkedHashMap<>();
+    synchronized (counters) {
+      counters.forEach((interceptor, counter) -> statistics.put(interceptor, counter.snapshot()));
+    }
+    return statistics;
+  }
+
+  /** Returns the statistics of the given interceptor. */
+  @Nonnull
+  public InterceptorStatistics getStatistics(@Nonnull BodyInterceptor bodyInterceptor) {
+    Counter counter;
+    synchronized (counters) {
+      counter = counters.get(bodyInterceptor);
+    }
+    if (counter == null) {
+      throw new IllegalArgumentException(bodyInterceptor + " is not instrumented.");
+    }
+    return counter.snapshot();
+  }
+
+  /**
+   * Returns the statistics of the interceptors that were applied to the body of the given method,
+   * or an empty map if the metrics are not recorded per method.
+   */
+  @Nonnull
+  public Map<BodyInterceptor, InterceptorStatistics> getStatistics(
+      @Nonnull MethodSignature method) {
+    Map<BodyInterceptor, Counter> methodCounter = methodCounters.get(method);
+    if (methodCounter == null) {
+      return Collections.emptyMap();
+    }
+    Map<BodyInterceptor, InterceptorStatistics> statistics = new LinkedHashMap<>();
+    synchronized (counters) {
+      for (BodyInterceptor interceptor : counters.keySet()) {
+        Counter counter = methodCounter.get(interceptor);
+        if (counter != null) {
+          statistics.put(interceptor, counter.snapshot());
+        }
+      }
+    }
+    return statistics;
+  }
+
+  /**
+   * Returns the methods whose metrics are recorded, see {@link #getStatistics(MethodSignature)}.
+   * These are at most as many as the limit of recorded methods.
+   */
+  @Nonnull
+  public Set<MethodSignature> getMethods() {
+    return Collections.unmodifiableSet(methodCounters.keySet());
+  }
+
+  /** Resets all recorded metrics. */
+  public void reset() {
+    synchronized (counters) {
+      counters.values().forEach(Counter::reset);
+    }
+    methodCounters.clear();
+  }
+
+  /**
+   * Returns a table of the recorded metrics with one row per interceptor, sorted by the total wall
+   * time of the interceptors.
+   */
+  @Nonnull
+  public String report() {
+    Map<BodyInterceptor, InterceptorStatistics> statistics = getStatistics();
+    long totalNanos =
+        statistics.values().stream().mapToLong(InterceptorStatistics::getTotalNanos).sum();
+    List<Map.Entry<BodyInterceptor, InterceptorStatistics>> rows =
+        statistics.entrySet().stream()
+            .sorted(
+                Comparator.comparingLong(
+                        (Map.Entry<BodyInterceptor, InterceptorStatistics> row) ->
+                            row.getValue().getTotalNanos())
+                    .reversed())
+            .collect(Collectors.toList());
+
+    StringBuilder report = new StringBuilder();
+    report.append(
+        String.format(
+            Locale.ROOT,
+            "%-32s %12s %12s %7s %10s %10s %14s%n",
+            "interceptor",
+            "invocations",
+            "total ms",
+            "share",
+            "avg us",
+            "max us",
+            "allocated MB"));
+    for (Map.Entry<BodyInterceptor, InterceptorStatistics> row : rows) {
+      InterceptorStatistics rowStatistics = row.getValue();
+      report.append(
+          String.format(
+              Locale.ROOT,
+              "%-32s %12d %12.1f %6.1f%% %10.1f %10.1f %14s%n",
+              row.getKey().getClass().getSimpleName(),
+              rowStatistics.getInvocationCount(),
+              rowStatistics.getTotalNanos() / 1e6,
+              totalNanos == 0 ? 0.0 : 100.0 * rowStatistics.getTotalNanos() / totalNanos,
+              rowStatistics.getAverageNanos() / 1e3,
+              rowStatistics.getMaxNanos() / 1e3,
+              rowStatistics.getAllocatedBytes() < 0
+                  ? "-"
+                  : String.format(
+                      Locale.ROOT, "%.1f", rowStatistics.getAllocatedBytes() / (1024.0 * 1024))));
+    }
+    return report.toString();
+  }
+
+  @Override
+  public String toString() {
+    return report();
+  }
+
+  private long allocatedBytes() {
+    return allocationCounter == null ? 0 : allocationCounter.allocatedBytes();
+  }
+
+  private void record(
+      @Nonnull BodyInterceptor bodyInterceptor,
+      @Nonnull Counter counter,
+      @Nullable MethodSignature method,
+      long nanos,
+      long allocatedBytes) {
+    counter.add(nanos, allocatedBytes);
+    if (recordMethods && method != null) {
+      Map<BodyInterceptor, Counter> methodCounter = methodCounters.get(method);
+      if (methodCounter == null) {
+        // concurrent recordings might exceed the limit by a few methods
+        if (methodCounters.size() >= maxRecordedMethods) {
+          return;
+        }
+        methodCounter = methodCounters.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+      }
+      methodCounter
+          .computeIfAbsent(bodyInterceptor, interceptor -> new Counter())
+          .add(nanos, allocatedBytes);
+    }
+  }
+
+  /**
+   * Measures the bytes allocated by the current thread. The com.sun.management API is only used by
+   * this class, so it is not loaded unless allocations are recorded, and the metrics work on JVMs
+   * without it.
+   */
+  private static final class AllocationCounter {
+    @Nonnull private final com.sun.management.ThreadMXBean threadMXBean;
+
+    private AllocationCounter(@Nonnull com.sun.management.ThreadMXBean threadMXBean) {
+      this.threadMXBean = threadMXBean;
+    }
+
+    /** Returns a counter or null if the JVM can not measure the allocations of a thread. */
+    @Nullable
+    static AllocationCounter find() {
+      try {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+          com.sun.management.ThreadMXBean allocationMXBean =
+              (com.sun.management.ThreadMXBean) threadMXBean;
+          if (allocationMXBean.isThreadAllocatedMemorySupported()
+              && allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+            return new AllocationCounter(allocationMXBean);
+          }
+        }
+      } catch (LinkageError e) {
+        // the JVM does not provide the com.sun.management API
+      }
+      return null;
+    }
+
+    long allocatedBytes() {
+      return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+  }
+
+  /** Thread-safe counters of a single interceptor. */
+  private class Counter {
+    private final LongAdder invocationCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    void add(long nanos, long bytes) {
+      invocationCount.increment();
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      allocatedBytes.add(bytes);
+    }
+
+    void reset() {
+      invocationCount.reset();
+      totalNanos.reset();
+      maxNanos.reset();
+      allocatedBytes.reset();
+    }
+
+    @Nonnull
+    InterceptorStatistics snapshot() {
+      return new InterceptorStatistics(
+          invocationCount.sum(),
+          totalNanos.sum(),
+          maxNanos.get(),
+          isRecordingAllocatedBytes() ? allocatedBytes.sum() : -1);
+    }
+  }
+
+  /** Records the invocations of the wrapped interceptor. */
+  private class InstrumentedBodyInterceptor implements BodyInterceptor {
+    @Nonnull private final BodyInterceptor delegate;
+    @Nonnull private final Counter counter;
+
+    InstrumentedBodyInterceptor(@Nonnull BodyInterceptor delegate, @Nonnull Counter counter) {
+      this.delegate = delegate;
+      this.counter = counter;
+    }
+
+    @Override
+    public void interceptBody(@Nonnull Body.BodyBuilder builder, @Nonnull View<?> view) {
+      long allocatedBefore = allocatedBytes();
+      long start = System.nanoTime();
+      try {
+        delegate.interceptBody(builder, view);
+      } finally {
+        long nanos = System.nanoTime() - start;
+        record(
+            delegate,
+            counter,
+            builder.getMethodSignature(),
+            nanos,
+            allocatedBytes() - allocatedBefore);
+      }
+    }
+
+    /**
+     * Returns nothing, so the bodies are not taken from a body store, which would skip the
+     * interceptors, and their invocations are always recorded.
+     */
+    @Nonnull
+    @Override
+    public Optional<String> getFingerprint() {
+      return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+      return delegate.toString();
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package sootup.core.transform;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import javax.annotation.Nonnull;
+
+/**
+ * Immutable snapshot of the invocation count, the wall time and the allocated bytes of a {@link
+ * BodyInterceptor} that are recorded by {@link BodyInterceptorMetrics}.
+ */
+public final class InterceptorStatistics {
+
+  private final long invocationCount;
+  private final long totalNanos;
+  private final long maxNanos;
+  private final long allocatedBytes;
+
+  public InterceptorStatistics(
+      long invocationCount, long totalNanos, long maxNanos, long allocatedBytes) {
+    this.invocationCount = invocationCount;
+    this.totalNanos = totalNanos;
+    this.maxNanos = maxNanos;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  /** Returns how often the interceptor has been applied to a body. */
+  public long getInvocationCount() {
+    return invocationCount;
+  }
+
+  /** Returns the wall time of all invocations in nanoseconds. */
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  /** Returns the wall time of the longest invocation in nanoseconds. */
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  /** Returns the average wall time of an invocation in nanoseconds, or 0 if there was none. */
+  public double getAverageNanos() {
+    return invocationCount == 0 ? 0 : (double) totalNanos / invocationCount;
+  }
+
+  /**
+   * Returns the bytes that were allocated by all invocations, or -1 if the allocations are not
+   * recorded.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  @Nonnull
+  @Override
+  public String toString() {
+    return "InterceptorStatistics{"
+        + "invocations="
+        + invocationCount
+        + ", totalNanos="
+        + totalNanos
+        + ", maxNanos="
+        + maxNanos
+        + ", allocatedBytes="
+        + allocatedBytes
+        + '}';
+  }
+}
@@ -0,0 +1,672 @@
+package sootup.core.typehierarchy;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import com.google.common.base.Suppliers;
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.types.ClassType;
+import sootup.core.types.Type;
+import sootup.core.views.View;
+
+/**
+ * An immutable {@link TypeHierarchy} that is computed once from the {@link ClassHeader}s of a view
+ * and answers all queries from int-indexed arrays instead of traversing a graph.
+ *
+ * <p>Every type gets a dense id. Direct subtypes, direct interfaces, superclass chains and the
+ * transitive super-interfaces of each type are stored as compressed sparse rows, i.e. one array of
+ * offsets per id and one array of targets. The class tree (single inheritance) is numbered in
+ * pre-order, so all subclasses of a class form a contiguous interval and a subclass check is a
+ * range check. Subtypes of interfaces and super-interfaces of types are kept as sorted id arrays,
+ * so a check for an interface is a binary search.
+ *
+ * <p>The returned collections are unmodifiable views on these arrays, i.e. queries do not copy the
+ * result. The hierarchy does not reflect classes that are added to the view after it has been
+ * built.
+ */
+public class CompactTypeHierarchy implements TypeHierarchy {
+
+  private static final String OBJECT = "java.lang.Object";
+
+  @Nonnull private final Supplier<Index> lazyIndex;
+
+  /** Creates the hierarchy of the given view; it is built on the first query. */
+  public CompactTypeHierarchy(@Nonnull View<?> view) {
+    this.lazyIndex = Suppliers.memoize(() -> new Index(view.getClassHeaders()));
+  }
+
+  /** Creates the hierarchy of the given classes; it is built on the first query. */
+  public CompactTypeHierarchy(@Nonnull Collection<ClassHeader> classHeaders) {
+    this.lazyIndex = Suppliers.memoize(() -> new Index(classHeaders));
+  }
+
+  @Nonnull
+  @Override
+  public Set<ClassType> implementersOf(@Nonnull ClassType interfaceType) {
+    Index index = lazyIndex.get();
+    int id = index.idOf(interfaceType);
+    if (!index.isInterface[id]) {
+      throw new IllegalArgumentException("'" + interfaceType + "' is not an interface.");
+    }
+    return index.subtypesOf(id);
+  }
+
+  @Nonnull
+  @Override
+  public Set<ClassType> subclassesOf(@Nonnull ClassType classType) {
+    Index index = lazyIndex.get();
+    int id = index.idOf(classType);
+    if (index.isInterface[id]) {
+      throw new IllegalArgumentException("'" + classType + "' is not a class.");
+    }
+    return index.subtypesOf(id);
+  }
+
+  @Nonnull
+  @Override
+  public Set<ClassType> subtypesOf(@Nonnull ClassType type) {
+    Index index = lazyIndex.get();
+    return index.subtypesOf(index.idOf(type));
+  }
+
+  @Nonnull
+  @Override
+  public Set<ClassType> directSubtypesOf(@Nonnull ClassType type) {
+    Index index = lazyIndex.get();
+    return index.new IdSet(index.directSubtypes, index.idOf(type));
+  }
+
+  @Nonnull
+  @Override
+  public Set<ClassType> implementedInterfacesOf(@Nonnull ClassType type) {
+    Index index = lazyIndex.get();
+    return index.new IdSet(index.superInterfaces, index.idOf(type));
+  }
+
+  @Nonnull
+  @Override
+  public Set<ClassType> directlyImplementedInterfacesOf(@Nonnull ClassType classType) {
+    Index index = lazyIndex.get();
+    int id = index.idOf(classType);
+    if (index.isInterface[id]) {
+      throw new IllegalArgumentException(classType + " is not a class.");
+    }
+    return index.new IdSet(index.directInterfaces, id);
+  }
+
+  @Nonnull
+  @Override
+  public Set<ClassType> directlyExtendedInterfacesOf(@Nonnull ClassType interfaceType) {
+    Index index = lazyIndex.get();
+    int id = index.idOf(interfaceType);
+    if (!index.isInterface[id]) {
+      throw new IllegalArgumentException(interfaceType + " is not an interface.");
+    }
+    return index.new IdSet(index.directInterfaces, id);
+  }
+
+  @Nullable
+  @Override
+  public ClassType superClassOf(@Nonnull ClassType classType) {
+    Index index = lazyIndex.get();
+    int superClass = index.superClass[index.declaredIdOf(classType)];
+    return superClass < 0 ? null : index.types[superClass];
+  }
+
+  @Nonnull
+  @Override
+  public List<ClassType> superClassesOf(@Nonnull ClassType classType) {
+    Index index = lazyIndex.get();
+    Integer id = index.typeToId.get(classType);
+    if (id == null) {
+      logger.warn(
+          "Could not find "
+              + classType
+              + " and stopped there the resolve of superclasses of "
+              + classType);
+      return Collections.emptyList();
+    }
+    return index.new SuperClassList(id);
+  }
+
+  @Override
+  public boolean isSubtype(@Nonnull Type supertype, @Nonnull Type potentialSubtype) {
+    if (!(supertype instanceof ClassType) || !(potentialSubtype instanceof ClassType)) {
+      // arrays, null and primitive types are handled by the default implementation which calls
+      // this method again for the base types of arrays
+      return TypeHierarchy.super.isSubtype(supertype, potentialSubtype);
+    }
+    ClassType superClassType = (ClassType) supertype;
+    ClassType subClassType = (ClassType) potentialSubtype;
+    if (superClassType.getFullyQualifiedName().equals(OBJECT)) {
+      return !subClassType.getFullyQualifiedName().equals(OBJECT);
+    }
+
+    Index index = lazyIndex.get();
+    int subId = index.declaredIdOf(subClassType);
+    Integer superId = index.typeToId.get(superClassType);
+    if (superId == null) {
+      return false;
+    }
+    if (index.isInterface[superId]) {
+      return index.superInterfaces.containsSorted(subId, superId);
+    }
+    return !index.isInterface[subId]
+        && index.preorderIndex[superId] < index.preorderIndex[subId]
+        && index.preorderIndex[subId] <= index.lastPreorderIndexOfSubtree[superId];
+  }
+
+  @Override
+  public boolean isInterface(@Nonnull ClassType type) {
+    Index index = lazyIndex.get();
+    return index.isInterface[index.idOf(type)];
+  }
+
+  @Override
+  public boolean contains(ClassType type) {
+    return lazyIndex.get().typeToId.containsKey(type);
+  }
+
+  /** Returns the number of types in the hierarchy, including types that are only referenced. */
+  public int size() {
+    return lazyIndex.get().types.length;
+  }
+
+  /** Adjacency lists of all ids in compressed sparse row format. */
+  private static final class Adjacency {
+    // targets of id are targets[offsets[id]] to targets[offsets[id + 1] - 1]
+    @Nonnull final int[] offsets;
+    @Nonnull final int[] targets;
+
+    Adjacency(@Nonnull int[] offsets, @Nonnull int[] targets) {
+      this.offsets = offsets;
+      this.targets = targets;
+    }
+
+    int from(int id) {
+      return offsets[id];
+    }
+
+    int to(int id) {
+      return offsets[id + 1];
+    }
+
+    /** Requires the targets of id to be sorted. */
+    boolean containsSorted(int id, int target) {
+      return Arrays.binarySearch(targets, offsets[id], offsets[id + 1], target) >= 0;
+    }
+
+    /**
+     * Creates the adjacency of numberOfIds ids from the given edges, which are stored as pairs of
+     * source and target in the given array. The targets of each id keep the order of the edges.
+     */
+    @Nonnull
+    static Adjacency of(int numberOfIds, @Nonnull IntPairs edges) {
+      int[] offsets = new int[numberOfIds + 1];
+      for (int i = 0; i < edges.size; i++) {
+        offsets[edges.first(i) + 1]++;
+      }
+      for (int id = 0; id < numberOfIds; id++) {
+        offsets[id + 1] += offsets[id];
+      }
+      int[] targets = new int[edges.size];
+      int[] next = Arrays.copyOf(offsets, numberOfIds);
+      for (int i = 0; i < edges.size; i++) {
+        targets[next[edges.first(i)]++] = edges.second(i);
+      }
+      return new Adjacency(offsets, targets);
+    }
+
+    /** Sorts the targets of every id. */
+    @Nonnull
+    Adjacency sorted() {
+      for (int id = 0; id < offsets.length - 1; id++) {
+        Arrays.sort(targets, offsets[id], offsets[id + 1]);
+      }
+      return this;
+    }
+  }
+
+  /** A growable list of int pairs that is only used while the index is built. */
+  private static final class IntPairs {
+    @Nonnull private int[] values = new int[32];
+    private int size = 0;
+
+    void add(int first, int second) {
+      if (2 * size + 2 > values.length) {
+        values = Arrays.copyOf(values, values.length * 2);
+      }
+      values[2 * size] = first;
+      values[2 * size + 1] = second;
+      size++;
+    }
+
+    int first(int i) {
+      return values[2 * i];
+    }
+
+    int second(int i) {
+      return values[2 * i + 1];
+    }
+  }
+
+  /** The precomputed hierarchy. */
+  private static final class Index {
+    @Nonnull final Map<ClassType, Integer> typeToId;
+    @Nonnull final ClassType[] types;
+    @Nonnull final boolean[] isInterface;
+    // true if the header of the type is known, i.e. it is not only referenced by another type
+    @Nonnull final boolean[] isDeclared;
+    // the id of the superclass or -1
+    @Nonnull final int[] superClass;
+
+    @Nonnull final Adjacency directInterfaces;
+    @Nonnull final Adjacency directSubtypes;
+    // ordered from the direct superclass to the root, all other adjacencies are sorted by id
+    @Nonnull final Adjacency superClassChains;
+    @Nonnull final Adjacency superInterfaces;
+    @Nonnull final Adjacency interfaceSubtypes;
+
+    // pre-order numbering of the class tree; the subclasses of a class c are the classes with
+    // preorderIndex in (preorderIndex[c], lastPreorderIndexOfSubtree[c]]
+    @Nonnull final int[] preorder;
+    @Nonnull final int[] preorderIndex;
+    @Nonnull final int[] lastPreorderIndexOfSubtree;
+
+    Index(@Nonnull Collection<ClassHeader> classHeaders) {
+      // declared types first, so that their kind takes precedence over how they are referenced
+      typeToId = new HashMap<>();
+      Map<ClassType, ClassHeader> headers = new HashMap<>();
+      List<ClassType> typeList = new ArrayList<>();
+      List<Boolean> interfaceList = new ArrayList<>();
+      for (ClassHeader header : classHeaders) {
+        if (headers.putIfAbsent(header.getType(), header) == null) {
+          typeToId.put(header.getType(), typeList.size());
+          typeList.add(header.getType());
+          interfaceList.add(header.isInterface());
+        }
+      }
+      int numberOfDeclaredTypes = typeList.size();
+      for (int id = 0; id < numberOfDeclaredTypes; id++) {
+        ClassHeader header = headers.get(typeList.get(id));
+        header
+            .getSuperclass()
+            .ifPresent(type -> addReferencedType(type, false, typeList, interfaceList));
+        for (ClassType type : header.getInterfaces()) {
+          addReferencedType(type, true, typeList, interfaceList);
+        }
+      }
+
+      int n = typeList.size();
+      types = typeList.toArray(new ClassType[0]);
+      isInterface = new boolean[n];
+      isDeclared = new boolean[n];
+      superClass = new int[n];
+      Arrays.fill(superClass, -1);
+      IntPairs directInterfaceEdges = new IntPairs();
+      IntPairs directSubtypeEdges = new IntPairs();
+      for (int id = 0; id < n; id++) {
+        isInterface[id] = interfaceList.get(id);
+      }
+      for (int id = 0; id < numberOfDeclaredTypes; id++) {
+        isDeclared[id] = true;
+        ClassHeader header = headers.get(types[id]);
+        if (header.getSuperclass().isPresent()) {
+          superClass[id] = typeToId.get(header.getSuperclass().get());
+          if (!isInterface[id] && !isInterface[superClass[id]]) {
+            directSubtypeEdges.add(superClass[id], id);
+          }
+        }
+        for (ClassType type : header.getInterfaces()) {
+          int interfaceId = typeToId.get(type);
+          directInterfaceEdges.add(id, interfaceId);
+          if (isInterface[interfaceId]) {
+            directSubtypeEdges.add(interfaceId, id);
+          }
+        }
+      }
+      directInterfaces = Adjacency.of(n, directInterfaceEdges).sorted();
+      directSubtypes = Adjacency.of(n, directSubtypeEdges).sorted();
+
+      preorder = new int[n];
+      preorderIndex = new int[n];
+      lastPreorderIndexOfSubtree = new int[n];
+      numberClassTree();
+
+      superClassChains = computeSuperClassChains();
+      superInterfaces = computeSuperInterfaces();
+
+      IntPairs interfaceSubtypeEdges = new IntPairs();
+      for (int id = 0; id < n; id++) {
+        for (int i = superInterfaces.from(id); i < superInterfaces.to(id); i++) {
+          interfaceSubtypeEdges.add(superInterfaces.targets[i], id);
+        }
+      }
+      // the edges are added in increasing order of the subtypes, so the targets are sorted
+      interfaceSubtypes = Adjacency.of(n, interfaceSubtypeEdges);
+    }
+
+    private void addReferencedType(
+        @Nonnull ClassType type,
+        boolean referencedAsInterface,
+        @Nonnull List<ClassType> typeList,
+        @Nonnull List<Boolean> interfaceList) {
+      if (!typeToId.containsKey(type)) {
+        typeToId.put(type, typeList.size());
+        typeList.add(type);
+        interfaceList.add(referencedAsInterface);
+      }
+    }
+
+    /** Numbers the classes in pre-order of the class tree with an iterative depth first search. */
+    private void numberClassTree() {
+      Arrays.fill(preorderIndex, -1);
+      Arrays.fill(lastPreorderIndexOfSubtree, -1);
+      int[] stack = new int[types.length];
+      int[] nextChild = new int[types.length];
+      int position = 0;
+      for (int root = 0; root < types.length; root++) {
+        if (isInterface[root]
+            || (superClass[root] >= 0 && !isInterface[superClass[root]])
+            || preorderIndex[root] >= 0) {
+          continue;
+        }
+        int depth = 0;
+        stack[0] = root;
+        nextChild[root] = directSubtypes.from(root);
+        preorder[position] = root;
+        preorderIndex[root] = position++;
+        while (depth >= 0) {
+          int current = stack[depth];
+          if (nextChild[current] < directSubtypes.to(current)) {
+            int child = directSubtypes.targets[nextChild[current]++];
+            if (preorderIndex[child] >= 0) {
+              // guards against cyclic (i.e. invalid) input
+              continue;
+            }
+            stack[++depth] = child;
+            nextChild[child] = directSubtypes.from(child);
+            preorder[position] = child;
+            preorderIndex[child] = position++;
+          } else {
+            lastPreorderIndexOfSubtree[current] = position - 1;
+            depth--;
+          }
+        }
+      }
+    }
+
+    @Nonnull
+    private Adjacency computeSuperClassChains() {
+      IntPairs chainEdges = new IntPairs();
+      for (int id = 0; id < types.length; id++) {
+        // a chain is at most as long as the number of types, which guards against cycles
+        int current = superClass[id];
+        for (int steps = 0; current >= 0 && steps < types.length; steps++) {
+          chainEdges.add(id, current);
+          current = superClass[current];
+        }
+      }
+      return Adjacency.of(types.length, chainEdges);
+    }
+
+    /**
+     * Computes the transitive super-interfaces of all types. The super-interfaces of a type are its
+     * direct interfaces, their super-interfaces and the super-interfaces of its superclass.
+     */
+    @Nonnull
+    private Adjacency computeSuperInterfaces() {
+      int[][] results = new int[types.length][];
+      byte[] state = new byte[types.length];
+      int[] seen = new int[types.length];
+      for (int id = 0; id < types.length; id++) {
+        computeSuperInterfaces(id, results, state, seen);
+      }
+      int[] offsets = new int[types.length + 1];
+      for (int id = 0; id < types.length; id++) {
+        offsets[id + 1] = offsets[id] + results[id].length;
+      }
+      int[] targets = new int[offsets[types.length]];
+      for (int id = 0; id < types.length; id++) {
+        System.arraycopy(results[id], 0, targets, offsets[id], results[id].length);
+      }
+      return new Adjacency(offsets, targets);
+    }
+
+    private static final byte IN_PROGRESS = 1;
+    private static final byte DONE = 2;
+    private static final int[] NONE = new int[0];
+
+    private void computeSuperInterfaces(int id, int[][] results, byte[] state, int[] seen) {
+      if (state[id] == DONE) {
+        return;
+      }
+      if (state[id] == IN_PROGRESS) {
+        // guards against cyclic (i.e. invalid) input
+        results[id] = NONE;
+        return;
+      }
+      state[id] = IN_PROGRESS;
+      int parent = isInterface[id] ? -1 : superClass[id];
+      if (parent >= 0 && !isInterface[parent]) {
+        computeSuperInterfaces(parent, results, state, seen);
+      } else {
+        parent = -1;
+      }
+      for (int i = directInterfaces.from(id); i < directInterfaces.to(id); i++) {
+        int directInterface = directInterfaces.targets[i];
+        if (isInterface[directInterface]) {
+          computeSuperInterfaces(directInterface, results, state, seen);
+        }
+      }
+
+      // union of the super-interfaces; seen[x] == id + 1 marks x as already added
+      int[] union = new int[8];
+      int size = 0;
+      int mark = id + 1;
+      if (parent >= 0 && results[parent] != null) {
+        for (int superInterface : results[parent]) {
+          seen[superInterface] = mark;
+        }
+        union = Arrays.copyOf(results[parent], Math.max(8, results[parent].length));
+        size = results[parent].length;
+      }
+      for (int i = directInterfaces.from(id); i < directInterfaces.to(id); i++) {
+        int directInterface = directInterfaces.targets[i];
+        if (!isInterface[directInterface]) {
+          continue;
+        }
+        int[] inherited = results[directInterface] == null ? NONE : results[directInterface];
+        if (size + inherited.length + 1 > union.length) {
+          union = Arrays.copyOf(union, 2 * (size + inherited.length + 1));
+        }
+        if (seen[directInterface] != mark) {
+          seen[directInterface] = mark;
+          union[size++] = directInterface;
+        }
+        for (int superInterface : inherited) {
+          if (seen[superInterface] != mark) {
+            seen[superInterface] = mark;
+            union[size++] = superInterface;
+          }
+        }
+      }
+      int[] result = Arrays.copyOf(union, size);
+      Arrays.sort(result);
+      results[id] = result;
+      state[id] = DONE;
+    }
+
+    int idOf(@Nonnull ClassType type) {
+      Integer id = typeToId.get(type);
+      if (id == null) {
+        throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+      }
+      return id;
+    }
+
+    /** Like {@link #idOf(ClassType)}, but the header of the type has to be known. */
+    int declaredIdOf(@Nonnull ClassType type) {
+      Integer id = typeToId.get(type);
+      if (id == null || !isDeclared[id]) {
+        throw new IllegalArgumentException("Could not find '" + type + "' in the view.");
+      }
+      return id;
+    }
+
+    @Nonnull
+    Set<ClassType> subtypesOf(int id) {
+      if (isInterface[id]) {
+        return new IdSet(interfaceSubtypes, id);
+      }
+      return new SubtreeSet(preorderIndex[id] + 1, lastPreorderIndexOfSubtree[id] + 1);
+    }
+
+    /** The (sorted) targets of an id in an {@link Adjacency}. */
+    final class IdSet extends AbstractSet<ClassType> {
+      @Nonnull private final Adjacency adjacency;
+      private final int id;
+
+      IdSet(@Nonnull Adjacency adjacency, int id) {
+        this.adjacency = adjacency;
+        this.id = id;
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        if (!(o instanceof ClassType)) {
+          return false;
+        }
+        Integer target = typeToId.get(o);
+        if (target == null) {
+          return false;
+        }
+        return adjacency.containsSorted(id, target);
+      }
+
+      @Nonnull
+      @Override
+      public Iterator<ClassType> iterator() {
+        return new ArrayIterator(adjacency.targets, adjacency.from(id), adjacency.to(id));
+      }
+
+      @Override
+      public int size() {
+        return adjacency.to(id) - adjacency.from(id);
+      }
+    }
+
+    /** The classes of an interval of the pre-order numbering of the class tree. */
+    final class SubtreeSet extends AbstractSet<ClassType> {
+      private final int from;
+      private final int to;
+
+      SubtreeSet(int from, int to) {
+        this.from = from;
+        this.to = to;
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        if (!(o instanceof ClassType)) {
+          return false;
+        }
+        Integer id = typeToId.get(o);
+        return id != null && preorderIndex[id] >= from && preorderIndex[id] < to;
+      }
+
+      @Nonnull
+      @Override
+      public Iterator<ClassType> iterator() {
+        return new ArrayIterator(preorder, from, to);
+      }
+
+      @Override
+      public int size() {
+        return to - from;
+      }
+    }
+
+    /** The superclasses of a type, from the direct superclass up to the root. */
+    final class SuperClassList extends AbstractList<ClassType> {
+      private final int id;
+
+      SuperClassList(int id) {
+        this.id = id;
+      }
+
+      @Override
+      public ClassType get(int index) {
+        if (index < 0 || index >= size()) {
+          throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return types[superClassChains.targets[superClassChains.from(id) + index]];
+      }
+
+      @Override
+      public int size() {
+        return superClassChains.to(id) - superClassChains.from(id);
+      }
+    }
+
+    /** Iterates over the types of the ids in a range of an array. */
+    final class ArrayIterator implements Iterator<ClassType> {
+      @Nonnull private final int[] ids;
+      private final int to;
+      private int next;
+
+      ArrayIterator(@Nonnull int[] ids, int from, int to) {
+        this.ids = ids;
+        this.next = from;
+        this.to = to;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next < to;
+      }
+
+      @Override
+      public ClassType next() {
+        if (next >= to) {
+          throw new NoSuchElementException();
+        }
+        return types[ids[next++]];
+      }
+    }
+  }
+}
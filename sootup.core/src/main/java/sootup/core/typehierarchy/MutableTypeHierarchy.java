@@ -20,16 +20,50 @@ package sootup.core.typehierarchy;
  * <http://www.gnu.org/licenses/lgpl-2.1.html>.
  * #L%
  */
+import sootup.core.ViewChangeListener;
 import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.types.ClassType;
 
-/** For internal use only. */
-public interface MutableTypeHierarchy extends TypeHierarchy {
+/**
+ * For internal use only.
+ *
+ * <p>A mutable type hierarchy is a {@link ViewChangeListener}, so it can be registered at a {@link
+ * sootup.core.views.MutableView} to follow the classes that are added to or removed from the view.
+ */
+public interface MutableTypeHierarchy extends TypeHierarchy, ViewChangeListener {
 
   /**
    * Adds the type to the hierarchy, updating all structures to reflect its presence as if it had
-   * been a member of the hierarchy from the beginning.
+   * been a member of the hierarchy from the beginning. If the type is already contained, its
+   * supertypes are replaced by the ones of the given class.
    *
    * <p>For internal use only.
    */
   void addType(SootClass<?> sootClass);
+
+  /**
+   * Removes the type from the hierarchy, updating all structures as if it had never been a member
+   * of the hierarchy. The type is kept as long as other types of the hierarchy extend or implement
+   * it.
+   *
+   * <p>For internal use only.
+   */
+  void removeType(ClassType classType);
+
+  @Override
+  default void classAdded(SootClass sc) {
+    addType(sc);
+  }
+
+  @Override
+  default void classRemoved(SootClass sc) {
+    removeType(sc.getType());
+  }
+
+  @Override
+  default void methodAdded(SootMethod m) {}
+
+  @Override
+  default void methodRemoved(SootMethod m) {}
 }
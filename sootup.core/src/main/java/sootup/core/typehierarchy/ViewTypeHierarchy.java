@@ -21,6 +21,7 @@ package sootup.core.typehierarchy;
  * #L%
  */
 import com.google.common.base.Suppliers;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -28,6 +29,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -36,12 +39,16 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.SimpleDirectedGraph;
+import sootup.core.ViewChangeListener;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Edge;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.EdgeType;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.Vertex;
 import sootup.core.typehierarchy.ViewTypeHierarchy.ScanResult.VertexType;
 import sootup.core.types.ClassType;
+import sootup.core.views.MutableView;
 import sootup.core.views.View;
 
 /**
@@ -56,6 +63,9 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
   @Nonnull private final View<? extends SootClass<?>> view;
 
+  // guards the graph, which is patched by addType and removeType while other threads may query it
+  @Nonnull private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
   /** to allow caching use Typehierarchy.fromView() to get/create the Typehierarchy. */
   public ViewTypeHierarchy(@Nonnull View<? extends SootClass<?>> view) {
     this.view = view;
@@ -64,79 +74,99 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   @Nonnull
   @Override
   public Set<ClassType> implementersOf(@Nonnull ClassType interfaceType) {
-    Vertex vertex = lazyScanResult.get().typeToVertex.get(interfaceType);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find '" + interfaceType + "' in hierarchy.");
-    }
-    if (vertex.type != VertexType.Interface) {
-      throw new IllegalArgumentException("'" + interfaceType + "' is not an interface.");
+    lock.readLock().lock();
+    try {
+      Vertex vertex = lazyScanResult.get().typeToVertex.get(interfaceType);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find '" + interfaceType + "' in hierarchy.");
+      }
+      if (vertex.type != VertexType.Interface) {
+        throw new IllegalArgumentException("'" + interfaceType + "' is not an interface.");
+      }
+      return subtypesOf(interfaceType);
+    } finally {
+      lock.readLock().unlock();
     }
-    return subtypesOf(interfaceType);
   }
 
   @Nonnull
   @Override
   public Set<ClassType> subclassesOf(@Nonnull ClassType classType) {
-    Vertex vertex = lazyScanResult.get().typeToVertex.get(classType);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find '" + classType + "' in hierarchy.");
-    }
-    if (vertex.type != VertexType.Class) {
-      throw new IllegalArgumentException("'" + classType + "' is not a class.");
+    lock.readLock().lock();
+    try {
+      Vertex vertex = lazyScanResult.get().typeToVertex.get(classType);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find '" + classType + "' in hierarchy.");
+      }
+      if (vertex.type != VertexType.Class) {
+        throw new IllegalArgumentException("'" + classType + "' is not a class.");
+      }
+      return subtypesOf(classType);
+    } finally {
+      lock.readLock().unlock();
     }
-    return subtypesOf(classType);
   }
 
   @Nonnull
   @Override
   public Set<ClassType> subtypesOf(@Nonnull ClassType type) {
-    ScanResult scanResult = lazyScanResult.get();
-    Vertex vertex = scanResult.typeToVertex.get(type);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
-    }
+    lock.readLock().lock();
+    try {
+      ScanResult scanResult = lazyScanResult.get();
+      Vertex vertex = scanResult.typeToVertex.get(type);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+      }
 
-    Set<ClassType> subclasses = new HashSet<>();
-    // We now traverse the subgraph of the vertex to find all its subtypes
-    visitSubgraph(
-        scanResult.graph, vertex, false, subvertex -> subclasses.add(subvertex.javaClassType));
-    return subclasses;
+      Set<ClassType> subclasses = new HashSet<>();
+      // We now traverse the subgraph of the vertex to find all its subtypes
+      visitSubgraph(
+          scanResult.graph, vertex, false, subvertex -> subclasses.add(subvertex.javaClassType));
+      return subclasses;
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   @Nonnull
   @Override
   public Set<ClassType> directSubtypesOf(@Nonnull ClassType type) {
-    ScanResult scanResult = lazyScanResult.get();
-    Vertex vertex = scanResult.typeToVertex.get(type);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
-    }
-
-    Set<ClassType> subclasses = new HashSet<>();
+    lock.readLock().lock();
+    try {
+      ScanResult scanResult = lazyScanResult.get();
+      Vertex vertex = scanResult.typeToVertex.get(type);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+      }
 
-    Graph<Vertex, Edge> graph = scanResult.graph;
+      Set<ClassType> subclasses = new HashSet<>();
+
+      Graph<Vertex, Edge> graph = scanResult.graph;
+
+      switch (vertex.type) {
+        case Interface:
+          graph.incomingEdgesOf(vertex).stream()
+              .filter(
+                  edge ->
+                      edge.type == EdgeType.ClassDirectlyImplements
+                          || edge.type == EdgeType.InterfaceDirectlyExtends)
+              .map(graph::getEdgeSource)
+              .forEach(directSubclass -> subclasses.add(directSubclass.javaClassType));
+          break;
+        case Class:
+          graph.incomingEdgesOf(vertex).stream()
+              .filter(edge -> edge.type == EdgeType.ClassDirectlyExtends)
+              .map(graph::getEdgeSource)
+              .forEach(directSubclass -> subclasses.add(directSubclass.javaClassType));
+          break;
+        default:
+          throw new AssertionError("Unknown vertex type!");
+      }
 
-    switch (vertex.type) {
-      case Interface:
-        graph.incomingEdgesOf(vertex).stream()
-            .filter(
-                edge ->
-                    edge.type == EdgeType.ClassDirectlyImplements
-                        || edge.type == EdgeType.InterfaceDirectlyExtends)
-            .map(graph::getEdgeSource)
-            .forEach(directSubclass -> subclasses.add(directSubclass.javaClassType));
-        break;
-      case Class:
-        graph.incomingEdgesOf(vertex).stream()
-            .filter(edge -> edge.type == EdgeType.ClassDirectlyExtends)
-            .map(graph::getEdgeSource)
-            .forEach(directSubclass -> subclasses.add(directSubclass.javaClassType));
-        break;
-      default:
-        throw new AssertionError("Unknown vertex type!");
+      return subclasses;
+    } finally {
+      lock.readLock().unlock();
     }
-
-    return subclasses;
   }
 
   @Nonnull
@@ -188,35 +218,50 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   }
 
   public Set<ClassType> directlyImplementedInterfacesOf(@Nonnull ClassType classType) {
-    Vertex vertex = lazyScanResult.get().typeToVertex.get(classType);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find '" + classType + "' in hierarchy.");
-    }
-    if (vertex.type != VertexType.Class) {
-      throw new IllegalArgumentException(classType + " is not a class.");
+    lock.readLock().lock();
+    try {
+      Vertex vertex = lazyScanResult.get().typeToVertex.get(classType);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find '" + classType + "' in hierarchy.");
+      }
+      if (vertex.type != VertexType.Class) {
+        throw new IllegalArgumentException(classType + " is not a class.");
+      }
+      return directlyImplementedInterfacesOf(vertex)
+          .map(v -> v.javaClassType)
+          .collect(Collectors.toSet());
+    } finally {
+      lock.readLock().unlock();
     }
-    return directlyImplementedInterfacesOf(vertex)
-        .map(v -> v.javaClassType)
-        .collect(Collectors.toSet());
   }
 
   @Nonnull
   public Set<ClassType> directlyExtendedInterfacesOf(@Nonnull ClassType interfaceType) {
-    Vertex vertex = lazyScanResult.get().typeToVertex.get(interfaceType);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find " + interfaceType + " in hierarchy.");
-    }
-    if (vertex.type != VertexType.Interface) {
-      throw new IllegalArgumentException(interfaceType + " is not a class.");
+    lock.readLock().lock();
+    try {
+      Vertex vertex = lazyScanResult.get().typeToVertex.get(interfaceType);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find " + interfaceType + " in hierarchy.");
+      }
+      if (vertex.type != VertexType.Interface) {
+        throw new IllegalArgumentException(interfaceType + " is not a class.");
+      }
+      return directlyExtendedInterfacesOf(vertex)
+          .map(v -> v.javaClassType)
+          .collect(Collectors.toSet());
+    } finally {
+      lock.readLock().unlock();
     }
-    return directlyExtendedInterfacesOf(vertex)
-        .map(v -> v.javaClassType)
-        .collect(Collectors.toSet());
   }
 
   @Override
   public boolean contains(ClassType type) {
-    return lazyScanResult.get().typeToVertex.get(type) != null;
+    lock.readLock().lock();
+    try {
+      return lazyScanResult.get().typeToVertex.get(type) != null;
+    } finally {
+      lock.readLock().unlock();
+    }
   }
 
   /**
@@ -226,54 +271,64 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   @Nullable
   @Deprecated
   public ClassType directSuperClassOf(@Nonnull ClassType classType) {
-    Vertex vertex = lazyScanResult.get().typeToVertex.get(classType);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find " + classType + " in hierarchy.");
-    }
-    Graph<Vertex, Edge> graph = lazyScanResult.get().graph;
-    List<Vertex> list =
-        graph.outgoingEdgesOf(vertex).stream()
-            .filter(edge -> edge.type == EdgeType.ClassDirectlyExtends)
-            .map(graph::getEdgeTarget)
-            .collect(Collectors.toList());
-
-    if (list.isEmpty()) {
-      /* is java.lang.Object */
-      return null;
-    } else if (list.size() > 1) {
-      throw new IllegalArgumentException(classType + "cannot have multiple superclasses");
-    } else {
-      return list.get(0).javaClassType;
+    lock.readLock().lock();
+    try {
+      Vertex vertex = lazyScanResult.get().typeToVertex.get(classType);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find " + classType + " in hierarchy.");
+      }
+      Graph<Vertex, Edge> graph = lazyScanResult.get().graph;
+      List<Vertex> list =
+          graph.outgoingEdgesOf(vertex).stream()
+              .filter(edge -> edge.type == EdgeType.ClassDirectlyExtends)
+              .map(graph::getEdgeTarget)
+              .collect(Collectors.toList());
+
+      if (list.isEmpty()) {
+        /* is java.lang.Object */
+        return null;
+      } else if (list.size() > 1) {
+        throw new IllegalArgumentException(classType + "cannot have multiple superclasses");
+      } else {
+        return list.get(0).javaClassType;
+      }
+    } finally {
+      lock.readLock().unlock();
     }
   }
 
   @Nonnull
   @Override
   public Set<ClassType> implementedInterfacesOf(@Nonnull ClassType type) {
-    ScanResult scanResult = lazyScanResult.get();
-    Vertex vertex = scanResult.typeToVertex.get(type);
-
-    if (vertex == null) {
-      throw new IllegalArgumentException(
-          "Could not find " + type + " in hierarchy for view " + view);
-    }
+    lock.readLock().lock();
+    try {
+      ScanResult scanResult = lazyScanResult.get();
+      Vertex vertex = scanResult.typeToVertex.get(type);
+
+      if (vertex == null) {
+        throw new IllegalArgumentException(
+            "Could not find " + type + " in hierarchy for view " + view);
+      }
 
-    switch (vertex.type) {
-      case Class:
-        // We ascend from vertex through its superclasses to java.lang.Object.
-        // For each superclass, we take the interfaces it implements and merge
-        // them together in a Set.
-        List<Vertex> superClasses = superClassesOf(vertex, true);
-        return superClasses.stream()
-            .flatMap(this::directlyImplementedInterfacesOf)
-            .flatMap(this::selfAndImplementedInterfaces)
-            .collect(Collectors.toSet());
-      case Interface:
-        return directlyExtendedInterfacesOf(vertex)
-            .flatMap(this::selfAndImplementedInterfaces)
-            .collect(Collectors.toSet());
-      default:
-        throw new AssertionError("Unexpected vertex type!");
+      switch (vertex.type) {
+        case Class:
+          // We ascend from vertex through its superclasses to java.lang.Object.
+          // For each superclass, we take the interfaces it implements and merge
+          // them together in a Set.
+          List<Vertex> superClasses = superClassesOf(vertex, true);
+          return superClasses.stream()
+              .flatMap(this::directlyImplementedInterfacesOf)
+              .flatMap(this::selfAndImplementedInterfaces)
+              .collect(Collectors.toSet());
+        case Interface:
+          return directlyExtendedInterfacesOf(vertex)
+              .flatMap(this::selfAndImplementedInterfaces)
+              .collect(Collectors.toSet());
+        default:
+          throw new AssertionError("Unexpected vertex type!");
+      }
+    } finally {
+      lock.readLock().unlock();
     }
   }
 
@@ -307,19 +362,29 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
   }
 
   public boolean isInterface(@Nonnull ClassType type) {
-    Vertex vertex = lazyScanResult.get().typeToVertex.get(type);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+    lock.readLock().lock();
+    try {
+      Vertex vertex = lazyScanResult.get().typeToVertex.get(type);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+      }
+      return vertex.type == VertexType.Interface;
+    } finally {
+      lock.readLock().unlock();
     }
-    return vertex.type == VertexType.Interface;
   }
 
   public boolean isClass(@Nonnull ClassType type) {
-    Vertex vertex = lazyScanResult.get().typeToVertex.get(type);
-    if (vertex == null) {
-      throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+    lock.readLock().lock();
+    try {
+      Vertex vertex = lazyScanResult.get().typeToVertex.get(type);
+      if (vertex == null) {
+        throw new IllegalArgumentException("Could not find '" + type + "' in hierarchy.");
+      }
+      return vertex.type == VertexType.Class;
+    } finally {
+      lock.readLock().unlock();
     }
-    return vertex.type == VertexType.Class;
   }
   /**
    * Visits the subgraph of the specified <code>vertex</code> and calls the <code>visitor</code> for
@@ -362,22 +427,31 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
    * implementers as well as other interfaces that extend them.
    *
    * <p>In the graph structure, a type is only connected to its direct subtypes.
+   *
+   * <p>Only the {@link ClassHeader}s of the classes are needed, so the members of the classes are
+   * not resolved if the view can provide the headers on their own.
    */
   private ScanResult scanView() {
-    Map<ClassType, Vertex> typeToVertex = new HashMap<>();
-    Graph<Vertex, Edge> graph = new SimpleDirectedGraph<>(null, null, false);
+    ScanResult scanResult =
+        new ScanResult(new HashMap<>(), new SimpleDirectedGraph<>(null, null, false));
+    view.getClassHeaders().forEach(header -> addClassHeaderToGraph(header, scanResult));
 
-    view.getClasses().forEach(sootClass -> addSootClassToGraph(sootClass, typeToVertex, graph));
-    return new ScanResult(typeToVertex, graph);
+    // from now on, changes of the view are patched into the graph instead of scanning it again
+    if (view instanceof MutableView) {
+      ((MutableView) view).addChangeListener(new ChangeForwarder(this, (MutableView) view));
+    }
+    return scanResult;
   }
 
-  private static void addSootClassToGraph(
-      SootClass<?> sootClass, Map<ClassType, Vertex> typeToVertex, Graph<Vertex, Edge> graph) {
-    if (sootClass.isInterface()) {
+  private static void addClassHeaderToGraph(ClassHeader header, ScanResult scanResult) {
+    Map<ClassType, Vertex> typeToVertex = scanResult.typeToVertex;
+    Graph<Vertex, Edge> graph = scanResult.graph;
+    scanResult.declaredTypes.add(header.getType());
+    if (header.isInterface()) {
       Vertex vertex =
           typeToVertex.computeIfAbsent(
-              sootClass.getType(), type -> createAndAddInterfaceVertex(graph, type));
-      for (ClassType extendedInterface : sootClass.getInterfaces()) {
+              header.getType(), type -> createAndAddInterfaceVertex(graph, type));
+      for (ClassType extendedInterface : header.getInterfaces()) {
         Vertex extendedInterfaceVertex =
             typeToVertex.computeIfAbsent(
                 extendedInterface, type -> createAndAddInterfaceVertex(graph, type));
@@ -386,15 +460,15 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
     } else {
       Vertex vertex =
           typeToVertex.computeIfAbsent(
-              sootClass.getType(), type -> createAndAddClassVertex(graph, type));
-      for (ClassType implementedInterface : sootClass.getInterfaces()) {
+              header.getType(), type -> createAndAddClassVertex(graph, type));
+      for (ClassType implementedInterface : header.getInterfaces()) {
         Vertex implementedInterfaceVertex =
             typeToVertex.computeIfAbsent(
                 implementedInterface, type -> createAndAddInterfaceVertex(graph, type));
         graph.addEdge(
             vertex, implementedInterfaceVertex, new Edge(EdgeType.ClassDirectlyImplements));
       }
-      sootClass
+      header
           .getSuperclass()
           .ifPresent(
               superClass -> {
@@ -422,8 +496,105 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
   @Override
   public void addType(@Nonnull SootClass<?> sootClass) {
-    ScanResult scanResult = lazyScanResult.get();
-    addSootClassToGraph(sootClass, scanResult.typeToVertex, scanResult.graph);
+    lock.writeLock().lock();
+    try {
+      ScanResult scanResult = lazyScanResult.get();
+      // the supertypes of an already contained class might have changed
+      removeType(sootClass.getType());
+      addClassHeaderToGraph(ClassHeader.of(sootClass), scanResult);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void removeType(@Nonnull ClassType classType) {
+    lock.writeLock().lock();
+    try {
+      ScanResult scanResult = lazyScanResult.get();
+      if (!scanResult.declaredTypes.remove(classType)) {
+        return;
+      }
+      Graph<Vertex, Edge> graph = scanResult.graph;
+      Vertex vertex = scanResult.typeToVertex.get(classType);
+      for (Edge edge : new ArrayList<>(graph.outgoingEdgesOf(vertex))) {
+        Vertex supertypeVertex = graph.getEdgeTarget(edge);
+        graph.removeEdge(edge);
+        removeIfUnreferenced(supertypeVertex, scanResult);
+      }
+      removeIfUnreferenced(vertex, scanResult);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the vertex if its type is neither declared nor referenced by a declared type anymore,
+   * so the graph looks as if it was scanned from scratch. Vertices of types that are still
+   * referenced by a subtype are kept.
+   */
+  private static void removeIfUnreferenced(@Nonnull Vertex vertex, @Nonnull ScanResult scanResult) {
+    if (!scanResult.declaredTypes.contains(vertex.javaClassType)
+        && scanResult.graph.inDegreeOf(vertex) == 0) {
+      scanResult.graph.removeVertex(vertex);
+      scanResult.typeToVertex.remove(vertex.javaClassType);
+    }
+  }
+
+  /**
+   * Forwards the changes of a view to a hierarchy. It only holds a weak reference of the hierarchy,
+   * so the view does not keep a hierarchy alive that is not used anymore. The forwarder unregisters
+   * itself at the next change after the hierarchy has been collected.
+   */
+  private static class ChangeForwarder implements ViewChangeListener {
+    @Nonnull private final WeakReference<ViewTypeHierarchy> typeHierarchy;
+    @Nonnull private final MutableView view;
+
+    private ChangeForwarder(@Nonnull ViewTypeHierarchy typeHierarchy, @Nonnull MutableView view) {
+      this.typeHierarchy = new WeakReference<>(typeHierarchy);
+      this.view = view;
+    }
+
+    @Nullable
+    private ViewTypeHierarchy getTypeHierarchy() {
+      ViewTypeHierarchy hierarchy = typeHierarchy.get();
+      if (hierarchy == null) {
+        view.removeChangeListener(this);
+      }
+      return hierarchy;
+    }
+
+    @Override
+    public void classAdded(SootClass sc) {
+      ViewTypeHierarchy hierarchy = getTypeHierarchy();
+      if (hierarchy != null) {
+        hierarchy.classAdded(sc);
+      }
+    }
+
+    @Override
+    public void classRemoved(SootClass sc) {
+      ViewTypeHierarchy hierarchy = getTypeHierarchy();
+      if (hierarchy != null) {
+        hierarchy.classRemoved(sc);
+      }
+    }
+
+    @Override
+    public void methodAdded(SootMethod m) {
+      ViewTypeHierarchy hierarchy = getTypeHierarchy();
+      if (hierarchy != null) {
+        hierarchy.methodAdded(m);
+      }
+    }
+
+    @Override
+    public void methodRemoved(SootMethod m) {
+      ViewTypeHierarchy hierarchy = getTypeHierarchy();
+      if (hierarchy != null) {
+        hierarchy.methodRemoved(m);
+      }
+    }
   }
 
   /** Holds a vertex for each {@link ClassType} encountered during the scan. */
@@ -471,6 +642,9 @@ public class ViewTypeHierarchy implements MutableTypeHierarchy {
 
     @Nonnull final Graph<Vertex, Edge> graph;
 
+    /** Holds the types that have been added to the graph, i.e. that are not only referenced. */
+    @Nonnull final Set<ClassType> declaredTypes = new HashSet<>();
+
     private ScanResult(
         @Nonnull Map<ClassType, Vertex> typeToVertex, @Nonnull Graph<Vertex, Edge> graph) {
       this.typeToVertex = typeToVertex;
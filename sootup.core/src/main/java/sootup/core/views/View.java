@@ -24,8 +24,12 @@ package sootup.core.views;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.BodyStore;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.model.BodyRetentionPolicy;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootField;
 import sootup.core.model.SootMethod;
@@ -46,6 +50,15 @@ public interface View<T extends SootClass<?>> {
   @Nonnull
   Collection<T> getClasses();
 
+  /**
+   * Return the headers of all classes in the view, i.e. their modifiers and direct supertypes.
+   * Views should override this if they can provide the headers without resolving all classes.
+   */
+  @Nonnull
+  default Collection<ClassHeader> getClassHeaders() {
+    return getClasses().stream().map(ClassHeader::of).collect(Collectors.toList());
+  }
+
   /**
    * Return a class with given signature.
    *
@@ -65,6 +78,24 @@ public interface View<T extends SootClass<?>> {
   @Nonnull
   IdentifierFactory getIdentifierFactory();
 
+  /**
+   * Returns the {@link BodyRetentionPolicy} that decides how long the resolved bodies of the
+   * methods of this view are kept in memory.
+   */
+  @Nonnull
+  default BodyRetentionPolicy getBodyRetentionPolicy() {
+    return BodyRetentionPolicy.strong();
+  }
+
+  /**
+   * Returns the {@link BodyStore} in which the resolved bodies of the methods of this view are kept
+   * across runs, if there is one.
+   */
+  @Nonnull
+  default Optional<BodyStore> getBodyStore() {
+    return Optional.empty();
+  }
+
   @Nonnull
   default T getClassOrThrow(@Nonnull ClassType classType) {
     return getClass(classType)
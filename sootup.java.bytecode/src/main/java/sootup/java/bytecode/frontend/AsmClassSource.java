@@ -141,7 +141,8 @@ class AsmClassSource extends JavaSootClassSource {
                   modifiers,
                   exceptions,
                   convertAnnotation(annotations),
-                  NoPositionInformation.getInstance());
+                  NoPositionInformation.getInstance(),
+                  asmClassClassSourceContent.getBodyRetentionPolicy());
             })
         .collect(Collectors.toSet());
   }
@@ -20,14 +20,21 @@ package sootup.java.bytecode.frontend;
  * <http://www.gnu.org/licenses/lgpl-2.1.html>.
  * #L%
  */
+import com.google.common.base.Suppliers;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
+import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
@@ -56,10 +63,11 @@ public class AsmJavaClassProvider implements ClassProvider<JavaSootClass> {
       AnalysisInputLocation<? extends SootClass<?>> analysisInputLocation,
       Path sourcePath,
       ClassType classType) {
-    SootClassNode classNode = new SootClassNode(analysisInputLocation);
-
+    SootClassNode classNode;
     try {
-      AsmUtil.initAsmClassSource(sourcePath, classNode);
+      byte[] classFile = Files.readAllBytes(sourcePath);
+      classNode = new SootClassNode(analysisInputLocation, classFile);
+      AsmUtil.initAsmClassSource(classFile, classNode);
     } catch (IOException | IllegalArgumentException exception) {
       logger.warn(
           "ASM could not resolve class source of "
@@ -87,19 +95,71 @@ public class AsmJavaClassProvider implements ClassProvider<JavaSootClass> {
     }
   }
 
+  /**
+   * Reads only the header of the class file, i.e. its access flags, its superclass and its
+   * interfaces, which are all available from the constant pool without visiting fields and methods.
+   */
+  @Override
+  public Optional<ClassHeader> createClassHeader(
+      AnalysisInputLocation<? extends SootClass<?>> analysisInputLocation,
+      Path sourcePath,
+      ClassType classType) {
+    if (classType instanceof ModuleJavaClassType
+        && ((ModuleJavaClassType) classType)
+            .getClassName()
+            .equals(JavaModuleIdentifierFactory.MODULE_INFO_FILE)) {
+      logger.warn("Can not create ClassHeader from a module info descriptor! path:" + sourcePath);
+      return Optional.empty();
+    }
+
+    ClassReader classReader;
+    try (InputStream sourceFileInputStream = Files.newInputStream(sourcePath)) {
+      classReader = new ClassReader(sourceFileInputStream);
+    } catch (IOException | IllegalArgumentException exception) {
+      logger.warn(
+          "ASM could not read class header of "
+              + classType
+              + " in "
+              + sourcePath
+              + " causing "
+              + exception.getMessage());
+      return Optional.empty();
+    }
+
+    String superName = classReader.getSuperName();
+    return Optional.of(
+        new ClassHeader(
+            classType,
+            AsmUtil.getClassModifiers(classReader.getAccess()),
+            superName == null ? null : AsmUtil.toJimpleClassType(superName),
+            AsmUtil.asmIdToSignature(Arrays.asList(classReader.getInterfaces()))));
+  }
+
   @Override
   @Nonnull
   public FileType getHandledFileType() {
     return FileType.CLASS;
   }
 
+  /**
+   * A {@link ClassNode} that creates an {@link AsmMethodSource} for every method. The class node is
+   * built without the code of the methods, so it only keeps the content of the class file from
+   * which each method source decodes its instructions when its body is resolved.
+   */
   class SootClassNode extends ClassNode {
 
     private final AnalysisInputLocation<? extends SootClass<?>> analysisInputLocation;
+    @Nonnull private final byte[] classFile;
+    /* computed at most once per class, when the first body is looked up in the BodyStore */
+    @Nonnull private final Supplier<String> classFileHash;
 
-    SootClassNode(AnalysisInputLocation<? extends SootClass<?>> analysisInputLocation) {
+    SootClassNode(
+        AnalysisInputLocation<? extends SootClass<?>> analysisInputLocation,
+        @Nonnull byte[] classFile) {
       super(AsmUtil.SUPPORTED_ASM_OPCODE);
       this.analysisInputLocation = analysisInputLocation;
+      this.classFile = classFile;
+      this.classFileHash = Suppliers.memoize(() -> AsmUtil.sha256(classFile));
     }
 
     @Override
@@ -118,6 +178,8 @@ public class AsmJavaClassProvider implements ClassProvider<JavaSootClass> {
               desc,
               signature,
               exceptions,
+              classFile,
+              classFileHash,
               view,
               analysisInputLocation.getBodyInterceptors());
       methods.add(mn);
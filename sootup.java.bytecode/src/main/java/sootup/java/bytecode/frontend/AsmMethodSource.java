@@ -27,6 +27,7 @@ import com.google.common.base.Suppliers;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Table;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.function.BiFunction;
@@ -35,10 +36,14 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.Handle;
+import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.commons.JSRInlinerAdapter;
 import org.objectweb.asm.tree.*;
 import sootup.core.frontend.BodySource;
+import sootup.core.frontend.BodyStore;
 import sootup.core.graph.MutableBlockStmtGraph;
 import sootup.core.jimple.Jimple;
 import sootup.core.jimple.basic.*;
@@ -48,6 +53,7 @@ import sootup.core.jimple.common.ref.*;
 import sootup.core.jimple.common.stmt.*;
 import sootup.core.jimple.javabytecode.stmt.JSwitchStmt;
 import sootup.core.model.Body;
+import sootup.core.model.BodyRetentionPolicy;
 import sootup.core.model.FullPosition;
 import sootup.core.model.MethodModifier;
 import sootup.core.model.Position;
@@ -96,6 +102,11 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
 
   @Nullable private JavaClassType declaringClass;
 
+  /* the content of the class file, from which the code is decoded whenever the body is resolved */
+  @Nonnull private final byte[] classFile;
+  /* the hash of the class file, which is shared by all methods of the class */
+  @Nonnull private final Supplier<String> classFileHash;
+
   private final View<?> view;
   private final List<BodyInterceptor> bodyInterceptors;
 
@@ -114,9 +125,13 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
       @Nonnull String desc,
       @Nonnull String signature,
       @Nonnull String[] exceptions,
+      @Nonnull byte[] classFile,
+      @Nonnull Supplier<String> classFileHash,
       View<?> view,
       @Nonnull List<BodyInterceptor> bodyInterceptors) {
     super(AsmUtil.SUPPORTED_ASM_OPCODE, null, access, name, desc, signature, exceptions);
+    this.classFile = classFile;
+    this.classFileHash = classFileHash;
     this.bodyInterceptors = bodyInterceptors;
     this.view = view;
 
@@ -137,6 +152,11 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     return lazyMethodSignature.get();
   }
 
+  @Nonnull
+  BodyRetentionPolicy getBodyRetentionPolicy() {
+    return view.getBodyRetentionPolicy();
+  }
+
   void setDeclaringClass(@Nonnull ClassType declaringClass) {
     this.declaringClass = (JavaClassType) declaringClass;
   }
@@ -147,11 +167,63 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
         : StmtPositionInfo.createNoStmtPositionInfo();
   }
 
+  /**
+   * Resolves the body of this method. If the view has a {@link BodyStore}, the body is loaded from
+   * the store, and it is only converted and stored if it has not been stored yet. The store is not
+   * used if one of the body interceptors has no {@link BodyInterceptor#getFingerprint()
+   * fingerprint}.
+   */
   @Override
   @Nonnull
   public Body resolveBody(@Nonnull Iterable<MethodModifier> modifierIt) {
+    Optional<BodyStore> bodyStore = view.getBodyStore();
+    if (!bodyStore.isPresent()) {
+      return convertBody();
+    }
+    Optional<String> key = getBodyStoreKey();
+    if (!key.isPresent()) {
+      return convertBody();
+    }
+    Optional<Body> storedBody = bodyStore.get().load(key.get());
+    if (storedBody.isPresent()) {
+      return storedBody.get();
+    }
+    Body body = convertBody();
+    bodyStore.get().store(key.get(), body);
+    return body;
+  }
+
+  /**
+   * Returns the key of the body in the {@link BodyStore}. The key changes whenever the class file,
+   * the fingerprints of the body interceptors or the binary Jimple format change. There is no key
+   * if one of the interceptors has no fingerprint.
+   */
+  @Nonnull
+  private Optional<String> getBodyStoreKey() {
+    StringBuilder key = new StringBuilder();
+    key.append(BinaryJimpleFormat.VERSION).append('\0').append(classFileHash.get()).append('\0');
+    for (BodyInterceptor bodyInterceptor : bodyInterceptors) {
+      Optional<String> fingerprint = bodyInterceptor.getFingerprint();
+      if (!fingerprint.isPresent()) {
+        return Optional.empty();
+      }
+      key.append(fingerprint.get()).append('\0');
+    }
+    key.append(name).append(desc);
+    return Optional.of(AsmUtil.sha256(key.toString().getBytes(StandardCharsets.UTF_8)));
+  }
 
-    /* initialize */
+  /** Converts the code of this method into a body and applies the body interceptors. */
+  @Nonnull
+  private Body convertBody() {
+    /* initialize - the body is resolved again if it has been dropped by its BodyRetentionPolicy */
+    readCode();
+    inlineExceptionLabels.clear();
+    inlineExceptionHandlers.clear();
+    labelsToStmt.clear();
+    replacedStmt.clear();
+    currentLineNumber = -1;
+    maxLineNumber = 0;
     nextLocal = maxLocals;
     locals =
         new NonIndexOutofBoundsArrayList<>(
@@ -180,6 +252,7 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     try {
       convert();
     } catch (Exception e) {
+      dropCode();
       throw new RuntimeException("Failed to convert " + lazyMethodSignature.get(), e);
     }
 
@@ -196,6 +269,7 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     try {
       arrangeStmts(graph, preambleStmts, bodyBuilder);
     } catch (Exception e) {
+      dropCode();
       throw new RuntimeException("Failed to convert " + lazyMethodSignature.get(), e);
     }
 
@@ -214,10 +288,7 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     }
 
     /* clean up for gc */
-    locals = null;
-    stmtsThatBranchToLabel = null;
-    insnToStmt = null;
-    operandStack = null;
+    dropCode();
 
     bodyBuilder.setMethodSignature(lazyMethodSignature.get());
 
@@ -232,6 +303,60 @@ public class AsmMethodSource extends JSRInlinerAdapter implements BodySource {
     return bodyBuilder.build();
   }
 
+  /**
+   * Decodes the code of this method from the class file. The class is built without the code of
+   * its methods, so the instructions, try-catch blocks and local variables of a method are only
+   * read when its body is resolved.
+   */
+  private void readCode() {
+    JSRInlinerAdapter codeNode =
+        new JSRInlinerAdapter(
+            null, access, name, desc, signature, exceptions.toArray(new String[0]));
+    new ClassReader(classFile)
+        .accept(
+            new ClassVisitor(AsmUtil.SUPPORTED_ASM_OPCODE) {
+              @Override
+              public MethodVisitor visitMethod(
+                  int access,
+                  String name,
+                  String descriptor,
+                  String signature,
+                  String[] exceptions) {
+                return AsmMethodSource.this.name.equals(name) && desc.equals(descriptor)
+                    ? codeNode
+                    : null;
+              }
+            },
+            ClassReader.SKIP_FRAMES);
+
+    instructions = codeNode.instructions;
+    tryCatchBlocks = codeNode.tryCatchBlocks;
+    localVariables = codeNode.localVariables;
+    visibleLocalVariableAnnotations = codeNode.visibleLocalVariableAnnotations;
+    invisibleLocalVariableAnnotations = codeNode.invisibleLocalVariableAnnotations;
+    maxStack = codeNode.maxStack;
+    maxLocals = codeNode.maxLocals;
+  }
+
+  /** Drops the decoded code and everything that refers to it after the body has been built. */
+  private void dropCode() {
+    instructions = new InsnList();
+    tryCatchBlocks = Collections.emptyList();
+    localVariables = null;
+    visibleLocalVariableAnnotations = null;
+    invisibleLocalVariableAnnotations = null;
+
+    locals = null;
+    stmtsThatBranchToLabel = null;
+    insnToStmt = null;
+    operandStack = null;
+    trapHandler = null;
+    inlineExceptionLabels.clear();
+    inlineExceptionHandlers.clear();
+    labelsToStmt.clear();
+    replacedStmt.clear();
+  }
+
   @Override
   public Object resolveAnnotationsDefaultValue() {
     return resolveAnnotationsInDefaultValue(this.annotationDefault);
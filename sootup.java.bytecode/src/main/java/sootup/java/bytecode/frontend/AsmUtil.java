@@ -26,6 +26,8 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
@@ -63,18 +65,38 @@ public final class AsmUtil {
   public static final int SUPPORTED_ASM_OPCODE = Opcodes.ASM9;
 
   /**
-   * Initializes a class node.
+   * Initializes a class node without the code of its methods, which is read by the {@link
+   * AsmMethodSource} when its body is resolved.
    *
-   * @param classSource The source.
+   * @param classFile The content of the class file.
    * @param classNode The node to initialize
    */
   protected static void initAsmClassSource(
-      @Nonnull Path classSource, @Nonnull ClassVisitor classNode) throws IOException {
-    try (InputStream sourceFileInputStream = Files.newInputStream(classSource)) {
-      ClassReader clsr = new ClassReader(sourceFileInputStream);
+      @Nonnull byte[] classFile, @Nonnull ClassVisitor classNode) {
+    ClassReader clsr = new ClassReader(classFile);
+
+    clsr.accept(classNode, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+  }
 
-      clsr.accept(classNode, ClassReader.SKIP_FRAMES);
+  /**
+   * Computes the SHA-256 hash of the given data, e.g. of the content of a class file.
+   *
+   * @return the hash as a hex string
+   */
+  @Nonnull
+  static String sha256(@Nonnull byte[] data) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform has to support SHA-256
+      throw new IllegalStateException(e);
+    }
+    StringBuilder hash = new StringBuilder();
+    for (byte b : digest.digest(data)) {
+      hash.append(String.format("%02x", b));
     }
+    return hash.toString();
   }
 
   /**
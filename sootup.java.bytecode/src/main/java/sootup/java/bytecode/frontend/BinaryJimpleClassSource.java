@@ -0,0 +1,266 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.nio.BufferUnderflowException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.frontend.ResolveException;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.BodyRetentionPolicy;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.MethodModifier;
+import sootup.core.model.Position;
+import sootup.core.model.SootClass;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ClassType;
+import sootup.java.core.AnnotationUsage;
+import sootup.java.core.JavaAnnotationSootClass;
+import sootup.java.core.JavaAnnotationSootMethod;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootClassSource;
+import sootup.java.core.JavaSootField;
+import sootup.java.core.JavaSootMethod;
+
+/**
+ * A class source of a class in a {@link BinaryJimpleSnapshot}. The header of the class, i.e. its
+ * modifiers, supertypes, outer class and position, is decoded when the class source is created,
+ * its annotations, fields and methods whenever they are resolved. The bodies of the methods are
+ * decoded only when they are resolved.
+ */
+public class BinaryJimpleClassSource extends JavaSootClassSource {
+
+  @Nonnull private final BinaryJimpleSnapshot snapshot;
+  @Nonnull private final BodyRetentionPolicy bodyRetentionPolicy;
+  private final boolean isAnnotationClass;
+  @Nonnull private final Set<ClassModifier> modifiers;
+  @Nullable private final ClassType superclass;
+  @Nonnull private final Set<ClassType> interfaces;
+  @Nullable private final ClassType outerClass;
+  @Nonnull private final Position position;
+  private final int annotationsPosition;
+  private final int fieldsPosition;
+  private final int methodsPosition;
+
+  BinaryJimpleClassSource(
+      @Nonnull AnalysisInputLocation<? extends SootClass<?>> inputLocation,
+      @Nonnull BinaryJimpleSnapshot snapshot,
+      @Nonnull ClassType classType,
+      int classPosition,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
+    super(inputLocation, classType, snapshot.getPath());
+    this.snapshot = snapshot;
+    this.bodyRetentionPolicy = bodyRetentionPolicy;
+    try {
+      BinaryJimpleReader reader = snapshot.readerAt(classPosition);
+      isAnnotationClass = reader.readVarInt() == BinaryJimpleSnapshot.ANNOTATION_CLASS;
+      modifiers = AsmUtil.getClassModifiers(reader.readVarInt());
+      superclass = readOptionalType(reader);
+      int interfaceCount = reader.readLength();
+      interfaces = new HashSet<>(interfaceCount);
+      for (int i = 0; i < interfaceCount; i++) {
+        interfaces.add((ClassType) reader.readType());
+      }
+      outerClass = readOptionalType(reader);
+      position = reader.readPosition();
+
+      annotationsPosition = skipSection(reader);
+      fieldsPosition = skipSection(reader);
+      methodsPosition = reader.getBuffer().position();
+    } catch (BufferUnderflowException
+        | IndexOutOfBoundsException
+        | ClassCastException
+        | UnsupportedOperationException e) {
+      throw new IllegalArgumentException("Malformed class " + classType + " in " + snapshot, e);
+    }
+  }
+
+  @Nullable
+  private static ClassType readOptionalType(@Nonnull BinaryJimpleReader reader) {
+    return reader.readVarInt() != 0 ? (ClassType) reader.readType() : null;
+  }
+
+  /** Skips a section that is prefixed by its length and returns the position of its contents. */
+  private static int skipSection(@Nonnull BinaryJimpleReader reader) {
+    int length = reader.readLength();
+    int start = reader.getBuffer().position();
+    reader.getBuffer().position(start + length);
+    return start;
+  }
+
+  @Override
+  @Nonnull
+  public JavaSootClass buildClass(@Nonnull SourceType sourceType) {
+    return isAnnotationClass
+        ? new JavaAnnotationSootClass(this, sourceType)
+        : new JavaSootClass(this, sourceType);
+  }
+
+  @Override
+  @Nonnull
+  protected Iterable<AnnotationUsage> resolveAnnotations() {
+    try {
+      return snapshot.readerAt(annotationsPosition).readAnnotations();
+    } catch (IllegalArgumentException
+        | BufferUnderflowException
+        | IndexOutOfBoundsException
+        | ClassCastException
+        | UnsupportedOperationException e) {
+      throw malformed(e);
+    }
+  }
+
+  @Override
+  @Nonnull
+  public Collection<? extends JavaSootField> resolveFields() throws ResolveException {
+    try {
+      BinaryJimpleReader reader = snapshot.readerAt(fieldsPosition);
+      int fieldCount = reader.readLength();
+      Set<JavaSootField> fields = new HashSet<>(fieldCount);
+      for (int i = 0; i < fieldCount; i++) {
+        FieldSignature signature = reader.readFieldSignature();
+        int modifiers = reader.readVarInt();
+        Iterable<AnnotationUsage> annotations = reader.readAnnotations();
+        fields.add(
+            new JavaSootField(
+                signature,
+                AsmUtil.getFieldModifiers(modifiers),
+                annotations,
+                reader.readPosition()));
+      }
+      return fields;
+    } catch (IllegalArgumentException
+        | BufferUnderflowException
+        | IndexOutOfBoundsException
+        | ClassCastException
+        | UnsupportedOperationException e) {
+      throw malformed(e);
+    }
+  }
+
+  @Override
+  @Nonnull
+  public Collection<? extends JavaSootMethod> resolveMethods() throws ResolveException {
+    try {
+      BinaryJimpleReader reader = snapshot.readerAt(methodsPosition);
+      int methodCount = reader.readLength();
+      Set<JavaSootMethod> methods = new HashSet<>(methodCount);
+      for (int i = 0; i < methodCount; i++) {
+        methods.add(readMethod(reader));
+      }
+      return methods;
+    } catch (IllegalArgumentException
+        | BufferUnderflowException
+        | IndexOutOfBoundsException
+        | ClassCastException
+        | UnsupportedOperationException e) {
+      throw malformed(e);
+    }
+  }
+
+  @Nonnull
+  private JavaSootMethod readMethod(@Nonnull BinaryJimpleReader reader) {
+    MethodSignature signature = reader.readMethodSignature();
+    EnumSet<MethodModifier> modifiers = AsmUtil.getMethodModifiers(reader.readVarInt());
+    int exceptionCount = reader.readLength();
+    List<ClassType> exceptions = new ArrayList<>(exceptionCount);
+    for (int i = 0; i < exceptionCount; i++) {
+      exceptions.add((ClassType) reader.readType());
+    }
+    Iterable<AnnotationUsage> annotations = reader.readAnnotations();
+    Position methodPosition = reader.readPosition();
+    Object defaultValue = null;
+    if (isAnnotationClass && reader.readVarInt() != 0) {
+      defaultValue = reader.readAnnotationValue();
+    }
+    int bodyLength = reader.readLength();
+    int bodyPosition = reader.getBuffer().position();
+    reader.getBuffer().position(bodyPosition + bodyLength);
+
+    BinaryJimpleMethodSource methodSource =
+        new BinaryJimpleMethodSource(
+            snapshot, signature, bodyLength > 0 ? bodyPosition : -1, defaultValue);
+    if (isAnnotationClass) {
+      return new JavaAnnotationSootMethod(
+          methodSource, signature, modifiers, exceptions, annotations, methodPosition);
+    }
+    return new JavaSootMethod(
+        methodSource,
+        signature,
+        modifiers,
+        exceptions,
+        annotations,
+        methodPosition,
+        bodyRetentionPolicy);
+  }
+
+  @Nonnull
+  private ResolveException malformed(@Nonnull RuntimeException cause) {
+    return new ResolveException(
+        "Malformed class " + classSignature + " in the snapshot", getSourcePath(), cause);
+  }
+
+  @Override
+  @Nonnull
+  public Set<ClassModifier> resolveModifiers() {
+    return modifiers;
+  }
+
+  @Override
+  @Nonnull
+  public Set<? extends ClassType> resolveInterfaces() {
+    return interfaces;
+  }
+
+  @Override
+  @Nonnull
+  public Optional<? extends ClassType> resolveSuperclass() {
+    return Optional.ofNullable(superclass);
+  }
+
+  @Override
+  @Nonnull
+  public Optional<? extends ClassType> resolveOuterClass() {
+    return Optional.ofNullable(outerClass);
+  }
+
+  @Override
+  @Nonnull
+  public Position resolvePosition() {
+    return position;
+  }
+
+  @Override
+  public String toString() {
+    return snapshot + ":" + classSignature;
+  }
+}
@@ -0,0 +1,162 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+/**
+ * The tags of the binary Jimple format that is written by {@link BinaryJimpleWriter} and read by
+ * {@link BinaryJimpleReader}. A file starts with the {@link #MAGIC} number and the {@link
+ * #VERSION} of the format, which is incremented whenever the encoding changes.
+ *
+ * <p>Numbers are stored as variable length integers and strings as their UTF-8 bytes. Strings,
+ * types and signatures are stored in pools: the first occurrence is written inline with the
+ * marker <code>0</code> and every later occurrence refers to it by its index plus one. The locals
+ * of a body are pooled in the same way, so each local is written only once per body.
+ *
+ * <p>A snapshot of whole classes starts with the {@link #SNAPSHOT_MAGIC} number instead. Its pools
+ * are stored in a section of their own in front of the classes, so that every class and every body
+ * refers to them by index and can be read on its own.
+ */
+final class BinaryJimpleFormat {
+
+  static final int MAGIC = 0x4a494d50; // "JIMP"
+  static final int SNAPSHOT_MAGIC = 0x4a534e50; // "JSNP"
+  static final int VERSION = 1;
+
+  static final int INLINE = 0;
+
+  // entries of the pool section of a snapshot
+  static final int STRING_ENTRY = 1;
+  static final int TYPE_ENTRY = 2;
+  static final int METHOD_SIGNATURE_ENTRY = 3;
+  static final int FIELD_SIGNATURE_ENTRY = 4;
+
+  // positions
+  static final int NO_POSITION = 0;
+  static final int LINE_POSITION = 1;
+  static final int FULL_POSITION = 2;
+
+  // types
+  static final int BOOLEAN_TYPE = 1;
+  static final int BYTE_TYPE = 2;
+  static final int CHAR_TYPE = 3;
+  static final int SHORT_TYPE = 4;
+  static final int INT_TYPE = 5;
+  static final int LONG_TYPE = 6;
+  static final int FLOAT_TYPE = 7;
+  static final int DOUBLE_TYPE = 8;
+  static final int VOID_TYPE = 9;
+  static final int NULL_TYPE = 10;
+  static final int UNKNOWN_TYPE = 11;
+  static final int CLASS_TYPE = 12;
+  static final int ARRAY_TYPE = 13;
+  static final int ANNOTATION_TYPE = 14;
+
+  // locals
+  static final int LOCAL = 0;
+  static final int JAVA_LOCAL = 1;
+  static final int ANNOTATED_JAVA_LOCAL = 2;
+
+  // immediates
+  static final int LOCAL_VALUE = 1;
+  static final int BOOLEAN_CONSTANT = 2;
+  static final int INT_CONSTANT = 3;
+  static final int LONG_CONSTANT = 4;
+  static final int FLOAT_CONSTANT = 5;
+  static final int DOUBLE_CONSTANT = 6;
+  static final int NULL_CONSTANT = 7;
+  static final int STRING_CONSTANT = 8;
+  static final int CLASS_CONSTANT = 9;
+  static final int ENUM_CONSTANT = 10;
+  static final int METHOD_HANDLE = 11;
+  static final int METHOD_TYPE = 12;
+
+  // expressions
+  static final int ADD_EXPR = 20;
+  static final int AND_EXPR = 21;
+  static final int CMP_EXPR = 22;
+  static final int CMPG_EXPR = 23;
+  static final int CMPL_EXPR = 24;
+  static final int DIV_EXPR = 25;
+  static final int EQ_EXPR = 26;
+  static final int NE_EXPR = 27;
+  static final int GE_EXPR = 28;
+  static final int GT_EXPR = 29;
+  static final int LE_EXPR = 30;
+  static final int LT_EXPR = 31;
+  static final int MUL_EXPR = 32;
+  static final int OR_EXPR = 33;
+  static final int REM_EXPR = 34;
+  static final int SHL_EXPR = 35;
+  static final int SHR_EXPR = 36;
+  static final int USHR_EXPR = 37;
+  static final int SUB_EXPR = 38;
+  static final int XOR_EXPR = 39;
+  static final int SPECIAL_INVOKE_EXPR = 40;
+  static final int VIRTUAL_INVOKE_EXPR = 41;
+  static final int INTERFACE_INVOKE_EXPR = 42;
+  static final int STATIC_INVOKE_EXPR = 43;
+  static final int DYNAMIC_INVOKE_EXPR = 44;
+  static final int CAST_EXPR = 45;
+  static final int INSTANCE_OF_EXPR = 46;
+  static final int NEW_ARRAY_EXPR = 47;
+  static final int NEW_MULTI_ARRAY_EXPR = 48;
+  static final int NEW_EXPR = 49;
+  static final int LENGTH_EXPR = 50;
+  static final int NEG_EXPR = 51;
+
+  // references
+  static final int STATIC_FIELD_REF = 60;
+  static final int INSTANCE_FIELD_REF = 61;
+  static final int ARRAY_REF = 62;
+  static final int PARAMETER_REF = 63;
+  static final int CAUGHT_EXCEPTION_REF = 64;
+  static final int THIS_REF = 65;
+
+  // statements
+  static final int NOP_STMT = 1;
+  static final int BREAKPOINT_STMT = 2;
+  static final int INVOKE_STMT = 3;
+  static final int ASSIGN_STMT = 4;
+  static final int IDENTITY_STMT = 5;
+  static final int ENTER_MONITOR_STMT = 6;
+  static final int EXIT_MONITOR_STMT = 7;
+  static final int GOTO_STMT = 8;
+  static final int IF_STMT = 9;
+  static final int RET_STMT = 10;
+  static final int RETURN_STMT = 11;
+  static final int RETURN_VOID_STMT = 12;
+  static final int TABLE_SWITCH_STMT = 13;
+  static final int LOOKUP_SWITCH_STMT = 14;
+  static final int THROW_STMT = 15;
+
+  // position infos of statements
+  static final int NO_STMT_POSITION = 0;
+  static final int SIMPLE_STMT_POSITION = 1;
+
+  // annotation values
+  static final int CONSTANT_ANNOTATION_VALUE = 1;
+  static final int ARRAY_ANNOTATION_VALUE = 2;
+  static final int ANNOTATION_ANNOTATION_VALUE = 3;
+
+  private BinaryJimpleFormat() {}
+}
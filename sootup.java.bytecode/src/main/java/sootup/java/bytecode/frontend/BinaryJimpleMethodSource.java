@@ -0,0 +1,79 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.frontend.BodySource;
+import sootup.core.frontend.ResolveException;
+import sootup.core.model.Body;
+import sootup.core.model.MethodModifier;
+import sootup.core.signatures.MethodSignature;
+
+/** The body source of a method in a {@link BinaryJimpleSnapshot}, which decodes the stored body. */
+class BinaryJimpleMethodSource implements BodySource {
+
+  @Nonnull private final BinaryJimpleSnapshot snapshot;
+  @Nonnull private final MethodSignature signature;
+  // the position of the body in the snapshot, or -1 if the method has no body
+  private final int bodyPosition;
+  @Nullable private final Object annotationDefaultValue;
+
+  BinaryJimpleMethodSource(
+      @Nonnull BinaryJimpleSnapshot snapshot,
+      @Nonnull MethodSignature signature,
+      int bodyPosition,
+      @Nullable Object annotationDefaultValue) {
+    this.snapshot = snapshot;
+    this.signature = signature;
+    this.bodyPosition = bodyPosition;
+    this.annotationDefaultValue = annotationDefaultValue;
+  }
+
+  @Override
+  @Nonnull
+  public Body resolveBody(@Nonnull Iterable<MethodModifier> modifiers) {
+    if (bodyPosition < 0) {
+      throw new ResolveException(
+          "The snapshot contains no body of " + signature, snapshot.getPath());
+    }
+    try {
+      return snapshot.readerAt(bodyPosition).readBody();
+    } catch (IllegalArgumentException e) {
+      throw new ResolveException(
+          "Malformed body of " + signature + " in the snapshot", snapshot.getPath(), e);
+    }
+  }
+
+  @Override
+  @Nullable
+  public Object resolveAnnotationsDefaultValue() {
+    return annotationDefaultValue;
+  }
+
+  @Override
+  @Nonnull
+  public MethodSignature getSignature() {
+    return signature;
+  }
+}
@@ -0,0 +1,830 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static sootup.java.bytecode.frontend.BinaryJimpleFormat.*;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import sootup.core.IdentifierFactory;
+import sootup.core.graph.MutableBlockStmtGraph;
+import sootup.core.jimple.Jimple;
+import sootup.core.jimple.basic.Immediate;
+import sootup.core.jimple.basic.LValue;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.jimple.basic.SimpleStmtPositionInfo;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.*;
+import sootup.core.jimple.common.expr.*;
+import sootup.core.jimple.common.ref.*;
+import sootup.core.jimple.common.stmt.*;
+import sootup.core.jimple.javabytecode.stmt.*;
+import sootup.core.model.Body;
+import sootup.core.model.FullPosition;
+import sootup.core.model.LinePosition;
+import sootup.core.model.Position;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.core.types.NullType;
+import sootup.core.types.PrimitiveType;
+import sootup.core.types.Type;
+import sootup.core.types.UnknownType;
+import sootup.core.types.VoidType;
+import sootup.java.core.AnnotationUsage;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.jimple.basic.JavaLocal;
+import sootup.java.core.language.JavaJimple;
+import sootup.java.core.types.AnnotationType;
+
+/**
+ * Reads bodies that have been written by a {@link BinaryJimpleWriter}. The reader decodes the
+ * given buffer in place, so a memory mapped file is read without copying it first.
+ */
+public class BinaryJimpleReader {
+
+  @Nonnull private final ByteBuffer buffer;
+  @Nonnull private final IdentifierFactory identifierFactory;
+
+  @Nonnull private final List<String> strings;
+  @Nonnull private final List<Type> types;
+  @Nonnull private final List<MethodSignature> methodSignatures;
+  @Nonnull private final List<FieldSignature> fieldSignatures;
+  @Nonnull private final List<Local> locals = new ArrayList<>();
+
+  /** Creates a reader of Java bodies. */
+  public BinaryJimpleReader(@Nonnull ByteBuffer buffer) {
+    this(buffer, JavaIdentifierFactory.getInstance());
+  }
+
+  /**
+   * Creates a reader and reads the header of the format.
+   *
+   * @throws IllegalArgumentException if the buffer does not start with the header of the current
+   *     version of the format
+   */
+  public BinaryJimpleReader(
+      @Nonnull ByteBuffer buffer, @Nonnull IdentifierFactory identifierFactory) {
+    this(
+        buffer,
+        identifierFactory,
+        new ArrayList<>(),
+        new ArrayList<>(),
+        new ArrayList<>(),
+        new ArrayList<>());
+    readHeader(MAGIC);
+  }
+
+  private BinaryJimpleReader(
+      @Nonnull ByteBuffer buffer,
+      @Nonnull IdentifierFactory identifierFactory,
+      @Nonnull List<String> strings,
+      @Nonnull List<Type> types,
+      @Nonnull List<MethodSignature> methodSignatures,
+      @Nonnull List<FieldSignature> fieldSignatures) {
+    this.buffer = buffer;
+    this.identifierFactory = identifierFactory;
+    this.strings = strings;
+    this.types = types;
+    this.methodSignatures = methodSignatures;
+    this.fieldSignatures = fieldSignatures;
+  }
+
+  /** Creates a reader of data without a header, e.g. of a snapshot that checks its own header. */
+  @Nonnull
+  static BinaryJimpleReader withoutHeader(
+      @Nonnull ByteBuffer buffer, @Nonnull IdentifierFactory identifierFactory) {
+    return new BinaryJimpleReader(
+        buffer,
+        identifierFactory,
+        new ArrayList<>(),
+        new ArrayList<>(),
+        new ArrayList<>(),
+        new ArrayList<>());
+  }
+
+  /**
+   * Creates a reader of the given buffer that refers to the pools of this reader, e.g. to read a
+   * class or a body of a snapshot after its pool section. The pools can not be modified by the new
+   * reader, so any number of them can be used concurrently.
+   */
+  @Nonnull
+  BinaryJimpleReader withBuffer(@Nonnull ByteBuffer buffer) {
+    return new BinaryJimpleReader(
+        buffer,
+        identifierFactory,
+        Collections.unmodifiableList(strings),
+        Collections.unmodifiableList(types),
+        Collections.unmodifiableList(methodSignatures),
+        Collections.unmodifiableList(fieldSignatures));
+  }
+
+  /**
+   * Reads and checks the magic number and the version of the format.
+   *
+   * @throws IllegalArgumentException if the buffer does not start with the given magic number and
+   *     the current version of the format
+   */
+  void readHeader(int magic) {
+    try {
+      if (readFixedInt() != magic) {
+        throw new IllegalArgumentException("The data is not in the binary Jimple format");
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("The data is not in the binary Jimple format", e);
+    }
+    int version = readVarInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException(
+          "Unsupported version " + version + " of the binary Jimple format");
+    }
+  }
+
+  /** Reads the entries of the pool section of a snapshot up to the given position of the buffer. */
+  void readPoolEntries(int end) {
+    while (buffer.position() < end) {
+      int tag = readVarInt();
+      switch (tag) {
+        case STRING_ENTRY:
+          readString();
+          break;
+        case TYPE_ENTRY:
+          readType();
+          break;
+        case METHOD_SIGNATURE_ENTRY:
+          readMethodSignature();
+          break;
+        case FIELD_SIGNATURE_ENTRY:
+          readFieldSignature();
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown pool entry tag " + tag);
+      }
+    }
+  }
+
+  /** Returns the factory that creates the types and signatures that are read. */
+  @Nonnull
+  IdentifierFactory getIdentifierFactory() {
+    return identifierFactory;
+  }
+
+  /** Returns the buffer that is read, whose position is the position of the next value. */
+  @Nonnull
+  ByteBuffer getBuffer() {
+    return buffer;
+  }
+
+  /** Reads a body from the given bytes. */
+  @Nonnull
+  public static Body read(@Nonnull byte[] bytes) {
+    return new BinaryJimpleReader(ByteBuffer.wrap(bytes)).readBody();
+  }
+
+  /**
+   * Reads the next body.
+   *
+   * @throws IllegalArgumentException if the data is malformed
+   */
+  @Nonnull
+  public Body readBody() {
+    try {
+      MethodSignature methodSignature = readMethodSignature();
+      Position position = readPosition();
+
+      locals.clear();
+      int localCount = readLength();
+      Set<Local> bodyLocals = new LinkedHashSet<>(localCount);
+      for (int i = 0; i < localCount; i++) {
+        bodyLocals.add(readLocal());
+      }
+
+      int stmtCount = readLength();
+      List<Stmt> stmts = new ArrayList<>(stmtCount);
+      for (int i = 0; i < stmtCount; i++) {
+        stmts.add(readStmt(readPositionInfo()));
+      }
+      MutableBlockStmtGraph graph = new MutableBlockStmtGraph();
+      if (stmtCount > 0) {
+        graph.setStartingStmt(stmts.get(readVarInt()));
+      }
+
+      int blockCount = readLength();
+      List<Stmt> tails = new ArrayList<>(blockCount);
+      List<List<Stmt>> successors = new ArrayList<>(blockCount);
+      for (int i = 0; i < blockCount; i++) {
+        int head = readVarInt();
+        List<Stmt> blockStmts = stmts.subList(head, head + readVarInt());
+        tails.add(blockStmts.get(blockStmts.size() - 1));
+
+        int successorCount = readLength();
+        List<Stmt> blockSuccessors = new ArrayList<>(successorCount);
+        for (int j = 0; j < successorCount; j++) {
+          blockSuccessors.add(stmts.get(readVarInt()));
+        }
+        successors.add(blockSuccessors);
+
+        int exceptionalSuccessorCount = readLength();
+        Map<ClassType, Stmt> exceptionalSuccessors = new LinkedHashMap<>();
+        for (int j = 0; j < exceptionalSuccessorCount; j++) {
+          ClassType exceptionType = (ClassType) readType();
+          exceptionalSuccessors.put(exceptionType, stmts.get(readVarInt()));
+        }
+        graph.addBlock(blockStmts, exceptionalSuccessors);
+      }
+
+      // link the blocks after all of them exist, so that no block has to be split
+      for (int i = 0; i < blockCount; i++) {
+        Stmt tail = tails.get(i);
+        List<Stmt> blockSuccessors = successors.get(i);
+        for (int j = 0; j < blockSuccessors.size(); j++) {
+          if (tail instanceof BranchingStmt) {
+            graph.putEdge((BranchingStmt) tail, j, blockSuccessors.get(j));
+          } else {
+            graph.putEdge((FallsThroughStmt) tail, blockSuccessors.get(j));
+          }
+        }
+      }
+
+      return Body.builder(graph)
+          .setMethodSignature(methodSignature)
+          .setPosition(position)
+          .setLocals(bodyLocals)
+          .build();
+    } catch (BufferUnderflowException
+        | IndexOutOfBoundsException
+        | ClassCastException
+        | UnsupportedOperationException e) {
+      throw new IllegalArgumentException("Malformed binary Jimple data", e);
+    }
+  }
+
+  @Nonnull
+  public String readString() {
+    int index = readVarInt();
+    if (index != INLINE) {
+      return strings.get(index - 1);
+    }
+    int length = readLength();
+    String value;
+    if (buffer.hasArray()) {
+      value =
+          new String(
+              buffer.array(),
+              buffer.arrayOffset() + buffer.position(),
+              length,
+              StandardCharsets.UTF_8);
+      buffer.position(buffer.position() + length);
+    } else {
+      byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+    }
+    strings.add(value);
+    return value;
+  }
+
+  @Nonnull
+  public Type readType() {
+    int index = readVarInt();
+    if (index != INLINE) {
+      return types.get(index - 1);
+    }
+    Type type;
+    int tag = readVarInt();
+    switch (tag) {
+      case BOOLEAN_TYPE:
+        type = PrimitiveType.getBoolean();
+        break;
+      case BYTE_TYPE:
+        type = PrimitiveType.getByte();
+        break;
+      case CHAR_TYPE:
+        type = PrimitiveType.getChar();
+        break;
+      case SHORT_TYPE:
+        type = PrimitiveType.getShort();
+        break;
+      case INT_TYPE:
+        type = PrimitiveType.getInt();
+        break;
+      case LONG_TYPE:
+        type = PrimitiveType.getLong();
+        break;
+      case FLOAT_TYPE:
+        type = PrimitiveType.getFloat();
+        break;
+      case DOUBLE_TYPE:
+        type = PrimitiveType.getDouble();
+        break;
+      case VOID_TYPE:
+        type = VoidType.getInstance();
+        break;
+      case NULL_TYPE:
+        type = NullType.getInstance();
+        break;
+      case UNKNOWN_TYPE:
+        type = UnknownType.getInstance();
+        break;
+      case CLASS_TYPE:
+        type = identifierFactory.getClassType(readString());
+        break;
+      case ANNOTATION_TYPE:
+        type = getAnnotationType(readString());
+        break;
+      case ARRAY_TYPE:
+        Type baseType = readType();
+        type = identifierFactory.getArrayType(baseType, readVarInt());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown type tag " + tag);
+    }
+    types.add(type);
+    return type;
+  }
+
+  @Nonnull
+  public MethodSignature readMethodSignature() {
+    int index = readVarInt();
+    if (index != INLINE) {
+      return methodSignatures.get(index - 1);
+    }
+    ClassType declaringClass = (ClassType) readType();
+    String name = readString();
+    Type returnType = readType();
+    List<Type> parameterTypes = readTypes();
+    MethodSignature signature =
+        identifierFactory.getMethodSignature(declaringClass, name, returnType, parameterTypes);
+    methodSignatures.add(signature);
+    return signature;
+  }
+
+  @Nonnull
+  public FieldSignature readFieldSignature() {
+    int index = readVarInt();
+    if (index != INLINE) {
+      return fieldSignatures.get(index - 1);
+    }
+    ClassType declaringClass = (ClassType) readType();
+    String name = readString();
+    Type type = readType();
+    FieldSignature signature = identifierFactory.getFieldSignature(name, declaringClass, type);
+    fieldSignatures.add(signature);
+    return signature;
+  }
+
+  @Nonnull
+  private List<Type> readTypes() {
+    int count = readLength();
+    List<Type> types = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      types.add(readType());
+    }
+    return types;
+  }
+
+  @Nonnull
+  public Position readPosition() {
+    int tag = readVarInt();
+    switch (tag) {
+      case NO_POSITION:
+        return NoPositionInformation.getInstance();
+      case LINE_POSITION:
+        return new LinePosition(readSignedVarInt());
+      case FULL_POSITION:
+        return new FullPosition(
+            readSignedVarInt(), readSignedVarInt(), readSignedVarInt(), readSignedVarInt());
+      default:
+        throw new IllegalArgumentException("Unknown position tag " + tag);
+    }
+  }
+
+  @Nonnull
+  private StmtPositionInfo readPositionInfo() {
+    int tag = readVarInt();
+    switch (tag) {
+      case NO_STMT_POSITION:
+        return StmtPositionInfo.createNoStmtPositionInfo();
+      case SIMPLE_STMT_POSITION:
+        return new SimpleStmtPositionInfo(readPosition());
+      default:
+        throw new IllegalArgumentException("Unknown position info tag " + tag);
+    }
+  }
+
+  @Nonnull
+  private Local readLocal() {
+    int index = readVarInt();
+    if (index != INLINE) {
+      return locals.get(index - 1);
+    }
+    Local local;
+    int tag = readVarInt();
+    switch (tag) {
+      case JAVA_LOCAL:
+        local = new JavaLocal(readString(), readType(), Collections.emptyList());
+        break;
+      case ANNOTATED_JAVA_LOCAL:
+        List<AnnotationUsage> annotations = readAnnotations();
+        local = new JavaLocal(readString(), readType(), annotations);
+        break;
+      case LOCAL:
+        Position position = readPosition();
+        local = new Local(readString(), readType(), position);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown local tag " + tag);
+    }
+    locals.add(local);
+    return local;
+  }
+
+  @Nonnull
+  private Stmt readStmt(@Nonnull StmtPositionInfo positionInfo) {
+    int tag = readVarInt();
+    switch (tag) {
+      case NOP_STMT:
+        return Jimple.newNopStmt(positionInfo);
+      case BREAKPOINT_STMT:
+        return Jimple.newBreakpointStmt(positionInfo);
+      case INVOKE_STMT:
+        return Jimple.newInvokeStmt((AbstractInvokeExpr) readValue(), positionInfo);
+      case ASSIGN_STMT:
+        LValue leftOp = (LValue) readValue();
+        return Jimple.newAssignStmt(leftOp, readValue(), positionInfo);
+      case IDENTITY_STMT:
+        Local local = readLocal();
+        return Jimple.newIdentityStmt(local, (IdentityRef) readValue(), positionInfo);
+      case ENTER_MONITOR_STMT:
+        return Jimple.newEnterMonitorStmt(readImmediate(), positionInfo);
+      case EXIT_MONITOR_STMT:
+        return Jimple.newExitMonitorStmt(readImmediate(), positionInfo);
+      case GOTO_STMT:
+        return Jimple.newGotoStmt(positionInfo);
+      case IF_STMT:
+        return Jimple.newIfStmt((AbstractConditionExpr) readValue(), positionInfo);
+      case RET_STMT:
+        return new JRetStmt(readValue(), positionInfo);
+      case RETURN_STMT:
+        return Jimple.newReturnStmt(readImmediate(), positionInfo);
+      case RETURN_VOID_STMT:
+        return Jimple.newReturnVoidStmt(positionInfo);
+      case TABLE_SWITCH_STMT:
+        {
+          Immediate key = readImmediate();
+          int lowIndex = readSignedVarInt();
+          return Jimple.newTableSwitchStmt(key, lowIndex, readSignedVarInt(), positionInfo);
+        }
+      case LOOKUP_SWITCH_STMT:
+        {
+          Immediate key = readImmediate();
+          int count = readLength();
+          List<IntConstant> values = new ArrayList<>(count);
+          for (int i = 0; i < count; i++) {
+            values.add(IntConstant.getInstance(readSignedVarInt()));
+          }
+          return Jimple.newLookupSwitchStmt(key, values, positionInfo);
+        }
+      case THROW_STMT:
+        return Jimple.newThrowStmt(readImmediate(), positionInfo);
+      default:
+        throw new IllegalArgumentException("Unknown statement tag " + tag);
+    }
+  }
+
+  /**
+   * Returns the annotation type of the given name, which is created by the identifier factory of
+   * this reader if it is a {@link JavaIdentifierFactory}.
+   */
+  @Nonnull
+  AnnotationType getAnnotationType(@Nonnull String fullyQualifiedName) {
+    if (identifierFactory instanceof JavaIdentifierFactory) {
+      return ((JavaIdentifierFactory) identifierFactory).getAnnotationType(fullyQualifiedName);
+    }
+    ClassType type = identifierFactory.getClassType(fullyQualifiedName);
+    return new AnnotationType(type.getClassName(), type.getPackageName());
+  }
+
+  /** Reads annotations that have been written by {@link BinaryJimpleWriter#writeAnnotations}. */
+  @Nonnull
+  public List<AnnotationUsage> readAnnotations() {
+    int annotationCount = readLength();
+    if (annotationCount == 0) {
+      return Collections.emptyList();
+    }
+    List<AnnotationUsage> annotations = new ArrayList<>(annotationCount);
+    for (int i = 0; i < annotationCount; i++) {
+      annotations.add(readAnnotation());
+    }
+    return annotations;
+  }
+
+  @Nonnull
+  private AnnotationUsage readAnnotation() {
+    String annotationName = readString();
+    int valueCount = readLength();
+    Map<String, Object> values = new HashMap<>(valueCount);
+    for (int i = 0; i < valueCount; i++) {
+      String name = readString();
+      values.put(name, readAnnotationValue());
+    }
+    return new AnnotationUsage(getAnnotationType(annotationName), values);
+  }
+
+  /** Reads a value of an annotation, i.e. a constant, an annotation or a list of such values. */
+  @Nonnull
+  public Object readAnnotationValue() {
+    int tag = readVarInt();
+    switch (tag) {
+      case CONSTANT_ANNOTATION_VALUE:
+        return (Constant) readValue();
+      case ANNOTATION_ANNOTATION_VALUE:
+        return readAnnotation();
+      case ARRAY_ANNOTATION_VALUE:
+        int count = readLength();
+        // the values are checked for an ArrayList to find nested annotations
+        ArrayList<Object> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          elements.add(readAnnotationValue());
+        }
+        return elements;
+      default:
+        throw new IllegalArgumentException("Unknown annotation value tag " + tag);
+    }
+  }
+
+  @Nonnull
+  private Immediate readImmediate() {
+    return (Immediate) readValue();
+  }
+
+  @Nonnull
+  private List<Immediate> readImmediates() {
+    int count = readLength();
+    List<Immediate> immediates = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      immediates.add(readImmediate());
+    }
+    return immediates;
+  }
+
+  @Nonnull
+  private Value readValue() {
+    int tag = readVarInt();
+    switch (tag) {
+      case LOCAL_VALUE:
+        return readLocal();
+      case BOOLEAN_CONSTANT:
+        return BooleanConstant.getInstance(readVarInt());
+      case INT_CONSTANT:
+        return IntConstant.getInstance(readSignedVarInt());
+      case LONG_CONSTANT:
+        return LongConstant.getInstance(readSignedVarLong());
+      case FLOAT_CONSTANT:
+        return FloatConstant.getInstance(Float.intBitsToFloat(readFixedInt()));
+      case DOUBLE_CONSTANT:
+        return DoubleConstant.getInstance(Double.longBitsToDouble(readFixedLong()));
+      case NULL_CONSTANT:
+        return NullConstant.getInstance();
+      case STRING_CONSTANT:
+        {
+          String value = readString();
+          return new StringConstant(value, readType());
+        }
+      case ENUM_CONSTANT:
+        {
+          String value = readString();
+          return new EnumConstant(value, (ClassType) readType());
+        }
+      case CLASS_CONSTANT:
+        {
+          String value = readString();
+          return new ClassConstant(value, readType());
+        }
+      case METHOD_HANDLE:
+        {
+          MethodHandle.Kind kind = MethodHandle.Kind.getKind(readVarInt());
+          if (MethodHandle.isMethodRef(kind.getValue())) {
+            MethodSignature signature = readMethodSignature();
+            return new MethodHandle(signature, kind, readType());
+          }
+          FieldSignature signature = readFieldSignature();
+          return new MethodHandle(signature, kind, readType());
+        }
+      case METHOD_TYPE:
+        {
+          Type returnType = readType();
+          return JavaJimple.getInstance().newMethodType(readTypes(), returnType);
+        }
+      case ADD_EXPR:
+        return Jimple.newAddExpr(readImmediate(), readImmediate());
+      case AND_EXPR:
+        return Jimple.newAndExpr(readImmediate(), readImmediate());
+      case CMP_EXPR:
+        return Jimple.newCmpExpr(readImmediate(), readImmediate());
+      case CMPG_EXPR:
+        return Jimple.newCmpgExpr(readImmediate(), readImmediate());
+      case CMPL_EXPR:
+        return Jimple.newCmplExpr(readImmediate(), readImmediate());
+      case DIV_EXPR:
+        return Jimple.newDivExpr(readImmediate(), readImmediate());
+      case EQ_EXPR:
+        return Jimple.newEqExpr(readImmediate(), readImmediate());
+      case NE_EXPR:
+        return Jimple.newNeExpr(readImmediate(), readImmediate());
+      case GE_EXPR:
+        return Jimple.newGeExpr(readImmediate(), readImmediate());
+      case GT_EXPR:
+        return Jimple.newGtExpr(readImmediate(), readImmediate());
+      case LE_EXPR:
+        return Jimple.newLeExpr(readImmediate(), readImmediate());
+      case LT_EXPR:
+        return Jimple.newLtExpr(readImmediate(), readImmediate());
+      case MUL_EXPR:
+        return Jimple.newMulExpr(readImmediate(), readImmediate());
+      case OR_EXPR:
+        return Jimple.newOrExpr(readImmediate(), readImmediate());
+      case REM_EXPR:
+        return Jimple.newRemExpr(readImmediate(), readImmediate());
+      case SHL_EXPR:
+        return Jimple.newShlExpr(readImmediate(), readImmediate());
+      case SHR_EXPR:
+        return Jimple.newShrExpr(readImmediate(), readImmediate());
+      case USHR_EXPR:
+        return Jimple.newUshrExpr(readImmediate(), readImmediate());
+      case SUB_EXPR:
+        return Jimple.newSubExpr(readImmediate(), readImmediate());
+      case XOR_EXPR:
+        return Jimple.newXorExpr(readImmediate(), readImmediate());
+      case SPECIAL_INVOKE_EXPR:
+        {
+          MethodSignature signature = readMethodSignature();
+          Local base = readLocal();
+          return Jimple.newSpecialInvokeExpr(base, signature, readImmediates());
+        }
+      case VIRTUAL_INVOKE_EXPR:
+        {
+          MethodSignature signature = readMethodSignature();
+          Local base = readLocal();
+          return Jimple.newVirtualInvokeExpr(base, signature, readImmediates());
+        }
+      case INTERFACE_INVOKE_EXPR:
+        {
+          MethodSignature signature = readMethodSignature();
+          Local base = readLocal();
+          return Jimple.newInterfaceInvokeExpr(base, signature, readImmediates());
+        }
+      case STATIC_INVOKE_EXPR:
+        {
+          MethodSignature signature = readMethodSignature();
+          return Jimple.newStaticInvokeExpr(signature, readImmediates());
+        }
+      case DYNAMIC_INVOKE_EXPR:
+        {
+          MethodSignature bootstrapSignature = readMethodSignature();
+          List<Immediate> bootstrapArgs = readImmediates();
+          MethodSignature signature = readMethodSignature();
+          int handleTag = readVarInt();
+          return new JDynamicInvokeExpr(
+              bootstrapSignature, bootstrapArgs, signature, handleTag, readImmediates());
+        }
+      case CAST_EXPR:
+        {
+          Immediate op = readImmediate();
+          return Jimple.newCastExpr(op, readType());
+        }
+      case INSTANCE_OF_EXPR:
+        {
+          Immediate op = readImmediate();
+          return Jimple.newInstanceOfExpr(op, readType());
+        }
+      case NEW_ARRAY_EXPR:
+        {
+          Type baseType = readType();
+          return new JNewArrayExpr(baseType, readImmediate(), identifierFactory);
+        }
+      case NEW_MULTI_ARRAY_EXPR:
+        {
+          ArrayType type = (ArrayType) readType();
+          return Jimple.newNewMultiArrayExpr(type, readImmediates());
+        }
+      case NEW_EXPR:
+        return Jimple.newNewExpr((ClassType) readType());
+      case LENGTH_EXPR:
+        return Jimple.newLengthExpr(readImmediate());
+      case NEG_EXPR:
+        return Jimple.newNegExpr(readImmediate());
+      case STATIC_FIELD_REF:
+        return Jimple.newStaticFieldRef(readFieldSignature());
+      case INSTANCE_FIELD_REF:
+        {
+          Local base = readLocal();
+          return Jimple.newInstanceFieldRef(base, readFieldSignature());
+        }
+      case ARRAY_REF:
+        {
+          Local base = readLocal();
+          return new JArrayRef(base, readImmediate());
+        }
+      case PARAMETER_REF:
+        {
+          Type type = readType();
+          return Jimple.newParameterRef(type, readVarInt());
+        }
+      case CAUGHT_EXCEPTION_REF:
+        return new JCaughtExceptionRef(readType());
+      case THIS_REF:
+        return Jimple.newThisRef((ClassType) readType());
+      default:
+        throw new IllegalArgumentException("Unknown value tag " + tag);
+    }
+  }
+
+  public int readVarInt() {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = buffer.get();
+      value |= (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable length integer");
+  }
+
+  /**
+   * Reads the number of bytes or elements that follow, each of which takes at least one byte.
+   *
+   * @throws IllegalArgumentException if the remaining data is too short for the length
+   */
+  public int readLength() {
+    int length = readVarInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException(
+          "Length " + length + " exceeds the " + buffer.remaining() + " remaining bytes");
+    }
+    return length;
+  }
+
+  public int readSignedVarInt() {
+    int zigZag = readVarInt();
+    return (zigZag >>> 1) ^ -(zigZag & 1);
+  }
+
+  public long readSignedVarLong() {
+    long zigZag = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      byte b = buffer.get();
+      zigZag |= (long) (b & 0x7f) << shift;
+      if (b >= 0) {
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable length integer");
+  }
+
+  public int readFixedInt() {
+    int value = 0;
+    for (int i = 0; i < 4; i++) {
+      value = (value << 8) | (buffer.get() & 0xff);
+    }
+    return value;
+  }
+
+  public long readFixedLong() {
+    return ((long) readFixedInt() << 32) | (readFixedInt() & 0xffffffffL);
+  }
+}
@@ -0,0 +1,394 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static sootup.java.bytecode.frontend.BinaryJimpleFormat.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import sootup.core.IdentifierFactory;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.BodyRetentionPolicy;
+import sootup.core.model.ClassModifier;
+import sootup.core.model.FieldModifier;
+import sootup.core.model.MethodModifier;
+import sootup.core.model.SootClass;
+import sootup.core.types.ClassType;
+import sootup.java.core.JavaAnnotationSootClass;
+import sootup.java.core.JavaAnnotationSootMethod;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootClassSource;
+import sootup.java.core.JavaSootField;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.views.JavaView;
+
+/**
+ * A snapshot of whole classes in the binary Jimple format of {@link BinaryJimpleFormat}, which is
+ * backed by a memory-mapped file. The file is created by {@link #write(JavaView, Path)} and
+ * contains the resolved classes of a view with their fields, methods, annotations and bodies.
+ * Loading a snapshot maps the file and reads its pools of strings, types and signatures. A class is
+ * decoded from the mapped file when its class source is created, and the body of a method only
+ * when it is resolved, so the file is never copied into memory as a whole.
+ *
+ * <p>The file has the following layout. The pools are written before the classes, so that every
+ * class and every body can be decoded on its own and in any order.
+ *
+ * <pre>
+ * magic, version, poolLength              (fixed size ints)
+ * pool entries[poolLength bytes]          (tag and the inline element of a pool)
+ * classCount, (className, classLength)*
+ * classes[classCount]
+ * </pre>
+ *
+ * A class consists of its kind, modifiers, superclass, interfaces, outer class and position,
+ * followed by the sections of its annotations, fields and methods, which are prefixed by their
+ * length in bytes. Each method is followed by the length of its body and the body itself, or by
+ * <code>0</code> if it has no body.
+ *
+ * <p>The snapshot keeps the bodies as they have been resolved by the view that is written, so the
+ * body interceptors of that view have already been applied to them.
+ *
+ * @see sootup.java.bytecode.inputlocation.SnapshotAnalysisInputLocation
+ */
+public class BinaryJimpleSnapshot {
+
+  static final int CLASS = 0;
+  static final int ANNOTATION_CLASS = 1;
+
+  @Nonnull private final Path path;
+  @Nonnull private final BinaryJimpleReader poolReader;
+  @Nonnull private final ByteBuffer buffer;
+  @Nonnull private final Map<String, Integer> classPositions = new LinkedHashMap<>();
+
+  private BinaryJimpleSnapshot(
+      @Nonnull Path path,
+      @Nonnull ByteBuffer buffer,
+      @Nonnull IdentifierFactory identifierFactory) {
+    this.path = path;
+    this.buffer = buffer;
+    poolReader = BinaryJimpleReader.withoutHeader(buffer, identifierFactory);
+    poolReader.readHeader(SNAPSHOT_MAGIC);
+    int poolLength = poolReader.readFixedInt();
+    poolReader.readPoolEntries(buffer.position() + poolLength);
+
+    int classCount = poolReader.readLength();
+    List<String> classNames = new ArrayList<>(classCount);
+    List<Integer> classLengths = new ArrayList<>(classCount);
+    for (int i = 0; i < classCount; i++) {
+      classNames.add(poolReader.readString());
+      classLengths.add(poolReader.readLength());
+    }
+    int position = buffer.position();
+    for (int i = 0; i < classCount; i++) {
+      classPositions.put(classNames.get(i), position);
+      position += classLengths.get(i);
+    }
+    if (position != buffer.limit()) {
+      throw new IllegalArgumentException("The snapshot is truncated or corrupt");
+    }
+  }
+
+  /**
+   * Loads the snapshot of the given file, whose classes are read with the {@link
+   * JavaIdentifierFactory}.
+   */
+  @Nonnull
+  public static BinaryJimpleSnapshot load(@Nonnull Path file) throws IOException {
+    return load(file, JavaIdentifierFactory.getInstance());
+  }
+
+  /**
+   * Maps the given file, which was written by {@link #write(JavaView, Path)}, into memory.
+   *
+   * @param file the snapshot file
+   * @param identifierFactory the factory that creates the types and signatures of the snapshot
+   * @return the snapshot of the file
+   * @throws IOException if the file can not be read or does not contain a snapshot
+   */
+  @Nonnull
+  public static BinaryJimpleSnapshot load(
+      @Nonnull Path file, @Nonnull IdentifierFactory identifierFactory) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // the mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new BinaryJimpleSnapshot(file, buffer, identifierFactory);
+    } catch (IllegalArgumentException
+        | BufferUnderflowException
+        | IndexOutOfBoundsException
+        | ClassCastException e) {
+      throw new IOException("The file " + file + " does not contain a valid snapshot", e);
+    }
+  }
+
+  /**
+   * Writes all classes of the given view into the given file, which can be loaded by {@link
+   * #load(Path)}. The bodies of all methods are resolved for this. An annotation class that the
+   * view contains under its class type and under its annotation type is written once as an
+   * annotation class.
+   *
+   * @throws IOException if the file can not be written
+   * @throws IllegalArgumentException if a class contains a value that is not supported by the
+   *     binary Jimple format
+   */
+  public static void write(@Nonnull JavaView view, @Nonnull Path file) throws IOException {
+    Map<String, JavaSootClass> classes = new LinkedHashMap<>();
+    for (JavaSootClass sootClass : view.getClasses()) {
+      String className = sootClass.getType().getFullyQualifiedName();
+      if (sootClass instanceof JavaAnnotationSootClass || !classes.containsKey(className)) {
+        classes.put(className, sootClass);
+      }
+    }
+    write(view, classes.values(), file);
+  }
+
+  /**
+   * Writes the given classes of the given view into the given file, which can be loaded by {@link
+   * #load(Path)}. The view is needed to resolve the annotations of the classes.
+   *
+   * @throws IOException if the file can not be written
+   * @throws IllegalArgumentException if a class contains a value that is not supported by the
+   *     binary Jimple format
+   */
+  public static void write(
+      @Nonnull JavaView view,
+      @Nonnull Collection<? extends JavaSootClass> classes,
+      @Nonnull Path file)
+      throws IOException {
+    Writer writer = new Writer(view);
+    for (JavaSootClass sootClass : classes) {
+      writer.writeClass(sootClass);
+    }
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      writer.writeTo(out);
+    }
+  }
+
+  /** Returns the file of this snapshot. */
+  @Nonnull
+  public Path getPath() {
+    return path;
+  }
+
+  /** Returns the fully qualified names of the classes of this snapshot. */
+  @Nonnull
+  public Set<String> getClassNames() {
+    return Collections.unmodifiableSet(classPositions.keySet());
+  }
+
+  /**
+   * Creates the class source of the class with the given type, if the snapshot contains it.
+   *
+   * @throws IllegalArgumentException if the class is malformed
+   */
+  @Nonnull
+  public Optional<JavaSootClassSource> getClassSource(
+      @Nonnull AnalysisInputLocation<? extends SootClass<?>> inputLocation,
+      @Nonnull ClassType type,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
+    Integer position = classPositions.get(type.getFullyQualifiedName());
+    if (position == null) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new BinaryJimpleClassSource(inputLocation, this, type, position, bodyRetentionPolicy));
+  }
+
+  /**
+   * Creates the class sources of all classes of this snapshot.
+   *
+   * @throws IllegalArgumentException if a class is malformed
+   */
+  @Nonnull
+  public List<JavaSootClassSource> getClassSources(
+      @Nonnull AnalysisInputLocation<? extends SootClass<?>> inputLocation,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
+    List<JavaSootClassSource> classSources = new ArrayList<>(classPositions.size());
+    for (Map.Entry<String, Integer> entry : classPositions.entrySet()) {
+      int position = entry.getValue();
+      ClassType type =
+          readerAt(position).readVarInt() == ANNOTATION_CLASS
+              ? poolReader.getAnnotationType(entry.getKey())
+              : poolReader.getIdentifierFactory().getClassType(entry.getKey());
+      classSources.add(
+          new BinaryJimpleClassSource(inputLocation, this, type, position, bodyRetentionPolicy));
+    }
+    return classSources;
+  }
+
+  /**
+   * Returns a reader that starts at the given position of the snapshot and refers to its pools. The
+   * reader has a buffer of its own, so any number of readers can be used concurrently.
+   */
+  @Nonnull
+  BinaryJimpleReader readerAt(int position) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(position);
+    return poolReader.withBuffer(duplicate);
+  }
+
+  @Override
+  public String toString() {
+    return path.toString();
+  }
+
+  /** Writes the classes of a snapshot together with their pools. */
+  private static class Writer {
+    @Nonnull private final JavaView view;
+    @Nonnull private final BinaryJimpleWriter poolWriter = new BinaryJimpleWriter(null);
+    @Nonnull private final BinaryJimpleWriter classWriter = new BinaryJimpleWriter(poolWriter);
+    @Nonnull private final Map<String, Integer> classLengths = new LinkedHashMap<>();
+
+    private Writer(@Nonnull JavaView view) {
+      this.view = view;
+    }
+
+    void writeClass(@Nonnull JavaSootClass sootClass) {
+      String className = sootClass.getType().getFullyQualifiedName();
+      if (classLengths.containsKey(className)) {
+        throw new IllegalArgumentException("The class " + className + " is written twice");
+      }
+      int start = classWriter.size();
+      boolean isAnnotationClass = sootClass instanceof JavaAnnotationSootClass;
+      classWriter.writeVarInt(isAnnotationClass ? ANNOTATION_CLASS : CLASS);
+      int modifiers = 0;
+      for (ClassModifier modifier : sootClass.getModifiers()) {
+        modifiers |= modifier.getBytecode();
+      }
+      classWriter.writeVarInt(modifiers);
+      writeOptionalType(sootClass.getSuperclass());
+      classWriter.writeVarInt(sootClass.getInterfaces().size());
+      for (ClassType interfaceType : sootClass.getInterfaces()) {
+        classWriter.writeType(interfaceType);
+      }
+      writeOptionalType(sootClass.getOuterClass());
+      classWriter.writePosition(sootClass.getPosition());
+
+      // the annotations of a class contain the inherited ones if they are requested with a view,
+      // which resolves the default values that are needed to request them without a view
+      sootClass.getAnnotations(Optional.of(view));
+      writeSection(writer -> writer.writeAnnotations(sootClass.getAnnotations(Optional.empty())));
+      writeSection(writer -> writeFields(writer, sootClass.getFields()));
+
+      Set<? extends JavaSootMethod> methods = sootClass.getMethods();
+      classWriter.writeVarInt(methods.size());
+      for (JavaSootMethod method : methods) {
+        writeMethod(method, isAnnotationClass);
+      }
+      classLengths.put(className, classWriter.size() - start);
+    }
+
+    private void writeOptionalType(@Nonnull Optional<? extends ClassType> type) {
+      classWriter.writeVarInt(type.isPresent() ? 1 : 0);
+      type.ifPresent(classWriter::writeType);
+    }
+
+    /** Writes a part of a class that is prefixed by its length, so that it can be skipped. */
+    private void writeSection(@Nonnull Consumer<BinaryJimpleWriter> section) {
+      BinaryJimpleWriter sectionWriter = new BinaryJimpleWriter(poolWriter);
+      section.accept(sectionWriter);
+      classWriter.writeVarInt(sectionWriter.size());
+      classWriter.writeBytes(sectionWriter.toByteArray());
+    }
+
+    private void writeFields(
+        @Nonnull BinaryJimpleWriter writer, @Nonnull Set<? extends JavaSootField> fields) {
+      writer.writeVarInt(fields.size());
+      for (JavaSootField field : fields) {
+        writer.writeFieldSignature(field.getSignature());
+        int modifiers = 0;
+        for (FieldModifier modifier : field.getModifiers()) {
+          modifiers |= modifier.getBytecode();
+        }
+        writer.writeVarInt(modifiers);
+        writer.writeAnnotations(field.getAnnotations(Optional.of(view)));
+        writer.writePosition(field.getPosition());
+      }
+    }
+
+    private void writeMethod(@Nonnull JavaSootMethod method, boolean isAnnotationClass) {
+      classWriter.writeMethodSignature(method.getSignature());
+      int modifiers = 0;
+      for (MethodModifier modifier : method.getModifiers()) {
+        modifiers |= modifier.getBytecode();
+      }
+      classWriter.writeVarInt(modifiers);
+      List<ClassType> exceptions = method.getExceptionSignatures();
+      classWriter.writeVarInt(exceptions.size());
+      for (ClassType exception : exceptions) {
+        classWriter.writeType(exception);
+      }
+      classWriter.writeAnnotations(method.getAnnotations(Optional.of(view)));
+      classWriter.writePosition(method.getPosition());
+      if (isAnnotationClass) {
+        Object defaultValue = ((JavaAnnotationSootMethod) method).getDefaultValue();
+        classWriter.writeVarInt(defaultValue != null ? 1 : 0);
+        if (defaultValue != null) {
+          classWriter.writeAnnotationValue(defaultValue);
+        }
+      }
+      if (method.isConcrete()) {
+        writeSection(writer -> writer.writeBody(method.getBody()));
+      } else {
+        classWriter.writeVarInt(0);
+      }
+    }
+
+    void writeTo(@Nonnull OutputStream out) throws IOException {
+      // the class names are added to the pools, so the index is written before the pools
+      BinaryJimpleWriter indexWriter = new BinaryJimpleWriter(poolWriter);
+      indexWriter.writeVarInt(classLengths.size());
+      for (Map.Entry<String, Integer> entry : classLengths.entrySet()) {
+        indexWriter.writeString(entry.getKey());
+        indexWriter.writeVarInt(entry.getValue());
+      }
+      BinaryJimpleWriter headerWriter = new BinaryJimpleWriter(null);
+      headerWriter.writeFixedInt(SNAPSHOT_MAGIC);
+      headerWriter.writeVarInt(VERSION);
+      headerWriter.writeFixedInt(poolWriter.size());
+
+      headerWriter.writeTo(out);
+      poolWriter.writeTo(out);
+      indexWriter.writeTo(out);
+      classWriter.writeTo(out);
+    }
+  }
+}
@@ -0,0 +1,943 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import static sootup.java.bytecode.frontend.BinaryJimpleFormat.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.graph.BasicBlock;
+import sootup.core.jimple.basic.Local;
+import sootup.core.jimple.basic.NoPositionInformation;
+import sootup.core.jimple.basic.SimpleStmtPositionInfo;
+import sootup.core.jimple.basic.StmtPositionInfo;
+import sootup.core.jimple.basic.Value;
+import sootup.core.jimple.common.constant.*;
+import sootup.core.jimple.common.expr.*;
+import sootup.core.jimple.common.ref.*;
+import sootup.core.jimple.common.stmt.*;
+import sootup.core.jimple.javabytecode.stmt.*;
+import sootup.core.jimple.visitor.StmtVisitor;
+import sootup.core.jimple.visitor.ValueVisitor;
+import sootup.core.model.Body;
+import sootup.core.model.FullPosition;
+import sootup.core.model.LinePosition;
+import sootup.core.model.Position;
+import sootup.core.signatures.FieldSignature;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.core.types.NullType;
+import sootup.core.types.PrimitiveType;
+import sootup.core.types.Type;
+import sootup.core.types.UnknownType;
+import sootup.core.types.VoidType;
+import sootup.java.core.AnnotationUsage;
+import sootup.java.core.jimple.basic.JavaLocal;
+import sootup.java.core.types.AnnotationType;
+import sootup.java.core.types.JavaClassType;
+
+/**
+ * Writes bodies in the compact binary Jimple format of {@link BinaryJimpleFormat}. The strings,
+ * types and signatures are pooled across all bodies that are written by the same writer, so they
+ * are stored only once.
+ *
+ * <pre><code>
+ * byte[] bytes = BinaryJimpleWriter.write(body);
+ * Body copy = new BinaryJimpleReader(ByteBuffer.wrap(bytes)).readBody();
+ * </code></pre>
+ *
+ * <p>Bodies that contain values which are not produced by the bytecode frontend, e.g. phi
+ * expressions or locals with a position, are not supported and rejected with an {@link
+ * IllegalArgumentException}.
+ */
+public class BinaryJimpleWriter {
+
+  @Nonnull private byte[] buffer = new byte[1024];
+  private int size = 0;
+
+  @Nonnull private final Map<String, Integer> strings;
+  @Nonnull private final Map<Type, Integer> types;
+  @Nonnull private final Map<MethodSignature, Integer> methodSignatures;
+  @Nonnull private final Map<FieldSignature, Integer> fieldSignatures;
+
+  // the writer of the pool section if this writer writes the data of a snapshot
+  @Nullable private final BinaryJimpleWriter poolWriter;
+
+  // Locals are equal if their names are equal, so they are pooled by identity
+  @Nonnull private final Map<Local, Integer> locals = new IdentityHashMap<>();
+  @Nonnull private final ValueWriter valueWriter = new ValueWriter();
+  @Nonnull private final StmtWriter stmtWriter = new StmtWriter();
+
+  /** Creates a writer and writes the header of the format. */
+  public BinaryJimpleWriter() {
+    this(null);
+    writeFixedInt(MAGIC);
+    writeVarInt(VERSION);
+  }
+
+  /**
+   * Creates a writer without a header. If a pool writer is given, the pools are shared with it, and
+   * every element that is not pooled yet is written into the pool writer as an entry of the pool
+   * section of a snapshot. This writer then only refers to the elements by their index, so the data
+   * that it writes can be read in any order once the pool section has been read.
+   */
+  BinaryJimpleWriter(@Nullable BinaryJimpleWriter poolWriter) {
+    this.poolWriter = poolWriter;
+    if (poolWriter == null) {
+      strings = new HashMap<>();
+      types = new HashMap<>();
+      methodSignatures = new HashMap<>();
+      fieldSignatures = new HashMap<>();
+    } else {
+      strings = poolWriter.strings;
+      types = poolWriter.types;
+      methodSignatures = poolWriter.methodSignatures;
+      fieldSignatures = poolWriter.fieldSignatures;
+    }
+  }
+
+  /** Writes the given body into a new byte array. */
+  @Nonnull
+  public static byte[] write(@Nonnull Body body) {
+    BinaryJimpleWriter writer = new BinaryJimpleWriter();
+    writer.writeBody(body);
+    return writer.toByteArray();
+  }
+
+  /** Returns the bytes that have been written so far. */
+  @Nonnull
+  public byte[] toByteArray() {
+    return Arrays.copyOf(buffer, size);
+  }
+
+  /** Returns the number of bytes that have been written so far. */
+  public int size() {
+    return size;
+  }
+
+  /** Writes the bytes that have been written so far into the given stream. */
+  public void writeTo(@Nonnull OutputStream out) throws IOException {
+    out.write(buffer, 0, size);
+  }
+
+  /**
+   * Writes the given body: its signature, position, locals, statements and the blocks of its
+   * statement graph with their successors.
+   *
+   * @throws IllegalArgumentException if the body contains a value that is not supported by the
+   *     format. The writer must not be used anymore in this case.
+   */
+  public void writeBody(@Nonnull Body body) {
+    writeMethodSignature(body.getMethodSignature());
+    writePosition(body.getPosition());
+
+    locals.clear();
+    writeVarInt(body.getLocals().size());
+    for (Local local : body.getLocals()) {
+      writeLocal(local);
+    }
+
+    List<Stmt> stmts = body.getStmts();
+    Map<Stmt, Integer> stmtIndices = new IdentityHashMap<>(stmts.size());
+    writeVarInt(stmts.size());
+    for (Stmt stmt : stmts) {
+      stmtIndices.put(stmt, stmtIndices.size());
+      writePositionInfo(stmt.getPositionInfo());
+      stmt.accept(stmtWriter);
+    }
+    Stmt startingStmt = body.getStmtGraph().getStartingStmt();
+    if (startingStmt != null) {
+      writeStmtIndex(stmtIndices, startingStmt);
+    }
+
+    // the blocks are written instead of the traps, so that the exceptional flow is kept as it is
+    List<? extends BasicBlock<?>> blocks = new ArrayList<>(body.getStmtGraph().getBlocks());
+    blocks.sort(Comparator.comparingInt(block -> stmtIndices.get(block.getHead())));
+    writeVarInt(blocks.size());
+    for (BasicBlock<?> block : blocks) {
+      int head = stmtIndices.get(block.getHead());
+      List<Stmt> blockStmts = block.getStmts();
+      for (int i = 0; i < blockStmts.size(); i++) {
+        if (stmtIndices.get(blockStmts.get(i)) != head + i) {
+          throw new IllegalArgumentException("The statements of a block are not consecutive");
+        }
+      }
+      writeVarInt(head);
+      writeVarInt(blockStmts.size());
+
+      List<? extends BasicBlock<?>> successors = block.getSuccessors();
+      writeVarInt(successors.size());
+      for (BasicBlock<?> successor : successors) {
+        writeStmtIndex(stmtIndices, successor.getHead());
+      }
+      Map<? extends ClassType, ? extends BasicBlock<?>> exceptionalSuccessors =
+          block.getExceptionalSuccessors();
+      writeVarInt(exceptionalSuccessors.size());
+      for (Map.Entry<? extends ClassType, ? extends BasicBlock<?>> entry :
+          exceptionalSuccessors.entrySet()) {
+        writeType(entry.getKey());
+        writeStmtIndex(stmtIndices, entry.getValue().getHead());
+      }
+    }
+  }
+
+  private void writeStmtIndex(@Nonnull Map<Stmt, Integer> stmtIndices, @Nonnull Stmt stmt) {
+    Integer index = stmtIndices.get(stmt);
+    if (index == null) {
+      throw new IllegalArgumentException("'" + stmt + "' is not a statement of the body");
+    }
+    writeVarInt(index);
+  }
+
+  public void writeString(@Nonnull String value) {
+    if (poolWriter != null && !strings.containsKey(value)) {
+      poolWriter.writeVarInt(STRING_ENTRY);
+      poolWriter.writeString(value);
+    }
+    if (writeReference(strings, value)) {
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(bytes.length);
+    writeBytes(bytes);
+    strings.put(value, strings.size());
+  }
+
+  public void writeType(@Nonnull Type type) {
+    if (poolWriter != null && !types.containsKey(type)) {
+      poolWriter.writeVarInt(TYPE_ENTRY);
+      poolWriter.writeType(type);
+    }
+    if (writeReference(types, type)) {
+      return;
+    }
+    if (type instanceof PrimitiveType) {
+      writeVarInt(getPrimitiveTypeTag((PrimitiveType) type));
+    } else if (type == VoidType.getInstance()) {
+      writeVarInt(VOID_TYPE);
+    } else if (type == NullType.getInstance()) {
+      writeVarInt(NULL_TYPE);
+    } else if (type == UnknownType.getInstance()) {
+      writeVarInt(UNKNOWN_TYPE);
+    } else if (type.getClass() == JavaClassType.class) {
+      writeVarInt(CLASS_TYPE);
+      writeString(((JavaClassType) type).getFullyQualifiedName());
+    } else if (type.getClass() == AnnotationType.class) {
+      writeVarInt(ANNOTATION_TYPE);
+      writeString(((AnnotationType) type).getFullyQualifiedName());
+    } else if (type instanceof ArrayType) {
+      writeVarInt(ARRAY_TYPE);
+      writeType(((ArrayType) type).getBaseType());
+      writeVarInt(((ArrayType) type).getDimension());
+    } else {
+      throw new IllegalArgumentException("Unsupported type " + type.getClass().getName());
+    }
+    types.put(type, types.size());
+  }
+
+  private static int getPrimitiveTypeTag(@Nonnull PrimitiveType type) {
+    if (type == PrimitiveType.getBoolean()) {
+      return BOOLEAN_TYPE;
+    } else if (type == PrimitiveType.getByte()) {
+      return BYTE_TYPE;
+    } else if (type == PrimitiveType.getChar()) {
+      return CHAR_TYPE;
+    } else if (type == PrimitiveType.getShort()) {
+      return SHORT_TYPE;
+    } else if (type == PrimitiveType.getInt()) {
+      return INT_TYPE;
+    } else if (type == PrimitiveType.getLong()) {
+      return LONG_TYPE;
+    } else if (type == PrimitiveType.getFloat()) {
+      return FLOAT_TYPE;
+    } else if (type == PrimitiveType.getDouble()) {
+      return DOUBLE_TYPE;
+    }
+    throw new IllegalArgumentException("Unsupported primitive type " + type.getClass().getName());
+  }
+
+  public void writeMethodSignature(@Nonnull MethodSignature signature) {
+    if (poolWriter != null && !methodSignatures.containsKey(signature)) {
+      poolWriter.writeVarInt(METHOD_SIGNATURE_ENTRY);
+      poolWriter.writeMethodSignature(signature);
+    }
+    if (writeReference(methodSignatures, signature)) {
+      return;
+    }
+    writeType(signature.getDeclClassType());
+    writeString(signature.getName());
+    writeType(signature.getType());
+    List<Type> parameterTypes = signature.getParameterTypes();
+    writeVarInt(parameterTypes.size());
+    for (Type parameterType : parameterTypes) {
+      writeType(parameterType);
+    }
+    methodSignatures.put(signature, methodSignatures.size());
+  }
+
+  public void writeFieldSignature(@Nonnull FieldSignature signature) {
+    if (poolWriter != null && !fieldSignatures.containsKey(signature)) {
+      poolWriter.writeVarInt(FIELD_SIGNATURE_ENTRY);
+      poolWriter.writeFieldSignature(signature);
+    }
+    if (writeReference(fieldSignatures, signature)) {
+      return;
+    }
+    writeType(signature.getDeclClassType());
+    writeString(signature.getName());
+    writeType(signature.getType());
+    fieldSignatures.put(signature, fieldSignatures.size());
+  }
+
+  /**
+   * Writes a reference to the given element of the pool, or the marker for an inline element if
+   * the pool does not contain it yet. An inline element is added to the pool after its contents,
+   * so the elements that it contains are added before it, just like the reader does.
+   *
+   * @return whether a reference has been written
+   */
+  private <T> boolean writeReference(@Nonnull Map<T, Integer> pool, @Nonnull T element) {
+    Integer index = pool.get(element);
+    if (index != null) {
+      writeVarInt(index + 1);
+      return true;
+    }
+    writeVarInt(INLINE);
+    return false;
+  }
+
+  public void writePosition(@Nonnull Position position) {
+    if (position == NoPositionInformation.getInstance()) {
+      writeVarInt(NO_POSITION);
+    } else if (position.getClass() == LinePosition.class) {
+      writeVarInt(LINE_POSITION);
+      writeSignedVarInt(position.getFirstLine());
+    } else if (position.getClass() == FullPosition.class) {
+      writeVarInt(FULL_POSITION);
+      writeSignedVarInt(position.getFirstLine());
+      writeSignedVarInt(position.getFirstCol());
+      writeSignedVarInt(position.getLastLine());
+      writeSignedVarInt(position.getLastCol());
+    } else {
+      throw new IllegalArgumentException("Unsupported position " + position.getClass().getName());
+    }
+  }
+
+  private void writePositionInfo(@Nonnull StmtPositionInfo positionInfo) {
+    if (positionInfo == StmtPositionInfo.createNoStmtPositionInfo()) {
+      writeVarInt(NO_STMT_POSITION);
+    } else if (positionInfo.getClass() == SimpleStmtPositionInfo.class) {
+      writeVarInt(SIMPLE_STMT_POSITION);
+      writePosition(positionInfo.getStmtPosition());
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported position info " + positionInfo.getClass().getName());
+    }
+  }
+
+  private void writeLocal(@Nonnull Local local) {
+    if (writeReference(locals, local)) {
+      return;
+    }
+    if (local.getClass() == JavaLocal.class
+        && local.getPosition() == NoPositionInformation.getInstance()) {
+      Iterable<AnnotationUsage> annotations = ((JavaLocal) local).getAnnotations();
+      if (annotations.iterator().hasNext()) {
+        writeVarInt(ANNOTATED_JAVA_LOCAL);
+        writeAnnotations(annotations);
+      } else {
+        writeVarInt(JAVA_LOCAL);
+      }
+    } else if (local.getClass() == Local.class) {
+      writeVarInt(LOCAL);
+      writePosition(local.getPosition());
+    } else {
+      throw new IllegalArgumentException("Unsupported local " + local);
+    }
+    writeString(local.getName());
+    writeType(local.getType());
+    locals.put(local, locals.size());
+  }
+
+  private void writeValue(@Nonnull Value value) {
+    value.accept(valueWriter);
+  }
+
+  /**
+   * Writes the given annotations with the values that are given explicitly. The default values are
+   * resolved again from the annotation types after reading.
+   */
+  public void writeAnnotations(@Nonnull Iterable<AnnotationUsage> annotations) {
+    List<AnnotationUsage> annotationList = new ArrayList<>();
+    annotations.forEach(annotationList::add);
+    writeVarInt(annotationList.size());
+    for (AnnotationUsage annotation : annotationList) {
+      writeAnnotation(annotation);
+    }
+  }
+
+  private void writeAnnotation(@Nonnull AnnotationUsage annotation) {
+    writeString(annotation.getAnnotation().getFullyQualifiedName());
+    Map<String, Object> values = annotation.getValues();
+    writeVarInt(values.size());
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      writeString(entry.getKey());
+      writeAnnotationValue(entry.getValue());
+    }
+  }
+
+  /** Writes a value of an annotation, i.e. a constant, an annotation or a list of such values. */
+  public void writeAnnotationValue(@Nonnull Object value) {
+    if (value instanceof Constant) {
+      writeVarInt(CONSTANT_ANNOTATION_VALUE);
+      writeValue((Constant) value);
+    } else if (value instanceof AnnotationUsage) {
+      writeVarInt(ANNOTATION_ANNOTATION_VALUE);
+      writeAnnotation((AnnotationUsage) value);
+    } else if (value instanceof List) {
+      List<?> elements = (List<?>) value;
+      writeVarInt(ARRAY_ANNOTATION_VALUE);
+      writeVarInt(elements.size());
+      for (Object element : elements) {
+        writeAnnotationValue(element);
+      }
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported annotation value " + value.getClass().getName());
+    }
+  }
+
+  private void writeValues(@Nonnull List<? extends Value> values) {
+    writeVarInt(values.size());
+    for (Value value : values) {
+      writeValue(value);
+    }
+  }
+
+  private void writeBinop(int tag, @Nonnull AbstractBinopExpr expr) {
+    writeVarInt(tag);
+    writeValue(expr.getOp1());
+    writeValue(expr.getOp2());
+  }
+
+  private void writeInstanceInvoke(int tag, @Nonnull AbstractInstanceInvokeExpr expr) {
+    writeVarInt(tag);
+    writeMethodSignature(expr.getMethodSignature());
+    writeLocal(expr.getBase());
+    writeValues(expr.getArgs());
+  }
+
+  /** Writes the values of a body, which have no common base class besides {@link Value}. */
+  private class ValueWriter implements ValueVisitor {
+
+    @Override
+    public void caseLocal(@Nonnull Local local) {
+      writeVarInt(LOCAL_VALUE);
+      writeLocal(local);
+    }
+
+    @Override
+    public void caseBooleanConstant(@Nonnull BooleanConstant constant) {
+      writeVarInt(BOOLEAN_CONSTANT);
+      writeVarInt(constant == BooleanConstant.getInstance(true) ? 1 : 0);
+    }
+
+    @Override
+    public void caseDoubleConstant(@Nonnull DoubleConstant constant) {
+      writeVarInt(DOUBLE_CONSTANT);
+      writeFixedLong(Double.doubleToRawLongBits(constant.getValue()));
+    }
+
+    @Override
+    public void caseFloatConstant(@Nonnull FloatConstant constant) {
+      writeVarInt(FLOAT_CONSTANT);
+      writeFixedInt(Float.floatToRawIntBits(constant.getValue()));
+    }
+
+    @Override
+    public void caseIntConstant(@Nonnull IntConstant constant) {
+      writeVarInt(INT_CONSTANT);
+      writeSignedVarInt(constant.getValue());
+    }
+
+    @Override
+    public void caseLongConstant(@Nonnull LongConstant constant) {
+      writeVarInt(LONG_CONSTANT);
+      writeSignedVarLong(constant.getValue());
+    }
+
+    @Override
+    public void caseNullConstant(@Nonnull NullConstant constant) {
+      writeVarInt(NULL_CONSTANT);
+    }
+
+    @Override
+    public void caseStringConstant(@Nonnull StringConstant constant) {
+      writeVarInt(STRING_CONSTANT);
+      writeString(constant.getValue());
+      writeType(constant.getType());
+    }
+
+    @Override
+    public void caseEnumConstant(@Nonnull EnumConstant constant) {
+      writeVarInt(ENUM_CONSTANT);
+      writeString(constant.getValue());
+      writeType(constant.getType());
+    }
+
+    @Override
+    public void caseClassConstant(@Nonnull ClassConstant constant) {
+      writeVarInt(CLASS_CONSTANT);
+      writeString(constant.getValue());
+      writeType(constant.getType());
+    }
+
+    @Override
+    public void caseMethodHandle(@Nonnull MethodHandle handle) {
+      writeVarInt(METHOD_HANDLE);
+      writeVarInt(handle.getKind().getValue());
+      if (handle.isMethodRef()) {
+        writeMethodSignature((MethodSignature) handle.getReferenceSignature());
+      } else {
+        writeFieldSignature((FieldSignature) handle.getReferenceSignature());
+      }
+      writeType(handle.getType());
+    }
+
+    @Override
+    public void caseMethodType(@Nonnull MethodType methodType) {
+      writeVarInt(METHOD_TYPE);
+      writeType(methodType.getReturnType());
+      List<Type> parameterTypes = methodType.getParameterTypes();
+      writeVarInt(parameterTypes.size());
+      for (Type parameterType : parameterTypes) {
+        writeType(parameterType);
+      }
+    }
+
+    @Override
+    public void defaultCaseConstant(@Nonnull Constant constant) {
+      defaultCaseValue(constant);
+    }
+
+    @Override
+    public void caseAddExpr(JAddExpr expr) {
+      writeBinop(ADD_EXPR, expr);
+    }
+
+    @Override
+    public void caseAndExpr(JAndExpr expr) {
+      writeBinop(AND_EXPR, expr);
+    }
+
+    @Override
+    public void caseCmpExpr(JCmpExpr expr) {
+      writeBinop(CMP_EXPR, expr);
+    }
+
+    @Override
+    public void caseCmpgExpr(JCmpgExpr expr) {
+      writeBinop(CMPG_EXPR, expr);
+    }
+
+    @Override
+    public void caseCmplExpr(JCmplExpr expr) {
+      writeBinop(CMPL_EXPR, expr);
+    }
+
+    @Override
+    public void caseDivExpr(JDivExpr expr) {
+      writeBinop(DIV_EXPR, expr);
+    }
+
+    @Override
+    public void caseEqExpr(JEqExpr expr) {
+      writeBinop(EQ_EXPR, expr);
+    }
+
+    @Override
+    public void caseNeExpr(JNeExpr expr) {
+      writeBinop(NE_EXPR, expr);
+    }
+
+    @Override
+    public void caseGeExpr(JGeExpr expr) {
+      writeBinop(GE_EXPR, expr);
+    }
+
+    @Override
+    public void caseGtExpr(JGtExpr expr) {
+      writeBinop(GT_EXPR, expr);
+    }
+
+    @Override
+    public void caseLeExpr(JLeExpr expr) {
+      writeBinop(LE_EXPR, expr);
+    }
+
+    @Override
+    public void caseLtExpr(JLtExpr expr) {
+      writeBinop(LT_EXPR, expr);
+    }
+
+    @Override
+    public void caseMulExpr(JMulExpr expr) {
+      writeBinop(MUL_EXPR, expr);
+    }
+
+    @Override
+    public void caseOrExpr(JOrExpr expr) {
+      writeBinop(OR_EXPR, expr);
+    }
+
+    @Override
+    public void caseRemExpr(JRemExpr expr) {
+      writeBinop(REM_EXPR, expr);
+    }
+
+    @Override
+    public void caseShlExpr(JShlExpr expr) {
+      writeBinop(SHL_EXPR, expr);
+    }
+
+    @Override
+    public void caseShrExpr(JShrExpr expr) {
+      writeBinop(SHR_EXPR, expr);
+    }
+
+    @Override
+    public void caseUshrExpr(JUshrExpr expr) {
+      writeBinop(USHR_EXPR, expr);
+    }
+
+    @Override
+    public void caseSubExpr(JSubExpr expr) {
+      writeBinop(SUB_EXPR, expr);
+    }
+
+    @Override
+    public void caseXorExpr(JXorExpr expr) {
+      writeBinop(XOR_EXPR, expr);
+    }
+
+    @Override
+    public void caseSpecialInvokeExpr(JSpecialInvokeExpr expr) {
+      writeInstanceInvoke(SPECIAL_INVOKE_EXPR, expr);
+    }
+
+    @Override
+    public void caseVirtualInvokeExpr(JVirtualInvokeExpr expr) {
+      writeInstanceInvoke(VIRTUAL_INVOKE_EXPR, expr);
+    }
+
+    @Override
+    public void caseInterfaceInvokeExpr(JInterfaceInvokeExpr expr) {
+      writeInstanceInvoke(INTERFACE_INVOKE_EXPR, expr);
+    }
+
+    @Override
+    public void caseStaticInvokeExpr(JStaticInvokeExpr expr) {
+      writeVarInt(STATIC_INVOKE_EXPR);
+      writeMethodSignature(expr.getMethodSignature());
+      writeValues(expr.getArgs());
+    }
+
+    @Override
+    public void caseDynamicInvokeExpr(JDynamicInvokeExpr expr) {
+      writeVarInt(DYNAMIC_INVOKE_EXPR);
+      writeMethodSignature(expr.getBootstrapMethodSignature());
+      writeValues(expr.getBootstrapArgs());
+      writeMethodSignature(expr.getMethodSignature());
+      writeVarInt(expr.getHandleTag());
+      writeValues(expr.getArgs());
+    }
+
+    @Override
+    public void caseCastExpr(JCastExpr expr) {
+      writeVarInt(CAST_EXPR);
+      writeValue(expr.getOp());
+      writeType(expr.getType());
+    }
+
+    @Override
+    public void caseInstanceOfExpr(JInstanceOfExpr expr) {
+      writeVarInt(INSTANCE_OF_EXPR);
+      writeValue(expr.getOp());
+      writeType(expr.getCheckType());
+    }
+
+    @Override
+    public void caseNewArrayExpr(JNewArrayExpr expr) {
+      writeVarInt(NEW_ARRAY_EXPR);
+      writeType(expr.getBaseType());
+      writeValue(expr.getSize());
+    }
+
+    @Override
+    public void caseNewMultiArrayExpr(JNewMultiArrayExpr expr) {
+      writeVarInt(NEW_MULTI_ARRAY_EXPR);
+      writeType(expr.getBaseType());
+      writeValues(expr.getSizes());
+    }
+
+    @Override
+    public void caseNewExpr(JNewExpr expr) {
+      writeVarInt(NEW_EXPR);
+      writeType(expr.getType());
+    }
+
+    @Override
+    public void caseLengthExpr(JLengthExpr expr) {
+      writeVarInt(LENGTH_EXPR);
+      writeValue(expr.getOp());
+    }
+
+    @Override
+    public void caseNegExpr(JNegExpr expr) {
+      writeVarInt(NEG_EXPR);
+      writeValue(expr.getOp());
+    }
+
+    @Override
+    public void casePhiExpr(JPhiExpr expr) {
+      defaultCaseValue(expr);
+    }
+
+    @Override
+    public void defaultCaseExpr(Expr expr) {
+      defaultCaseValue(expr);
+    }
+
+    @Override
+    public void caseStaticFieldRef(JStaticFieldRef ref) {
+      writeVarInt(STATIC_FIELD_REF);
+      writeFieldSignature(ref.getFieldSignature());
+    }
+
+    @Override
+    public void caseInstanceFieldRef(JInstanceFieldRef ref) {
+      writeVarInt(INSTANCE_FIELD_REF);
+      writeLocal(ref.getBase());
+      writeFieldSignature(ref.getFieldSignature());
+    }
+
+    @Override
+    public void caseArrayRef(JArrayRef ref) {
+      writeVarInt(ARRAY_REF);
+      writeLocal(ref.getBase());
+      writeValue(ref.getIndex());
+    }
+
+    @Override
+    public void caseParameterRef(JParameterRef ref) {
+      writeVarInt(PARAMETER_REF);
+      writeType(ref.getType());
+      writeVarInt(ref.getIndex());
+    }
+
+    @Override
+    public void caseCaughtExceptionRef(JCaughtExceptionRef ref) {
+      writeVarInt(CAUGHT_EXCEPTION_REF);
+      writeType(ref.getType());
+    }
+
+    @Override
+    public void caseThisRef(JThisRef ref) {
+      writeVarInt(THIS_REF);
+      writeType(ref.getType());
+    }
+
+    @Override
+    public void defaultCaseRef(Ref ref) {
+      defaultCaseValue(ref);
+    }
+
+    @Override
+    public void defaultCaseValue(@Nonnull Value value) {
+      throw new IllegalArgumentException("Unsupported value " + value.getClass().getName());
+    }
+  }
+
+  /** Writes the statements of a body. Their successors are written with the blocks. */
+  private class StmtWriter implements StmtVisitor {
+
+    @Override
+    public void caseBreakpointStmt(JBreakpointStmt stmt) {
+      writeVarInt(BREAKPOINT_STMT);
+    }
+
+    @Override
+    public void caseInvokeStmt(JInvokeStmt stmt) {
+      writeVarInt(INVOKE_STMT);
+      writeValue(stmt.getInvokeExpr());
+    }
+
+    @Override
+    public void caseAssignStmt(JAssignStmt stmt) {
+      writeVarInt(ASSIGN_STMT);
+      writeValue(stmt.getLeftOp());
+      writeValue(stmt.getRightOp());
+    }
+
+    @Override
+    public void caseIdentityStmt(JIdentityStmt stmt) {
+      writeVarInt(IDENTITY_STMT);
+      writeLocal(stmt.getLeftOp());
+      writeValue(stmt.getRightOp());
+    }
+
+    @Override
+    public void caseEnterMonitorStmt(JEnterMonitorStmt stmt) {
+      writeVarInt(ENTER_MONITOR_STMT);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseExitMonitorStmt(JExitMonitorStmt stmt) {
+      writeVarInt(EXIT_MONITOR_STMT);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseGotoStmt(JGotoStmt stmt) {
+      writeVarInt(GOTO_STMT);
+    }
+
+    @Override
+    public void caseIfStmt(JIfStmt stmt) {
+      writeVarInt(IF_STMT);
+      writeValue(stmt.getCondition());
+    }
+
+    @Override
+    public void caseNopStmt(JNopStmt stmt) {
+      writeVarInt(NOP_STMT);
+    }
+
+    @Override
+    public void caseRetStmt(JRetStmt stmt) {
+      writeVarInt(RET_STMT);
+      writeValue(stmt.getStmtAddress());
+    }
+
+    @Override
+    public void caseReturnStmt(JReturnStmt stmt) {
+      writeVarInt(RETURN_STMT);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void caseReturnVoidStmt(JReturnVoidStmt stmt) {
+      writeVarInt(RETURN_VOID_STMT);
+    }
+
+    @Override
+    public void caseSwitchStmt(JSwitchStmt stmt) {
+      List<IntConstant> values = stmt.getValues();
+      if (stmt.isTableSwitch()) {
+        writeVarInt(TABLE_SWITCH_STMT);
+        writeValue(stmt.getKey());
+        writeSignedVarInt(values.get(0).getValue());
+        writeSignedVarInt(values.get(values.size() - 1).getValue());
+      } else {
+        writeVarInt(LOOKUP_SWITCH_STMT);
+        writeValue(stmt.getKey());
+        writeVarInt(values.size());
+        for (IntConstant value : values) {
+          writeSignedVarInt(value.getValue());
+        }
+      }
+    }
+
+    @Override
+    public void caseThrowStmt(JThrowStmt stmt) {
+      writeVarInt(THROW_STMT);
+      writeValue(stmt.getOp());
+    }
+
+    @Override
+    public void defaultCaseStmt(Stmt stmt) {
+      throw new IllegalArgumentException("Unsupported statement " + stmt.getClass().getName());
+    }
+  }
+
+  /** Writes an unsigned variable length integer with seven bits per byte. */
+  public void writeVarInt(int value) {
+    ensureCapacity(5);
+    while ((value & ~0x7f) != 0) {
+      buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    buffer[size++] = (byte) value;
+  }
+
+  /** Writes a zig-zag encoded variable length integer, so small negative values are short. */
+  public void writeSignedVarInt(int value) {
+    writeVarInt((value << 1) ^ (value >> 31));
+  }
+
+  public void writeSignedVarLong(long value) {
+    long zigZag = (value << 1) ^ (value >> 63);
+    ensureCapacity(10);
+    while ((zigZag & ~0x7fL) != 0) {
+      buffer[size++] = (byte) ((zigZag & 0x7f) | 0x80);
+      zigZag >>>= 7;
+    }
+    buffer[size++] = (byte) zigZag;
+  }
+
+  public void writeFixedInt(int value) {
+    ensureCapacity(4);
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      buffer[size++] = (byte) (value >>> shift);
+    }
+  }
+
+  public void writeFixedLong(long value) {
+    writeFixedInt((int) (value >>> 32));
+    writeFixedInt((int) value);
+  }
+
+  public void writeBytes(@Nonnull byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, size, bytes.length);
+    size += bytes.length;
+  }
+
+  private void ensureCapacity(int additionalBytes) {
+    if (size + additionalBytes > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additionalBytes));
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package sootup.java.bytecode.frontend;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sootup.core.frontend.BodyStore;
+import sootup.core.model.Body;
+
+/**
+ * A {@link BodyStore} that keeps every body in a file of the {@link BinaryJimpleWriter binary
+ * Jimple format} in a directory on the local disk. The files are spread over subdirectories that
+ * are named after the first two characters of the key, so that no directory gets too large.
+ *
+ * <pre><code>
+ * JavaView view =
+ *     new JavaView(
+ *         inputLocations,
+ *         new FullCacheProvider&lt;&gt;(),
+ *         DefaultSourceTypeSpecifier.getInstance(),
+ *         BodyRetentionPolicy.strong(),
+ *         new FileBodyStore(cacheDirectory));
+ * </code></pre>
+ *
+ * <p>Bodies that can not be written in the binary format are not stored and are converted again
+ * in the next run. Files that can not be read are ignored as well, so a broken or outdated store
+ * only costs the time to convert the bodies again.
+ */
+public class FileBodyStore implements BodyStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(FileBodyStore.class);
+  private static final String FILE_EXTENSION = ".body";
+  private static final String TEMP_FILE_EXTENSION = ".tmp";
+
+  @Nonnull private final Path directory;
+
+  /**
+   * Creates a store that keeps its files in the given directory. The directory is created when the
+   * first body is stored.
+   */
+  public FileBodyStore(@Nonnull Path directory) {
+    this.directory = directory;
+  }
+
+  /** Returns the file of the body that is stored under the given key. */
+  @Nonnull
+  public Path getFile(@Nonnull String key) {
+    if (key.length() <= 2) {
+      return directory.resolve(key + FILE_EXTENSION);
+    }
+    return directory.resolve(key.substring(0, 2)).resolve(key + FILE_EXTENSION);
+  }
+
+  @Nonnull
+  @Override
+  public Optional<Body> load(@Nonnull String key) {
+    Path file = getFile(key);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(BinaryJimpleReader.read(Files.readAllBytes(file)));
+    } catch (IOException | IllegalArgumentException e) {
+      logger.warn("Could not load the body " + file, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the body under the given key. The file is replaced atomically, so a concurrent {@link
+   * #load(String)} never sees a partially written file.
+   */
+  @Override
+  public void store(@Nonnull String key, @Nonnull Body body) {
+    byte[] bytes;
+    try {
+      bytes = BinaryJimpleWriter.write(body);
+    } catch (IllegalArgumentException e) {
+      logger.debug("Could not write the body of " + body.getMethodSignature(), e);
+      return;
+    }
+
+    Path file = getFile(key);
+    try {
+      Path parent = file.getParent();
+      Files.createDirectories(parent);
+      Path tempFile =
+          Files.createTempFile(parent, file.getFileName().toString(), TEMP_FILE_EXTENSION);
+      try {
+        Files.write(tempFile, bytes);
+        try {
+          Files.move(
+              tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException e) {
+      logger.warn("Could not store the body " + file, e);
+    }
+  }
+}
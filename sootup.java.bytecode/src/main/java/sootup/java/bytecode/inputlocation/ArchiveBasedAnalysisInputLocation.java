@@ -32,10 +32,12 @@ import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import sootup.core.frontend.AbstractClassSource;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
 import sootup.core.types.ClassType;
@@ -101,11 +103,36 @@ public class ArchiveBasedAnalysisInputLocation extends PathBasedAnalysisInputLoc
   @Nonnull
   public Collection<? extends AbstractClassSource<JavaSootClass>> getClassSources(
       @Nonnull View<?> view) {
+    return readClassSources(view, null);
+  }
+
+  @Override
+  @Nonnull
+  public Collection<? extends AbstractClassSource<JavaSootClass>> getClassSources(
+      @Nonnull View<?> view, @Nonnull ForkJoinPool pool) {
+    return readClassSources(view, pool);
+  }
+
+  @Nonnull
+  private Collection<? extends AbstractClassSource<JavaSootClass>> readClassSources(
+      @Nonnull View<?> view, @Nullable ForkJoinPool pool) {
     // we don't use the filesystem cache here as it could close the filesystem after the timeout
     // while we are still iterating
     try (FileSystem fs = FileSystems.newFileSystem(path, (ClassLoader) null)) {
       final Path archiveRoot = fs.getPath("/");
       return walkDirectory(
+          archiveRoot, view.getIdentifierFactory(), new AsmJavaClassProvider(view), pool);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  @Nonnull
+  public Collection<ClassHeader> getClassHeaders(@Nonnull View<?> view) {
+    try (FileSystem fs = FileSystems.newFileSystem(path, (ClassLoader) null)) {
+      final Path archiveRoot = fs.getPath("/");
+      return walkDirectoryForHeaders(
           archiveRoot, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
     } catch (IOException e) {
       throw new RuntimeException(e);
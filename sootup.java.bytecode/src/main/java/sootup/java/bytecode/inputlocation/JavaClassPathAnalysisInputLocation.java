@@ -25,6 +25,7 @@ package sootup.java.bytecode.inputlocation;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
@@ -33,6 +34,7 @@ import javax.annotation.Nonnull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import sootup.core.frontend.AbstractClassSource;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SourceType;
 import sootup.core.transform.BodyInterceptor;
@@ -187,6 +189,34 @@ public class JavaClassPathAnalysisInputLocation implements AnalysisInputLocation
     return found;
   }
 
+  @Override
+  @Nonnull
+  public Collection<? extends AbstractClassSource<JavaSootClass>> getClassSources(
+      @Nonnull View<?> view, @Nonnull ForkJoinPool pool) {
+    // the class which is found first on the class path is kept
+    Map<ClassType, AbstractClassSource<JavaSootClass>> found = new LinkedHashMap<>();
+    for (AnalysisInputLocation<JavaSootClass> inputLocation : cpEntries) {
+      for (AbstractClassSource<JavaSootClass> classSource :
+          inputLocation.getClassSources(view, pool)) {
+        found.putIfAbsent(classSource.getClassType(), classSource);
+      }
+    }
+    return found.values();
+  }
+
+  @Override
+  @Nonnull
+  public Collection<ClassHeader> getClassHeaders(@Nonnull View<?> view) {
+    // the class which is found first on the class path is kept
+    Map<ClassType, ClassHeader> found = new LinkedHashMap<>();
+    for (AnalysisInputLocation<JavaSootClass> inputLocation : cpEntries) {
+      for (ClassHeader header : inputLocation.getClassHeaders(view)) {
+        found.putIfAbsent(header.getType(), header);
+      }
+    }
+    return found.values();
+  }
+
   @Override
   @Nonnull
   public Optional<? extends AbstractClassSource<JavaSootClass>> getClassSource(
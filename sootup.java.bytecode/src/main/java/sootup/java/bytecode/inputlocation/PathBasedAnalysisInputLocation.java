@@ -3,10 +3,14 @@ package sootup.java.bytecode.inputlocation;
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
 import java.util.jar.Attributes;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import javax.annotation.Nonnull;
@@ -21,6 +25,7 @@ import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 import sootup.core.IdentifierFactory;
 import sootup.core.frontend.AbstractClassSource;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.ClassProvider;
 import sootup.core.frontend.SootClassSource;
 import sootup.core.inputlocation.AnalysisInputLocation;
@@ -168,25 +173,83 @@ public abstract class PathBasedAnalysisInputLocation
       @Nonnull Path dirPath,
       @Nonnull IdentifierFactory factory,
       @Nonnull ClassProvider<JavaSootClass> classProvider) {
+    return walkDirectory(dirPath, factory, classProvider, null);
+  }
+
+  /**
+   * Like {@link #walkDirectory(Path, IdentifierFactory, ClassProvider)}, but parses the class files
+   * in parallel on the given pool, if there is one.
+   */
+  @Nonnull
+  Collection<? extends AbstractClassSource<JavaSootClass>> walkDirectory(
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull ClassProvider<JavaSootClass> classProvider,
+      @Nullable ForkJoinPool pool) {
+    return walkDirectory(
+        dirPath,
+        factory,
+        classProvider.getHandledFileType(),
+        (p, type) -> classProvider.createClassSource(this, p, type),
+        pool);
+  }
+
+  /** Like {@link #walkDirectory(Path, IdentifierFactory, ClassProvider)}, but reads headers. */
+  @Nonnull
+  Collection<ClassHeader> walkDirectoryForHeaders(
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull ClassProvider<JavaSootClass> classProvider) {
+    return walkDirectory(
+        dirPath,
+        factory,
+        classProvider.getHandledFileType(),
+        (p, type) -> classProvider.createClassHeader(this, p, type),
+        null);
+  }
+
+  @Nonnull
+  private <R> List<R> walkDirectory(
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull FileType handledFileType,
+      @Nonnull BiFunction<Path, ClassType, Optional<? extends R>> reader,
+      @Nullable ForkJoinPool pool) {
     try {
-      final FileType handledFileType = classProvider.getHandledFileType();
       final String moduleInfoFilename = JavaModuleIdentifierFactory.MODULE_INFO_FILE + ".class";
-      return Files.walk(dirPath)
-          .filter(
-              filePath ->
-                  PathUtils.hasExtension(filePath, handledFileType)
-                      && !filePath.toString().endsWith(moduleInfoFilename))
-          .flatMap(
-              p ->
-                  StreamUtils.optionalToStream(
-                      classProvider.createClassSource(this, p, factory.fromPath(dirPath, p))))
-          .collect(Collectors.toList());
+      final List<Path> paths =
+          Files.walk(dirPath)
+              .filter(
+                  filePath ->
+                      PathUtils.hasExtension(filePath, handledFileType)
+                          && !filePath.toString().endsWith(moduleInfoFilename))
+              .collect(Collectors.toList());
+      if (pool == null) {
+        return readPaths(paths.stream(), dirPath, factory, reader);
+      }
+      // the order of the paths is retained nonetheless
+      return pool.invoke(
+          ForkJoinTask.adapt(() -> readPaths(paths.parallelStream(), dirPath, factory, reader)));
 
     } catch (IOException e) {
       throw new IllegalArgumentException(e);
     }
   }
 
+  @Nonnull
+  private static <R> List<R> readPaths(
+      @Nonnull Stream<Path> paths,
+      @Nonnull Path dirPath,
+      @Nonnull IdentifierFactory factory,
+      @Nonnull BiFunction<Path, ClassType, Optional<? extends R>> reader) {
+    return paths
+        .flatMap(
+            p ->
+                StreamUtils.optionalToStream(
+                    reader.apply(p, factory.fromPath(dirPath, p)).<R>map(r -> r)))
+        .collect(Collectors.toList());
+  }
+
   @Nonnull
   protected Optional<? extends AbstractClassSource<JavaSootClass>> getClassSourceInternal(
       @Nonnull JavaClassType signature,
@@ -252,6 +315,17 @@ public abstract class PathBasedAnalysisInputLocation
           classProvider.createClassSource(this, path, factory.fromPath(dirPath, path));
       return Collections.singletonList(classSource.get());
     }
+
+    @Nonnull
+    @Override
+    public Collection<ClassHeader> getClassHeaders(@Nonnull View<?> view) {
+      Path dirPath = this.path.getParent();
+      return StreamUtils.optionalToStream(
+              new AsmJavaClassProvider(view)
+                  .createClassHeader(
+                      this, path, view.getIdentifierFactory().fromPath(dirPath, path)))
+          .collect(Collectors.toList());
+    }
   }
 
   private static class DirectoryBasedAnalysisInputLocation extends PathBasedAnalysisInputLocation {
@@ -274,6 +348,21 @@ public abstract class PathBasedAnalysisInputLocation
       return walkDirectory(path, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
     }
 
+    @Override
+    @Nonnull
+    public Collection<? extends AbstractClassSource<JavaSootClass>> getClassSources(
+        @Nonnull View<?> view, @Nonnull ForkJoinPool pool) {
+      return walkDirectory(
+          path, view.getIdentifierFactory(), new AsmJavaClassProvider(view), pool);
+    }
+
+    @Override
+    @Nonnull
+    public Collection<ClassHeader> getClassHeaders(@Nonnull View<?> view) {
+      return walkDirectoryForHeaders(
+          path, view.getIdentifierFactory(), new AsmJavaClassProvider(view));
+    }
+
     @Override
     @Nonnull
     public Optional<? extends AbstractClassSource<JavaSootClass>> getClassSource(
@@ -342,6 +431,34 @@ public abstract class PathBasedAnalysisInputLocation
       return foundClasses;
     }
 
+    @Override
+    @Nonnull
+    public Collection<? extends AbstractClassSource<JavaSootClass>> getClassSources(
+        @Nonnull View<?> view, @Nonnull ForkJoinPool pool) {
+      // the class which is found first is kept
+      Map<ClassType, AbstractClassSource<JavaSootClass>> foundClasses = new LinkedHashMap<>();
+      for (AnalysisInputLocation<JavaSootClass> inputLoc : containedInputLocations) {
+        for (AbstractClassSource<JavaSootClass> classSource :
+            inputLoc.getClassSources(view, pool)) {
+          foundClasses.putIfAbsent(classSource.getClassType(), classSource);
+        }
+      }
+      return foundClasses.values();
+    }
+
+    @Override
+    @Nonnull
+    public Collection<ClassHeader> getClassHeaders(@Nonnull View<?> view) {
+      // the class which is found first is kept
+      Map<ClassType, ClassHeader> foundHeaders = new LinkedHashMap<>();
+      for (AnalysisInputLocation<JavaSootClass> inputLoc : containedInputLocations) {
+        for (ClassHeader header : inputLoc.getClassHeaders(view)) {
+          foundHeaders.putIfAbsent(header.getType(), header);
+        }
+      }
+      return foundHeaders.values();
+    }
+
     @Override
     @Nonnull
     public Optional<? extends AbstractClassSource<JavaSootClass>> getClassSource(
@@ -0,0 +1,130 @@
+package sootup.java.bytecode.inputlocation;
+
+/*-
+ * #%L
+ * Soot - a J*va Optimization Framework
+ * %%
+ * Copyright (C) 1997 - 2026 Raja Vallée-Rai and others
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 2.1 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import sootup.core.frontend.AbstractClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.types.ClassType;
+import sootup.core.views.View;
+import sootup.java.bytecode.frontend.BinaryJimpleSnapshot;
+import sootup.java.core.JavaSootClass;
+
+/**
+ * An input location of the classes in a {@link BinaryJimpleSnapshot} file. The file is mapped into
+ * memory once and the classes are decoded from the mapping, which is much faster than parsing the
+ * class files or the Jimple files again that the snapshot has been written from.
+ *
+ * <pre><code>
+ * BinaryJimpleSnapshot.write(view, snapshotFile);
+ * JavaView snapshotView =
+ *     new JavaView(new SnapshotAnalysisInputLocation(snapshotFile, SourceType.Application));
+ * </code></pre>
+ *
+ * <p>The bodies in the snapshot have already been processed by the body interceptors of the view
+ * that has written it, so this input location has no body interceptors.
+ */
+public class SnapshotAnalysisInputLocation implements AnalysisInputLocation<JavaSootClass> {
+
+  @Nonnull private final BinaryJimpleSnapshot snapshot;
+  @Nullable private final SourceType sourceType;
+
+  /**
+   * Creates an input location of the given snapshot file.
+   *
+   * @throws IllegalArgumentException if the file can not be read or does not contain a snapshot
+   */
+  public SnapshotAnalysisInputLocation(@Nonnull Path path, @Nullable SourceType sourceType) {
+    this(load(path), sourceType);
+  }
+
+  public SnapshotAnalysisInputLocation(
+      @Nonnull BinaryJimpleSnapshot snapshot, @Nullable SourceType sourceType) {
+    this.snapshot = snapshot;
+    this.sourceType = sourceType;
+  }
+
+  @Nonnull
+  private static BinaryJimpleSnapshot load(@Nonnull Path path) {
+    try {
+      return BinaryJimpleSnapshot.load(path);
+    } catch (IOException e) {
+      throw new IllegalArgumentException(
+          "The snapshot '" + path + "' can not be loaded: " + e.getMessage(), e);
+    }
+  }
+
+  @Nonnull
+  public BinaryJimpleSnapshot getSnapshot() {
+    return snapshot;
+  }
+
+  @Override
+  @Nonnull
+  public Optional<? extends AbstractClassSource<JavaSootClass>> getClassSource(
+      @Nonnull ClassType type, @Nonnull View<?> view) {
+    return snapshot.getClassSource(this, type, view.getBodyRetentionPolicy());
+  }
+
+  @Override
+  @Nonnull
+  public Collection<? extends AbstractClassSource<JavaSootClass>> getClassSources(
+      @Nonnull View<?> view) {
+    return snapshot.getClassSources(this, view.getBodyRetentionPolicy());
+  }
+
+  @Nullable
+  @Override
+  public SourceType getSourceType() {
+    return sourceType;
+  }
+
+  @Override
+  @Nonnull
+  public List<BodyInterceptor> getBodyInterceptors() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof SnapshotAnalysisInputLocation)) {
+      return false;
+    }
+    return snapshot.getPath().equals(((SnapshotAnalysisInputLocation) o).snapshot.getPath());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(snapshot.getPath());
+  }
+}
@@ -1,12 +1,15 @@
 package sootup.java.bytecode.frontend;
 
+import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertTrue;
 import static junit.framework.TestCase.fail;
 
 import categories.Java8Test;
 import java.util.Arrays;
+import java.util.Collections;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import sootup.core.model.Body;
 import sootup.core.model.SootClass;
 import sootup.core.model.SootMethod;
 import sootup.core.signatures.MethodSignature;
@@ -46,4 +49,28 @@ public class AsmMethodSourceTest {
     final SootMethod method = abstractClass.getMethod(mainMethodSignature.getSubSignature()).get();
     method.getBody().getStmts();
   }
+
+  @Test
+  public void testCodeIsDecodedOnlyWhileResolvingTheBody() {
+    JavaView view = new JavaView(new DefaultRTJarAnalysisInputLocation());
+
+    final JavaIdentifierFactory idf = JavaIdentifierFactory.getInstance();
+    JavaClassType classType = idf.getClassType("java.util.ArrayList");
+    MethodSignature methodSignature =
+        idf.getMethodSignature(
+            classType, "indexOf", "int", Collections.singletonList("java.lang.Object"));
+
+    final SootMethod method =
+        view.getClass(classType).get().getMethod(methodSignature.getSubSignature()).get();
+    AsmMethodSource bodySource = (AsmMethodSource) method.getBodySource();
+    assertEquals(0, bodySource.instructions.size());
+
+    Body body = bodySource.resolveBody(method.getModifiers());
+    assertTrue(body.getStmts().size() > 0);
+    assertEquals(0, bodySource.instructions.size());
+    assertTrue(bodySource.tryCatchBlocks.isEmpty());
+
+    // the code is decoded again if the body is resolved another time
+    assertEquals(body.toString(), bodySource.resolveBody(method.getModifiers()).toString());
+  }
 }
@@ -23,6 +23,7 @@ package sootup.java.core.views;
  */
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -55,7 +56,7 @@ import sootup.java.core.types.JavaClassType;
 public class JavaModuleView extends JavaView {
 
   @Nonnull private final List<ModuleInfoAnalysisInputLocation> moduleInfoAnalysisInputLocations;
-  @Nonnull final HashMap<ModuleSignature, JavaModuleInfo> moduleInfoMap = new HashMap<>();
+  @Nonnull final Map<ModuleSignature, JavaModuleInfo> moduleInfoMap = new ConcurrentHashMap<>();
 
   public JavaModuleView(
       @Nonnull List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations,
@@ -189,7 +190,18 @@ public class JavaModuleView extends JavaView {
   }
 
   @Nonnull
-  public synchronized Optional<JavaSootClass> getClass(
+  public Optional<JavaSootClass> getClass(
+      @Nonnull ModulePackageName entryPackage, @Nonnull JavaClassType type) {
+    if (isResolvingConcurrently()) {
+      return resolveClass(entryPackage, type);
+    }
+    synchronized (this) {
+      return resolveClass(entryPackage, type);
+    }
+  }
+
+  @Nonnull
+  private Optional<JavaSootClass> resolveClass(
       @Nonnull ModulePackageName entryPackage, @Nonnull JavaClassType type) {
 
     Optional<JavaModuleInfo> startOpt = getModuleInfo(entryPackage.getModuleSignature());
@@ -327,8 +339,17 @@ public class JavaModuleView extends JavaView {
 
   /** return the classes which belong to the moduleSignature */
   @Nonnull
-  public synchronized Collection<JavaSootClass> getModuleClasses(
-      @Nonnull ModuleSignature moduleSignature) {
+  public Collection<JavaSootClass> getModuleClasses(@Nonnull ModuleSignature moduleSignature) {
+    if (isResolvingConcurrently()) {
+      return resolveModuleClasses(moduleSignature);
+    }
+    synchronized (this) {
+      return resolveModuleClasses(moduleSignature);
+    }
+  }
+
+  @Nonnull
+  private Collection<JavaSootClass> resolveModuleClasses(@Nonnull ModuleSignature moduleSignature) {
 
     Optional<JavaModuleInfo> startOpt = getModuleInfo(moduleSignature);
     if (!startOpt.isPresent()) {
@@ -477,7 +498,17 @@ public class JavaModuleView extends JavaView {
 
   @Override
   @Nonnull
-  protected synchronized Collection<JavaSootClass> resolveAll() {
+  protected List<? extends AnalysisInputLocation<? extends JavaSootClass>> getAllInputLocations() {
+    // module path first, see getAbstractClass()
+    List<AnalysisInputLocation<? extends JavaSootClass>> allInputLocations =
+        new ArrayList<>(moduleInfoAnalysisInputLocations);
+    allInputLocations.addAll(inputLocations);
+    return allInputLocations;
+  }
+
+  @Override
+  @Nonnull
+  protected Collection<JavaSootClass> resolveAll() {
     if (isFullyResolved && cache instanceof FullCache) {
       return cache.getClasses();
     }
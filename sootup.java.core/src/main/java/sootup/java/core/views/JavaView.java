@@ -24,24 +24,41 @@ package sootup.java.core.views;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import sootup.core.IdentifierFactory;
 import sootup.core.SourceTypeSpecifier;
+import sootup.core.cache.CacheStatistics;
 import sootup.core.cache.ClassCache;
+import sootup.core.cache.ConcurrentClassCache;
 import sootup.core.cache.FullCache;
 import sootup.core.cache.provider.ClassCacheProvider;
 import sootup.core.cache.provider.FullCacheProvider;
 import sootup.core.frontend.AbstractClassSource;
+import sootup.core.frontend.BodyStore;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.inputlocation.DefaultSourceTypeSpecifier;
+import sootup.core.model.Body;
+import sootup.core.model.BodyRetentionPolicy;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSignature;
 import sootup.core.types.ClassType;
 import sootup.core.views.AbstractView;
 import sootup.java.core.AnnotationUsage;
 import sootup.java.core.JavaAnnotationSootClass;
 import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
 import sootup.java.core.language.JavaLanguage;
 import sootup.java.core.types.AnnotationType;
 
@@ -57,6 +74,11 @@ public class JavaView extends AbstractView<JavaSootClass> {
   @Nonnull protected final List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations;
   @Nonnull protected final ClassCache<JavaSootClass> cache;
   @Nonnull protected final SourceTypeSpecifier sourceTypeSpecifier;
+  @Nonnull protected final BodyRetentionPolicy bodyRetentionPolicy;
+  @Nullable protected final BodyStore bodyStore;
+
+  /** Per {@link ClassType} locks that are held while a class is built in concurrent mode. */
+  @Nonnull private final Map<ClassType, Object> resolutionLocks = new ConcurrentHashMap<>();
 
   protected volatile boolean isFullyResolved = false;
 
@@ -84,22 +106,187 @@ public class JavaView extends AbstractView<JavaSootClass> {
       @Nonnull List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations,
       @Nonnull ClassCacheProvider<JavaSootClass> cacheProvider,
       @Nonnull SourceTypeSpecifier sourceTypeSpecifier) {
+    this(inputLocations, cacheProvider, sourceTypeSpecifier, BodyRetentionPolicy.strong());
+  }
+
+  /**
+   * Creates a new instance of the {@link JavaView} class.
+   *
+   * @param bodyRetentionPolicy decides how long resolved method bodies are kept in memory before
+   *     they are dropped and resolved again on demand.
+   */
+  public JavaView(
+      @Nonnull List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations,
+      @Nonnull ClassCacheProvider<JavaSootClass> cacheProvider,
+      @Nonnull SourceTypeSpecifier sourceTypeSpecifier,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy) {
+    this(inputLocations, cacheProvider, sourceTypeSpecifier, bodyRetentionPolicy, null);
+  }
+
+  /**
+   * Creates a new instance of the {@link JavaView} class.
+   *
+   * @param bodyRetentionPolicy decides how long resolved method bodies are kept in memory before
+   *     they are dropped and resolved again on demand.
+   * @param bodyStore keeps the resolved bodies across runs, so that they are loaded instead of
+   *     converted again, or <code>null</code> to convert every body.
+   */
+  public JavaView(
+      @Nonnull List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations,
+      @Nonnull ClassCacheProvider<JavaSootClass> cacheProvider,
+      @Nonnull SourceTypeSpecifier sourceTypeSpecifier,
+      @Nonnull BodyRetentionPolicy bodyRetentionPolicy,
+      @Nullable BodyStore bodyStore) {
     this.inputLocations = inputLocations;
     this.cache = cacheProvider.createCache();
     this.sourceTypeSpecifier = sourceTypeSpecifier;
+    this.bodyRetentionPolicy = bodyRetentionPolicy;
+    this.bodyStore = bodyStore;
   }
 
   /** Resolves all classes that are part of the view and stores them in the cache. */
   @Override
   @Nonnull
-  public synchronized Collection<JavaSootClass> getClasses() {
-    return resolveAll();
+  public Collection<JavaSootClass> getClasses() {
+    if (isResolvingConcurrently()) {
+      return resolveAll();
+    }
+    synchronized (this) {
+      return resolveAll();
+    }
+  }
+
+  /**
+   * Resolves all classes that are part of the view like {@link #getClasses()}, but parses and
+   * builds the class sources of all input locations in parallel on the given pool. If several input
+   * locations contain the same class, the one of the first input location is kept - just as for
+   * {@link #getClass(ClassType)}.
+   */
+  @Nonnull
+  public Collection<JavaSootClass> getClasses(@Nonnull ForkJoinPool pool) {
+    if (isFullyResolved && cache instanceof FullCache) {
+      return cache.getClasses();
+    }
+
+    final Collection<JavaSootClass> resolvedClasses =
+        runOn(pool, () -> resolveAllInParallel(pool), "the classes of the view");
+    isFullyResolved = true;
+
+    return resolvedClasses;
+  }
+
+  /**
+   * Resolves the bodies of all concrete methods of the given classes in parallel on the given pool,
+   * i.e. the bytecode of the methods is converted and the body interceptors are applied to them
+   * concurrently. Whether the bodies are kept afterwards is decided by the {@link
+   * BodyRetentionPolicy} of the view. The body interceptors resolve the classes they need through
+   * the view, so a view that {@link #isResolvingConcurrently() resolves concurrently} scales
+   * better.
+   *
+   * @return the methods whose body could not be resolved or consumed and the cause of the failure,
+   *     the other methods are resolved nevertheless
+   * @see #resolveBodies(Collection, ForkJoinPool, BiConsumer)
+   */
+  @Nonnull
+  public Map<MethodSignature, RuntimeException> resolveBodies(
+      @Nonnull Collection<? extends JavaSootClass> classes, @Nonnull ForkJoinPool pool) {
+    return resolveBodies(classes, pool, (method, body) -> {});
+  }
+
+  /**
+   * Resolves the bodies of all concrete methods of the given classes in parallel on the given pool
+   * and passes every resolved body to the consumer. The consumer is called concurrently by the
+   * threads of the pool, right after the body of the method has been resolved on the same thread.
+   * So at most one body per thread of the pool is in flight and a slow consumer slows down the
+   * resolution instead of piling up bodies. Together with a {@link BodyRetentionPolicy} that does
+   * not keep the bodies, e.g. {@link BodyRetentionPolicy#weak()}, the memory that is needed is
+   * bounded by the parallelism of the pool instead of the number of methods.
+   *
+   * @return the methods whose body could not be resolved or consumed and the cause of the failure,
+   *     the other methods are resolved nevertheless
+   */
+  @Nonnull
+  public Map<MethodSignature, RuntimeException> resolveBodies(
+      @Nonnull Collection<? extends JavaSootClass> classes,
+      @Nonnull ForkJoinPool pool,
+      @Nonnull BiConsumer<JavaSootMethod, Body> consumer) {
+    List<JavaSootMethod> methods =
+        classes.stream()
+            .flatMap(sootClass -> sootClass.getMethods().stream())
+            .filter(SootMethod::hasBody)
+            .collect(Collectors.toList());
+
+    Map<MethodSignature, RuntimeException> failures = new ConcurrentHashMap<>();
+    runOn(
+        pool,
+        () -> {
+          methods
+              .parallelStream()
+              .forEach(
+                  method -> {
+                    try {
+                      consumer.accept(method, method.getBody());
+                    } catch (RuntimeException e) {
+                      failures.put(method.getSignature(), e);
+                    }
+                  });
+          return null;
+        },
+        "the bodies of the classes");
+    return failures;
+  }
+
+  /** Runs the task on the given pool, so that parallel streams of the task use the pool. */
+  private static <R> R runOn(
+      @Nonnull ForkJoinPool pool, @Nonnull Callable<R> task, @Nonnull String subject) {
+    try {
+      return pool.submit(task).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while resolving " + subject + ".", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Could not resolve " + subject + ".", e.getCause());
+    }
+  }
+
+  /**
+   * Reads the headers of all classes that are part of the view without resolving the classes, i.e.
+   * the classes are not added to the cache. If several input locations contain the same class, the
+   * header of the first input location is kept - just as for {@link #getClass(ClassType)}.
+   */
+  @Override
+  @Nonnull
+  public Collection<ClassHeader> getClassHeaders() {
+    if (isFullyResolved && cache instanceof FullCache) {
+      return cache.getClasses().stream().map(ClassHeader::of).collect(Collectors.toList());
+    }
+
+    Map<ClassType, ClassHeader> firstMatches = new LinkedHashMap<>();
+    for (AnalysisInputLocation<? extends JavaSootClass> location : getAllInputLocations()) {
+      for (ClassHeader header : location.getClassHeaders(this)) {
+        firstMatches.putIfAbsent(header.getType(), header);
+      }
+    }
+    return firstMatches.values();
   }
 
   /** Resolves the class matching the provided {@link ClassType ClassType}. */
   @Override
   @Nonnull
-  public synchronized Optional<JavaSootClass> getClass(@Nonnull ClassType type) {
+  public Optional<JavaSootClass> getClass(@Nonnull ClassType type) {
+    if (isResolvingConcurrently()) {
+      return resolveClass(type);
+    }
+    synchronized (this) {
+      return resolveClass(type);
+    }
+  }
+
+  @Nonnull
+  private Optional<JavaSootClass> resolveClass(@Nonnull ClassType type) {
     JavaSootClass cachedClass = cache.getClass(type);
     if (cachedClass != null) {
       return Optional.of(cachedClass);
@@ -110,17 +297,49 @@ public class JavaView extends AbstractView<JavaSootClass> {
     return abstractClass.flatMap(this::buildClassFrom);
   }
 
+  /**
+   * Returns true if this view resolves classes concurrently, i.e. if it is backed by a {@link
+   * ConcurrentClassCache}. In that case lookups are not synchronized on the view and a class is
+   * built while holding a lock that is exclusive to its {@link ClassType}, so unrelated classes can
+   * be resolved in parallel while each class is still built only once. Otherwise every resolution
+   * is synchronized on the view.
+   */
+  public boolean isResolvingConcurrently() {
+    return cache instanceof ConcurrentClassCache;
+  }
+
   @Nonnull
   @Override
   public IdentifierFactory getIdentifierFactory() {
     return new JavaLanguage(8).getIdentifierFactory();
   }
 
+  @Nonnull
+  @Override
+  public BodyRetentionPolicy getBodyRetentionPolicy() {
+    return bodyRetentionPolicy;
+  }
+
+  @Nonnull
+  @Override
+  public Optional<BodyStore> getBodyStore() {
+    return Optional.ofNullable(bodyStore);
+  }
+
   /** Returns the number of classes that are currently stored in the cache. */
   public int getNumberOfStoredClasses() {
     return cache.size();
   }
 
+  /**
+   * Returns the hit, miss and eviction counters of the cache or an empty Optional if the cache does
+   * not record them.
+   */
+  @Nonnull
+  public Optional<CacheStatistics> getCacheStatistics() {
+    return cache.getStatistics();
+  }
+
   @Nonnull
   protected Optional<? extends AbstractClassSource<? extends JavaSootClass>> getAbstractClass(
       @Nonnull ClassType type) {
@@ -135,16 +354,35 @@ public class JavaView extends AbstractView<JavaSootClass> {
   }
 
   @Nonnull
-  protected synchronized Optional<JavaSootClass> buildClassFrom(
+  protected Optional<JavaSootClass> buildClassFrom(
       AbstractClassSource<? extends JavaSootClass> classSource) {
 
     ClassType classType = classSource.getClassType();
     JavaSootClass theClass;
-    if (!cache.hasClass(classType)) {
-      theClass = classSource.buildClass(sourceTypeSpecifier.sourceTypeFor(classSource));
-      cache.putClass(classType, theClass);
+    if (isResolvingConcurrently()) {
+      Object lock = resolutionLocks.computeIfAbsent(classType, type -> new Object());
+      try {
+        synchronized (lock) {
+          // hasClass() first to not count a lookup of the cache twice
+          theClass = cache.hasClass(classType) ? cache.getClass(classType) : null;
+          if (theClass == null) {
+            theClass = classSource.buildClass(sourceTypeSpecifier.sourceTypeFor(classSource));
+            cache.putClass(classType, theClass);
+          }
+        }
+      } finally {
+        // only remove the own lock, another thread may have registered a new one in between
+        resolutionLocks.remove(classType, lock);
+      }
     } else {
-      theClass = cache.getClass(classType);
+      synchronized (this) {
+        if (!cache.hasClass(classType)) {
+          theClass = classSource.buildClass(sourceTypeSpecifier.sourceTypeFor(classSource));
+          cache.putClass(classType, theClass);
+        } else {
+          theClass = cache.getClass(classType);
+        }
+      }
     }
 
     if (theClass.getType() instanceof AnnotationType) {
@@ -155,8 +393,48 @@ public class JavaView extends AbstractView<JavaSootClass> {
     return Optional.of(theClass);
   }
 
+  /**
+   * Returns all input locations whose classes are part of the view, in the order in which they are
+   * searched for a class.
+   */
+  @Nonnull
+  protected List<? extends AnalysisInputLocation<? extends JavaSootClass>> getAllInputLocations() {
+    return inputLocations;
+  }
+
+  /** needs to be called from a task of the given pool to run in parallel */
+  @Nonnull
+  private Collection<JavaSootClass> resolveAllInParallel(@Nonnull ForkJoinPool pool) {
+    // the input locations are processed in parallel, the class sources of each of them are kept in
+    // the order of the input locations
+    List<Collection<? extends AbstractClassSource<? extends JavaSootClass>>> classSources =
+        getAllInputLocations()
+            .parallelStream()
+            .map(location -> location.getClassSources(this, pool))
+            .collect(Collectors.toList());
+
+    // like javas behaviour: if multiple matching Classes(ClassTypes) are found on the classpath
+    // the first is returned (see splitpackage)
+    Map<ClassType, AbstractClassSource<? extends JavaSootClass>> firstMatches =
+        new LinkedHashMap<>();
+    for (Collection<? extends AbstractClassSource<? extends JavaSootClass>> sources :
+        classSources) {
+      for (AbstractClassSource<? extends JavaSootClass> source : sources) {
+        firstMatches.putIfAbsent(source.getClassType(), source);
+      }
+    }
+
+    return firstMatches
+        .values()
+        .parallelStream()
+        .map(this::buildClassFrom)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(Collectors.toList());
+  }
+
   @Nonnull
-  protected synchronized Collection<JavaSootClass> resolveAll() {
+  protected Collection<JavaSootClass> resolveAll() {
     if (isFullyResolved && cache instanceof FullCache) {
       return cache.getClasses();
     }
@@ -1,6 +1,7 @@
 package sootup.java.core.views;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.slf4j.Logger;
@@ -9,6 +10,7 @@ import sootup.core.SourceTypeSpecifier;
 import sootup.core.ViewChangeListener;
 import sootup.core.cache.MutableClassCache;
 import sootup.core.cache.provider.MutableFullCacheProvider;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.model.SootMethod;
 import sootup.core.signatures.MethodSubSignature;
@@ -22,7 +24,11 @@ import sootup.java.core.JavaSootMethod;
  * and replaced within the view.
  */
 public class MutableJavaView extends JavaView implements MutableView {
-  private final List<ViewChangeListener> changeListeners = new LinkedList<>();
+  // listeners may register themselves while an event is fired, e.g. a type hierarchy that is
+  // built on its first query
+  private final List<ViewChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+  // classes of the input locations that have been removed from the view
+  private final Set<ClassType> removedTypes = new HashSet<>();
   private static final @Nonnull Logger logger = LoggerFactory.getLogger(MutableJavaView.class);
 
   public MutableJavaView(@Nonnull AnalysisInputLocation<? extends JavaSootClass> inputLocation) {
@@ -51,6 +57,7 @@ public class MutableJavaView extends JavaView implements MutableView {
       return;
     }
     this.cache.putClass(classType, clazz);
+    this.removedTypes.remove(classType);
     this.fireAddition(clazz);
   }
 
@@ -58,9 +65,34 @@ public class MutableJavaView extends JavaView implements MutableView {
    * Removes the class that matches the provided {@link ClassType ClassType} from the mutable view.
    */
   public void removeClass(ClassType classType) {
-    JavaSootClass removedClass =
-        ((MutableClassCache<JavaSootClass>) this.cache).removeClass(classType);
-    this.fireRemoval(removedClass);
+    if (!this.cache.hasClass(classType) && this.removedTypes.contains(classType)) {
+      return;
+    }
+    // a class that has not been resolved yet is resolved first, so the listeners are notified about
+    // its removal as well
+    Optional<JavaSootClass> removedClass = this.getClass(classType);
+    ((MutableClassCache<JavaSootClass>) this.cache).removeClass(classType);
+    this.removedTypes.add(classType);
+    removedClass.ifPresent(this::fireRemoval);
+  }
+
+  /**
+   * Returns the headers of the classes of the input locations that have not been removed and of all
+   * classes in the view, which includes the added ones.
+   */
+  @Override
+  @Nonnull
+  public Collection<ClassHeader> getClassHeaders() {
+    Map<ClassType, ClassHeader> headers = new LinkedHashMap<>();
+    for (ClassHeader header : super.getClassHeaders()) {
+      if (!removedTypes.contains(header.getType())) {
+        headers.put(header.getType(), header);
+      }
+    }
+    for (JavaSootClass sootClass : cache.getClasses()) {
+      headers.put(sootClass.getType(), ClassHeader.of(sootClass));
+    }
+    return headers.values();
   }
 
   /** Removes the provided class from the mutable view. */
@@ -0,0 +1,112 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorMetrics;
+import sootup.core.transform.InterceptorStatistics;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.bytecode.interceptors.BytecodeBodyInterceptors;
+import sootup.java.bytecode.interceptors.TypeAssigner;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Tests the {@link BodyInterceptorMetrics} of the default interceptors. It uses the MiniApp.jar for
+ * testing.
+ */
+@Category(Java8Test.class)
+public class BodyInterceptorMetricsTest {
+  static Path pathToJar = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+
+  private static List<? extends SootMethod> resolveBodies(List<BodyInterceptor> interceptors) {
+    JavaView view =
+        new JavaView(
+            Collections.singletonList(
+                PathBasedAnalysisInputLocation.create(
+                    pathToJar, SourceType.Application, interceptors)));
+    List<? extends SootMethod> methods =
+        view.getClasses().stream()
+            .flatMap(sootClass -> sootClass.getMethods().stream())
+            .filter(SootMethod::isConcrete)
+            .collect(Collectors.toList());
+    methods.forEach(SootMethod::getBody);
+    return methods;
+  }
+
+  @Test
+  public void recordsEveryInvocation() {
+    List<BodyInterceptor> interceptors = BytecodeBodyInterceptors.Default.bodyInterceptors();
+    BodyInterceptorMetrics metrics = new BodyInterceptorMetrics(true, true);
+    List<? extends SootMethod> methods = resolveBodies(metrics.instrument(interceptors));
+
+    Map<BodyInterceptor, InterceptorStatistics> statistics = metrics.getStatistics();
+    assertEquals(interceptors, statistics.keySet().stream().collect(Collectors.toList()));
+    for (InterceptorStatistics interceptorStatistics : statistics.values()) {
+      assertEquals(methods.size(), interceptorStatistics.getInvocationCount());
+      assertTrue(interceptorStatistics.getTotalNanos() >= interceptorStatistics.getMaxNanos());
+      long minAllocatedBytes = metrics.isRecordingAllocatedBytes() ? 0 : -1;
+      assertTrue(interceptorStatistics.getAllocatedBytes() >= minAllocatedBytes);
+    }
+
+    Set<MethodSignature> signatures =
+        methods.stream().map(SootMethod::getSignature).collect(Collectors.toSet());
+    assertEquals(signatures, metrics.getMethods());
+    for (MethodSignature signature : signatures) {
+      Map<BodyInterceptor, InterceptorStatistics> methodStatistics =
+          metrics.getStatistics(signature);
+      assertEquals(interceptors.size(), methodStatistics.size());
+      assertTrue(
+          methodStatistics.values().stream().allMatch(stats -> stats.getInvocationCount() == 1));
+    }
+
+    assertTrue(metrics.report().contains(TypeAssigner.class.getSimpleName()));
+
+    metrics.reset();
+    assertTrue(metrics.getMethods().isEmpty());
+    assertTrue(
+        metrics.getStatistics().values().stream()
+            .allMatch(stats -> stats.getInvocationCount() == 0 && stats.getTotalNanos() == 0));
+  }
+
+  @Test
+  public void recordsTotalsOnlyByDefault() {
+    List<BodyInterceptor> interceptors = BytecodeBodyInterceptors.Default.bodyInterceptors();
+    BodyInterceptorMetrics metrics = new BodyInterceptorMetrics();
+    List<? extends SootMethod> methods = resolveBodies(metrics.instrument(interceptors));
+
+    InterceptorStatistics typeAssigner =
+        metrics.getStatistics(
+            interceptors.stream().filter(i -> i instanceof TypeAssigner).findAny().get());
+    assertEquals(methods.size(), typeAssigner.getInvocationCount());
+    assertEquals(-1, typeAssigner.getAllocatedBytes());
+    assertTrue(metrics.getMethods().isEmpty());
+    assertTrue(metrics.getStatistics(methods.get(0).getSignature()).isEmpty());
+  }
+
+  @Test
+  public void recordsLimitedNumberOfMethods() {
+    List<BodyInterceptor> interceptors = BytecodeBodyInterceptors.Default.bodyInterceptors();
+    BodyInterceptorMetrics metrics = new BodyInterceptorMetrics(false, true, 3);
+    List<? extends SootMethod> methods = resolveBodies(metrics.instrument(interceptors));
+    assertTrue(methods.size() > 3);
+
+    assertEquals(3, metrics.getMethods().size());
+    for (InterceptorStatistics interceptorStatistics : metrics.getStatistics().values()) {
+      assertEquals(methods.size(), interceptorStatistics.getInvocationCount());
+    }
+  }
+}
@@ -0,0 +1,175 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.callgraph.CallEdge;
+import sootup.callgraph.CallGraph;
+import sootup.callgraph.CallGraphAlgorithm;
+import sootup.callgraph.ClassHierarchyAnalysisAlgorithm;
+import sootup.callgraph.RapidTypeAnalysisAlgorithm;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.inputlocation.DefaultSourceTypeSpecifier;
+import sootup.core.jimple.common.stmt.Stmt;
+import sootup.core.model.Body;
+import sootup.core.model.BodyRetentionPolicy;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/** Tests the different {@link BodyRetentionPolicy}s. It uses the MiniApp.jar for testing. */
+@Category(Java8Test.class)
+public class BodyRetentionTest {
+  static Path pathToJar = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+  static List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations;
+
+  @BeforeClass
+  public static void setupProject() {
+    inputLocations =
+        Collections.singletonList(
+            PathBasedAnalysisInputLocation.create(pathToJar, SourceType.Application));
+  }
+
+  private List<? extends SootMethod> getConcreteMethods(BodyRetentionPolicy policy) {
+    JavaView view =
+        new JavaView(
+            inputLocations,
+            new FullCacheProvider<>(),
+            DefaultSourceTypeSpecifier.getInstance(),
+            policy);
+    assertSame(policy, view.getBodyRetentionPolicy());
+    JavaSootClass miniApp =
+        view.getClass(view.getIdentifierFactory().getClassType("MiniApp")).get();
+    List<? extends SootMethod> methods =
+        miniApp.getMethods().stream().filter(SootMethod::isConcrete).collect(Collectors.toList());
+    assertTrue(methods.size() >= 2);
+    methods.forEach(method -> assertSame(policy, method.getBodyRetentionPolicy()));
+    return methods;
+  }
+
+  @Test
+  public void strongRetention() {
+    List<? extends SootMethod> methods = getConcreteMethods(BodyRetentionPolicy.strong());
+    SootMethod method = methods.get(0);
+
+    assertFalse(method.isBodyResolved());
+    Body body = method.getBody();
+    assertTrue(method.isBodyResolved());
+    methods.get(1).getBody();
+    assertSame(body, method.getBody());
+  }
+
+  @Test
+  public void leastRecentlyUsedRetention() {
+    List<? extends SootMethod> methods =
+        getConcreteMethods(BodyRetentionPolicy.leastRecentlyUsed(1));
+    SootMethod first = methods.get(0);
+    SootMethod second = methods.get(1);
+
+    Body body = first.getBody();
+    assertTrue(first.isBodyResolved());
+    assertSame(body, first.getBody());
+
+    // resolving another body drops the least recently used one
+    second.getBody();
+    assertTrue(second.isBodyResolved());
+    assertFalse(first.isBodyResolved());
+
+    // the dropped body is resolved again on demand
+    Body resolvedAgain = first.getBody();
+    assertNotSame(body, resolvedAgain);
+    assertEquals(body.toString(), resolvedAgain.toString());
+    assertFalse(second.isBodyResolved());
+  }
+
+  @Test
+  public void referenceRetention() {
+    for (BodyRetentionPolicy policy :
+        new BodyRetentionPolicy[] {BodyRetentionPolicy.soft(), BodyRetentionPolicy.weak()}) {
+      SootMethod method = getConcreteMethods(policy).get(0);
+      // as long as the body is referenced, it is retained
+      Body body = method.getBody();
+      assertTrue(method.isBodyResolved());
+      assertSame(body, method.getBody());
+    }
+  }
+
+  @Test
+  public void callGraphsOnViewsWithoutStrongRetention() {
+    CallGraph chaExpected = buildCallGraph(BodyRetentionPolicy.strong(), false);
+    CallGraph rtaExpected = buildCallGraph(BodyRetentionPolicy.strong(), true);
+    for (BodyRetentionPolicy policy :
+        new BodyRetentionPolicy[] {
+          BodyRetentionPolicy.weak(), BodyRetentionPolicy.leastRecentlyUsed(1)
+        }) {
+      assertSameCallGraph(chaExpected, buildCallGraph(policy, false));
+      assertSameCallGraph(rtaExpected, buildCallGraph(policy, true));
+    }
+  }
+
+  private CallGraph buildCallGraph(BodyRetentionPolicy policy, boolean rta) {
+    JavaView view =
+        new JavaView(
+            inputLocations,
+            new FullCacheProvider<>(),
+            DefaultSourceTypeSpecifier.getInstance(),
+            policy);
+    MethodSignature mainMethod =
+        view.getIdentifierFactory()
+            .getMethodSignature(
+                view.getIdentifierFactory().getClassType("MiniApp"),
+                "main",
+                "void",
+                Collections.singletonList("java.lang.String[]"));
+    CallGraphAlgorithm algorithm =
+        rta ? new RapidTypeAnalysisAlgorithm(view) : new ClassHierarchyAnalysisAlgorithm(view);
+    CallGraph cg = algorithm.initialize(Collections.singletonList(mainMethod));
+    assertTrue(cg.callCount() > 0);
+
+    // the call sites denote the invoking statements of bodies that are resolved again
+    for (MethodSignature method : cg.getMethodSignatures()) {
+      SootMethod sootMethod = view.getMethod(method).orElse(null);
+      for (CallEdge callEdge : cg.callEdgesFrom(method)) {
+        if (callEdge.getCallSite() != null) {
+          Stmt stmt = callEdge.getCallSite().getStmt(sootMethod.getBody());
+          assertTrue(stmt.containsInvokeExpr());
+          assertEquals(
+              callEdge.getTarget().getSubSignature(),
+              stmt.getInvokeExpr().getMethodSignature().getSubSignature());
+        }
+      }
+    }
+    return cg;
+  }
+
+  private static void assertSameCallGraph(CallGraph expected, CallGraph actual) {
+    assertEquals(expected.getMethodSignatures(), actual.getMethodSignatures());
+    assertEquals(expected.callCount(), actual.callCount());
+    for (MethodSignature method : expected.getMethodSignatures()) {
+      assertEquals(expected.callEdgesFrom(method), actual.callEdgesFrom(method));
+      for (CallEdge callEdge : expected.callEdgesFrom(method)) {
+        if (callEdge.getCallSite() != null) {
+          assertEquals(
+              expected.callEdgesAt(callEdge.getCallSite()),
+              actual.callEdgesAt(callEdge.getCallSite()));
+        }
+      }
+    }
+  }
+}
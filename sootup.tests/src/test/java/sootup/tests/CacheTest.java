@@ -1,22 +1,32 @@
 package sootup.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import categories.Java8Test;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import sootup.core.cache.CacheStatistics;
+import sootup.core.cache.MemoryBoundedCache;
 import sootup.core.cache.provider.FullCacheProvider;
 import sootup.core.cache.provider.LRUCacheProvider;
+import sootup.core.cache.provider.MemoryBoundedCacheProvider;
 import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.inputlocation.DefaultSourceTypeSpecifier;
+import sootup.core.model.BodyRetentionPolicy;
+import sootup.core.model.SootMethod;
 import sootup.core.model.SourceType;
 import sootup.core.types.ClassType;
 import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
 import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
 import sootup.java.core.views.JavaView;
 
 /**
@@ -77,4 +87,116 @@ public class CacheTest {
     newView.getClasses();
     assertEquals(6, newView.getNumberOfStoredClasses());
   }
+
+  /** Test the statistics of the {@link sootup.core.cache.LRUCache} class */
+  @Test
+  public void lruCacheStatisticsTest() {
+    JavaView view = new JavaView(inputLocations, new LRUCacheProvider<>(1));
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    ClassType utilsOperationClassType =
+        view.getIdentifierFactory().getClassType("utils.Operations");
+
+    view.getClass(miniAppClassType);
+    view.getClass(miniAppClassType);
+    CacheStatistics statistics = view.getCacheStatistics().get();
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(1, statistics.getMissCount());
+    assertEquals(0, statistics.getEvictionCount());
+
+    // evicts MiniApp which has to be resolved again afterwards
+    view.getClass(utilsOperationClassType);
+    view.getClass(miniAppClassType);
+    statistics = view.getCacheStatistics().get();
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(3, statistics.getMissCount());
+    assertEquals(2, statistics.getEvictionCount());
+    assertEquals(1, statistics.getSize());
+
+    assertFalse(new JavaView(inputLocations).getCacheStatistics().isPresent());
+  }
+
+  /** Test the {@link MemoryBoundedCache} class */
+  @Test
+  public void memoryBoundedCacheTest() {
+    JavaView view = new JavaView(inputLocations, new MemoryBoundedCacheProvider<>(1));
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    ClassType utilsOperationClassType =
+        view.getIdentifierFactory().getClassType("utils.Operations");
+
+    // the class in use is kept even if it exceeds the budget
+    assertTrue(view.getClass(miniAppClassType).isPresent());
+    assertEquals(1, view.getNumberOfStoredClasses());
+
+    // evicted classes are resolved again
+    assertTrue(view.getClass(utilsOperationClassType).isPresent());
+    assertTrue(view.getClass(miniAppClassType).isPresent());
+    assertEquals(1, view.getNumberOfStoredClasses());
+    assertEquals(2, view.getCacheStatistics().get().getEvictionCount());
+
+    JavaView newView = new JavaView(inputLocations, new MemoryBoundedCacheProvider<>(1L << 30));
+    newView.getClasses();
+    assertEquals(6, newView.getNumberOfStoredClasses());
+  }
+
+  /** Test that the size estimation of the {@link MemoryBoundedCache} considers resolved bodies */
+  @Test
+  public void memoryBoundedCacheWeightTest() {
+    JavaView view = new JavaView(inputLocations);
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    JavaSootClass miniApp = view.getClass(miniAppClassType).get();
+
+    MemoryBoundedCache<JavaSootClass> cache = new MemoryBoundedCache<>(1L << 30);
+    cache.putClass(miniAppClassType, miniApp);
+    long sizeWithoutBodies = cache.getTotalBytes();
+    assertEquals(MemoryBoundedCache.estimateSize(miniApp), sizeWithoutBodies);
+
+    miniApp.getMethods().stream().filter(SootMethod::isConcrete).forEach(SootMethod::getBody);
+    assertTrue(miniApp.getMethods().stream().allMatch(m -> !m.isConcrete() || m.isBodyResolved()));
+
+    // accessing the class does not weigh it again
+    cache.getClass(miniAppClassType);
+    assertEquals(sizeWithoutBodies, cache.getTotalBytes());
+
+    cache.updateWeights();
+    assertTrue(cache.getTotalBytes() > sizeWithoutBodies);
+  }
+
+  /** Test that the {@link MemoryBoundedCache} weighs the stored classes again periodically */
+  @Test
+  public void memoryBoundedCachePeriodicWeightUpdateTest() {
+    JavaView view = new JavaView(inputLocations);
+    ClassType miniAppClassType = view.getIdentifierFactory().getClassType("MiniApp");
+    JavaSootClass miniApp = view.getClass(miniAppClassType).get();
+
+    MemoryBoundedCache<JavaSootClass> cache = new MemoryBoundedCache<>(1L << 30);
+    cache.putClass(miniAppClassType, miniApp);
+    long sizeWithoutBodies = cache.getTotalBytes();
+    miniApp.getMethods().stream().filter(SootMethod::isConcrete).forEach(SootMethod::getBody);
+
+    for (int i = 0; i < 16 && cache.getTotalBytes() == sizeWithoutBodies; i++) {
+      cache.getClass(miniAppClassType);
+    }
+    assertTrue(cache.getTotalBytes() > sizeWithoutBodies);
+  }
+
+  /** Test that the size estimation does not resolve bodies that have been dropped */
+  @Test
+  public void memoryBoundedCacheDoesNotResolveBodiesTest() {
+    JavaView view =
+        new JavaView(
+            inputLocations,
+            new FullCacheProvider<>(),
+            DefaultSourceTypeSpecifier.getInstance(),
+            BodyRetentionPolicy.leastRecentlyUsed(1));
+    JavaSootClass miniApp =
+        view.getClass(view.getIdentifierFactory().getClassType("MiniApp")).get();
+    List<JavaSootMethod> concreteMethods =
+        miniApp.getMethods().stream().filter(SootMethod::isConcrete).collect(Collectors.toList());
+    assertTrue(concreteMethods.size() > 1);
+    concreteMethods.forEach(SootMethod::getBody);
+
+    MemoryBoundedCache.estimateSize(miniApp);
+    assertEquals(
+        1, concreteMethods.stream().filter(method -> method.getResolvedBody().isPresent()).count());
+  }
 }
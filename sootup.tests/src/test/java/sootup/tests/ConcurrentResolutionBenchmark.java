@@ -0,0 +1,132 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sootup.core.cache.provider.ConcurrentFullCacheProvider;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Measures how the class resolution throughput of a {@link JavaView} scales with the number of
+ * threads that request classes at the same time, for the concurrent and the synchronized mode.
+ * Every thread resolves all classes of a jar in a different order, so threads compete for the same
+ * classes as well as for unrelated ones.
+ *
+ * <p>The benchmark has no test category and is not named like a test, so it is not part of the
+ * default test run. Run it with {@code mvn test -pl sootup.tests
+ * -Dtest=ConcurrentResolutionBenchmark -Dtestcase.groups=}.
+ */
+public class ConcurrentResolutionBenchmark {
+
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int ROUNDS = 20;
+  private static final Path JAR =
+      Paths.get("../shared-test-resources/soot-1580/jpush-android_v3.0.5.jar");
+
+  static List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations;
+  static List<ClassType> classTypes;
+
+  @BeforeClass
+  public static void setupProject() throws IOException {
+    inputLocations =
+        Collections.singletonList(
+            PathBasedAnalysisInputLocation.create(JAR, SourceType.Application));
+
+    classTypes = new ArrayList<>();
+    try (ZipFile zipFile = new ZipFile(JAR.toFile())) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        String name = entries.nextElement().getName();
+        if (name.endsWith(".class")) {
+          String className = name.substring(0, name.length() - ".class".length());
+          classTypes.add(
+              JavaIdentifierFactory.getInstance().getClassType(className.replace('/', '.')));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void concurrentResolution() throws Exception {
+    measure("concurrent", () -> new JavaView(inputLocations, new ConcurrentFullCacheProvider<>()));
+  }
+
+  @Test
+  public void synchronizedResolution() throws Exception {
+    measure("synchronized", () -> new JavaView(inputLocations, new FullCacheProvider<>()));
+  }
+
+  /**
+   * Resolves all {@link #classTypes} into fresh views with every number of threads and prints the
+   * throughput of each number of threads.
+   */
+  private static void measure(String mode, Supplier<JavaView> viewFactory) throws Exception {
+    for (int threadCount : THREAD_COUNTS) {
+      ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+      try {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+          resolve(viewFactory.get(), executor, threadCount);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+          resolve(viewFactory.get(), executor, threadCount);
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        System.out.println(
+            mode
+                + " resolution of "
+                + classTypes.size()
+                + " classes with "
+                + threadCount
+                + " thread(s): "
+                + (ROUNDS * classTypes.size() * 1000L / elapsedMillis)
+                + " classes/s");
+      } finally {
+        executor.shutdown();
+      }
+    }
+  }
+
+  /** Resolves all {@link #classTypes} in the given view with the given number of threads. */
+  private static void resolve(JavaView view, ExecutorService executor, int threadCount)
+      throws Exception {
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      final int offset = t * (classTypes.size() / threadCount);
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < classTypes.size(); i++) {
+                  view.getClass(classTypes.get((i + offset) % classTypes.size()));
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    assertEquals(classTypes.size(), view.getNumberOfStoredClasses());
+  }
+}
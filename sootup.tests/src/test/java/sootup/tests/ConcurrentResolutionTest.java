@@ -0,0 +1,161 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.cache.provider.ClassCacheProvider;
+import sootup.core.cache.provider.ConcurrentFullCacheProvider;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.inputlocation.DefaultSourceTypeSpecifier;
+import sootup.core.model.SourceType;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Resolves the same classes of a {@link JavaView} from several threads at the same time. Every
+ * thread resolves the classes in a different order, so threads compete for the same classes as
+ * well as for unrelated ones. Each class has to be built exactly once nevertheless.
+ */
+@Category(Java8Test.class)
+public class ConcurrentResolutionTest {
+
+  private static final int THREAD_COUNT = 8;
+  private static final Path JAR =
+      Paths.get("../shared-test-resources/soot-1580/jpush-android_v3.0.5.jar");
+
+  static List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations;
+  static List<ClassType> classTypes;
+
+  @BeforeClass
+  public static void setupProject() throws IOException {
+    inputLocations =
+        Collections.singletonList(
+            PathBasedAnalysisInputLocation.create(JAR, SourceType.Application));
+
+    classTypes = new ArrayList<>();
+    try (ZipFile zipFile = new ZipFile(JAR.toFile())) {
+      Enumeration<? extends ZipEntry> entries = zipFile.entries();
+      while (entries.hasMoreElements()) {
+        String name = entries.nextElement().getName();
+        if (name.endsWith(".class")) {
+          String className = name.substring(0, name.length() - ".class".length());
+          classTypes.add(
+              JavaIdentifierFactory.getInstance().getClassType(className.replace('/', '.')));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void concurrentResolution() throws Exception {
+    Map<ClassType, AtomicInteger> builds = new ConcurrentHashMap<>();
+    JavaView view = createView(new ConcurrentFullCacheProvider<>(), builds);
+    assertTrue(view.isResolvingConcurrently());
+
+    assertResolvedOnce(view, builds);
+  }
+
+  @Test
+  public void synchronizedResolution() throws Exception {
+    Map<ClassType, AtomicInteger> builds = new ConcurrentHashMap<>();
+    JavaView view = createView(new FullCacheProvider<>(), builds);
+    assertFalse(view.isResolvingConcurrently());
+
+    assertResolvedOnce(view, builds);
+  }
+
+  /** Creates a view that counts how often each class is built. */
+  private static JavaView createView(
+      ClassCacheProvider<JavaSootClass> cacheProvider, Map<ClassType, AtomicInteger> builds) {
+    return new JavaView(
+        inputLocations,
+        cacheProvider,
+        classSource -> {
+          // the source type is determined once for every class that is built
+          builds
+              .computeIfAbsent(classSource.getClassType(), type -> new AtomicInteger())
+              .incrementAndGet();
+          return DefaultSourceTypeSpecifier.getInstance().sourceTypeFor(classSource);
+        });
+  }
+
+  private static void assertResolvedOnce(JavaView view, Map<ClassType, AtomicInteger> builds)
+      throws Exception {
+    List<List<JavaSootClass>> resolved = resolve(view);
+
+    assertEquals(classTypes.size(), view.getNumberOfStoredClasses());
+    assertEquals(classTypes.size(), builds.size());
+    for (ClassType classType : classTypes) {
+      assertEquals(classType.toString(), 1, builds.get(classType).get());
+    }
+    // all threads see the same instance of every class
+    for (List<JavaSootClass> classesOfThread : resolved) {
+      for (int i = 0; i < classTypes.size(); i++) {
+        assertSame(resolved.get(0).get(i), classesOfThread.get(i));
+      }
+    }
+  }
+
+  /**
+   * Resolves all {@link #classTypes} with {@link #THREAD_COUNT} threads, which start at the same
+   * time. Returns the resolved classes of each thread in the order of {@link #classTypes}.
+   */
+  private static List<List<JavaSootClass>> resolve(JavaView view) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<List<JavaSootClass>>> futures = new ArrayList<>();
+      for (int t = 0; t < THREAD_COUNT; t++) {
+        final int offset = t * (classTypes.size() / THREAD_COUNT);
+        futures.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  JavaSootClass[] classes = new JavaSootClass[classTypes.size()];
+                  for (int i = 0; i < classTypes.size(); i++) {
+                    int idx = (i + offset) % classTypes.size();
+                    classes[idx] = view.getClass(classTypes.get(idx)).get();
+                  }
+                  List<JavaSootClass> result = new ArrayList<>(classes.length);
+                  Collections.addAll(result, classes);
+                  return result;
+                }));
+      }
+      start.countDown();
+
+      List<List<JavaSootClass>> resolved = new ArrayList<>();
+      for (Future<List<JavaSootClass>> future : futures) {
+        resolved.add(future.get());
+      }
+      return resolved;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
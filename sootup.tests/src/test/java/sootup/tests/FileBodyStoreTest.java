@@ -0,0 +1,185 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.frontend.BodyStore;
+import sootup.core.inputlocation.DefaultSourceTypeSpecifier;
+import sootup.core.model.Body;
+import sootup.core.model.BodyRetentionPolicy;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.transform.BodyInterceptorMetrics;
+import sootup.java.bytecode.frontend.FileBodyStore;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.bytecode.interceptors.Aggregator;
+import sootup.java.bytecode.interceptors.BytecodeBodyInterceptors;
+import sootup.java.core.views.JavaView;
+
+/** Tests the {@link FileBodyStore} with the bodies of the MiniApp.jar. */
+@Category(Java8Test.class)
+public class FileBodyStoreTest {
+  static Path pathToJar = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+
+  /** Counts the bodies that are found in the store. */
+  private static class CountingBodyStore implements BodyStore {
+    private final BodyStore delegate;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger stores = new AtomicInteger();
+
+    private CountingBodyStore(BodyStore delegate) {
+      this.delegate = delegate;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Body> load(@Nonnull String key) {
+      Optional<Body> body = delegate.load(key);
+      body.ifPresent(b -> hits.incrementAndGet());
+      return body;
+    }
+
+    @Override
+    public void store(@Nonnull String key, @Nonnull Body body) {
+      stores.incrementAndGet();
+      delegate.store(key, body);
+    }
+  }
+
+  private static Map<MethodSignature, String> resolveBodies(BodyStore bodyStore) {
+    return resolveBodies(bodyStore, BytecodeBodyInterceptors.Default.bodyInterceptors());
+  }
+
+  private static Map<MethodSignature, String> resolveBodies(
+      BodyStore bodyStore, List<BodyInterceptor> bodyInterceptors) {
+    JavaView view =
+        new JavaView(
+            Collections.singletonList(
+                PathBasedAnalysisInputLocation.create(
+                    pathToJar, SourceType.Application, bodyInterceptors)),
+            new FullCacheProvider<>(),
+            DefaultSourceTypeSpecifier.getInstance(),
+            BodyRetentionPolicy.strong(),
+            bodyStore);
+    return view.getClasses().stream()
+        .flatMap(sootClass -> sootClass.getMethods().stream())
+        .filter(SootMethod::isConcrete)
+        .collect(
+            Collectors.toMap(SootMethod::getSignature, method -> method.getBody().toString()));
+  }
+
+  private static List<Path> listFiles(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      return files.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+  }
+
+  private static void deleteDirectory(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @Test
+  public void warmRunLoadsTheStoredBodies() throws IOException {
+    Path directory = Files.createTempDirectory("sootup-bodies");
+    try {
+      Map<MethodSignature, String> converted = resolveBodies(null);
+
+      CountingBodyStore cold = new CountingBodyStore(new FileBodyStore(directory));
+      assertEquals(converted, resolveBodies(cold));
+      assertEquals(0, cold.hits.get());
+      assertEquals(converted.size(), cold.stores.get());
+      List<Path> files = listFiles(directory);
+      assertEquals(converted.size(), files.size());
+      assertTrue(files.stream().allMatch(file -> file.toString().endsWith(".body")));
+
+      CountingBodyStore warm = new CountingBodyStore(new FileBodyStore(directory));
+      assertEquals(converted, resolveBodies(warm));
+      assertEquals(converted.size(), warm.hits.get());
+      assertEquals(0, warm.stores.get());
+    } finally {
+      deleteDirectory(directory);
+    }
+  }
+
+  @Test
+  public void configurationsOfInterceptorsAreStoredSeparately() throws IOException {
+    Path directory = Files.createTempDirectory("sootup-bodies");
+    try {
+      CountingBodyStore bodyStore = new CountingBodyStore(new FileBodyStore(directory));
+      resolveBodies(bodyStore, Collections.singletonList(new Aggregator(true)));
+      int stored = bodyStore.stores.get();
+      assertTrue(stored > 0);
+
+      resolveBodies(bodyStore, Collections.singletonList(new Aggregator(false)));
+      assertEquals(0, bodyStore.hits.get());
+      assertEquals(2 * stored, bodyStore.stores.get());
+
+      resolveBodies(bodyStore, Collections.singletonList(new Aggregator(true)));
+      assertEquals(stored, bodyStore.hits.get());
+    } finally {
+      deleteDirectory(directory);
+    }
+  }
+
+  @Test
+  public void instrumentedInterceptorsBypassTheStore() throws IOException {
+    Path directory = Files.createTempDirectory("sootup-bodies");
+    try {
+      CountingBodyStore bodyStore = new CountingBodyStore(new FileBodyStore(directory));
+      BodyInterceptorMetrics metrics = new BodyInterceptorMetrics();
+      List<BodyInterceptor> bodyInterceptors =
+          metrics.instrument(Collections.singletonList(new Aggregator()));
+      resolveBodies(bodyStore, bodyInterceptors);
+      resolveBodies(bodyStore, bodyInterceptors);
+      assertEquals(0, bodyStore.hits.get());
+      assertEquals(0, bodyStore.stores.get());
+      assertTrue(listFiles(directory).isEmpty());
+    } finally {
+      deleteDirectory(directory);
+    }
+  }
+
+  @Test
+  public void brokenFilesAreConvertedAgain() throws IOException {
+    Path directory = Files.createTempDirectory("sootup-bodies");
+    try {
+      FileBodyStore bodyStore = new FileBodyStore(directory);
+      Map<MethodSignature, String> converted = resolveBodies(bodyStore);
+      for (Path file : listFiles(directory)) {
+        Files.write(file, new byte[] {1, 2, 3});
+      }
+
+      CountingBodyStore broken = new CountingBodyStore(bodyStore);
+      assertEquals(converted, resolveBodies(broken));
+      assertEquals(0, broken.hits.get());
+      assertEquals(converted.size(), broken.stores.get());
+      assertFalse(listFiles(directory).isEmpty());
+    } finally {
+      deleteDirectory(directory);
+    }
+  }
+}
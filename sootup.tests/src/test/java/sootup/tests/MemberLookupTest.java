@@ -0,0 +1,99 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import com.google.common.collect.Iterables;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.model.SootField;
+import sootup.core.model.SootMethod;
+import sootup.core.signatures.MethodSubSignature;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Checks that the indexed member lookups of a {@link sootup.core.model.SootClass} return the same
+ * members as a scan over all members. It uses the MiniApp.jar and some classes of the rt.jar.
+ */
+@Category(Java8Test.class)
+public class MemberLookupTest {
+
+  static JavaView view;
+  static List<JavaSootClass> classes;
+
+  @BeforeClass
+  public static void setup() {
+    String jarFile = "../shared-test-resources/java-miniapps/MiniApp.jar";
+    String rtJar = System.getProperty("java.home") + "/lib/rt.jar";
+    assertTrue("File " + rtJar + " not found.", new File(rtJar).exists());
+    view =
+        new JavaView(new JavaClassPathAnalysisInputLocation(jarFile + File.pathSeparator + rtJar));
+    JavaIdentifierFactory factory = JavaIdentifierFactory.getInstance();
+    classes =
+        Arrays.asList(
+                "MiniApp",
+                "ds.Department",
+                "ds.Employee",
+                "utils.Operations",
+                "java.lang.String",
+                "java.util.HashMap",
+                "java.lang.Math")
+            .stream()
+            .map(name -> view.getClass(factory.getClassType(name)).get())
+            .collect(Collectors.toList());
+  }
+
+  @Test
+  public void methodLookups() {
+    for (JavaSootClass clazz : classes) {
+      for (SootMethod method : clazz.getMethods()) {
+        MethodSubSignature subSignature = method.getSignature().getSubSignature();
+        assertEquals(method, clazz.getMethod(subSignature).get());
+
+        String name = method.getName();
+        assertEquals(
+            clazz.getMethods().stream()
+                .filter(m -> m.getName().equals(name))
+                .collect(Collectors.toSet()),
+            clazz.getMethodsByName(name));
+
+        List<SootMethod> sameParameters =
+            clazz.getMethods().stream()
+                .filter(
+                    m ->
+                        m.getName().equals(name)
+                            && Iterables.elementsEqual(
+                                m.getParameterTypes(), method.getParameterTypes()))
+                .collect(Collectors.toList());
+        if (sameParameters.size() == 1) {
+          assertEquals(method, clazz.getMethod(name, method.getParameterTypes()).get());
+        }
+      }
+      assertTrue(clazz.getMethodsByName("doesNotExist").isEmpty());
+      assertFalse(clazz.getMethod("doesNotExist", Arrays.asList()).isPresent());
+    }
+  }
+
+  @Test
+  public void fieldLookups() {
+    for (JavaSootClass clazz : classes) {
+      for (SootField field : clazz.getFields()) {
+        assertEquals(field, clazz.getField(field.getSignature().getSubSignature()).get());
+        Optional<? extends SootField> byName = clazz.getField(field.getName());
+        assertEquals(field, byName.get());
+      }
+      assertFalse(clazz.getField("doesNotExist").isPresent());
+    }
+  }
+}
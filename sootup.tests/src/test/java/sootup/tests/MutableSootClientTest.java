@@ -3,6 +3,7 @@ package sootup.tests;
 import static org.junit.Assert.*;
 
 import categories.Java8Test;
+import java.lang.ref.WeakReference;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collections;
@@ -12,11 +13,14 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.frontend.OverridingBodySource;
 import sootup.core.inputlocation.AnalysisInputLocation;
 import sootup.core.jimple.basic.NoPositionInformation;
 import sootup.core.model.*;
 import sootup.core.signatures.MethodSignature;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
 import sootup.core.types.ClassType;
 import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
 import sootup.java.core.*;
@@ -155,4 +159,71 @@ public class MutableSootClientTest {
     SootClass<JavaSootClassSource> updatedUtilsClass = updatedUtilsClassOpt.get();
     assertTrue(updatedUtilsClass.getMethods().contains(newMethod));
   }
+
+  /**
+   * Add and remove classes after the type hierarchy of the mutable view has been built and check
+   * whether the hierarchy is updated like a hierarchy that is built from scratch.
+   */
+  @Test
+  public void typeHierarchyUpdateTest() {
+    ClassType iFaceOperations = mv.getIdentifierFactory().getClassType("utils.IFaceOperations");
+    ClassType operations = mv.getIdentifierFactory().getClassType("utils.Operations");
+    ClassType addedClassType = mv.getIdentifierFactory().getClassType("AddedClass");
+    TypeHierarchy typeHierarchy = mv.getTypeHierarchy();
+    assertEquals(Collections.singleton(operations), typeHierarchy.implementersOf(iFaceOperations));
+
+    mv.removeClass(operations);
+    assertTrue(typeHierarchy.implementersOf(iFaceOperations).isEmpty());
+    assertFalse(typeHierarchy.contains(operations));
+
+    OverridingJavaClassSource newClass =
+        new OverridingJavaClassSource(
+            location,
+            pathToJar,
+            addedClassType,
+            mv.getIdentifierFactory().getClassType("java.lang.Object"),
+            Collections.singleton(iFaceOperations),
+            null,
+            Collections.emptySet(),
+            Collections.emptySet(),
+            new FullPosition(0, 0, 0, 0),
+            EnumSet.noneOf(ClassModifier.class),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet());
+    mv.addClass(newClass.buildClass(SourceType.Application));
+    assertEquals(
+        Collections.singleton(addedClassType), typeHierarchy.implementersOf(iFaceOperations));
+
+    TypeHierarchy scannedTypeHierarchy = new ViewTypeHierarchy(mv);
+    for (ClassHeader header : mv.getClassHeaders()) {
+      assertEquals(
+          scannedTypeHierarchy.subtypesOf(header.getType()),
+          typeHierarchy.subtypesOf(header.getType()));
+      assertEquals(
+          scannedTypeHierarchy.implementedInterfacesOf(header.getType()),
+          typeHierarchy.implementedInterfacesOf(header.getType()));
+    }
+  }
+
+  /**
+   * Check that a type hierarchy that listens to the changes of the mutable view can be collected
+   * when it is not used anymore, and that the view can still be changed afterwards.
+   */
+  @Test
+  public void typeHierarchyListenerDoesNotLeakTest() throws InterruptedException {
+    ClassType operations = mv.getIdentifierFactory().getClassType("utils.Operations");
+    ViewTypeHierarchy typeHierarchy = new ViewTypeHierarchy(mv);
+    assertTrue(typeHierarchy.contains(operations));
+    WeakReference<ViewTypeHierarchy> reference = new WeakReference<>(typeHierarchy);
+    typeHierarchy = null;
+
+    for (int i = 0; i < 10 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(reference.get());
+    mv.removeClass(operations);
+    assertFalse(mv.getTypeHierarchy().contains(operations));
+  }
 }
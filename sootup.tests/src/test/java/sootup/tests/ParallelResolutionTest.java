@@ -0,0 +1,254 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.cache.provider.ConcurrentFullCacheProvider;
+import sootup.core.cache.provider.FullCacheProvider;
+import sootup.core.frontend.AbstractClassSource;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SootClass;
+import sootup.core.model.SootMethod;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.MethodSignature;
+import sootup.core.transform.BodyInterceptor;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Tests the parallel resolution of all classes of a {@link JavaView}. It uses the MiniApp.jar twice
+ * - first as application and then as library - to check that the first input location shadows the
+ * second one. The bodies of the methods are resolved in parallel as well.
+ */
+@Category(Java8Test.class)
+public class ParallelResolutionTest {
+  static Path pathToJar = Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar");
+  static List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations;
+
+  @BeforeClass
+  public static void setupProject() {
+    inputLocations =
+        Arrays.asList(
+            PathBasedAnalysisInputLocation.create(pathToJar, SourceType.Application),
+            PathBasedAnalysisInputLocation.create(pathToJar, SourceType.Library));
+  }
+
+  @Test
+  public void parallelResolutionKeepsFirstMatch() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      JavaView view = new JavaView(inputLocations, new ConcurrentFullCacheProvider<>());
+      Collection<JavaSootClass> classes = view.getClasses(pool);
+
+      assertEquals(6, classes.size());
+      assertEquals(6, view.getNumberOfStoredClasses());
+      assertTrue(classes.stream().allMatch(SootClass::isApplicationClass));
+
+      // a second call is served from the cache
+      assertEquals(6, view.getClasses(pool).size());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parallelResolutionEqualsSequentialResolution() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      JavaView sequentialView = new JavaView(inputLocations, new FullCacheProvider<>());
+      JavaView parallelView = new JavaView(inputLocations, new FullCacheProvider<>());
+
+      Set<ClassType> sequentialTypes =
+          sequentialView.getClasses().stream().map(SootClass::getType).collect(Collectors.toSet());
+      Set<ClassType> parallelTypes =
+          parallelView.getClasses(pool).stream()
+              .map(SootClass::getType)
+              .collect(Collectors.toSet());
+
+      assertEquals(sequentialTypes, parallelTypes);
+      assertTrue(parallelView.getClasses().stream().allMatch(SootClass::isApplicationClass));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parallelDirectoryScanEqualsSequentialScan() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      AnalysisInputLocation<JavaSootClass> directory =
+          PathBasedAnalysisInputLocation.create(
+              Paths.get("../shared-test-resources/miniTestSuite/java6/binary"),
+              SourceType.Application);
+      JavaView view = new JavaView(directory);
+
+      List<ClassType> sequentialTypes =
+          directory.getClassSources(view).stream()
+              .map(AbstractClassSource::getClassType)
+              .collect(Collectors.toList());
+      List<ClassType> parallelTypes =
+          directory.getClassSources(view, pool).stream()
+              .map(AbstractClassSource::getClassType)
+              .collect(Collectors.toList());
+
+      assertTrue(sequentialTypes.size() > 100);
+      assertEquals(sequentialTypes, parallelTypes);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parallelClassPathScanKeepsFirstEntry() throws IOException {
+    // the same classes in two entries of one class path
+    Path copyOfJar = Files.createTempFile("MiniAppCopy", ".jar");
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Files.copy(pathToJar, copyOfJar, StandardCopyOption.REPLACE_EXISTING);
+      AnalysisInputLocation<JavaSootClass> classPath =
+          new JavaClassPathAnalysisInputLocation(
+              copyOfJar.toString() + File.pathSeparator + pathToJar.toString());
+      JavaView view = new JavaView(classPath);
+
+      Collection<? extends AbstractClassSource<JavaSootClass>> classSources =
+          classPath.getClassSources(view, pool);
+
+      assertEquals(6, classSources.size());
+      String copyName = copyOfJar.getFileName().toString();
+      for (AbstractClassSource<JavaSootClass> classSource : classSources) {
+        assertTrue(classSource.getSourcePath().toUri().toString().contains(copyName));
+      }
+    } finally {
+      pool.shutdown();
+      Files.deleteIfExists(copyOfJar);
+    }
+  }
+
+  @Test
+  public void parallelBodyResolutionEqualsSequentialResolution() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      JavaView sequentialView = new JavaView(inputLocations, new FullCacheProvider<>());
+      JavaView parallelView = new JavaView(inputLocations, new ConcurrentFullCacheProvider<>());
+
+      Map<MethodSignature, String> sequentialBodies = new HashMap<>();
+      for (JavaSootClass sootClass : sequentialView.getClasses()) {
+        for (JavaSootMethod method : sootClass.getMethods()) {
+          if (method.hasBody()) {
+            sequentialBodies.put(method.getSignature(), method.getBody().toString());
+          }
+        }
+      }
+
+      Map<MethodSignature, String> parallelBodies = new ConcurrentHashMap<>();
+      Map<MethodSignature, RuntimeException> failures =
+          parallelView.resolveBodies(
+              parallelView.getClasses(pool),
+              pool,
+              (method, body) -> parallelBodies.put(method.getSignature(), body.toString()));
+
+      assertTrue(failures.isEmpty());
+      assertEquals(sequentialBodies, parallelBodies);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parallelBodyResolutionReportsFailures() {
+    BodyInterceptor failingInterceptor =
+        (builder, view) -> {
+          if (builder.getMethodSignature().getName().equals("main")) {
+            throw new IllegalArgumentException("main");
+          }
+        };
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      JavaView view =
+          new JavaView(
+              Collections.singletonList(
+                  PathBasedAnalysisInputLocation.create(
+                      pathToJar,
+                      SourceType.Application,
+                      Collections.singletonList(failingInterceptor))));
+      Collection<JavaSootClass> classes = view.getClasses();
+
+      Map<MethodSignature, RuntimeException> failures = view.resolveBodies(classes, pool);
+
+      assertEquals(1, failures.size());
+      MethodSignature mainMethod = failures.keySet().iterator().next();
+      assertEquals("main", mainMethod.getName());
+      assertTrue(failures.get(mainMethod).getCause() instanceof IllegalArgumentException);
+
+      // the bodies of the other methods are resolved nevertheless
+      assertTrue(
+          classes.stream()
+              .flatMap(sootClass -> sootClass.getMethods().stream())
+              .filter(method -> method.hasBody() && !method.getSignature().equals(mainMethod))
+              .allMatch(SootMethod::isBodyResolved));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parallelBodyResolutionReportsFailuresOfTheConsumer() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      JavaView view = new JavaView(inputLocations, new ConcurrentFullCacheProvider<>());
+      Collection<JavaSootClass> classes = view.getClasses(pool);
+
+      Set<MethodSignature> consumed = ConcurrentHashMap.newKeySet();
+      Map<MethodSignature, RuntimeException> failures =
+          view.resolveBodies(
+              classes,
+              pool,
+              (method, body) -> {
+                if (method.getName().equals("main")) {
+                  throw new IllegalStateException("main");
+                }
+                consumed.add(method.getSignature());
+              });
+
+      assertEquals(1, failures.size());
+      MethodSignature mainMethod = failures.keySet().iterator().next();
+      assertEquals("main", mainMethod.getName());
+      assertTrue(failures.get(mainMethod) instanceof IllegalStateException);
+
+      // the other methods are passed to the consumer nevertheless
+      assertEquals(
+          classes.stream()
+              .flatMap(sootClass -> sootClass.getMethods().stream())
+              .filter(method -> method.hasBody() && !method.getSignature().equals(mainMethod))
+              .map(SootMethod::getSignature)
+              .collect(Collectors.toSet()),
+          consumed);
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
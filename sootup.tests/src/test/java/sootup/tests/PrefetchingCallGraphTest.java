@@ -0,0 +1,85 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.callgraph.AbstractCallGraphAlgorithm;
+import sootup.callgraph.CallGraph;
+import sootup.callgraph.ClassHierarchyAnalysisAlgorithm;
+import sootup.callgraph.RapidTypeAnalysisAlgorithm;
+import sootup.callgraph.XTypeAnalysisAlgorithm;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.core.signatures.MethodSignature;
+import sootup.java.bytecode.inputlocation.DefaultRTJarAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Checks that a call graph that is built while a pool prefetches the methods of the work list is
+ * the same as the one built without prefetching. It uses the MiniApp.jar for testing.
+ */
+@Category(Java8Test.class)
+public class PrefetchingCallGraphTest {
+
+  private static JavaView createView() {
+    List<AnalysisInputLocation<? extends JavaSootClass>> inputLocations =
+        Arrays.asList(
+            PathBasedAnalysisInputLocation.create(
+                Paths.get("../shared-test-resources/java-miniapps/MiniApp.jar"),
+                SourceType.Application),
+            new DefaultRTJarAnalysisInputLocation());
+    return new JavaView(inputLocations);
+  }
+
+  private static void assertSameCallGraph(
+      Function<JavaView, AbstractCallGraphAlgorithm> algorithmFactory) {
+    JavaView sequentialView = createView();
+    List<MethodSignature> entryPoints =
+        Collections.singletonList(
+            sequentialView
+                .getIdentifierFactory()
+                .parseMethodSignature("MiniApp#main(java.lang.String[]): void"));
+    CallGraph sequential = algorithmFactory.apply(sequentialView).initialize(entryPoints);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    CallGraph prefetched;
+    try {
+      prefetched =
+          algorithmFactory.apply(createView()).initializeWithPrefetching(entryPoints, pool);
+    } finally {
+      pool.shutdownNow();
+    }
+
+    assertTrue(sequential.getMethodSignatures().size() > 1);
+    assertEquals(sequential.getMethodSignatures(), prefetched.getMethodSignatures());
+    for (MethodSignature method : sequential.getMethodSignatures()) {
+      assertEquals(method.toString(), sequential.callsFrom(method), prefetched.callsFrom(method));
+    }
+  }
+
+  @Test
+  public void prefetchingCHA() {
+    assertSameCallGraph(ClassHierarchyAnalysisAlgorithm::new);
+  }
+
+  @Test
+  public void prefetchingRTA() {
+    assertSameCallGraph(RapidTypeAnalysisAlgorithm::new);
+  }
+
+  @Test
+  public void prefetchingXTA() {
+    assertSameCallGraph(XTypeAnalysisAlgorithm::new);
+  }
+}
@@ -0,0 +1,146 @@
+package sootup.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import categories.Java8Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.inputlocation.AnalysisInputLocation;
+import sootup.core.model.SourceType;
+import sootup.java.bytecode.frontend.BinaryJimpleSnapshot;
+import sootup.java.bytecode.inputlocation.PathBasedAnalysisInputLocation;
+import sootup.java.bytecode.inputlocation.SnapshotAnalysisInputLocation;
+import sootup.java.core.AnnotationUsage;
+import sootup.java.core.JavaAnnotationSootClass;
+import sootup.java.core.JavaSootClass;
+import sootup.java.core.JavaSootField;
+import sootup.java.core.JavaSootMethod;
+import sootup.java.core.views.JavaView;
+
+/** Tests that a {@link BinaryJimpleSnapshot} restores the classes it was written from. */
+@Category(Java8Test.class)
+public class SnapshotAnalysisInputLocationTest {
+  static Path pathToClasses = Paths.get("../shared-test-resources/miniTestSuite/java6/binary");
+
+  private static String describe(Iterable<AnnotationUsage> annotations) {
+    StringBuilder sb = new StringBuilder();
+    for (AnnotationUsage annotation : annotations) {
+      sb.append('@').append(annotation.getAnnotation()).append(annotation.getValues().keySet());
+    }
+    return sb.toString();
+  }
+
+  /** Describes the classes of the view, their members, annotations and bodies. */
+  private static Map<String, String> describe(JavaView view) {
+    Map<String, String> classes = new TreeMap<>();
+    for (JavaSootClass sootClass : view.getClasses()) {
+      // the members are sorted as their sets are not ordered
+      Set<String> members = new TreeSet<>();
+      for (JavaSootField field : sootClass.getFields()) {
+        members.add(
+            field.getModifiers()
+                + field.getSignature().toString()
+                + describe(field.getAnnotations(Optional.of(view))));
+      }
+      for (JavaSootMethod method : sootClass.getMethods()) {
+        members.add(
+            method.getModifiers()
+                + method.getSignature().toString()
+                + method.getExceptionSignatures()
+                + describe(method.getAnnotations(Optional.of(view)))
+                + (method.isConcrete() ? "\n" + method.getBody() : ""));
+      }
+      String description =
+          sootClass.getModifiers()
+              + sootClass.getSuperclass().toString()
+              + sootClass.getInterfaces()
+              + sootClass.getOuterClass()
+              + describe(sootClass.getAnnotations(Optional.of(view)))
+              + "\n"
+              + String.join("\n", members);
+      // an annotation class can be contained under its class type and under its annotation type
+      if (sootClass instanceof JavaAnnotationSootClass
+          || !classes.containsKey(sootClass.getName())) {
+        classes.put(sootClass.getName(), description);
+      }
+    }
+    return classes;
+  }
+
+  @Test
+  public void snapshotRestoresTheClasses() throws IOException {
+    AnalysisInputLocation<JavaSootClass> inputLocation =
+        PathBasedAnalysisInputLocation.create(
+            pathToClasses, SourceType.Application, Collections.emptyList());
+    JavaView view = new JavaView(inputLocation);
+    Map<String, String> expected = describe(view);
+
+    Path file = Files.createTempFile("sootup", ".snapshot");
+    try {
+      BinaryJimpleSnapshot.write(view, file);
+
+      SnapshotAnalysisInputLocation snapshotLocation =
+          new SnapshotAnalysisInputLocation(file, SourceType.Application);
+      assertEquals(expected.keySet(), snapshotLocation.getSnapshot().getClassNames());
+      assertTrue(snapshotLocation.getBodyInterceptors().isEmpty());
+
+      JavaView snapshotView = new JavaView(snapshotLocation);
+      assertEquals(expected, describe(snapshotView));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void brokenSnapshotsAreRejected() throws IOException {
+    assertRejected(new byte[] {1, 2, 3});
+
+    // the header "JSNP" with version 1 and an empty pool
+    byte[] header = {0x4a, 0x53, 0x4e, 0x50, 1, 0, 0, 0, 0};
+    // a negative number of classes
+    assertRejected(concat(header, new byte[] {-1, -1, -1, -1, 0x0f}));
+    // more classes than bytes
+    assertRejected(concat(header, new byte[] {100}));
+    // a class whose name has a negative length
+    assertRejected(concat(header, new byte[] {1, 0, -1, -1, -1, -1, 0x0f}));
+  }
+
+  private static void assertRejected(byte[] content) throws IOException {
+    Path file = Files.createTempFile("sootup", ".snapshot");
+    try {
+      Files.write(file, content);
+      try {
+        BinaryJimpleSnapshot.load(file);
+        fail("a broken snapshot has been loaded");
+      } catch (IOException expected) {
+        // expected
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static byte[] concat(byte[] first, byte[] second) {
+    byte[] result = Arrays.copyOf(first, first.length + second.length);
+    System.arraycopy(second, 0, result, first.length, second.length);
+    return result;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void missingSnapshotIsRejected() {
+    new SnapshotAnalysisInputLocation(Paths.get("NonExisting.snapshot"), SourceType.Application);
+  }
+}
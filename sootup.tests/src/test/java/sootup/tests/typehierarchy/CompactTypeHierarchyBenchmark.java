@@ -0,0 +1,113 @@
+package sootup.tests.typehierarchy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.typehierarchy.CompactTypeHierarchy;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Compares the construction time and the query throughput of the {@link CompactTypeHierarchy} and
+ * the {@link ViewTypeHierarchy} for the MiniApp.jar and the rt.jar. The queries interleave the
+ * kinds of queries of an analysis on random types, which are the same for both hierarchies.
+ *
+ * <p>The benchmark has no test category and is not named like a test, so it is not part of the
+ * default test run. Run it with {@code mvn test -pl sootup.tests
+ * -Dtest=CompactTypeHierarchyBenchmark -Dtestcase.groups=}.
+ */
+public class CompactTypeHierarchyBenchmark {
+
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int ROUNDS = 10;
+  private static final int NUMBER_OF_QUERIES = 20000;
+
+  static JavaView view;
+  static List<ClassType> declaredTypes;
+
+  @BeforeClass
+  public static void setup() {
+    String jarFile = "../shared-test-resources/java-miniapps/MiniApp.jar";
+    String rtJar = System.getProperty("java.home") + "/lib/rt.jar";
+    assertTrue("File " + rtJar + " not found.", new File(rtJar).exists());
+    view =
+        new JavaView(new JavaClassPathAnalysisInputLocation(jarFile + File.pathSeparator + rtJar));
+    declaredTypes =
+        view.getClassHeaders().stream().map(ClassHeader::getType).collect(Collectors.toList());
+  }
+
+  @Test
+  public void compareTypeHierarchies() {
+    long viewResults = measure("ViewTypeHierarchy", ViewTypeHierarchy::new);
+    long compactResults = measure("CompactTypeHierarchy", CompactTypeHierarchy::new);
+    assertEquals(viewResults, compactResults);
+  }
+
+  /**
+   * Builds the type hierarchy and runs the queries on it in every round, prints the average times
+   * of both and returns the number of results of the queries of a round.
+   */
+  private static long measure(String name, Function<JavaView, TypeHierarchy> factory) {
+    long results = 0;
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      results = query(build(factory));
+    }
+
+    long buildNanos = 0;
+    long queryNanos = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      TypeHierarchy typeHierarchy = build(factory);
+      long built = System.nanoTime();
+      results = query(typeHierarchy);
+      queryNanos += System.nanoTime() - built;
+      buildNanos += built - start;
+    }
+
+    System.out.println(
+        name
+            + " of "
+            + declaredTypes.size()
+            + " types: built in "
+            + buildNanos / ROUNDS / 1_000_000
+            + " ms, "
+            + NUMBER_OF_QUERIES
+            + " rounds of queries in "
+            + queryNanos / ROUNDS / 1_000_000
+            + " ms");
+    return results;
+  }
+
+  /** Creates the type hierarchy and makes it build its index, which both do lazily. */
+  private static TypeHierarchy build(Function<JavaView, TypeHierarchy> factory) {
+    TypeHierarchy typeHierarchy = factory.apply(view);
+    typeHierarchy.contains(declaredTypes.get(0));
+    return typeHierarchy;
+  }
+
+  private static long query(TypeHierarchy typeHierarchy) {
+    Random random = new Random(42);
+    long results = 0;
+    for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+      ClassType type = declaredTypes.get(random.nextInt(declaredTypes.size()));
+      results += typeHierarchy.subtypesOf(type).size();
+      results += typeHierarchy.implementedInterfacesOf(type).size();
+      results += typeHierarchy.superClassesOf(type).size();
+      if (typeHierarchy.isSubtype(declaredTypes.get(random.nextInt(declaredTypes.size())), type)) {
+        results++;
+      }
+    }
+    return results;
+  }
+}
@@ -0,0 +1,156 @@
+package sootup.tests.typehierarchy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import categories.Java8Test;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import sootup.core.frontend.ClassHeader;
+import sootup.core.typehierarchy.CompactTypeHierarchy;
+import sootup.core.typehierarchy.TypeHierarchy;
+import sootup.core.typehierarchy.ViewTypeHierarchy;
+import sootup.core.types.ArrayType;
+import sootup.core.types.ClassType;
+import sootup.java.bytecode.inputlocation.JavaClassPathAnalysisInputLocation;
+import sootup.java.core.JavaIdentifierFactory;
+import sootup.java.core.views.JavaView;
+
+/**
+ * Checks that the {@link CompactTypeHierarchy} answers all queries like the {@link
+ * ViewTypeHierarchy} for the MiniApp.jar and the rt.jar.
+ */
+@Category(Java8Test.class)
+public class CompactTypeHierarchyTest {
+
+  private static final int NUMBER_OF_SUBTYPE_QUERIES = 20000;
+
+  static JavaView view;
+  static ViewTypeHierarchy viewTypeHierarchy;
+  static CompactTypeHierarchy compactTypeHierarchy;
+  static List<ClassType> declaredTypes;
+
+  @BeforeClass
+  public static void setup() {
+    String jarFile = "../shared-test-resources/java-miniapps/MiniApp.jar";
+    String rtJar = System.getProperty("java.home") + "/lib/rt.jar";
+    assertTrue("File " + rtJar + " not found.", new File(rtJar).exists());
+    view =
+        new JavaView(new JavaClassPathAnalysisInputLocation(jarFile + File.pathSeparator + rtJar));
+    viewTypeHierarchy = new ViewTypeHierarchy(view);
+    compactTypeHierarchy = new CompactTypeHierarchy(view);
+    declaredTypes =
+        view.getClassHeaders().stream().map(ClassHeader::getType).collect(Collectors.toList());
+  }
+
+  @Test
+  public void sameHierarchy() {
+    for (ClassType type : declaredTypes) {
+      assertTrue(compactTypeHierarchy.contains(type));
+      assertEquals(viewTypeHierarchy.isInterface(type), compactTypeHierarchy.isInterface(type));
+      assertEquals(
+          type.toString(),
+          viewTypeHierarchy.subtypesOf(type),
+          new HashSet<>(compactTypeHierarchy.subtypesOf(type)));
+      assertEquals(
+          type.toString(),
+          viewTypeHierarchy.directSubtypesOf(type),
+          new HashSet<>(compactTypeHierarchy.directSubtypesOf(type)));
+      assertEquals(
+          type.toString(),
+          viewTypeHierarchy.implementedInterfacesOf(type),
+          new HashSet<>(compactTypeHierarchy.implementedInterfacesOf(type)));
+      assertEquals(
+          type.toString(),
+          viewTypeHierarchy.superClassesOf(type),
+          new ArrayList<>(compactTypeHierarchy.superClassesOf(type)));
+      if (viewTypeHierarchy.isInterface(type)) {
+        assertEquals(
+            viewTypeHierarchy.directlyExtendedInterfacesOf(type),
+            new HashSet<>(compactTypeHierarchy.directlyExtendedInterfacesOf(type)));
+      } else {
+        assertEquals(
+            viewTypeHierarchy.directlyImplementedInterfacesOf(type),
+            new HashSet<>(compactTypeHierarchy.directlyImplementedInterfacesOf(type)));
+      }
+    }
+    assertFalse(
+        compactTypeHierarchy.contains(JavaIdentifierFactory.getInstance().getClassType("A")));
+  }
+
+  @Test
+  public void sameSubtypeRelation() {
+    Random random = new Random(42);
+    for (int i = 0; i < NUMBER_OF_SUBTYPE_QUERIES; i++) {
+      ClassType supertype = declaredTypes.get(random.nextInt(declaredTypes.size()));
+      ClassType subtype = declaredTypes.get(random.nextInt(declaredTypes.size()));
+      assertSameSubtypeRelation(supertype, subtype);
+      // compare the direct supertypes as well since random pairs are rarely related
+      for (ClassType superInterface : compactTypeHierarchy.implementedInterfacesOf(subtype)) {
+        assertSameSubtypeRelation(superInterface, subtype);
+        assertSameSubtypeRelation(subtype, superInterface);
+      }
+      for (ClassType superClass : compactTypeHierarchy.superClassesOf(subtype)) {
+        assertSameSubtypeRelation(superClass, subtype);
+      }
+    }
+
+    ClassType object = JavaIdentifierFactory.getInstance().getClassType("java.lang.Object");
+    ClassType string = JavaIdentifierFactory.getInstance().getClassType("java.lang.String");
+    ClassType charSequence =
+        JavaIdentifierFactory.getInstance().getClassType("java.lang.CharSequence");
+    ArrayType stringArray = JavaIdentifierFactory.getInstance().getArrayType(string, 1);
+    ArrayType charSequenceArray = JavaIdentifierFactory.getInstance().getArrayType(charSequence, 1);
+    assertTrue(compactTypeHierarchy.isSubtype(charSequence, string));
+    assertTrue(compactTypeHierarchy.isSubtype(charSequenceArray, stringArray));
+    assertTrue(compactTypeHierarchy.isSubtype(object, stringArray));
+    assertFalse(compactTypeHierarchy.isSubtype(stringArray, charSequenceArray));
+  }
+
+  /** Both hierarchies either have to return the same result or throw the same exception. */
+  private static void assertSameSubtypeRelation(ClassType supertype, ClassType subtype) {
+    assertEquals(
+        supertype + " :> " + subtype,
+        isSubtype(viewTypeHierarchy, supertype, subtype),
+        isSubtype(compactTypeHierarchy, supertype, subtype));
+  }
+
+  private static Object isSubtype(
+      TypeHierarchy typeHierarchy, ClassType supertype, ClassType subtype) {
+    try {
+      return typeHierarchy.isSubtype(supertype, subtype);
+    } catch (IllegalArgumentException e) {
+      return e.getClass();
+    }
+  }
+
+  @Test
+  public void sameResultsOfMixedQueries() {
+    // interleaves the kinds of queries like an analysis, on the same random types for both
+    Random random = new Random(42);
+    for (int i = 0; i < NUMBER_OF_SUBTYPE_QUERIES; i++) {
+      ClassType type = declaredTypes.get(random.nextInt(declaredTypes.size()));
+      assertEquals(
+          type.toString(),
+          viewTypeHierarchy.subtypesOf(type),
+          new HashSet<>(compactTypeHierarchy.subtypesOf(type)));
+      assertEquals(
+          type.toString(),
+          viewTypeHierarchy.implementedInterfacesOf(type),
+          new HashSet<>(compactTypeHierarchy.implementedInterfacesOf(type)));
+      assertEquals(
+          type.toString(),
+          viewTypeHierarchy.superClassesOf(type),
+          new ArrayList<>(compactTypeHierarchy.superClassesOf(type)));
+      assertSameSubtypeRelation(declaredTypes.get(random.nextInt(declaredTypes.size())), type);
+    }
+  }
+}
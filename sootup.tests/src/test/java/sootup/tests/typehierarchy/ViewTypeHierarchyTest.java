@@ -15,6 +15,7 @@ import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -24,6 +25,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import sootup.core.IdentifierFactory;
+import sootup.core.frontend.ClassHeader;
 import sootup.core.model.ClassModifier;
 import sootup.core.model.SootClass;
 import sootup.core.model.SourceType;
@@ -323,4 +325,28 @@ public class ViewTypeHierarchyTest {
         "Collection[] should be a subtype of Object[]",
         typeHierarchy.isSubtype(objectArrayDim1Type, collectionArrayDim1Type));
   }
+
+  @Test
+  public void scanDoesNotResolveClasses() {
+    IdentifierFactory factory = view.getIdentifierFactory();
+    ClassType object = factory.getClassType("java.lang.Object");
+    assertTrue(typeHierarchy.subtypesOf(object).contains(factory.getClassType("MiniApp")));
+    assertTrue(typeHierarchy.isInterface(factory.getClassType("java.util.List")));
+    assertEquals(0, view.getNumberOfStoredClasses());
+  }
+
+  @Test
+  public void classHeadersMatchResolvedClasses() {
+    JavaView miniAppView =
+        new JavaView(
+            new JavaClassPathAnalysisInputLocation(
+                "../shared-test-resources/java-miniapps/MiniApp.jar"));
+    Set<ClassHeader> headers = new HashSet<>(miniAppView.getClassHeaders());
+    assertEquals(0, miniAppView.getNumberOfStoredClasses());
+
+    Set<ClassHeader> headersOfResolvedClasses =
+        miniAppView.getClasses().stream().map(ClassHeader::of).collect(Collectors.toSet());
+    assertEquals(6, headers.size());
+    assertEquals(headersOfResolvedClasses, headers);
+  }
 }